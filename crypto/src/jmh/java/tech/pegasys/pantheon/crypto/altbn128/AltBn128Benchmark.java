@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static java.util.Arrays.asList;
+
+import java.math.BigInteger;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the Montgomery form alt_bn128 arithmetic backing the precompiled contracts with the
+ * {@link BigInteger} based implementation it replaced.
+ */
+@State(Scope.Thread)
+public class AltBn128Benchmark {
+
+  private static final BigInteger SCALAR =
+      new BigInteger("21888242871839275222246405745257275088548364400416034343698204186575808495");
+
+  private AltBn128Point p1;
+  private AltBn128Point p2;
+  private List<AltBn128Point> g1Points;
+  private List<AltBn128Fq2Point> g2Points;
+  private Fq fq1;
+  private Fq fq2;
+  private MontgomeryFq montgomeryFq1;
+  private MontgomeryFq montgomeryFq2;
+
+  @Setup
+  public void prepare() {
+    p1 = AltBn128Point.g1().multiply(BigInteger.valueOf(7));
+    p2 = AltBn128Point.g1().multiply(BigInteger.valueOf(11));
+    final AltBn128Fq2Point q = AltBn128Fq2Point.g2().multiply(BigInteger.valueOf(13));
+    g1Points = asList(p1, p1);
+    g2Points = asList(q, q.negate());
+    fq1 = p1.getX();
+    fq2 = p2.getX();
+    montgomeryFq1 = MontgomeryFq.create(fq1);
+    montgomeryFq2 = MontgomeryFq.create(fq2);
+  }
+
+  @Benchmark
+  public boolean pairingCheck() {
+    return AltBn128OptimalAtePairer.isProductOne(g1Points, g2Points);
+  }
+
+  @Benchmark
+  public boolean pairingCheckFq12Pairer() {
+    Fq12 product = Fq12.one();
+    for (int i = 0; i < g1Points.size(); ++i) {
+      product = product.multiply(AltBn128Fq12Pairer.pair(g1Points.get(i), g2Points.get(i)));
+    }
+    return AltBn128Fq12Pairer.finalize(product).equals(Fq12.one());
+  }
+
+  @Benchmark
+  public AltBn128Point add() {
+    return AltBn128G1Arithmetic.add(p1, p2);
+  }
+
+  @Benchmark
+  public AltBn128Point addAffine() {
+    return p1.add(p2);
+  }
+
+  @Benchmark
+  public AltBn128Point multiply() {
+    return AltBn128G1Arithmetic.multiply(p1, SCALAR);
+  }
+
+  @Benchmark
+  public AltBn128Point multiplyAffine() {
+    return p1.multiply(SCALAR);
+  }
+
+  @Benchmark
+  public MontgomeryFq multiplyFq() {
+    return montgomeryFq1.multiply(montgomeryFq2);
+  }
+
+  @Benchmark
+  public Fq multiplyFqBigInteger() {
+    return fq1.multiply(fq2);
+  }
+}
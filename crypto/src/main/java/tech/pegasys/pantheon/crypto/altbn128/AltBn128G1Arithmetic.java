@@ -0,0 +1,46 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+
+/**
+ * Addition and scalar multiplication of {@link AltBn128Point}s computed in Jacobian coordinates
+ * over Montgomery form field elements, with a single field inversion to get back to affine
+ * coordinates.
+ *
+ * <p>For points on the curve, the results are the same as those of the affine {@link AltBn128Point}
+ * operations.
+ */
+public class AltBn128G1Arithmetic {
+
+  private AltBn128G1Arithmetic() {}
+
+  public static AltBn128Point add(final AltBn128Point p1, final AltBn128Point p2) {
+    return toAffine(toJacobian(p1).add(toJacobian(p2)));
+  }
+
+  public static AltBn128Point multiply(final AltBn128Point p, final BigInteger n) {
+    return toAffine(toJacobian(p).multiply(n));
+  }
+
+  private static JacobianPoint<MontgomeryFq> toJacobian(final AltBn128Point p) {
+    return JacobianPoint.fromAffine(MontgomeryFq.create(p.getX()), MontgomeryFq.create(p.getY()));
+  }
+
+  private static AltBn128Point toAffine(final JacobianPoint<MontgomeryFq> p) {
+    final JacobianPoint<MontgomeryFq> normalized = p.normalize();
+    return new AltBn128Point(
+        Fq.create(normalized.getX().toBigInteger()), Fq.create(normalized.getY().toBigInteger()));
+  }
+}
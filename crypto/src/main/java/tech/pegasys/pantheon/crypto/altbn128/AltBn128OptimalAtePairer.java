@@ -0,0 +1,230 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The optimal ate pairing of alt_bn128, computed on Montgomery form field elements.
+ *
+ * <p>Unlike {@link AltBn128Fq12Pairer}, which moves both points to Fq12, the Miller loop keeps the
+ * G2 point on the twisted curve over Fq2, in homogeneous projective coordinates, and multiplies by
+ * sparse line functions. The final exponentiation splits (p^12 - 1) / r into its easy part and a
+ * hard part computed with three exponentiations by the curve parameter u.
+ *
+ * <p>The reduced pairings are identical to those of {@link AltBn128Fq12Pairer}.
+ */
+public class AltBn128OptimalAtePairer {
+
+  // The BN curve parameter, p and r are polynomials in it.
+  private static final long U = 4965661367192848881L;
+
+  // 6u + 2
+  private static final BigInteger ATE_LOOP_COUNT = new BigInteger("29793968203157093288");
+
+  private static final BigInteger CURVE_ORDER =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+
+  // 3 * b / xi, where b / xi is the coefficient of the twisted curve.
+  private static final MontgomeryFq2 THREE_TWIST_B =
+      MontgomeryFq2.create(9, 0).multiply(MontgomeryFq2.XI.inverse());
+
+  private static final MontgomeryFq TWO_INVERSE = MontgomeryFq.create(2).inverse();
+
+  private AltBn128OptimalAtePairer() {}
+
+  /**
+   * Checks whether the product of the pairings of each pair of points is one, as {@link
+   * AltBn128Fq12Pairer#finalize(Fq12)} of the product of {@link AltBn128Fq12Pairer#pair} does.
+   *
+   * @param g1Points points on the curve
+   * @param g2Points points on the twisted curve, in the same number as {@code g1Points}
+   * @return whether the product of the pairings is one
+   */
+  public static boolean isProductOne(
+      final List<AltBn128Point> g1Points, final List<AltBn128Fq2Point> g2Points) {
+    checkArgument(g1Points.size() == g2Points.size(), "Points must come in pairs");
+
+    final List<MontgomeryFq2[]> twistPoints = new ArrayList<>(g2Points.size());
+    for (final AltBn128Fq2Point q : g2Points) {
+      final MontgomeryFq2 x = MontgomeryFq2.create(q.getX());
+      final MontgomeryFq2 y = MontgomeryFq2.create(q.getY());
+      if (!JacobianPoint.fromAffine(x, y).multiply(CURVE_ORDER).isInfinity()) {
+        // Outside of the r-torsion, the exceptional cases of the group law can occur while
+        // computing the Miller loop and the result depends on how each implementation handles
+        // them, so defer to the reference implementation for such inputs.
+        return isProductOneWithFq12Pairer(g1Points, g2Points);
+      }
+      twistPoints.add(new MontgomeryFq2[] {x, y});
+    }
+
+    final List<MontgomeryFq[]> pairedG1Points = new ArrayList<>(g1Points.size());
+    final List<MontgomeryFq2[]> pairedG2Points = new ArrayList<>(g2Points.size());
+    for (int i = 0; i < g1Points.size(); i++) {
+      final AltBn128Point p = g1Points.get(i);
+      final MontgomeryFq2[] q = twistPoints.get(i);
+      // Pairings with the point at infinity are one.
+      if (!p.isInfinity() && !(q[0].isZero() && q[1].isZero())) {
+        pairedG1Points.add(
+            new MontgomeryFq[] {MontgomeryFq.create(p.getX()), MontgomeryFq.create(p.getY())});
+        pairedG2Points.add(q);
+      }
+    }
+    return finalExponentiation(millerLoop(pairedG1Points, pairedG2Points)).isOne();
+  }
+
+  private static boolean isProductOneWithFq12Pairer(
+      final List<AltBn128Point> g1Points, final List<AltBn128Fq2Point> g2Points) {
+    Fq12 product = Fq12.one();
+    for (int i = 0; i < g1Points.size(); ++i) {
+      product = product.multiply(AltBn128Fq12Pairer.pair(g1Points.get(i), g2Points.get(i)));
+    }
+    return AltBn128Fq12Pairer.finalize(product).equals(Fq12.one());
+  }
+
+  /**
+   * Computes the product of the Miller loops of each pair of points at once, so that the squarings
+   * of the accumulator are shared.
+   */
+  static MontgomeryFq12 millerLoop(
+      final List<MontgomeryFq[]> g1Points, final List<MontgomeryFq2[]> g2Points) {
+    final TwistPoint[] r = new TwistPoint[g2Points.size()];
+    for (int j = 0; j < r.length; j++) {
+      r[j] = new TwistPoint(g2Points.get(j)[0], g2Points.get(j)[1]);
+    }
+
+    MontgomeryFq12 f = MontgomeryFq12.ONE;
+    for (int i = ATE_LOOP_COUNT.bitLength() - 2; i >= 0; i--) {
+      f = f.square();
+      for (int j = 0; j < r.length; j++) {
+        f = r[j].doubleAndEvaluateLine(f, g1Points.get(j)[0], g1Points.get(j)[1]);
+      }
+      if (ATE_LOOP_COUNT.testBit(i)) {
+        for (int j = 0; j < r.length; j++) {
+          final MontgomeryFq2[] q = g2Points.get(j);
+          f = r[j].addAndEvaluateLine(f, q[0], q[1], g1Points.get(j)[0], g1Points.get(j)[1]);
+        }
+      }
+    }
+
+    for (int j = 0; j < r.length; j++) {
+      final MontgomeryFq2 qx = g2Points.get(j)[0];
+      final MontgomeryFq2 qy = g2Points.get(j)[1];
+      final MontgomeryFq px = g1Points.get(j)[0];
+      final MontgomeryFq py = g1Points.get(j)[1];
+      // Q1 = pi(Q) and -Q2 = -pi^2(Q), with the Frobenius endomorphism pi mapped to the twist.
+      final MontgomeryFq2 q1x = qx.conjugate().multiply(MontgomeryFq12.frobeniusCoefficient(1, 2));
+      final MontgomeryFq2 q1y = qy.conjugate().multiply(MontgomeryFq12.frobeniusCoefficient(1, 3));
+      final MontgomeryFq2 nq2x = qx.multiply(MontgomeryFq12.frobeniusCoefficient(2, 2));
+      final MontgomeryFq2 nq2y = qy.multiply(MontgomeryFq12.frobeniusCoefficient(2, 3)).negate();
+      f = r[j].addAndEvaluateLine(f, q1x, q1y, px, py);
+      f = r[j].addAndEvaluateLine(f, nq2x, nq2y, px, py);
+    }
+    return f;
+  }
+
+  static MontgomeryFq12 finalExponentiation(final MontgomeryFq12 f) {
+    // Easy part: f^((p^6 - 1) * (p^2 + 1)), after which inverses are conjugates.
+    MontgomeryFq12 t = f.conjugate().multiply(f.inverse());
+    t = t.frobenius(2).multiply(t);
+
+    // Hard part: t^((p^4 - p^2 + 1) / r), with (p^4 - p^2 + 1) / r = l0 + l1 * p + l2 * p^2 + p^3
+    // where l2 = 6u^2 + 1, l1 = -36u^3 - 18u^2 - 12u + 1 and l0 = -36u^3 - 30u^2 - 18u - 2.
+    final MontgomeryFq12 tu = t.cyclotomicPower(U);
+    final MontgomeryFq12 tu2 = tu.cyclotomicPower(U);
+    final MontgomeryFq12 tu3 = tu2.cyclotomicPower(U);
+    final MontgomeryFq12 tuTo6 = tu.cyclotomicPower(6);
+    final MontgomeryFq12 tu2To6 = tu2.cyclotomicPower(6);
+    final MontgomeryFq12 tu2To12 = tu2To6.cyclotomicSquare();
+    final MontgomeryFq12 tu3To36 = tu3.cyclotomicPower(36);
+
+    final MontgomeryFq12 y2 = tu2To6.multiply(t);
+    final MontgomeryFq12 shared = tu3To36.multiply(tu2To12).multiply(tu2To6);
+    final MontgomeryFq12 y1 = shared.multiply(tuTo6.cyclotomicSquare()).conjugate().multiply(t);
+    final MontgomeryFq12 y0 =
+        shared
+            .multiply(tu2To12)
+            .multiply(tuTo6.cyclotomicSquare().multiply(tuTo6))
+            .multiply(t.cyclotomicSquare())
+            .conjugate();
+    return y0.multiply(y1.frobenius(1)).multiply(y2.frobenius(2)).multiply(t.frobenius(3));
+  }
+
+  /** A point of the twisted curve in homogeneous projective coordinates (X / Z, Y / Z). */
+  private static class TwistPoint {
+    private MontgomeryFq2 x;
+    private MontgomeryFq2 y;
+    private MontgomeryFq2 z;
+
+    TwistPoint(final MontgomeryFq2 x, final MontgomeryFq2 y) {
+      this.x = x;
+      this.y = y;
+      this.z = MontgomeryFq2.ONE;
+    }
+
+    /**
+     * Doubles this point and returns f multiplied by the tangent line at this point evaluated at P,
+     * up to a factor in a proper subfield that the final exponentiation eliminates.
+     */
+    MontgomeryFq12 doubleAndEvaluateLine(
+        final MontgomeryFq12 f, final MontgomeryFq px, final MontgomeryFq py) {
+      // Costello, Lange and Naehrig, as given by Aranha et al. in "Faster Explicit Formulas for
+      // Computing Pairings over Ordinary Curves".
+      final MontgomeryFq2 a = x.multiply(y).multiply(TWO_INVERSE);
+      final MontgomeryFq2 b = y.square();
+      final MontgomeryFq2 c = z.square();
+      final MontgomeryFq2 e = c.multiply(THREE_TWIST_B);
+      final MontgomeryFq2 threeE = e.tripled();
+      final MontgomeryFq2 g = b.add(threeE).multiply(TWO_INVERSE);
+      final MontgomeryFq2 h = y.add(z).square().subtract(b).subtract(c);
+      final MontgomeryFq2 i = e.subtract(b);
+      final MontgomeryFq2 j = x.square();
+
+      x = a.multiply(b.subtract(threeE));
+      y = g.square().subtract(e.square().tripled());
+      z = b.multiply(h);
+      return f.multiplyByLine(h.negate().multiply(py), j.tripled().multiply(px), i);
+    }
+
+    /**
+     * Adds the affine point Q to this point and returns f multiplied by the line through both
+     * points evaluated at P, up to a factor in a proper subfield.
+     */
+    MontgomeryFq12 addAndEvaluateLine(
+        final MontgomeryFq12 f,
+        final MontgomeryFq2 qx,
+        final MontgomeryFq2 qy,
+        final MontgomeryFq px,
+        final MontgomeryFq py) {
+      final MontgomeryFq2 theta = y.subtract(qy.multiply(z));
+      final MontgomeryFq2 lambda = x.subtract(qx.multiply(z));
+      final MontgomeryFq2 c = theta.square();
+      final MontgomeryFq2 d = lambda.square();
+      final MontgomeryFq2 e = d.multiply(lambda);
+      final MontgomeryFq2 zc = z.multiply(c);
+      final MontgomeryFq2 g = x.multiply(d);
+      final MontgomeryFq2 h = e.add(zc).subtract(g.doubled());
+      final MontgomeryFq2 j = theta.multiply(qx).subtract(lambda.multiply(qy));
+
+      x = lambda.multiply(h);
+      y = theta.multiply(g.subtract(h)).subtract(y.multiply(e));
+      z = z.multiply(e);
+      return f.multiplyByLine(lambda.multiply(py), theta.negate().multiply(px), j);
+    }
+  }
+}
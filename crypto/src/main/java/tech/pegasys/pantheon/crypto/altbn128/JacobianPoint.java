@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * A point of a short Weierstrass curve {@code y^2 = x^3 + b} in Jacobian coordinates, that is the
+ * affine point {@code (X / Z^2, Y / Z^3)}, or the point at infinity when {@code Z} is zero.
+ *
+ * <p>Addition and doubling need no field inversion, unlike in affine coordinates.
+ */
+final class JacobianPoint<F extends MontgomeryField<F>> {
+
+  private final F x;
+  private final F y;
+  private final F z;
+
+  private JacobianPoint(final F x, final F y, final F z) {
+    this.x = x;
+    this.y = y;
+    this.z = z;
+  }
+
+  /** @return the point with the given affine coordinates, where (0, 0) is the point at infinity. */
+  static <F extends MontgomeryField<F>> JacobianPoint<F> fromAffine(final F x, final F y) {
+    if (x.isZero() && y.isZero()) {
+      return new JacobianPoint<>(x.one(), x.one(), x.zero());
+    }
+    return new JacobianPoint<>(x, y, x.one());
+  }
+
+  boolean isInfinity() {
+    return z.isZero();
+  }
+
+  F getX() {
+    return x;
+  }
+
+  F getY() {
+    return y;
+  }
+
+  /**
+   * @return the same point with {@code Z = 1}, so that its coordinates are the affine ones, or with
+   *     all coordinates zero for the point at infinity.
+   */
+  JacobianPoint<F> normalize() {
+    if (isInfinity()) {
+      return new JacobianPoint<>(z, z, z);
+    }
+    final F zInverse = z.inverse();
+    final F zInverseSquared = zInverse.square();
+    return new JacobianPoint<>(
+        x.multiply(zInverseSquared), y.multiply(zInverseSquared.multiply(zInverse)), z.one());
+  }
+
+  JacobianPoint<F> doub() {
+    if (isInfinity() || y.isZero()) {
+      return infinity();
+    }
+    // dbl-2009-l from the Explicit-Formulas Database.
+    final F a = x.square();
+    final F b = y.square();
+    final F c = b.square();
+    final F xPlusB = x.add(b);
+    final F d = twice(xPlusB.square().subtract(a).subtract(c));
+    final F e = a.add(a).add(a);
+    final F f = e.square();
+    final F newX = f.subtract(twice(d));
+    final F eightC = twice(twice(twice(c)));
+    final F newY = e.multiply(d.subtract(newX)).subtract(eightC);
+    final F newZ = twice(y.multiply(z));
+    return new JacobianPoint<>(newX, newY, newZ);
+  }
+
+  JacobianPoint<F> add(final JacobianPoint<F> other) {
+    if (isInfinity()) {
+      return other;
+    }
+    if (other.isInfinity()) {
+      return this;
+    }
+    // add-2007-bl from the Explicit-Formulas Database.
+    final F z1z1 = z.square();
+    final F z2z2 = other.z.square();
+    final F u1 = x.multiply(z2z2);
+    final F u2 = other.x.multiply(z1z1);
+    final F s1 = y.multiply(other.z).multiply(z2z2);
+    final F s2 = other.y.multiply(z).multiply(z1z1);
+    final F h = u2.subtract(u1);
+    final F r = twice(s2.subtract(s1));
+    if (h.isZero()) {
+      // Same x coordinate, so the points are either equal or opposite.
+      return r.isZero() ? doub() : infinity();
+    }
+    final F i = twice(h).square();
+    final F j = h.multiply(i);
+    final F v = u1.multiply(i);
+    final F newX = r.square().subtract(j).subtract(twice(v));
+    final F newY = r.multiply(v.subtract(newX)).subtract(twice(s1.multiply(j)));
+    final F newZ = z.add(other.z).square().subtract(z1z1).subtract(z2z2).multiply(h);
+    return new JacobianPoint<>(newX, newY, newZ);
+  }
+
+  JacobianPoint<F> multiply(final BigInteger n) {
+    JacobianPoint<F> result = infinity();
+    for (int i = n.bitLength() - 1; i >= 0; i--) {
+      result = result.doub();
+      if (n.testBit(i)) {
+        result = result.add(this);
+      }
+    }
+    return result;
+  }
+
+  private JacobianPoint<F> infinity() {
+    return new JacobianPoint<>(x.one(), x.one(), x.zero());
+  }
+
+  private static <F extends MontgomeryField<F>> F twice(final F value) {
+    return value.add(value);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(JacobianPoint.class)
+        .add("x", x)
+        .add("y", y)
+        .add("z", z)
+        .toString();
+  }
+}
@@ -0,0 +1,42 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+/**
+ * An element of one of the alt_bn128 fields whose base field elements are kept in Montgomery form.
+ *
+ * <p>Elements are immutable.
+ */
+interface MontgomeryField<T extends MontgomeryField<T>> {
+
+  /** @return the additive identity of the field of this element. */
+  T zero();
+
+  /** @return the multiplicative identity of the field of this element. */
+  T one();
+
+  boolean isZero();
+
+  T add(T other);
+
+  T subtract(T other);
+
+  T multiply(T other);
+
+  T square();
+
+  T negate();
+
+  /** @return the inverse of this element, which must not be zero. */
+  T inverse();
+}
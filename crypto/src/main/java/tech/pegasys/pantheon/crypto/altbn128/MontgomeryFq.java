@@ -0,0 +1,263 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import com.google.common.base.MoreObjects;
+
+/**
+ * An element of the alt_bn128 base field, in Montgomery form.
+ *
+ * <p>The element {@code a} is stored as {@code a * R mod p} with {@code R = 2^256}, in eight 32 bit
+ * limbs, least significant first. Multiplication then needs no division: the product is reduced one
+ * limb at a time by adding multiples of the modulus that clear the low limb (CIOS).
+ */
+final class MontgomeryFq implements MontgomeryField<MontgomeryFq> {
+
+  private static final int LIMBS = 8;
+  private static final long MASK = 0xFFFFFFFFL;
+  private static final BigInteger R = BigInteger.ONE.shiftLeft(32 * LIMBS);
+
+  private static final int[] MODULUS = toLimbs(FieldElement.FIELD_MODULUS);
+  // -p^-1 mod 2^32
+  private static final int MODULUS_INVERSE =
+      FieldElement.FIELD_MODULUS.modInverse(BigInteger.ONE.shiftLeft(32)).negate().intValue();
+  private static final int[] ONE_LIMBS = toLimbs(BigInteger.ONE);
+  private static final MontgomeryFq R_SQUARED =
+      new MontgomeryFq(toLimbs(R.pow(2).mod(FieldElement.FIELD_MODULUS)));
+  private static final MontgomeryFq R_CUBED =
+      new MontgomeryFq(toLimbs(R.pow(3).mod(FieldElement.FIELD_MODULUS)));
+
+  static final MontgomeryFq ZERO = new MontgomeryFq(new int[LIMBS]);
+  static final MontgomeryFq ONE = new MontgomeryFq(toLimbs(R.mod(FieldElement.FIELD_MODULUS)));
+
+  private final int[] limbs;
+
+  private MontgomeryFq(final int[] limbs) {
+    this.limbs = limbs;
+  }
+
+  static MontgomeryFq create(final BigInteger value) {
+    checkArgument(
+        value.signum() >= 0 && value.compareTo(FieldElement.FIELD_MODULUS) < 0,
+        "Value is not a field element");
+    return new MontgomeryFq(toLimbs(value)).multiply(R_SQUARED);
+  }
+
+  /** @return the element equal to the given one, whose value may not be reduced modulo p. */
+  static MontgomeryFq create(final Fq value) {
+    return create(value.toBigInteger().mod(FieldElement.FIELD_MODULUS));
+  }
+
+  static MontgomeryFq create(final long value) {
+    return create(BigInteger.valueOf(value));
+  }
+
+  BigInteger toBigInteger() {
+    return fromLimbs(montgomeryMultiply(limbs, ONE_LIMBS));
+  }
+
+  @Override
+  public MontgomeryFq zero() {
+    return ZERO;
+  }
+
+  @Override
+  public MontgomeryFq one() {
+    return ONE;
+  }
+
+  @Override
+  public boolean isZero() {
+    for (final int limb : limbs) {
+      if (limb != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public MontgomeryFq add(final MontgomeryFq other) {
+    final int[] result = new int[LIMBS];
+    long carry = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long sum = (limbs[i] & MASK) + (other.limbs[i] & MASK) + carry;
+      result[i] = (int) sum;
+      carry = sum >>> 32;
+    }
+    if (carry != 0 || compare(result, MODULUS) >= 0) {
+      subtractModulus(result);
+    }
+    return new MontgomeryFq(result);
+  }
+
+  @Override
+  public MontgomeryFq subtract(final MontgomeryFq other) {
+    final int[] result = new int[LIMBS];
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long difference = (limbs[i] & MASK) - (other.limbs[i] & MASK) - borrow;
+      result[i] = (int) difference;
+      borrow = (difference >> 32) & 1;
+    }
+    if (borrow != 0) {
+      addModulus(result);
+    }
+    return new MontgomeryFq(result);
+  }
+
+  @Override
+  public MontgomeryFq multiply(final MontgomeryFq other) {
+    return new MontgomeryFq(montgomeryMultiply(limbs, other.limbs));
+  }
+
+  @Override
+  public MontgomeryFq square() {
+    return multiply(this);
+  }
+
+  MontgomeryFq doubled() {
+    return add(this);
+  }
+
+  @Override
+  public MontgomeryFq negate() {
+    if (isZero()) {
+      return this;
+    }
+    final int[] result = MODULUS.clone();
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long difference = (result[i] & MASK) - (limbs[i] & MASK) - borrow;
+      result[i] = (int) difference;
+      borrow = (difference >> 32) & 1;
+    }
+    return new MontgomeryFq(result);
+  }
+
+  @Override
+  public MontgomeryFq inverse() {
+    // The extended Euclidean algorithm of BigInteger is much faster than a Fermat exponentiation.
+    // Inverting aR gives a^-1 * R^-1, which is brought back to a^-1 * R by multiplying by R^3.
+    final BigInteger inverse = fromLimbs(limbs).modInverse(FieldElement.FIELD_MODULUS);
+    return new MontgomeryFq(toLimbs(inverse)).multiply(R_CUBED);
+  }
+
+  private static int[] montgomeryMultiply(final int[] a, final int[] b) {
+    final int[] t = new int[LIMBS + 2];
+    for (int i = 0; i < LIMBS; i++) {
+      final long ai = a[i] & MASK;
+      long carry = 0;
+      for (int j = 0; j < LIMBS; j++) {
+        final long sum = (t[j] & MASK) + ai * (b[j] & MASK) + carry;
+        t[j] = (int) sum;
+        carry = sum >>> 32;
+      }
+      long sum = (t[LIMBS] & MASK) + carry;
+      t[LIMBS] = (int) sum;
+      t[LIMBS + 1] = (int) (sum >>> 32);
+
+      // Add m * p, chosen so that the lowest limb becomes zero, and shift it out.
+      final long m = (t[0] * MODULUS_INVERSE) & MASK;
+      carry = ((t[0] & MASK) + m * (MODULUS[0] & MASK)) >>> 32;
+      for (int j = 1; j < LIMBS; j++) {
+        sum = (t[j] & MASK) + m * (MODULUS[j] & MASK) + carry;
+        t[j - 1] = (int) sum;
+        carry = sum >>> 32;
+      }
+      sum = (t[LIMBS] & MASK) + carry;
+      t[LIMBS - 1] = (int) sum;
+      t[LIMBS] = t[LIMBS + 1] + (int) (sum >>> 32);
+    }
+    final int[] result = Arrays.copyOf(t, LIMBS);
+    if (t[LIMBS] != 0 || compare(result, MODULUS) >= 0) {
+      subtractModulus(result);
+    }
+    return result;
+  }
+
+  private static int compare(final int[] a, final int[] b) {
+    for (int i = LIMBS - 1; i >= 0; i--) {
+      final int comparison = Integer.compareUnsigned(a[i], b[i]);
+      if (comparison != 0) {
+        return comparison;
+      }
+    }
+    return 0;
+  }
+
+  private static void subtractModulus(final int[] value) {
+    long borrow = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long difference = (value[i] & MASK) - (MODULUS[i] & MASK) - borrow;
+      value[i] = (int) difference;
+      borrow = (difference >> 32) & 1;
+    }
+  }
+
+  private static void addModulus(final int[] value) {
+    long carry = 0;
+    for (int i = 0; i < LIMBS; i++) {
+      final long sum = (value[i] & MASK) + (MODULUS[i] & MASK) + carry;
+      value[i] = (int) sum;
+      carry = sum >>> 32;
+    }
+  }
+
+  private static int[] toLimbs(final BigInteger value) {
+    final int[] limbs = new int[LIMBS];
+    for (int i = 0; i < LIMBS; i++) {
+      limbs[i] = value.shiftRight(32 * i).intValue();
+    }
+    return limbs;
+  }
+
+  private static BigInteger fromLimbs(final int[] limbs) {
+    final byte[] bytes = new byte[4 * LIMBS];
+    for (int i = 0; i < LIMBS; i++) {
+      final int limb = limbs[LIMBS - 1 - i];
+      bytes[4 * i] = (byte) (limb >>> 24);
+      bytes[4 * i + 1] = (byte) (limb >>> 16);
+      bytes[4 * i + 2] = (byte) (limb >>> 8);
+      bytes[4 * i + 3] = (byte) limb;
+    }
+    return new BigInteger(1, bytes);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(MontgomeryFq.class).add("n", toBigInteger()).toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return Arrays.hashCode(limbs);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq)) {
+      return false;
+    }
+    final MontgomeryFq other = (MontgomeryFq) obj;
+    return Arrays.equals(limbs, other.limbs);
+  }
+}
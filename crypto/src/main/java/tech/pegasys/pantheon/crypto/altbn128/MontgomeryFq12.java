@@ -0,0 +1,242 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+
+/**
+ * An element {@code c0 + c1 * w} of Fq12 = Fq6[w] / (w^2 - v).
+ *
+ * <p>Since {@code w^6 = xi}, this is the same field as the {@code Fq[w] / (w^12 - 18 * w^6 + 82)}
+ * of {@link Fq12}, with a basis that makes multiplication and the Frobenius map cheap.
+ */
+final class MontgomeryFq12 implements MontgomeryField<MontgomeryFq12> {
+
+  static final MontgomeryFq12 ONE = new MontgomeryFq12(MontgomeryFq6.ONE, MontgomeryFq6.ZERO);
+
+  // FROBENIUS_COEFFICIENTS[j - 1][k] = xi^(k * (p^j - 1) / 6), so that (w^k)^(p^j) is that times
+  // w^k.
+  private static final MontgomeryFq2[][] FROBENIUS_COEFFICIENTS = new MontgomeryFq2[3][6];
+
+  static {
+    final BigInteger p = FieldElement.FIELD_MODULUS;
+    for (int j = 1; j <= 3; j++) {
+      final BigInteger exponent = p.pow(j).subtract(BigInteger.ONE).divide(BigInteger.valueOf(6));
+      final MontgomeryFq2 base = MontgomeryFq2.XI.power(exponent);
+      MontgomeryFq2 coefficient = MontgomeryFq2.ONE;
+      for (int k = 0; k < 6; k++) {
+        FROBENIUS_COEFFICIENTS[j - 1][k] = coefficient;
+        coefficient = coefficient.multiply(base);
+      }
+    }
+  }
+
+  private final MontgomeryFq6 c0;
+  private final MontgomeryFq6 c1;
+
+  MontgomeryFq12(final MontgomeryFq6 c0, final MontgomeryFq6 c1) {
+    this.c0 = c0;
+    this.c1 = c1;
+  }
+
+  MontgomeryFq6 getC0() {
+    return c0;
+  }
+
+  MontgomeryFq6 getC1() {
+    return c1;
+  }
+
+  /** @return xi^(k * (p^power - 1) / 6), for a power between 1 and 3. */
+  static MontgomeryFq2 frobeniusCoefficient(final int power, final int k) {
+    return FROBENIUS_COEFFICIENTS[power - 1][k];
+  }
+
+  @Override
+  public MontgomeryFq12 zero() {
+    return new MontgomeryFq12(MontgomeryFq6.ZERO, MontgomeryFq6.ZERO);
+  }
+
+  @Override
+  public MontgomeryFq12 one() {
+    return ONE;
+  }
+
+  @Override
+  public boolean isZero() {
+    return c0.isZero() && c1.isZero();
+  }
+
+  boolean isOne() {
+    return equals(ONE);
+  }
+
+  @Override
+  public MontgomeryFq12 add(final MontgomeryFq12 other) {
+    return new MontgomeryFq12(c0.add(other.c0), c1.add(other.c1));
+  }
+
+  @Override
+  public MontgomeryFq12 subtract(final MontgomeryFq12 other) {
+    return new MontgomeryFq12(c0.subtract(other.c0), c1.subtract(other.c1));
+  }
+
+  @Override
+  public MontgomeryFq12 multiply(final MontgomeryFq12 other) {
+    final MontgomeryFq6 v0 = c0.multiply(other.c0);
+    final MontgomeryFq6 v1 = c1.multiply(other.c1);
+    return new MontgomeryFq12(
+        v1.multiplyByV().add(v0),
+        c0.add(c1).multiply(other.c0.add(other.c1)).subtract(v0).subtract(v1));
+  }
+
+  /**
+   * Multiplies this element by the sparse element {@code l0 + l1 * w + l3 * w^3}, the shape of the
+   * line functions evaluated by the Miller loop.
+   */
+  MontgomeryFq12 multiplyByLine(
+      final MontgomeryFq2 l0, final MontgomeryFq2 l1, final MontgomeryFq2 l3) {
+    // In this basis the line is (l0, 0, 0) + (l1, l3, 0) * w.
+    final MontgomeryFq6 v0 = c0.multiply(l0);
+    final MontgomeryFq6 v1 = c1.multiplyBy01(l1, l3);
+    return new MontgomeryFq12(
+        v1.multiplyByV().add(v0),
+        c0.add(c1).multiplyBy01(l0.add(l1), l3).subtract(v0).subtract(v1));
+  }
+
+  @Override
+  public MontgomeryFq12 square() {
+    final MontgomeryFq6 v = c0.multiply(c1);
+    return new MontgomeryFq12(
+        c0.add(c1).multiply(c0.add(c1.multiplyByV())).subtract(v).subtract(v.multiplyByV()),
+        v.add(v));
+  }
+
+  @Override
+  public MontgomeryFq12 negate() {
+    return new MontgomeryFq12(c0.negate(), c1.negate());
+  }
+
+  /**
+   * @return the conjugate {@code c0 - c1 * w}, which is this element to the power p^6 and, for
+   *     elements of the cyclotomic subgroup such as the output of the easy part of the final
+   *     exponentiation, also its inverse.
+   */
+  MontgomeryFq12 conjugate() {
+    return new MontgomeryFq12(c0, c1.negate());
+  }
+
+  @Override
+  public MontgomeryFq12 inverse() {
+    final MontgomeryFq6 normInverse = c0.square().subtract(c1.square().multiplyByV()).inverse();
+    return new MontgomeryFq12(c0.multiply(normInverse), c1.negate().multiply(normInverse));
+  }
+
+  /** @return this element to the power p^power, for a power between 1 and 3. */
+  MontgomeryFq12 frobenius(final int power) {
+    // As coefficients of w^k, c0 holds k = 0, 2, 4 and c1 holds k = 1, 3, 5.
+    return new MontgomeryFq12(
+        new MontgomeryFq6(
+            frobenius(c0.getC0(), power, 0),
+            frobenius(c0.getC1(), power, 2),
+            frobenius(c0.getC2(), power, 4)),
+        new MontgomeryFq6(
+            frobenius(c1.getC0(), power, 1),
+            frobenius(c1.getC1(), power, 3),
+            frobenius(c1.getC2(), power, 5)));
+  }
+
+  private static MontgomeryFq2 frobenius(
+      final MontgomeryFq2 coefficient, final int power, final int k) {
+    final MontgomeryFq2 conjugated = power % 2 == 0 ? coefficient : coefficient.conjugate();
+    return conjugated.multiply(frobeniusCoefficient(power, k));
+  }
+
+  /**
+   * Squares an element of the cyclotomic subgroup, the elements whose order divides p^4 - p^2 + 1,
+   * such as the output of the easy part of the final exponentiation.
+   *
+   * <p>Uses the formulas of Granger and Scott, "Faster Squaring in the Cyclotomic Subgroup of Sixth
+   * Degree Extensions", which need six Fq2 multiplications instead of twelve.
+   */
+  MontgomeryFq12 cyclotomicSquare() {
+    // The coefficients of the three Fq4 elements the formulas square.
+    final MontgomeryFq2 z0 = c0.getC0();
+    final MontgomeryFq2 z4 = c0.getC1();
+    final MontgomeryFq2 z3 = c0.getC2();
+    final MontgomeryFq2 z2 = c1.getC0();
+    final MontgomeryFq2 z1 = c1.getC1();
+    final MontgomeryFq2 z5 = c1.getC2();
+
+    final MontgomeryFq2 z0z1 = z0.multiply(z1);
+    final MontgomeryFq2 t0 =
+        z0.add(z1).multiply(z0.add(z1.multiplyByXi())).subtract(z0z1).subtract(z0z1.multiplyByXi());
+    final MontgomeryFq2 t1 = z0z1.doubled();
+    final MontgomeryFq2 z2z3 = z2.multiply(z3);
+    final MontgomeryFq2 t2 =
+        z2.add(z3).multiply(z2.add(z3.multiplyByXi())).subtract(z2z3).subtract(z2z3.multiplyByXi());
+    final MontgomeryFq2 t3 = z2z3.doubled();
+    final MontgomeryFq2 z4z5 = z4.multiply(z5);
+    final MontgomeryFq2 t4 =
+        z4.add(z5).multiply(z4.add(z5.multiplyByXi())).subtract(z4z5).subtract(z4z5.multiplyByXi());
+    final MontgomeryFq2 t5 = z4z5.doubled();
+    final MontgomeryFq2 t5Xi = t5.multiplyByXi();
+
+    return new MontgomeryFq12(
+        new MontgomeryFq6(
+            t0.subtract(z0).doubled().add(t0),
+            t2.subtract(z4).doubled().add(t2),
+            t4.subtract(z3).doubled().add(t4)),
+        new MontgomeryFq6(
+            t5Xi.add(z2).doubled().add(t5Xi),
+            t1.add(z1).doubled().add(t1),
+            t3.add(z5).doubled().add(t3)));
+  }
+
+  /** @return this element of the cyclotomic subgroup to the given power. */
+  MontgomeryFq12 cyclotomicPower(final long exponent) {
+    MontgomeryFq12 result = ONE;
+    for (int i = 63 - Long.numberOfLeadingZeros(exponent); i >= 0; i--) {
+      result = result.cyclotomicSquare();
+      if ((exponent & (1L << i)) != 0) {
+        result = result.multiply(this);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(MontgomeryFq12.class).add("c0", c0).add("c1", c1).toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(c0, c1);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq12)) {
+      return false;
+    }
+    final MontgomeryFq12 other = (MontgomeryFq12) obj;
+    return c0.equals(other.c0) && c1.equals(other.c1);
+  }
+}
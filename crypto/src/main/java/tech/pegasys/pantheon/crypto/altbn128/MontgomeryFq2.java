@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import java.math.BigInteger;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+
+/** An element {@code a + b * i} of Fq2 = Fq[i] / (i^2 + 1), on Montgomery form coefficients. */
+final class MontgomeryFq2 implements MontgomeryField<MontgomeryFq2> {
+
+  static final MontgomeryFq2 ZERO = new MontgomeryFq2(MontgomeryFq.ZERO, MontgomeryFq.ZERO);
+  static final MontgomeryFq2 ONE = new MontgomeryFq2(MontgomeryFq.ONE, MontgomeryFq.ZERO);
+
+  /** The non-residue 9 + i, used to build Fq6 and defining the twist of the curve. */
+  static final MontgomeryFq2 XI = create(9, 1);
+
+  private final MontgomeryFq a;
+  private final MontgomeryFq b;
+
+  MontgomeryFq2(final MontgomeryFq a, final MontgomeryFq b) {
+    this.a = a;
+    this.b = b;
+  }
+
+  static MontgomeryFq2 create(final BigInteger a, final BigInteger b) {
+    return new MontgomeryFq2(MontgomeryFq.create(a), MontgomeryFq.create(b));
+  }
+
+  static MontgomeryFq2 create(final Fq2 value) {
+    final Fq[] coefficients = value.getCoefficients();
+    return new MontgomeryFq2(
+        MontgomeryFq.create(coefficients[0]), MontgomeryFq.create(coefficients[1]));
+  }
+
+  static MontgomeryFq2 create(final long a, final long b) {
+    return new MontgomeryFq2(MontgomeryFq.create(a), MontgomeryFq.create(b));
+  }
+
+  MontgomeryFq getA() {
+    return a;
+  }
+
+  MontgomeryFq getB() {
+    return b;
+  }
+
+  @Override
+  public MontgomeryFq2 zero() {
+    return ZERO;
+  }
+
+  @Override
+  public MontgomeryFq2 one() {
+    return ONE;
+  }
+
+  @Override
+  public boolean isZero() {
+    return a.isZero() && b.isZero();
+  }
+
+  @Override
+  public MontgomeryFq2 add(final MontgomeryFq2 other) {
+    return new MontgomeryFq2(a.add(other.a), b.add(other.b));
+  }
+
+  @Override
+  public MontgomeryFq2 subtract(final MontgomeryFq2 other) {
+    return new MontgomeryFq2(a.subtract(other.a), b.subtract(other.b));
+  }
+
+  @Override
+  public MontgomeryFq2 multiply(final MontgomeryFq2 other) {
+    // Karatsuba: three base field multiplications instead of four.
+    final MontgomeryFq v0 = a.multiply(other.a);
+    final MontgomeryFq v1 = b.multiply(other.b);
+    return new MontgomeryFq2(
+        v0.subtract(v1), a.add(b).multiply(other.a.add(other.b)).subtract(v0).subtract(v1));
+  }
+
+  MontgomeryFq2 multiply(final MontgomeryFq scalar) {
+    return new MontgomeryFq2(a.multiply(scalar), b.multiply(scalar));
+  }
+
+  @Override
+  public MontgomeryFq2 square() {
+    final MontgomeryFq ab = a.multiply(b);
+    return new MontgomeryFq2(a.add(b).multiply(a.subtract(b)), ab.doubled());
+  }
+
+  MontgomeryFq2 doubled() {
+    return new MontgomeryFq2(a.doubled(), b.doubled());
+  }
+
+  MontgomeryFq2 tripled() {
+    return doubled().add(this);
+  }
+
+  /** @return this element multiplied by {@link #XI}. */
+  MontgomeryFq2 multiplyByXi() {
+    final MontgomeryFq nineA = a.doubled().doubled().doubled().add(a);
+    final MontgomeryFq nineB = b.doubled().doubled().doubled().add(b);
+    return new MontgomeryFq2(nineA.subtract(b), nineB.add(a));
+  }
+
+  @Override
+  public MontgomeryFq2 negate() {
+    return new MontgomeryFq2(a.negate(), b.negate());
+  }
+
+  /** @return the conjugate {@code a - b * i}, which is also this element to the power p. */
+  MontgomeryFq2 conjugate() {
+    return new MontgomeryFq2(a, b.negate());
+  }
+
+  @Override
+  public MontgomeryFq2 inverse() {
+    final MontgomeryFq normInverse = a.square().add(b.square()).inverse();
+    return new MontgomeryFq2(a.multiply(normInverse), b.negate().multiply(normInverse));
+  }
+
+  MontgomeryFq2 power(final BigInteger exponent) {
+    MontgomeryFq2 result = ONE;
+    for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+      result = result.square();
+      if (exponent.testBit(i)) {
+        result = result.multiply(this);
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(MontgomeryFq2.class).add("a", a).add("b", b).toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(a, b);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq2)) {
+      return false;
+    }
+    final MontgomeryFq2 other = (MontgomeryFq2) obj;
+    return a.equals(other.a) && b.equals(other.b);
+  }
+}
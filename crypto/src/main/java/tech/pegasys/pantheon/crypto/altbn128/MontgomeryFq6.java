@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+
+/** An element {@code c0 + c1 * v + c2 * v^2} of Fq6 = Fq2[v] / (v^3 - xi). */
+final class MontgomeryFq6 implements MontgomeryField<MontgomeryFq6> {
+
+  static final MontgomeryFq6 ZERO =
+      new MontgomeryFq6(MontgomeryFq2.ZERO, MontgomeryFq2.ZERO, MontgomeryFq2.ZERO);
+  static final MontgomeryFq6 ONE =
+      new MontgomeryFq6(MontgomeryFq2.ONE, MontgomeryFq2.ZERO, MontgomeryFq2.ZERO);
+
+  private final MontgomeryFq2 c0;
+  private final MontgomeryFq2 c1;
+  private final MontgomeryFq2 c2;
+
+  MontgomeryFq6(final MontgomeryFq2 c0, final MontgomeryFq2 c1, final MontgomeryFq2 c2) {
+    this.c0 = c0;
+    this.c1 = c1;
+    this.c2 = c2;
+  }
+
+  MontgomeryFq2 getC0() {
+    return c0;
+  }
+
+  MontgomeryFq2 getC1() {
+    return c1;
+  }
+
+  MontgomeryFq2 getC2() {
+    return c2;
+  }
+
+  @Override
+  public MontgomeryFq6 zero() {
+    return ZERO;
+  }
+
+  @Override
+  public MontgomeryFq6 one() {
+    return ONE;
+  }
+
+  @Override
+  public boolean isZero() {
+    return c0.isZero() && c1.isZero() && c2.isZero();
+  }
+
+  @Override
+  public MontgomeryFq6 add(final MontgomeryFq6 other) {
+    return new MontgomeryFq6(c0.add(other.c0), c1.add(other.c1), c2.add(other.c2));
+  }
+
+  @Override
+  public MontgomeryFq6 subtract(final MontgomeryFq6 other) {
+    return new MontgomeryFq6(c0.subtract(other.c0), c1.subtract(other.c1), c2.subtract(other.c2));
+  }
+
+  @Override
+  public MontgomeryFq6 multiply(final MontgomeryFq6 other) {
+    // Karatsuba: six Fq2 multiplications instead of nine.
+    final MontgomeryFq2 v0 = c0.multiply(other.c0);
+    final MontgomeryFq2 v1 = c1.multiply(other.c1);
+    final MontgomeryFq2 v2 = c2.multiply(other.c2);
+    return new MontgomeryFq6(
+        c1.add(c2)
+            .multiply(other.c1.add(other.c2))
+            .subtract(v1)
+            .subtract(v2)
+            .multiplyByXi()
+            .add(v0),
+        c0.add(c1)
+            .multiply(other.c0.add(other.c1))
+            .subtract(v0)
+            .subtract(v1)
+            .add(v2.multiplyByXi()),
+        c0.add(c2).multiply(other.c0.add(other.c2)).subtract(v0).subtract(v2).add(v1));
+  }
+
+  MontgomeryFq6 multiply(final MontgomeryFq2 scalar) {
+    return new MontgomeryFq6(c0.multiply(scalar), c1.multiply(scalar), c2.multiply(scalar));
+  }
+
+  /** @return this element multiplied by the sparse element {@code b0 + b1 * v}. */
+  MontgomeryFq6 multiplyBy01(final MontgomeryFq2 b0, final MontgomeryFq2 b1) {
+    final MontgomeryFq2 v0 = c0.multiply(b0);
+    final MontgomeryFq2 v1 = c1.multiply(b1);
+    return new MontgomeryFq6(
+        c2.multiply(b1).multiplyByXi().add(v0),
+        c0.add(c1).multiply(b0.add(b1)).subtract(v0).subtract(v1),
+        c2.multiply(b0).add(v1));
+  }
+
+  /** @return this element multiplied by v. */
+  MontgomeryFq6 multiplyByV() {
+    return new MontgomeryFq6(c2.multiplyByXi(), c0, c1);
+  }
+
+  @Override
+  public MontgomeryFq6 square() {
+    return multiply(this);
+  }
+
+  @Override
+  public MontgomeryFq6 negate() {
+    return new MontgomeryFq6(c0.negate(), c1.negate(), c2.negate());
+  }
+
+  @Override
+  public MontgomeryFq6 inverse() {
+    final MontgomeryFq2 t0 = c0.square().subtract(c1.multiply(c2).multiplyByXi());
+    final MontgomeryFq2 t1 = c2.square().multiplyByXi().subtract(c0.multiply(c1));
+    final MontgomeryFq2 t2 = c1.square().subtract(c0.multiply(c2));
+    final MontgomeryFq2 normInverse =
+        c0.multiply(t0).add(c2.multiply(t1).add(c1.multiply(t2)).multiplyByXi()).inverse();
+    return new MontgomeryFq6(
+        t0.multiply(normInverse), t1.multiply(normInverse), t2.multiply(normInverse));
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(MontgomeryFq6.class)
+        .add("c0", c0)
+        .add("c1", c1)
+        .add("c2", c2)
+        .toString();
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(c0, c1, c2);
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (!(obj instanceof MontgomeryFq6)) {
+      return false;
+    }
+    final MontgomeryFq6 other = (MontgomeryFq6) obj;
+    return c0.equals(other.c0) && c1.equals(other.c1) && c2.equals(other.c2);
+  }
+}
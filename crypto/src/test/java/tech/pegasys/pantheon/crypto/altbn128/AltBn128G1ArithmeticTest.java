@@ -0,0 +1,74 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class AltBn128G1ArithmeticTest {
+
+  private static final BigInteger CURVE_ORDER =
+      new BigInteger(
+          "21888242871839275222246405745257275088548364400416034343698204186575808495617");
+
+  private final Random random = new Random(1);
+
+  @Test
+  public void additionMatchesAffineAddition() {
+    for (int i = 0; i < 10; i++) {
+      final AltBn128Point p1 = randomPoint();
+      final AltBn128Point p2 = randomPoint();
+      assertThat(AltBn128G1Arithmetic.add(p1, p2)).isEqualTo(p1.add(p2));
+    }
+  }
+
+  @Test
+  public void additionHandlesExceptionalCases() {
+    final AltBn128Point p = randomPoint();
+    assertThat(AltBn128G1Arithmetic.add(p, p)).isEqualTo(p.add(p));
+    assertThat(AltBn128G1Arithmetic.add(p, p.negate())).isEqualTo(AltBn128Point.INFINITY);
+    assertThat(AltBn128G1Arithmetic.add(p, AltBn128Point.INFINITY)).isEqualTo(p);
+    assertThat(AltBn128G1Arithmetic.add(AltBn128Point.INFINITY, p)).isEqualTo(p);
+    assertThat(AltBn128G1Arithmetic.add(AltBn128Point.INFINITY, AltBn128Point.INFINITY))
+        .isEqualTo(AltBn128Point.INFINITY);
+  }
+
+  @Test
+  public void multiplicationMatchesAffineMultiplication() {
+    final AltBn128Point p = randomPoint();
+    final BigInteger[] scalars = {
+      BigInteger.ZERO,
+      BigInteger.ONE,
+      BigInteger.valueOf(2),
+      CURVE_ORDER.subtract(BigInteger.ONE),
+      CURVE_ORDER,
+      CURVE_ORDER.add(BigInteger.ONE),
+      BigInteger.ONE.shiftLeft(256).subtract(BigInteger.ONE),
+      new BigInteger(256, random),
+      new BigInteger(256, random)
+    };
+    for (final BigInteger scalar : scalars) {
+      assertThat(AltBn128G1Arithmetic.multiply(p, scalar)).isEqualTo(p.multiply(scalar));
+    }
+    assertThat(AltBn128G1Arithmetic.multiply(AltBn128Point.INFINITY, scalars[7]))
+        .isEqualTo(AltBn128Point.INFINITY);
+  }
+
+  private AltBn128Point randomPoint() {
+    return AltBn128Point.g1().multiply(new BigInteger(256, random));
+  }
+}
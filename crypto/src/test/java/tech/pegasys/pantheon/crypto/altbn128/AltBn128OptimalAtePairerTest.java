@@ -0,0 +1,139 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class AltBn128OptimalAtePairerTest {
+
+  private static final BigInteger P = FieldElement.FIELD_MODULUS;
+
+  private final Random random = new Random(1);
+
+  @Test
+  public void reducedPairingMatchesFq12Pairer() {
+    assertSamePairing(AltBn128Point.g1(), AltBn128Fq2Point.g2());
+    assertSamePairing(
+        AltBn128Point.g1().multiply(new BigInteger(256, random)),
+        AltBn128Fq2Point.g2().multiply(new BigInteger(256, random)));
+  }
+
+  @Test
+  public void productOfPairingsWithNegatedPointIsOne() {
+    final AltBn128Point p = AltBn128Point.g1().multiply(new BigInteger(256, random));
+    final AltBn128Fq2Point q = AltBn128Fq2Point.g2().multiply(new BigInteger(256, random));
+
+    assertThat(AltBn128OptimalAtePairer.isProductOne(asList(p, p.negate()), asList(q, q))).isTrue();
+    assertThat(AltBn128OptimalAtePairer.isProductOne(asList(p, p), asList(q, q.negate()))).isTrue();
+    assertThat(AltBn128OptimalAtePairer.isProductOne(asList(p, p), asList(q, q))).isFalse();
+    assertThat(AltBn128OptimalAtePairer.isProductOne(singletonList(p), singletonList(q))).isFalse();
+  }
+
+  @Test
+  public void pairingIsBilinear() {
+    final BigInteger a = new BigInteger(256, random);
+    final AltBn128Point p = AltBn128Point.g1();
+    final AltBn128Fq2Point q = AltBn128Fq2Point.g2();
+
+    // e(aP, Q) * e(-P, aQ) = 1
+    assertThat(
+            AltBn128OptimalAtePairer.isProductOne(
+                asList(p.multiply(a), p.negate()), asList(q, q.multiply(a))))
+        .isTrue();
+  }
+
+  @Test
+  public void pairingsWithInfinityAreOne() {
+    assertThat(AltBn128OptimalAtePairer.isProductOne(emptyList(), emptyList())).isTrue();
+    assertThat(
+            AltBn128OptimalAtePairer.isProductOne(
+                singletonList(AltBn128Point.INFINITY), singletonList(AltBn128Fq2Point.g2())))
+        .isTrue();
+    assertThat(
+            AltBn128OptimalAtePairer.isProductOne(
+                singletonList(AltBn128Point.g1()),
+                singletonList(new AltBn128Fq2Point(Fq2.zero(), Fq2.zero()))))
+        .isTrue();
+  }
+
+  @Test
+  public void pointsOutsideOfSubgroupGiveSameResultAsFq12Pairer() {
+    final AltBn128Fq2Point q = twistPointOutsideOfSubgroup();
+    final AltBn128Point p = AltBn128Point.g1();
+
+    final Fq12 expected =
+        AltBn128Fq12Pairer.finalize(
+            AltBn128Fq12Pairer.pair(p, q).multiply(AltBn128Fq12Pairer.pair(p.negate(), q)));
+    assertThat(AltBn128OptimalAtePairer.isProductOne(asList(p, p.negate()), asList(q, q)))
+        .isEqualTo(expected.equals(Fq12.one()));
+  }
+
+  private static void assertSamePairing(final AltBn128Point p, final AltBn128Fq2Point q) {
+    final MontgomeryFq12 pairing =
+        AltBn128OptimalAtePairer.finalExponentiation(
+            AltBn128OptimalAtePairer.millerLoop(
+                singletonList(
+                    new MontgomeryFq[] {
+                      MontgomeryFq.create(p.getX()), MontgomeryFq.create(p.getY())
+                    }),
+                singletonList(
+                    new MontgomeryFq2[] {
+                      MontgomeryFq2.create(q.getX()), MontgomeryFq2.create(q.getY())
+                    })));
+    assertThat(MontgomeryFq12Test.toFq12(pairing))
+        .isEqualTo(AltBn128Fq12Pairer.finalize(AltBn128Fq12Pairer.pair(p, q)));
+  }
+
+  private AltBn128Fq2Point twistPointOutsideOfSubgroup() {
+    final MontgomeryFq2 twistB = MontgomeryFq2.create(Fq2.b2());
+    while (true) {
+      final MontgomeryFq2 x = MontgomeryFq2.create(new BigInteger(253, random), BigInteger.ONE);
+      final MontgomeryFq2 y = squareRoot(x.square().multiply(x).add(twistB));
+      if (y != null) {
+        final AltBn128Fq2Point q = new AltBn128Fq2Point(toFq2(x), toFq2(y));
+        assertThat(q.isOnCurve()).isTrue();
+        return q;
+      }
+    }
+  }
+
+  /** Square root in Fq2 for p = 3 mod 4, or null if there is none. */
+  private static MontgomeryFq2 squareRoot(final MontgomeryFq2 a) {
+    final MontgomeryFq2 minusOne = MontgomeryFq2.ONE.negate();
+    final MontgomeryFq2 a1 = a.power(P.subtract(BigInteger.valueOf(3)).shiftRight(2));
+    final MontgomeryFq2 alpha = a1.square().multiply(a);
+    if (alpha.conjugate().multiply(alpha).equals(minusOne)) {
+      return null;
+    }
+    final MontgomeryFq2 x0 = a1.multiply(a);
+    if (alpha.equals(minusOne)) {
+      return new MontgomeryFq2(x0.getB().negate(), x0.getA());
+    }
+    return MontgomeryFq2.ONE
+        .add(alpha)
+        .power(P.subtract(BigInteger.ONE).shiftRight(1))
+        .multiply(x0);
+  }
+
+  private static Fq2 toFq2(final MontgomeryFq2 value) {
+    return Fq2.create(value.getA().toBigInteger(), value.getB().toBigInteger());
+  }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MontgomeryFq12Test {
+
+  private static final BigInteger P = FieldElement.FIELD_MODULUS;
+
+  private final Random random = new Random(1);
+
+  @Test
+  public void multiplicationMatchesFq12() {
+    for (int i = 0; i < 20; i++) {
+      final MontgomeryFq12 a = randomElement();
+      final MontgomeryFq12 b = randomElement();
+      assertThat(toFq12(a.multiply(b))).isEqualTo(toFq12(a).multiply(toFq12(b)));
+      assertThat(toFq12(a.add(b))).isEqualTo(toFq12(a).add(toFq12(b)));
+      assertThat(toFq12(a.subtract(b))).isEqualTo(toFq12(a).subtract(toFq12(b)));
+    }
+  }
+
+  @Test
+  public void squareMatchesMultiplication() {
+    for (int i = 0; i < 20; i++) {
+      final MontgomeryFq12 a = randomElement();
+      assertThat(a.square()).isEqualTo(a.multiply(a));
+    }
+  }
+
+  @Test
+  public void lineMultiplicationMatchesMultiplication() {
+    for (int i = 0; i < 20; i++) {
+      final MontgomeryFq12 a = randomElement();
+      final MontgomeryFq2 l0 = randomFq2();
+      final MontgomeryFq2 l1 = randomFq2();
+      final MontgomeryFq2 l3 = randomFq2();
+      final MontgomeryFq12 line =
+          new MontgomeryFq12(
+              new MontgomeryFq6(l0, MontgomeryFq2.ZERO, MontgomeryFq2.ZERO),
+              new MontgomeryFq6(l1, l3, MontgomeryFq2.ZERO));
+      assertThat(a.multiplyByLine(l0, l1, l3)).isEqualTo(a.multiply(line));
+    }
+  }
+
+  @Test
+  public void inverseIsMultiplicativeInverse() {
+    for (int i = 0; i < 20; i++) {
+      final MontgomeryFq12 a = randomElement();
+      assertThat(a.multiply(a.inverse())).isEqualTo(MontgomeryFq12.ONE);
+    }
+  }
+
+  @Test
+  public void frobeniusRaisesToPowersOfModulus() {
+    final MontgomeryFq12 a = randomElement();
+    for (int power = 1; power <= 3; power++) {
+      assertThat(toFq12(a.frobenius(power))).isEqualTo(toFq12(a).power(P.pow(power)));
+    }
+    assertThat(a.conjugate()).isEqualTo(a.frobenius(3).frobenius(3));
+  }
+
+  @Test
+  public void cyclotomicSquareMatchesSquare() {
+    for (int i = 0; i < 20; i++) {
+      final MontgomeryFq12 a = randomCyclotomicElement();
+      assertThat(a.cyclotomicSquare()).isEqualTo(a.square());
+    }
+  }
+
+  @Test
+  public void cyclotomicPowerMatchesRepeatedMultiplication() {
+    final MontgomeryFq12 a = randomCyclotomicElement();
+    MontgomeryFq12 expected = MontgomeryFq12.ONE;
+    for (int i = 0; i < 37; i++) {
+      expected = expected.multiply(a);
+    }
+    assertThat(a.cyclotomicPower(37)).isEqualTo(expected);
+  }
+
+  /** Expresses an element in the basis of {@link Fq12}, where i = w^6 - 9. */
+  static Fq12 toFq12(final MontgomeryFq12 value) {
+    // Coefficients of w^0 to w^5.
+    final MontgomeryFq2[] coefficients = {
+      value.getC0().getC0(),
+      value.getC1().getC0(),
+      value.getC0().getC1(),
+      value.getC1().getC1(),
+      value.getC0().getC2(),
+      value.getC1().getC2()
+    };
+    final Fq[] result = new Fq[Fq12.DEGREE];
+    for (int k = 0; k < coefficients.length; k++) {
+      final BigInteger a = coefficients[k].getA().toBigInteger();
+      final BigInteger b = coefficients[k].getB().toBigInteger();
+      result[k] = Fq.create(a.subtract(b.multiply(BigInteger.valueOf(9))).mod(P));
+      result[k + 6] = Fq.create(b);
+    }
+    return new Fq12(result);
+  }
+
+  private MontgomeryFq12 randomElement() {
+    return new MontgomeryFq12(
+        new MontgomeryFq6(randomFq2(), randomFq2(), randomFq2()),
+        new MontgomeryFq6(randomFq2(), randomFq2(), randomFq2()));
+  }
+
+  private MontgomeryFq12 randomCyclotomicElement() {
+    // Raising to the power (p^6 - 1) * (p^2 + 1) lands in the cyclotomic subgroup.
+    final MontgomeryFq12 a = randomElement();
+    final MontgomeryFq12 b = a.conjugate().multiply(a.inverse());
+    return b.frobenius(2).multiply(b);
+  }
+
+  private MontgomeryFq2 randomFq2() {
+    return MontgomeryFq2.create(
+        new BigInteger(256, random).mod(P), new BigInteger(256, random).mod(P));
+  }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.crypto.altbn128;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class MontgomeryFqTest {
+
+  private static final BigInteger P = FieldElement.FIELD_MODULUS;
+
+  private final Random random = new Random(1);
+
+  @Test
+  public void roundTripsValues() {
+    for (final BigInteger value : edgeValues()) {
+      assertThat(MontgomeryFq.create(value).toBigInteger()).isEqualTo(value);
+    }
+    assertThat(MontgomeryFq.ZERO.toBigInteger()).isEqualTo(BigInteger.ZERO);
+    assertThat(MontgomeryFq.ONE.toBigInteger()).isEqualTo(BigInteger.ONE);
+  }
+
+  @Test
+  public void rejectsValuesOutsideOfField() {
+    assertThatThrownBy(() -> MontgomeryFq.create(P)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> MontgomeryFq.create(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  public void arithmeticMatchesBigInteger() {
+    final BigInteger[] values = new BigInteger[200];
+    final BigInteger[] edgeValues = edgeValues();
+    for (int i = 0; i < values.length; i++) {
+      values[i] = i < edgeValues.length ? edgeValues[i] : randomElement();
+    }
+    for (int i = 0; i < values.length; i++) {
+      final BigInteger a = values[i];
+      final BigInteger b = values[(i * 7 + 3) % values.length];
+      final MontgomeryFq fa = MontgomeryFq.create(a);
+      final MontgomeryFq fb = MontgomeryFq.create(b);
+
+      assertThat(fa.add(fb).toBigInteger()).isEqualTo(a.add(b).mod(P));
+      assertThat(fa.subtract(fb).toBigInteger()).isEqualTo(a.subtract(b).mod(P));
+      assertThat(fa.multiply(fb).toBigInteger()).isEqualTo(a.multiply(b).mod(P));
+      assertThat(fa.square().toBigInteger()).isEqualTo(a.multiply(a).mod(P));
+      assertThat(fa.negate().toBigInteger()).isEqualTo(a.negate().mod(P));
+      assertThat(fa.isZero()).isEqualTo(a.signum() == 0);
+      if (a.signum() != 0) {
+        assertThat(fa.inverse().toBigInteger()).isEqualTo(a.modInverse(P));
+      }
+    }
+  }
+
+  @Test
+  public void equalValuesAreEqual() {
+    final BigInteger value = randomElement();
+    assertThat(MontgomeryFq.create(value)).isEqualTo(MontgomeryFq.create(value));
+    assertThat(MontgomeryFq.create(value).hashCode())
+        .isEqualTo(MontgomeryFq.create(value).hashCode());
+    assertThat(MontgomeryFq.create(value))
+        .isNotEqualTo(MontgomeryFq.create(value.add(BigInteger.ONE).mod(P)));
+  }
+
+  private static BigInteger[] edgeValues() {
+    final BigInteger pMinusOne = P.subtract(BigInteger.ONE);
+    return new BigInteger[] {
+      BigInteger.ZERO,
+      BigInteger.ONE,
+      BigInteger.valueOf(2),
+      BigInteger.ONE.shiftLeft(32).subtract(BigInteger.ONE),
+      BigInteger.ONE.shiftLeft(32),
+      BigInteger.ONE.shiftLeft(253),
+      pMinusOne.shiftRight(1),
+      pMinusOne.subtract(BigInteger.ONE),
+      pMinusOne
+    };
+  }
+
+  private BigInteger randomElement() {
+    return new BigInteger(256, random).mod(P);
+  }
+}
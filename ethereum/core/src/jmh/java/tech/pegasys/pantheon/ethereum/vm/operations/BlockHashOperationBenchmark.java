@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.ethereum.vm.operations;
 
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.mainnet.ConstantinopleFixGasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
@@ -29,8 +30,8 @@ import org.openjdk.jmh.annotations.TearDown;
 public class BlockHashOperationBenchmark {
 
   @Param({
-    "1", // Worst-case scenario
-    "125", // Must iterate up the chain
+    "1", // Oldest block in the BLOCKHASH window
+    "125", // Must iterate up the chain, or consult the canonical block hash cache
     "255" // Hash available directly via current header's parentHash
   })
   public long blockNumber;
@@ -69,4 +70,19 @@ public class BlockHashOperationBenchmark {
     operation.execute(cleanFrame);
     return cleanFrame.popStackItem();
   }
+
+  @Benchmark
+  public Bytes32 executeOperationOnForkWithEmptyHashCache() {
+    // The canonical block hash cache can only be used after reading the fork's headers from disk.
+    final BlockHeader forkBlockHeader = operationBenchmarkHelper.getForkBlockHeader();
+    final MessageFrame cleanFrame =
+        operationBenchmarkHelper
+            .createMessageFrameBuilder()
+            .blockHeader(forkBlockHeader)
+            .blockHashLookup(new BlockHashLookup(forkBlockHeader, frame.getBlockchain()))
+            .build();
+    cleanFrame.pushStackItem(UInt256.of(blockNumber).getBytes());
+    operation.execute(cleanFrame);
+    return cleanFrame.popStackItem();
+  }
 }
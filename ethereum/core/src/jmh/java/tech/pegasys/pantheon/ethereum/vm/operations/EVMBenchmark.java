@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm.operations;
+
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.mainnet.ConstantinopleFixGasCalculator;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetEvmRegistries;
+import tech.pegasys.pantheon.ethereum.vm.Code;
+import tech.pegasys.pantheon.ethereum.vm.EVM;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
+import tech.pegasys.pantheon.ethereum.vm.OperationTracer;
+import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Measures interpreter throughput in instructions per second, reported as the {@code instructions}
+ * counter, for code that stays within the interpreter loop.
+ */
+@State(Scope.Thread)
+public class EVMBenchmark {
+
+  // Counts down from 10000 computing (n * n + 7) % 3 on each iteration.
+  private static final String ARITHMETIC_LOOP =
+      "0x6127105b8080026007016003900650600190038060035700";
+  // Counts down from 1000 storing the counter in memory and hashing it.
+  private static final String MEMORY_HASH_LOOP =
+      "0x6103e85b806000526020600020602052600190038060035700";
+
+  @Param({ARITHMETIC_LOOP, MEMORY_HASH_LOOP})
+  public String code;
+
+  private OperationBenchmarkHelper operationBenchmarkHelper;
+  private EVM evm;
+  private Code analysedCode;
+  private long instructionsPerRun;
+  private MessageFrame frame;
+
+  @Setup
+  public void prepare() throws Exception {
+    operationBenchmarkHelper = OperationBenchmarkHelper.create();
+    evm = MainnetEvmRegistries.constantinople(new ConstantinopleFixGasCalculator());
+    analysedCode = new Code(BytesValue.fromHexString(code));
+
+    final long[] instructions = new long[1];
+    createFrame();
+    evm.runToHalt(
+        frame,
+        (messageFrame, currentGasCost, executeOperation) -> {
+          instructions[0]++;
+          executeOperation.execute();
+        });
+    instructionsPerRun = instructions[0];
+  }
+
+  @Setup(Level.Invocation)
+  public void createFrame() {
+    frame =
+        operationBenchmarkHelper
+            .createMessageFrameBuilder()
+            .code(analysedCode)
+            .initialGas(Gas.of(10_000_000))
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+  }
+
+  @TearDown
+  public void cleanUp() throws Exception {
+    operationBenchmarkHelper.cleanUp();
+  }
+
+  @Benchmark
+  public MessageFrame.State runWithoutTracing(final InstructionCounter counter)
+      throws ExceptionalHaltException {
+    evm.runToHalt(frame, OperationTracer.NO_TRACING);
+    counter.instructions += instructionsPerRun;
+    return frame.getState();
+  }
+
+  @Benchmark
+  public MessageFrame.State runWithPassThroughTracer(final InstructionCounter counter)
+      throws ExceptionalHaltException {
+    evm.runToHalt(
+        frame, (messageFrame, currentGasCost, executeOperation) -> executeOperation.execute());
+    counter.instructions += instructionsPerRun;
+    return frame.getState();
+  }
+
+  @AuxCounters(AuxCounters.Type.OPERATIONS)
+  @State(Scope.Thread)
+  public static class InstructionCounter {
+    public long instructions;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      instructions = 0;
+    }
+  }
+}
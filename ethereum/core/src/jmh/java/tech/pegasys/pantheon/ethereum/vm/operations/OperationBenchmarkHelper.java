@@ -17,6 +17,7 @@ import static java.util.Collections.emptyList;
 import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
 import tech.pegasys.pantheon.ethereum.core.ExecutionContextTestFixture;
 import tech.pegasys.pantheon.ethereum.core.MessageFrameTestFixture;
@@ -38,14 +39,17 @@ public class OperationBenchmarkHelper {
   private final Path storageDirectory;
   private final KeyValueStorage keyValueStorage;
   private final MessageFrame messageFrame;
+  private final BlockHeader forkBlockHeader;
 
   private OperationBenchmarkHelper(
       final Path storageDirectory,
       final KeyValueStorage keyValueStorage,
-      final MessageFrame messageFrame) {
+      final MessageFrame messageFrame,
+      final BlockHeader forkBlockHeader) {
     this.storageDirectory = storageDirectory;
     this.keyValueStorage = keyValueStorage;
     this.messageFrame = messageFrame;
+    this.forkBlockHeader = forkBlockHeader;
   }
 
   public static OperationBenchmarkHelper create() throws IOException {
@@ -68,6 +72,24 @@ public class OperationBenchmarkHelper {
               new BlockBody(emptyList(), emptyList())),
           emptyList());
     }
+
+    // A sibling of the chain head, which doesn't have enough difficulty to become canonical.
+    final BlockHeader chainHead = blockchain.getChainHeadHeader();
+    final BlockHeader forkParent =
+        new BlockHeaderTestFixture()
+            .parentHash(chainHead.getParentHash())
+            .number(chainHead.getNumber())
+            .difficulty(UInt256.ZERO)
+            .buildHeader();
+    blockchain.appendBlock(
+        new Block(forkParent, new BlockBody(emptyList(), emptyList())), emptyList());
+    final BlockHeader forkBlockHeader =
+        new BlockHeaderTestFixture()
+            .parentHash(forkParent.getHash())
+            .number(forkParent.getNumber() + 1)
+            .difficulty(UInt256.ONE)
+            .buildHeader();
+
     final MessageFrame messageFrame =
         new MessageFrameTestFixture()
             .executionContextTestFixture(executionContext)
@@ -78,7 +100,16 @@ public class OperationBenchmarkHelper {
                     .difficulty(UInt256.ONE)
                     .buildHeader())
             .build();
-    return new OperationBenchmarkHelper(storageDirectory, keyValueStorage, messageFrame);
+    return new OperationBenchmarkHelper(
+        storageDirectory, keyValueStorage, messageFrame, forkBlockHeader);
+  }
+
+  /**
+   * Returns the header of a block whose parent is not on the canonical chain, so looking up block
+   * hashes for it has to read block headers until it reaches the canonical chain.
+   */
+  public BlockHeader getForkBlockHeader() {
+    return forkBlockHeader;
   }
 
   public MessageFrame createMessageFrame() {
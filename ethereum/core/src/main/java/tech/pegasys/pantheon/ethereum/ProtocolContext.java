@@ -59,7 +59,8 @@ public class ProtocolContext<C> {
     final MutableBlockchain blockchain =
         new DefaultMutableBlockchain(genesisState.getBlock(), blockchainStorage, metricsSystem);
 
-    final WorldStateArchive worldStateArchive = new WorldStateArchive(worldStateStorage);
+    final WorldStateArchive worldStateArchive =
+        new WorldStateArchive(worldStateStorage, storageProvider.createWorldStateSnapshot());
     genesisState.writeStateTo(worldStateArchive.getMutable());
 
     return new ProtocolContext<>(
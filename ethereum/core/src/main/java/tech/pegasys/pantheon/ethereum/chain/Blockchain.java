@@ -16,12 +16,17 @@ import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 /** An interface for reading data from the blockchain. */
 public interface Blockchain {
@@ -135,6 +140,30 @@ public interface Blockchain {
    */
   Optional<List<TransactionReceipt>> getTxReceipts(Hash blockHeaderHash);
 
+  /**
+   * Returns the RLP encoding of the block body corresponding to the given block header hash,
+   * without decoding it. Associated block is not necessarily on the canonical chain.
+   *
+   * @param blockHeaderHash The block header hash identifying the block whose body should be
+   *     returned.
+   * @return The RLP encoded block body corresponding to the target block.
+   */
+  default Optional<BytesValue> getBlockBodyRlp(final Hash blockHeaderHash) {
+    return getBlockBody(blockHeaderHash).map(body -> RLP.encode(body::writeTo));
+  }
+
+  /**
+   * Returns the RLP encoded list of transaction receipts of the block with the given hash, without
+   * decoding it. Associated block is not necessarily on the canonical chain.
+   *
+   * @param blockHeaderHash The header hash of the block we're querying.
+   * @return The RLP encoded transaction receipts corresponding to block hash.
+   */
+  default Optional<BytesValue> getTxReceiptsRlp(final Hash blockHeaderHash) {
+    return getTxReceipts(blockHeaderHash)
+        .map(receipts -> RLP.encode(out -> out.writeList(receipts, TransactionReceipt::writeTo)));
+  }
+
   /**
    * Retrieves the header hash of the block at the given height in the canonical chain.
    *
@@ -143,6 +172,50 @@ public interface Blockchain {
    */
   Optional<Hash> getBlockHashByNumber(long number);
 
+  /**
+   * Returns a view of the hashes of the most recent blocks on the canonical chain, which can be
+   * consulted before walking block headers back from a block being processed.
+   *
+   * @return A view of the recent canonical block hashes.
+   */
+  default RecentBlockHashes getRecentBlockHashes() {
+    return RecentBlockHashes.empty();
+  }
+
+  /**
+   * Retrieves the header hashes of the blocks at the given heights in the canonical chain. Looking
+   * up many blocks at once allows the underlying storage to batch the reads.
+   *
+   * @param numbers The heights of the blocks whose hashes should be retrieved.
+   * @return The hash of the block at each given height, in the same order as {@code numbers}.
+   */
+  default List<Optional<Hash>> getAllBlockHashesByNumber(final List<Long> numbers) {
+    return numbers.stream().map(this::getBlockHashByNumber).collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the block bodies corresponding to the given block header hashes. Associated blocks are
+   * not necessarily on the canonical chain.
+   *
+   * @param blockHeaderHashes The header hashes of the blocks whose bodies should be returned.
+   * @return The block body of each block, in the same order as {@code blockHeaderHashes}.
+   */
+  default List<Optional<BlockBody>> getAllBlockBodies(final List<Hash> blockHeaderHashes) {
+    return blockHeaderHashes.stream().map(this::getBlockBody).collect(Collectors.toList());
+  }
+
+  /**
+   * Returns the transaction receipts of the blocks with the given header hashes. Associated blocks
+   * are not necessarily on the canonical chain.
+   *
+   * @param blockHeaderHashes The header hashes of the blocks we're querying.
+   * @return The transaction receipts of each block, in the same order as {@code blockHeaderHashes}.
+   */
+  default List<Optional<List<TransactionReceipt>>> getAllTxReceipts(
+      final List<Hash> blockHeaderHashes) {
+    return blockHeaderHashes.stream().map(this::getTxReceipts).collect(Collectors.toList());
+  }
+
   /**
    * Returns the total difficulty (cumulative difficulty up to and including the target block) of
    * the block corresponding to the given hash. Associated block is not necessarily on the canonical
@@ -168,6 +241,32 @@ public interface Blockchain {
    */
   Optional<TransactionLocation> getTransactionLocation(Hash transactionHash);
 
+  /**
+   * Returns the numbers of the blocks in the given range of the canonical chain whose logs bloom
+   * could match the given criteria. A logs bloom matches if, for every inner list of {@code
+   * criteria}, it could contain at least one of the filters in that list. Blocks that are not
+   * returned are guaranteed not to contain any matching log.
+   *
+   * @param fromBlockNumber The first block number of the range, inclusive.
+   * @param toBlockNumber The last block number of the range, inclusive.
+   * @param criteria The bloom filters to match, one list of alternatives per constraint.
+   * @return The numbers of the blocks that could contain matching logs, in ascending order.
+   */
+  default List<Long> getBlockNumbersMatchingLogsBloom(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final List<List<LogsBloomFilter>> criteria) {
+    return LongStream.rangeClosed(fromBlockNumber, toBlockNumber)
+        .filter(
+            number ->
+                criteria.isEmpty()
+                    || getBlockHeader(number)
+                        .map(header -> BloomBitsIndexer.matches(header.getLogsBloom(), criteria))
+                        .orElse(false))
+        .boxed()
+        .collect(Collectors.toList());
+  }
+
   /**
    * Adds an observer that will get called when a new block is added.
    *
@@ -16,6 +16,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.Collection;
@@ -34,12 +35,28 @@ public interface BlockchainStorage {
 
   Optional<List<TransactionReceipt>> getTransactionReceipts(Hash blockHash);
 
+  Optional<BytesValue> getBlockBodyRlp(Hash blockHash);
+
+  Optional<BytesValue> getTransactionReceiptsRlp(Hash blockHash);
+
   Optional<Hash> getBlockHash(long blockNumber);
 
+  List<Optional<Hash>> getAllBlockHashes(List<Long> blockNumbers);
+
+  List<Optional<BlockBody>> getAllBlockBodies(List<Hash> blockHashes);
+
+  List<Optional<List<TransactionReceipt>>> getAllTransactionReceipts(List<Hash> blockHashes);
+
   Optional<UInt256> getTotalDifficulty(Hash blockHash);
 
   Optional<TransactionLocation> getTransactionLocation(Hash transactionHash);
 
+  long getBloomBitsSectionCount();
+
+  Optional<Hash> getBloomBitsSectionHead(long section);
+
+  Optional<BytesValue> getBloomBits(int bloomBit, long section);
+
   Updater updater();
 
   interface Updater {
@@ -64,6 +81,14 @@ public interface BlockchainStorage {
 
     void removeTransactionLocation(Hash transactionHash);
 
+    void setBloomBitsSectionCount(long sectionCount);
+
+    void putBloomBitsSectionHead(long section, Hash blockHash);
+
+    void putBloomBits(int bloomBit, long section, BytesValue bits);
+
+    void removeBloomBits(int bloomBit, long section);
+
     void commit();
 
     void rollback();
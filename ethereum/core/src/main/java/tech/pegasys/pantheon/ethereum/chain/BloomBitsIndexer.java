@@ -0,0 +1,305 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.chain;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Maintains a bit-sliced index over the logs blooms of the canonical chain.
+ *
+ * <p>The chain is split into sections of {@code sectionSize} blocks. For every section and every
+ * one of the 2048 bloom bits a vector of {@code sectionSize} bits is stored, where bit {@code i} is
+ * set if block {@code i} of the section has that bloom bit set. Testing a whole section for an
+ * address or topic then costs three vector reads instead of one header read per block. Vectors that
+ * are all zero are not stored.
+ *
+ * <p>A section is only indexed once its last block is {@code confirmations} blocks behind the chain
+ * head. Each section records the hash of its last block so that sections invalidated by a reorg are
+ * ignored by queries and rebuilt on the next indexing run.
+ */
+class BloomBitsIndexer {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final int DEFAULT_SECTION_SIZE = 4096;
+  static final int DEFAULT_CONFIRMATIONS = 256;
+  private static final int BLOOM_BITS = LogsBloomFilter.BYTE_SIZE * 8;
+
+  private final BlockchainStorage blockchainStorage;
+  private final Executor executor;
+  private final int sectionSize;
+  private final int confirmations;
+  private final AtomicBoolean indexing = new AtomicBoolean(false);
+
+  BloomBitsIndexer(
+      final BlockchainStorage blockchainStorage,
+      final Executor executor,
+      final int sectionSize,
+      final int confirmations) {
+    checkArgument(sectionSize > 0 && sectionSize % 8 == 0, "Section size must be a multiple of 8");
+    this.blockchainStorage = blockchainStorage;
+    this.executor = executor;
+    this.sectionSize = sectionSize;
+    this.confirmations = confirmations;
+  }
+
+  static BloomBitsIndexer create(final BlockchainStorage blockchainStorage) {
+    return new BloomBitsIndexer(
+        blockchainStorage,
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("BloomBitsIndexer-%d")
+                .setDaemon(true)
+                .build()),
+        DEFAULT_SECTION_SIZE,
+        DEFAULT_CONFIRMATIONS);
+  }
+
+  /**
+   * Schedules indexing of any complete sections that are not yet indexed, or that were invalidated
+   * by a reorg, unless an indexing run is already in progress. This is used both to backfill
+   * existing chain data and to index new sections as the chain head advances.
+   *
+   * @param chainHeadNumber the current chain head block number
+   */
+  void onChainHeadUpdated(final long chainHeadNumber) {
+    final long sections = blockchainStorage.getBloomBitsSectionCount();
+    if (!isSectionAvailable(sections, chainHeadNumber)
+        && (sections == 0 || isSectionCanonical(sections - 1))) {
+      return;
+    }
+    if (indexing.compareAndSet(false, true)) {
+      executor.execute(this::indexAvailableSections);
+    }
+  }
+
+  /**
+   * Returns the numbers of the canonical blocks in the given range whose logs bloom could match the
+   * given criteria. Blocks in indexed sections are resolved through the bloom bits index, any
+   * remaining blocks by reading their headers.
+   *
+   * @param fromBlockNumber the first block number of the range, inclusive
+   * @param toBlockNumber the last block number of the range, inclusive
+   * @param criteria the bloom criteria, as described in {@link
+   *     Blockchain#getBlockNumbersMatchingLogsBloom(long, long, List)}
+   * @return the matching block numbers in ascending order
+   */
+  List<Long> getBlockNumbersMatchingLogsBloom(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final List<List<LogsBloomFilter>> criteria) {
+    final List<Long> matching = new ArrayList<>();
+    final long indexedSections = blockchainStorage.getBloomBitsSectionCount();
+    long blockNumber = fromBlockNumber;
+    while (blockNumber <= toBlockNumber) {
+      final long section = blockNumber / sectionSize;
+      final long sectionStart = section * sectionSize;
+      final long end = Math.min(toBlockNumber, sectionStart + sectionSize - 1);
+      if (section < indexedSections && isSectionCanonical(section)) {
+        final byte[] candidates = sectionCandidates(section, criteria);
+        for (long number = blockNumber; number <= end; number++) {
+          if (isSet(candidates, (int) (number - sectionStart))) {
+            matching.add(number);
+          }
+        }
+      } else {
+        for (long number = blockNumber; number <= end; number++) {
+          final Optional<BlockHeader> header =
+              blockchainStorage.getBlockHash(number).flatMap(blockchainStorage::getBlockHeader);
+          if (header.isPresent() && matches(header.get().getLogsBloom(), criteria)) {
+            matching.add(number);
+          }
+        }
+      }
+      blockNumber = end + 1;
+    }
+    return matching;
+  }
+
+  static boolean matches(final LogsBloomFilter bloom, final List<List<LogsBloomFilter>> criteria) {
+    for (final List<LogsBloomFilter> alternatives : criteria) {
+      if (!bloom.couldContainAny(alternatives)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private void indexAvailableSections() {
+    try {
+      long sections = canonicalSectionCount();
+      while (isSectionAvailable(sections, chainHeadNumber())) {
+        if (!indexSection(sections)) {
+          // The chain was reorganised while reading the section, try again on the next update.
+          break;
+        }
+        sections++;
+      }
+    } catch (final RuntimeException e) {
+      LOG.error("Failed to update bloom bits index", e);
+    } finally {
+      indexing.set(false);
+    }
+  }
+
+  private long chainHeadNumber() {
+    return blockchainStorage
+        .getChainHead()
+        .flatMap(blockchainStorage::getBlockHeader)
+        .map(BlockHeader::getNumber)
+        .orElse(BlockHeader.GENESIS_BLOCK_NUMBER);
+  }
+
+  private boolean isSectionAvailable(final long section, final long chainHeadNumber) {
+    return (section + 1) * sectionSize - 1 + confirmations <= chainHeadNumber;
+  }
+
+  private long canonicalSectionCount() {
+    final long storedSections = blockchainStorage.getBloomBitsSectionCount();
+    long sections = storedSections;
+    // A reorg that replaces an indexed block also replaces the last block of every later section,
+    // so walking back from the last section finds the first invalidated one.
+    while (sections > 0 && !isSectionCanonical(sections - 1)) {
+      sections--;
+    }
+    if (sections != storedSections) {
+      LOG.debug("Rolling bloom bits index back from {} to {} sections", storedSections, sections);
+      final BlockchainStorage.Updater updater = blockchainStorage.updater();
+      updater.setBloomBitsSectionCount(sections);
+      updater.commit();
+    }
+    return sections;
+  }
+
+  private boolean isSectionCanonical(final long section) {
+    final Optional<Hash> sectionHead = blockchainStorage.getBloomBitsSectionHead(section);
+    return sectionHead.isPresent()
+        && sectionHead.equals(blockchainStorage.getBlockHash((section + 1) * sectionSize - 1));
+  }
+
+  private boolean indexSection(final long section) {
+    final byte[][] vectors = new byte[BLOOM_BITS][sectionSize / 8];
+    Hash previousHash = null;
+    for (int i = 0; i < sectionSize; i++) {
+      final long number = section * sectionSize + i;
+      final Optional<Hash> hash = blockchainStorage.getBlockHash(number);
+      final Optional<BlockHeader> header = hash.flatMap(blockchainStorage::getBlockHeader);
+      if (!header.isPresent()
+          || (previousHash != null && !header.get().getParentHash().equals(previousHash))) {
+        return false;
+      }
+      final BytesValue bloom = header.get().getLogsBloom().getBytes();
+      for (int bloomBit = 0; bloomBit < BLOOM_BITS; bloomBit++) {
+        if (isSet(bloom, bloomBit)) {
+          set(vectors[bloomBit], i);
+        }
+      }
+      previousHash = hash.get();
+    }
+
+    final BlockchainStorage.Updater updater = blockchainStorage.updater();
+    for (int bloomBit = 0; bloomBit < BLOOM_BITS; bloomBit++) {
+      if (isEmpty(vectors[bloomBit])) {
+        updater.removeBloomBits(bloomBit, section);
+      } else {
+        updater.putBloomBits(bloomBit, section, BytesValue.wrap(vectors[bloomBit]));
+      }
+    }
+    updater.putBloomBitsSectionHead(section, previousHash);
+    updater.setBloomBitsSectionCount(section + 1);
+    updater.commit();
+    LOG.debug("Indexed logs blooms of section {}", section);
+    return true;
+  }
+
+  private byte[] sectionCandidates(final long section, final List<List<LogsBloomFilter>> criteria) {
+    final Map<Integer, byte[]> vectors = new HashMap<>();
+    final byte[] candidates = filled((byte) 0xFF);
+    for (final List<LogsBloomFilter> alternatives : criteria) {
+      final byte[] anyAlternative = filled((byte) 0);
+      for (final LogsBloomFilter filter : alternatives) {
+        final byte[] allBits = filled((byte) 0xFF);
+        final BytesValue filterBytes = filter.getBytes();
+        for (int bloomBit = 0; bloomBit < BLOOM_BITS; bloomBit++) {
+          if (isSet(filterBytes, bloomBit)) {
+            final byte[] vector =
+                vectors.computeIfAbsent(bloomBit, bit -> loadVector(bit, section));
+            for (int i = 0; i < allBits.length; i++) {
+              allBits[i] &= vector[i];
+            }
+          }
+        }
+        for (int i = 0; i < anyAlternative.length; i++) {
+          anyAlternative[i] |= allBits[i];
+        }
+      }
+      for (int i = 0; i < candidates.length; i++) {
+        candidates[i] &= anyAlternative[i];
+      }
+    }
+    return candidates;
+  }
+
+  private byte[] loadVector(final int bloomBit, final long section) {
+    return blockchainStorage
+        .getBloomBits(bloomBit, section)
+        .map(BytesValue::extractArray)
+        .orElseGet(() -> new byte[sectionSize / 8]);
+  }
+
+  private byte[] filled(final byte value) {
+    final byte[] vector = new byte[sectionSize / 8];
+    Arrays.fill(vector, value);
+    return vector;
+  }
+
+  private static boolean isSet(final BytesValue bits, final int index) {
+    return (bits.get(index / 8) & (0x80 >>> (index % 8))) != 0;
+  }
+
+  private static boolean isSet(final byte[] bits, final int index) {
+    return (bits[index / 8] & (0x80 >>> (index % 8))) != 0;
+  }
+
+  private static void set(final byte[] bits, final int index) {
+    bits[index / 8] |= (byte) (0x80 >>> (index % 8));
+  }
+
+  private static boolean isEmpty(final byte[] bits) {
+    for (final byte b : bits) {
+      if (b != 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+}
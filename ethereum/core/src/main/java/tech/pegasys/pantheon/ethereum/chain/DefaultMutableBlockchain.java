@@ -21,17 +21,21 @@ import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.util.InvalidConfigurationException;
 import tech.pegasys.pantheon.util.Subscribers;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -39,12 +43,20 @@ import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import com.google.common.annotations.VisibleForTesting;
 
 public class DefaultMutableBlockchain implements MutableBlockchain {
 
+  // Twice the BLOCKHASH window, so blocks built on a recent ancestor of the head are covered too.
+  private static final int RECENT_BLOCK_HASHES = 512;
+
   private final BlockchainStorage blockchainStorage;
+  private final BloomBitsIndexer bloomBitsIndexer;
+  private final RecentBlockHashCache recentBlockHashes =
+      new RecentBlockHashCache(RECENT_BLOCK_HASHES);
 
   private final Subscribers<BlockAddedObserver> blockAddedObservers = new Subscribers<>();
 
@@ -52,9 +64,23 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
       final Block genesisBlock,
       final BlockchainStorage blockchainStorage,
       final MetricsSystem metricsSystem) {
+    this(
+        genesisBlock, blockchainStorage, metricsSystem, BloomBitsIndexer.create(blockchainStorage));
+  }
+
+  @VisibleForTesting
+  DefaultMutableBlockchain(
+      final Block genesisBlock,
+      final BlockchainStorage blockchainStorage,
+      final MetricsSystem metricsSystem,
+      final BloomBitsIndexer bloomBitsIndexer) {
     checkNotNull(genesisBlock);
     this.blockchainStorage = blockchainStorage;
+    this.bloomBitsIndexer = bloomBitsIndexer;
     this.setGenesis(genesisBlock);
+    loadRecentBlockHashes();
+    // Backfill the index for any existing chain data.
+    bloomBitsIndexer.onChainHeadUpdated(getChainHeadBlockNumber());
 
     metricsSystem.createGauge(
         MetricCategory.BLOCKCHAIN,
@@ -113,11 +139,42 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
     return blockchainStorage.getTransactionReceipts(blockHeaderHash);
   }
 
+  @Override
+  public Optional<BytesValue> getBlockBodyRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getBlockBodyRlp(blockHeaderHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getTxReceiptsRlp(final Hash blockHeaderHash) {
+    return blockchainStorage.getTransactionReceiptsRlp(blockHeaderHash);
+  }
+
   @Override
   public Optional<Hash> getBlockHashByNumber(final long number) {
     return blockchainStorage.getBlockHash(number);
   }
 
+  @Override
+  public RecentBlockHashes getRecentBlockHashes() {
+    return recentBlockHashes.snapshot();
+  }
+
+  @Override
+  public List<Optional<Hash>> getAllBlockHashesByNumber(final List<Long> numbers) {
+    return blockchainStorage.getAllBlockHashes(numbers);
+  }
+
+  @Override
+  public List<Optional<BlockBody>> getAllBlockBodies(final List<Hash> blockHeaderHashes) {
+    return blockchainStorage.getAllBlockBodies(blockHeaderHashes);
+  }
+
+  @Override
+  public List<Optional<List<TransactionReceipt>>> getAllTxReceipts(
+      final List<Hash> blockHeaderHashes) {
+    return blockchainStorage.getAllTransactionReceipts(blockHeaderHashes);
+  }
+
   @Override
   public Optional<UInt256> getTotalDifficultyByHash(final Hash blockHeaderHash) {
     return blockchainStorage.getTotalDifficulty(blockHeaderHash);
@@ -139,6 +196,20 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
     return blockchainStorage.getTransactionLocation(transactionHash);
   }
 
+  @Override
+  public List<Long> getBlockNumbersMatchingLogsBloom(
+      final long fromBlockNumber,
+      final long toBlockNumber,
+      final List<List<LogsBloomFilter>> criteria) {
+    if (criteria.isEmpty()) {
+      return LongStream.rangeClosed(fromBlockNumber, toBlockNumber)
+          .boxed()
+          .collect(Collectors.toList());
+    }
+    return bloomBitsIndexer.getBlockNumbersMatchingLogsBloom(
+        fromBlockNumber, toBlockNumber, criteria);
+  }
+
   @Override
   public synchronized void appendBlock(final Block block, final List<TransactionReceipt> receipts) {
     checkArgument(
@@ -152,6 +223,10 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
     }
 
     final BlockAddedEvent blockAddedEvent = appendBlockHelper(block, receipts);
+    if (blockAddedEvent.isNewCanonicalHead()) {
+      updateRecentBlockHashes(blockAddedEvent);
+      bloomBitsIndexer.onChainHeadUpdated(getChainHeadBlockNumber());
+    }
     notifyBlockAdded(blockAddedEvent);
   }
 
@@ -317,6 +392,50 @@ public class DefaultMutableBlockchain implements MutableBlockchain {
         removedTransactions);
   }
 
+  private void loadRecentBlockHashes() {
+    final long chainHeadNumber = getChainHeadBlockNumber();
+    final List<Long> numbers =
+        LongStream.rangeClosed(
+                Math.max(
+                    BlockHeader.GENESIS_BLOCK_NUMBER,
+                    chainHeadNumber - recentBlockHashes.capacity() + 1),
+                chainHeadNumber)
+            .boxed()
+            .collect(toList());
+    final List<Optional<Hash>> hashes = blockchainStorage.getAllBlockHashes(numbers);
+    for (int i = 0; i < numbers.size(); i++) {
+      final long number = numbers.get(i);
+      hashes.get(i).ifPresent(hash -> recentBlockHashes.put(number, hash));
+    }
+  }
+
+  private void updateRecentBlockHashes(final BlockAddedEvent event) {
+    final BlockHeader newHead = event.getBlock().getHeader();
+    if (event.getEventType() == BlockAddedEvent.EventType.HEAD_ADVANCED) {
+      recentBlockHashes.put(newHead.getNumber(), newHead.getHash());
+      return;
+    }
+    // Walk back from the new head until we meet a block the cache already holds, then record the
+    // new chain oldest first so the stale blocks of the old chain are dropped.
+    final RecentBlockHashes current = recentBlockHashes.snapshot();
+    final Deque<BlockHeader> newChain = new ArrayDeque<>();
+    BlockHeader header = newHead;
+    while (header != null
+        && newChain.size() < recentBlockHashes.capacity()
+        && !current.getBlockHash(header.getNumber()).equals(Optional.of(header.getHash()))) {
+      newChain.addFirst(header);
+      header =
+          header.getNumber() == BlockHeader.GENESIS_BLOCK_NUMBER
+              ? null
+              : blockchainStorage.getBlockHeader(header.getParentHash()).orElse(null);
+    }
+    if (newChain.isEmpty()) {
+      // The new head was already cached, so only the blocks after it need to be dropped.
+      recentBlockHashes.put(newHead.getNumber(), newHead.getHash());
+    }
+    newChain.forEach(block -> recentBlockHashes.put(block.getNumber(), block.getHash()));
+  }
+
   private static void indexTransactionForBlock(
       final BlockchainStorage.Updater updater, final Hash hash, final List<Transaction> txs) {
     for (int i = 0; i < txs.size(); i++) {
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.chain;
+
+import tech.pegasys.pantheon.ethereum.chain.RecentBlockHashes.Entry;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+
+import java.util.Arrays;
+
+/**
+ * A ring buffer of the hashes of the most recent canonical blocks, indexed by block number.
+ *
+ * <p>Advancing the chain head writes into the current buffer, because a buffer only ever gains
+ * entries for block numbers it has not seen before. Moving the head back to an earlier number, as a
+ * reorganisation does, copies the buffer first so that {@link RecentBlockHashes} views handed out
+ * earlier keep reporting the chain they were created from.
+ */
+class RecentBlockHashCache {
+
+  private volatile Entry[] entries;
+  private long headNumber = -1;
+
+  RecentBlockHashCache(final int capacity) {
+    this.entries = new Entry[capacity];
+  }
+
+  RecentBlockHashes snapshot() {
+    return new RecentBlockHashes(entries);
+  }
+
+  /**
+   * Records the hash of the canonical block with the given number. Any blocks after it are no
+   * longer considered canonical.
+   */
+  synchronized void put(final long blockNumber, final Hash hash) {
+    Entry[] target = entries;
+    if (blockNumber <= headNumber) {
+      target = Arrays.copyOf(target, target.length);
+      for (int i = 0; i < target.length; i++) {
+        if (target[i] != null && target[i].number >= blockNumber) {
+          target[i] = null;
+        }
+      }
+    }
+    target[(int) (blockNumber % target.length)] = new Entry(blockNumber, hash);
+    headNumber = blockNumber;
+    entries = target;
+  }
+
+  int capacity() {
+    return entries.length;
+  }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.chain;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+
+import java.util.Optional;
+
+/**
+ * A view of the hashes of the most recent blocks on the canonical chain, which lets {@code
+ * BLOCKHASH} be resolved without reading block headers from storage.
+ *
+ * <p>A view is consistent: it never reports two different hashes for the same block number, even if
+ * the chain reorganises while it is in use. Blocks that have become too old, or that were replaced
+ * by a reorganisation, are simply reported as unknown.
+ */
+public class RecentBlockHashes {
+
+  private static final RecentBlockHashes EMPTY = new RecentBlockHashes(new Entry[1]);
+
+  private final Entry[] entries;
+
+  RecentBlockHashes(final Entry[] entries) {
+    this.entries = entries;
+  }
+
+  public static RecentBlockHashes empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Returns the hash of the canonical block with the given number, if it is known to this view.
+   *
+   * @param blockNumber the number of the block
+   * @return the hash of the block, or empty if it is not one of the recent canonical blocks
+   */
+  public Optional<Hash> getBlockHash(final long blockNumber) {
+    if (blockNumber < 0) {
+      return Optional.empty();
+    }
+    final Entry entry = entries[(int) (blockNumber % entries.length)];
+    return entry != null && entry.number == blockNumber
+        ? Optional.of(entry.hash)
+        : Optional.empty();
+  }
+
+  static class Entry {
+    final long number;
+    final Hash hash;
+
+    Entry(final long number, final Hash hash) {
+      this.number = number;
+      this.hash = hash;
+    }
+  }
+}
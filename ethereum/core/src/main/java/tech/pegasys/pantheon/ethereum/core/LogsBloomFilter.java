@@ -126,13 +126,54 @@ public class LogsBloomFilter {
   }
 
   public void insertLog(final Log log) {
-    setBits(keccak256(log.getLogger()));
+    insertBytes(log.getLogger());
 
     for (final LogTopic topic : log.getTopics()) {
-      setBits(keccak256(topic));
+      insertBytes(topic);
     }
   }
 
+  /**
+   * Sets the bits corresponding to a single log item, such as a logger address or a topic.
+   *
+   * @param value The log item to insert.
+   */
+  public void insertBytes(final BytesValue value) {
+    setBits(keccak256(value));
+  }
+
+  /**
+   * Checks whether all bits set in the given filter are also set in this filter, in which case the
+   * items the given filter was populated with may be present in this filter.
+   *
+   * @param other The filter to check for.
+   * @return {@code true} if every bit set in {@code other} is also set in this filter.
+   */
+  public boolean couldContain(final LogsBloomFilter other) {
+    for (int i = 0; i < data.size(); ++i) {
+      final byte otherByte = other.data.get(i);
+      if ((data.get(i) & otherByte) != otherByte) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Checks whether this filter could contain at least one of the given filters.
+   *
+   * @param others The alternative filters to check for.
+   * @return {@code true} if {@link #couldContain(LogsBloomFilter)} holds for any of {@code others}.
+   */
+  public boolean couldContainAny(final Collection<LogsBloomFilter> others) {
+    for (final LogsBloomFilter other : others) {
+      if (couldContain(other)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
   private void setBit(final int index) {
     final int byteIndex = BYTE_SIZE - 1 - index / 8;
     final int bitIndex = index % 8;
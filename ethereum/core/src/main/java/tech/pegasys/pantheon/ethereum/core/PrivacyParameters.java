@@ -22,6 +22,8 @@ import tech.pegasys.pantheon.ethereum.storage.keyvalue.RocksDbStorageProvider;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.RocksDbBlockCache;
+import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
 
 import java.io.File;
 import java.io.IOException;
@@ -44,6 +46,7 @@ public class PrivacyParameters {
   private SECP256K1.KeyPair signingKeyPair;
   private WorldStateArchive privateWorldStateArchive;
   private StorageProvider privateStorageProvider;
+  private StorageProvider privateStateStorageProvider;
 
   private PrivateTransactionStorage privateTransactionStorage;
   private PrivateStateStorage privateStateStorage;
@@ -107,16 +110,33 @@ public class PrivacyParameters {
   }
 
   public void enablePrivateDB(final Path path) throws IOException {
+    try (final RocksDbBlockCache blockCache =
+        RocksDbBlockCache.create(RocksDbConfiguration.DEFAULT_CACHE_CAPACITY)) {
+      enablePrivateDB(path, blockCache);
+    }
+  }
+
+  /**
+   * Opens the private databases under the given path.
+   *
+   * @param path the data directory
+   * @param blockCache the block cache to share with the other databases
+   */
+  public void enablePrivateDB(final Path path, final RocksDbBlockCache blockCache)
+      throws IOException {
+    final RocksDbConfiguration rocksDbConfiguration = RocksDbConfiguration.builder().build();
     final Path privateDbPath = path.resolve(PRIVATE_DATABASE_PATH);
     this.privateStorageProvider =
-        RocksDbStorageProvider.create(privateDbPath, new NoOpMetricsSystem());
+        RocksDbStorageProvider.create(
+            privateDbPath, new NoOpMetricsSystem(), rocksDbConfiguration, blockCache);
     final WorldStateStorage privateWorldStateStorage =
         privateStorageProvider.createWorldStateStorage();
     this.privateWorldStateArchive = new WorldStateArchive(privateWorldStateStorage);
 
     final Path privateStateDbPath = path.resolve(PRIVATE_STATE_DATABASE_PATH);
-    final StorageProvider privateStateStorageProvider =
-        RocksDbStorageProvider.create(privateStateDbPath, new NoOpMetricsSystem());
+    this.privateStateStorageProvider =
+        RocksDbStorageProvider.create(
+            privateStateDbPath, new NoOpMetricsSystem(), rocksDbConfiguration, blockCache);
     this.privateTransactionStorage = privateStateStorageProvider.createPrivateTransactionStorage();
     this.privateStateStorage = privateStateStorageProvider.createPrivateStateStorage();
   }
@@ -136,4 +156,14 @@ public class PrivacyParameters {
   public StorageProvider getPrivateStorageProvider() {
     return this.privateStorageProvider;
   }
+
+  /** Closes the private databases, if they were opened. */
+  public void closePrivateStorage() throws IOException {
+    if (privateStorageProvider != null) {
+      privateStorageProvider.close();
+    }
+    if (privateStateStorageProvider != null) {
+      privateStateStorageProvider.close();
+    }
+  }
 }
@@ -0,0 +1,430 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import tech.pegasys.pantheon.ethereum.core.AbstractWorldUpdater.UpdateTrackingAccount;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+
+/**
+ * The updates made by a transaction executed speculatively, that is against a state that may not
+ * include the effects of the transactions preceding it in its block.
+ *
+ * <p>The transaction is executed against {@link #updater()}, which buffers its updates and records
+ * which accounts and storage slots were read from the underlying world view. Once the preceding
+ * transactions have been committed, {@link #conflictsWith(WriteSet)} tells whether any of them
+ * wrote something this execution read, in which case the execution must be discarded and the
+ * transaction executed again. Otherwise the buffered updates are exactly those a sequential
+ * execution would have made and can be applied with {@link #applyTo(WorldUpdater)}.
+ *
+ * <p>Every transaction pays its fee to the mining beneficiary, which would make every pair of
+ * transactions conflict. Fee payments are therefore tracked separately: as long as the transaction
+ * does nothing with the beneficiary account other than crediting it, the credited amount is simply
+ * added to the beneficiary balance when the updates are applied.
+ */
+public class SpeculativeUpdates {
+
+  private final ReadRecordingWorldView reads;
+  private final RecordingUpdater updater;
+  private final Address miningBeneficiary;
+  private FeeAccount feeAccount;
+
+  public SpeculativeUpdates(final WorldView world, final Address miningBeneficiary) {
+    this.reads = new ReadRecordingWorldView(world);
+    this.updater = new RecordingUpdater(reads);
+    this.miningBeneficiary = miningBeneficiary;
+  }
+
+  /**
+   * The updater to execute the transaction against.
+   *
+   * <p>Its updates are not committed to the world view it reads from, they are kept here until
+   * applied with {@link #applyTo(WorldUpdater)}.
+   *
+   * @return the updater recording the reads and updates of the transaction.
+   */
+  public WorldUpdater updater() {
+    return updater;
+  }
+
+  /**
+   * Whether this execution read an account or storage slot written by the provided updates.
+   *
+   * @param writes the updates made by the transactions preceding this one.
+   * @return {@code true} if this execution read some state modified by {@code writes} and must be
+   *     executed again.
+   */
+  public boolean conflictsWith(final WriteSet writes) {
+    for (final Address address : reads.accounts) {
+      if (writes.accounts.contains(address)) {
+        return true;
+      }
+    }
+    for (final Map.Entry<Address, Set<UInt256>> entry : reads.storage.entrySet()) {
+      final Address address = entry.getKey();
+      if (writes.clearedStorage.contains(address)) {
+        return true;
+      }
+      final Set<UInt256> writtenSlots = writes.storage.get(address);
+      if (writtenSlots != null && !Collections.disjoint(writtenSlots, entry.getValue())) {
+        return true;
+      }
+    }
+    for (final Address address : reads.allStorage) {
+      if (writes.clearedStorage.contains(address) || writes.storage.containsKey(address)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Adds the accounts and storage slots modified by this execution to the provided updates.
+   *
+   * <p>This reads the mining beneficiary balance, which {@link #applyTo(WorldUpdater)} would then
+   * treat as a read of the beneficiary, so it must only be called once the updates are applied.
+   *
+   * @param writes the updates to add the modifications of this execution to.
+   */
+  public void addWritesTo(final WriteSet writes) {
+    for (final Address address : updater.deletedAccounts()) {
+      writes.accounts.add(address);
+      writes.clearedStorage.add(address);
+    }
+    for (final UpdateTrackingAccount<Account> updated : updater.updatedAccounts()) {
+      final Address address = updated.getAddress();
+      final Account origin = updated.getWrappedAccount();
+      if (origin == null) {
+        writes.accounts.add(address);
+        writes.clearedStorage.add(address);
+        continue;
+      }
+      if (updated.getNonce() != origin.getNonce()
+          || !updated.getBalance().equals(origin.getBalance())
+          || updated.codeWasUpdated()) {
+        writes.accounts.add(address);
+      }
+      if (updated.getStorageWasCleared()) {
+        writes.clearedStorage.add(address);
+      }
+      if (!updated.getUpdatedStorage().isEmpty()) {
+        writes
+            .storage
+            .computeIfAbsent(address, a -> new HashSet<>())
+            .addAll(updated.getUpdatedStorage().keySet());
+      }
+    }
+  }
+
+  /**
+   * Applies the updates made by this execution.
+   *
+   * @param target the updater to apply the updates to.
+   */
+  public void applyTo(final WorldUpdater target) {
+    updater.deletedAccounts().forEach(target::deleteAccount);
+    for (final UpdateTrackingAccount<Account> updated : updater.updatedAccounts()) {
+      if (updated == feeAccount && !feeAccount.observed) {
+        target.getOrCreate(miningBeneficiary).incrementBalance(feeAccount.fee);
+        continue;
+      }
+      final MutableAccount account;
+      if (updated.getWrappedAccount() == null) {
+        account =
+            target.createAccount(updated.getAddress(), updated.getNonce(), updated.getBalance());
+        account.setCode(updated.getCode());
+      } else {
+        account = target.getMutable(updated.getAddress());
+        account.setNonce(updated.getNonce());
+        account.setBalance(updated.getBalance());
+        if (updated.codeWasUpdated()) {
+          account.setCode(updated.getCode());
+        }
+      }
+      if (updated.getStorageWasCleared()) {
+        account.clearStorage();
+      }
+      updated.getUpdatedStorage().forEach(account::setStorageValue);
+    }
+  }
+
+  /** The accounts and storage slots modified by a sequence of transactions. */
+  public static class WriteSet {
+    private final Set<Address> accounts = new HashSet<>();
+    private final Set<Address> clearedStorage = new HashSet<>();
+    private final Map<Address, Set<UInt256>> storage = new HashMap<>();
+  }
+
+  /** Buffers the updates of the transaction over the world view recording its reads. */
+  private class RecordingUpdater extends AbstractWorldUpdater<ReadRecordingWorldView, Account> {
+
+    private RecordingUpdater(final ReadRecordingWorldView world) {
+      super(world);
+    }
+
+    @Override
+    protected Account getForMutation(final Address address) {
+      return wrappedWorldView().get(address);
+    }
+
+    @Override
+    public MutableAccount getMutable(final Address address) {
+      if (feeAccount == null
+          && address.equals(miningBeneficiary)
+          && !reads.accounts.contains(address)
+          && !deletedAccounts().contains(address)) {
+        // Nothing has looked at the beneficiary yet, so don't record a read until something does.
+        final Account account = reads.getWithoutRecording(address);
+        feeAccount = account == null ? new FeeAccount(address) : new FeeAccount(account);
+        return track(feeAccount);
+      }
+      return super.getMutable(address);
+    }
+
+    @Override
+    public Collection<Account> getTouchedAccounts() {
+      return new ArrayList<>(updatedAccounts());
+    }
+
+    @Override
+    public void revert() {
+      deletedAccounts().clear();
+      updatedAccounts().clear();
+      feeAccount = null;
+    }
+
+    @Override
+    public void commit() {
+      // The transaction processor only commits the updaters it stacks on this one. The updates of
+      // this one are applied by SpeculativeUpdates.applyTo once the execution is known to be valid.
+    }
+  }
+
+  static class ReadRecordingWorldView implements WorldView {
+    private final WorldView world;
+
+    // Accounts whose existence, nonce, balance or code may have been read.
+    private final Set<Address> accounts = new HashSet<>();
+    private final Map<Address, Set<UInt256>> storage = new HashMap<>();
+    // Accounts whose storage was iterated, which amounts to reading every slot.
+    private final Set<Address> allStorage = new HashSet<>();
+
+    private ReadRecordingWorldView(final WorldView world) {
+      this.world = world;
+    }
+
+    @Override
+    public Account get(final Address address) {
+      accounts.add(address);
+      return getWithoutRecording(address);
+    }
+
+    private Account getWithoutRecording(final Address address) {
+      final Account account = world.get(address);
+      return account == null ? null : new ReadRecordingAccount(account);
+    }
+
+    private class ReadRecordingAccount implements Account {
+      private final Account account;
+
+      private ReadRecordingAccount(final Account account) {
+        this.account = account;
+      }
+
+      @Override
+      public Address getAddress() {
+        return account.getAddress();
+      }
+
+      @Override
+      public Hash getAddressHash() {
+        return account.getAddressHash();
+      }
+
+      @Override
+      public long getNonce() {
+        return account.getNonce();
+      }
+
+      @Override
+      public Wei getBalance() {
+        return account.getBalance();
+      }
+
+      @Override
+      public BytesValue getCode() {
+        return account.getCode();
+      }
+
+      @Override
+      public Hash getCodeHash() {
+        return account.getCodeHash();
+      }
+
+      @Override
+      public boolean hasCode() {
+        return account.hasCode();
+      }
+
+      @Override
+      public UInt256 getStorageValue(final UInt256 key) {
+        storage.computeIfAbsent(account.getAddress(), a -> new HashSet<>()).add(key);
+        return account.getStorageValue(key);
+      }
+
+      @Override
+      public UInt256 getOriginalStorageValue(final UInt256 key) {
+        storage.computeIfAbsent(account.getAddress(), a -> new HashSet<>()).add(key);
+        return account.getOriginalStorageValue(key);
+      }
+
+      @Override
+      public NavigableMap<Bytes32, UInt256> storageEntriesFrom(
+          final Bytes32 startKeyHash, final int limit) {
+        allStorage.add(account.getAddress());
+        return account.storageEntriesFrom(startKeyHash, limit);
+      }
+    }
+  }
+
+  /**
+   * The mining beneficiary account as seen by a transaction that hasn't otherwise accessed it.
+   * Crediting the account only accumulates the fee; any other access marks the account as observed,
+   * which records a read of the beneficiary.
+   */
+  private class FeeAccount extends UpdateTrackingAccount<Account> {
+    private Wei fee = Wei.ZERO;
+    private boolean observed;
+
+    private FeeAccount(final Address address) {
+      super(address);
+    }
+
+    private FeeAccount(final Account account) {
+      super(account);
+    }
+
+    private void observe() {
+      if (!observed) {
+        observed = true;
+        reads.accounts.add(miningBeneficiary);
+      }
+    }
+
+    @Override
+    public Wei incrementBalance(final Wei value) {
+      final Wei previous = super.getBalance();
+      super.setBalance(previous.plus(value));
+      fee = fee.plus(value);
+      return previous;
+    }
+
+    @Override
+    public boolean isEmpty() {
+      // A credited account has a positive balance whatever its balance was before.
+      if (!fee.isZero()) {
+        return false;
+      }
+      return super.isEmpty();
+    }
+
+    @Override
+    public long getNonce() {
+      observe();
+      return super.getNonce();
+    }
+
+    @Override
+    public void setNonce(final long value) {
+      observe();
+      super.setNonce(value);
+    }
+
+    @Override
+    public Wei getBalance() {
+      observe();
+      return super.getBalance();
+    }
+
+    @Override
+    public void setBalance(final Wei value) {
+      observe();
+      super.setBalance(value);
+    }
+
+    @Override
+    public BytesValue getCode() {
+      observe();
+      return super.getCode();
+    }
+
+    @Override
+    public Hash getCodeHash() {
+      observe();
+      return super.getCodeHash();
+    }
+
+    @Override
+    public boolean hasCode() {
+      observe();
+      return super.hasCode();
+    }
+
+    @Override
+    public void setCode(final BytesValue code) {
+      observe();
+      super.setCode(code);
+    }
+
+    @Override
+    public UInt256 getStorageValue(final UInt256 key) {
+      observe();
+      return super.getStorageValue(key);
+    }
+
+    @Override
+    public UInt256 getOriginalStorageValue(final UInt256 key) {
+      observe();
+      return super.getOriginalStorageValue(key);
+    }
+
+    @Override
+    public NavigableMap<Bytes32, UInt256> storageEntriesFrom(
+        final Bytes32 startKeyHash, final int limit) {
+      observe();
+      return super.storageEntriesFrom(startKeyHash, limit);
+    }
+
+    @Override
+    public void setStorageValue(final UInt256 key, final UInt256 value) {
+      observe();
+      super.setStorageValue(key, value);
+    }
+
+    @Override
+    public void clearStorage() {
+      observe();
+      super.clearStorage();
+    }
+  }
+}
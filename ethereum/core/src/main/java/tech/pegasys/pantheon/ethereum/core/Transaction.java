@@ -231,17 +231,27 @@ public class Transaction {
    */
   public Address getSender() {
     if (sender == null) {
-      final SECP256K1.PublicKey publicKey =
-          SECP256K1.PublicKey.recoverFromSignature(getOrComputeSenderRecoveryHash(), signature)
-              .orElseThrow(
-                  () ->
-                      new IllegalStateException(
-                          "Cannot recover public key from " + "signature for " + this));
-      sender = Address.extract(Hash.hash(publicKey.getEncodedBytes()));
+      final Hash transactionHash = hash();
+      Address recoveredSender = TransactionSenderRecovery.getCachedSender(transactionHash);
+      if (recoveredSender == null) {
+        recoveredSender = recoverSender();
+        TransactionSenderRecovery.cacheSender(transactionHash, recoveredSender);
+      }
+      sender = recoveredSender;
     }
     return sender;
   }
 
+  private Address recoverSender() {
+    final SECP256K1.PublicKey publicKey =
+        SECP256K1.PublicKey.recoverFromSignature(getOrComputeSenderRecoveryHash(), signature)
+            .orElseThrow(
+                () ->
+                    new IllegalStateException(
+                        "Cannot recover public key from " + "signature for " + this));
+    return Address.extract(Hash.hash(publicKey.getEncodedBytes()));
+  }
+
   private Bytes32 getOrComputeSenderRecoveryHash() {
     if (hashNoSignature == null) {
       hashNoSignature =
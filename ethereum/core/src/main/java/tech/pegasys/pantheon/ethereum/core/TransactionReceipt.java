@@ -191,7 +191,7 @@ public class TransactionReceipt {
     }
     final TransactionReceipt other = (TransactionReceipt) obj;
     return logs.equals(other.getLogs())
-        && stateRoot.equals(other.stateRoot)
+        && Objects.equals(stateRoot, other.stateRoot)
         && cumulativeGasUsed == other.getCumulativeGasUsed()
         && status == other.status;
   }
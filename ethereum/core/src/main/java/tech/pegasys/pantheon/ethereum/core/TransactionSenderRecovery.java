@@ -0,0 +1,65 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Iterables;
+
+/**
+ * Recovers transaction senders from their signatures. Recovered senders are kept in a process wide
+ * cache keyed by transaction hash, so a transaction that is decoded again, for instance when it is
+ * first gossiped and later included in a block, doesn't need its signature recovered a second time.
+ */
+public final class TransactionSenderRecovery {
+
+  static final int MAXIMUM_CACHED_SENDERS = 32_768;
+  static final int BATCH_SIZE = 16;
+
+  private static final Cache<Hash, Address> RECOVERED_SENDERS =
+      CacheBuilder.newBuilder().maximumSize(MAXIMUM_CACHED_SENDERS).build();
+
+  private TransactionSenderRecovery() {}
+
+  /**
+   * Recovers the senders of the given transactions in batches run on the given executor.
+   *
+   * @param transactions the transactions to recover the senders of
+   * @param executor the executor to run the recovery on
+   * @return a future completed once every sender has been recovered, or exceptionally if a
+   *     signature is invalid
+   */
+  public static CompletableFuture<Void> recoverSenders(
+      final Collection<Transaction> transactions, final Executor executor) {
+    final List<CompletableFuture<Void>> batches = new ArrayList<>();
+    for (final List<Transaction> batch : Iterables.partition(transactions, BATCH_SIZE)) {
+      batches.add(
+          CompletableFuture.runAsync(() -> batch.forEach(Transaction::getSender), executor));
+    }
+    return CompletableFuture.allOf(batches.toArray(new CompletableFuture<?>[0]));
+  }
+
+  static Address getCachedSender(final Hash transactionHash) {
+    return RECOVERED_SENDERS.getIfPresent(transactionHash);
+  }
+
+  static void cacheSender(final Hash transactionHash, final Address sender) {
+    RECOVERED_SENDERS.put(transactionHash, sender);
+  }
+}
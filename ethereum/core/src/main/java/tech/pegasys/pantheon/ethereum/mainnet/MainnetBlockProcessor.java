@@ -18,6 +18,7 @@ import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.MutableAccount;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.ProcessableBlockHeader;
+import tech.pegasys.pantheon.ethereum.core.SpeculativeUpdates;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.core.Wei;
@@ -27,6 +28,7 @@ import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import com.google.common.collect.ImmutableList;
 import org.apache.logging.log4j.LogManager;
@@ -85,15 +87,32 @@ public class MainnetBlockProcessor implements BlockProcessor {
 
   private final MiningBeneficiaryCalculator miningBeneficiaryCalculator;
 
+  private final Optional<SpeculativeTransactionExecutor> speculativeTransactionExecutor;
+
   public MainnetBlockProcessor(
       final TransactionProcessor transactionProcessor,
       final TransactionReceiptFactory transactionReceiptFactory,
       final Wei blockReward,
       final MiningBeneficiaryCalculator miningBeneficiaryCalculator) {
+    this(
+        transactionProcessor,
+        transactionReceiptFactory,
+        blockReward,
+        miningBeneficiaryCalculator,
+        Optional.empty());
+  }
+
+  public MainnetBlockProcessor(
+      final TransactionProcessor transactionProcessor,
+      final TransactionReceiptFactory transactionReceiptFactory,
+      final Wei blockReward,
+      final MiningBeneficiaryCalculator miningBeneficiaryCalculator,
+      final Optional<SpeculativeTransactionExecutor> speculativeTransactionExecutor) {
     this.transactionProcessor = transactionProcessor;
     this.transactionReceiptFactory = transactionReceiptFactory;
     this.blockReward = blockReward;
     this.miningBeneficiaryCalculator = miningBeneficiaryCalculator;
+    this.speculativeTransactionExecutor = speculativeTransactionExecutor;
   }
 
   @Override
@@ -107,7 +126,28 @@ public class MainnetBlockProcessor implements BlockProcessor {
     long gasUsed = 0;
     final List<TransactionReceipt> receipts = new ArrayList<>();
 
-    for (final Transaction transaction : transactions) {
+    final Address miningBeneficiary = miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
+    final BlockHashLookup blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
+    // When enabled, transactions are first executed in parallel against the state the block starts
+    // from. Each execution is then only kept if none of the transactions committed before it wrote
+    // something it read, otherwise the transaction is executed again in order.
+    final List<SpeculativeTransactionExecutor.Execution> speculativeExecutions =
+        speculativeTransactionExecutor.isPresent() && transactions.size() > 1
+            ? speculativeTransactionExecutor
+                .get()
+                .executeAll(
+                    blockchain,
+                    worldState,
+                    blockHeader,
+                    transactions,
+                    miningBeneficiary,
+                    transactionProcessor)
+            : null;
+    final SpeculativeUpdates.WriteSet committedWrites = new SpeculativeUpdates.WriteSet();
+    int reExecuted = 0;
+
+    for (int i = 0; i < transactions.size(); i++) {
+      final Transaction transaction = transactions.get(i);
       final long remainingGasBudget = blockHeader.getGasLimit() - gasUsed;
       if (Long.compareUnsigned(transaction.getGasLimit(), remainingGasBudget) > 0) {
         LOG.warn(
@@ -118,17 +158,40 @@ public class MainnetBlockProcessor implements BlockProcessor {
       }
 
       final WorldUpdater worldStateUpdater = worldState.updater();
-      final BlockHashLookup blockHashLookup = new BlockHashLookup(blockHeader, blockchain);
-      final Address miningBeneficiary =
-          miningBeneficiaryCalculator.calculateBeneficiary(blockHeader);
-      final TransactionProcessor.Result result =
-          transactionProcessor.processTransaction(
-              blockchain,
-              worldStateUpdater,
-              blockHeader,
-              transaction,
-              miningBeneficiary,
-              blockHashLookup);
+      final TransactionProcessor.Result result;
+      if (speculativeExecutions == null) {
+        result =
+            transactionProcessor.processTransaction(
+                blockchain,
+                worldStateUpdater,
+                blockHeader,
+                transaction,
+                miningBeneficiary,
+                blockHashLookup);
+      } else {
+        SpeculativeTransactionExecutor.Execution execution = speculativeExecutions.get(i);
+        if (execution == null
+            || execution.getResult().isInvalid()
+            || execution.getUpdates().conflictsWith(committedWrites)) {
+          execution =
+              SpeculativeTransactionExecutor.execute(
+                  blockchain,
+                  worldState,
+                  blockHeader,
+                  transaction,
+                  miningBeneficiary,
+                  transactionProcessor,
+                  blockHashLookup);
+          reExecuted++;
+        }
+        result = execution.getResult();
+        if (!result.isInvalid()) {
+          // The writes must be recorded after the updates are applied: recording them reads the
+          // beneficiary, after which its fee would be applied as a plain balance update.
+          execution.getUpdates().applyTo(worldStateUpdater);
+          execution.getUpdates().addWritesTo(committedWrites);
+        }
+      }
       if (result.isInvalid()) {
         return Result.failed();
       }
@@ -140,6 +203,14 @@ public class MainnetBlockProcessor implements BlockProcessor {
       receipts.add(transactionReceipt);
     }
 
+    if (speculativeExecutions != null) {
+      LOG.trace(
+          "Executed {} of {} transactions of block {} again after speculative execution",
+          reExecuted,
+          transactions.size(),
+          blockHeader.getNumber());
+    }
+
     if (!rewardCoinbase(worldState, blockHeader, ommers)) {
       return Result.failed();
     }
@@ -18,6 +18,8 @@ import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
 import tech.pegasys.pantheon.ethereum.difficulty.fixed.FixedDifficultyCalculators;
 import tech.pegasys.pantheon.ethereum.difficulty.fixed.FixedDifficultyProtocolSchedule;
 
+import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 
 /** Provides {@link ProtocolSpec} lookups for mainnet hard forks. */
@@ -40,11 +42,37 @@ public class MainnetProtocolSchedule {
    */
   public static ProtocolSchedule<Void> fromConfig(
       final GenesisConfigOptions config, final PrivacyParameters privacyParameters) {
+    return fromConfig(config, privacyParameters, Optional.empty());
+  }
+
+  /**
+   * Create a Mainnet protocol schedule from a config object
+   *
+   * @param config {@link GenesisConfigOptions} containing the config options for the milestone
+   *     starting points
+   * @param privacyParameters the parameters set for private transactions
+   * @param transactionExecutor the executor block transactions are executed speculatively in
+   *     parallel on, if enabled. This is ignored when privacy is enabled, as the privacy
+   *     precompiled contract updates the private state as it executes.
+   * @return A configured mainnet protocol schedule
+   */
+  public static ProtocolSchedule<Void> fromConfig(
+      final GenesisConfigOptions config,
+      final PrivacyParameters privacyParameters,
+      final Optional<? extends Executor> transactionExecutor) {
     if (FixedDifficultyCalculators.isFixedDifficultyInConfig(config)) {
       return FixedDifficultyProtocolSchedule.create(config, privacyParameters);
     }
+    final Function<ProtocolSpecBuilder<Void>, ProtocolSpecBuilder<Void>> protocolSpecAdapter;
+    if (transactionExecutor.isPresent() && !privacyParameters.isEnabled()) {
+      final SpeculativeTransactionExecutor executor =
+          new SpeculativeTransactionExecutor(transactionExecutor.get());
+      protocolSpecAdapter = builder -> builder.speculativeTransactionExecutor(executor);
+    } else {
+      protocolSpecAdapter = Function.identity();
+    }
     return new ProtocolScheduleBuilder<>(
-            config, DEFAULT_CHAIN_ID, Function.identity(), privacyParameters)
+            config, DEFAULT_CHAIN_ID, protocolSpecAdapter, privacyParameters)
         .createProtocolSchedule();
   }
 }
@@ -129,13 +129,15 @@ public abstract class MainnetProtocolSpecs {
             (transactionProcessor,
                 transactionReceiptFactory,
                 blockReward,
-                miningBeneficiaryCalculator) ->
+                miningBeneficiaryCalculator,
+                speculativeTransactionExecutor) ->
                 new DaoBlockProcessor(
                     new MainnetBlockProcessor(
                         transactionProcessor,
                         transactionReceiptFactory,
                         blockReward,
-                        miningBeneficiaryCalculator)))
+                        miningBeneficiaryCalculator,
+                        speculativeTransactionExecutor)))
         .name("DaoRecoveryInit");
   }
 
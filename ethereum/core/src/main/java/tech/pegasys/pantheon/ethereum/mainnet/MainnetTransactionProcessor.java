@@ -25,6 +25,7 @@ import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionValidator.TransactionInvalidReason;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.vm.Code;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
 import tech.pegasys.pantheon.ethereum.vm.OperationTracer;
@@ -121,6 +122,8 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
 
   private final boolean clearEmptyAccounts;
 
+  private final CodeCache codeCache = CodeCache.shared();
+
   public MainnetTransactionProcessor(
       final GasCalculator gasCalculator,
       final TransactionValidator transactionValidator,
@@ -233,7 +236,7 @@ public class MainnetTransactionProcessor implements TransactionProcessor {
               .sender(senderAddress)
               .value(transaction.getValue())
               .apparentValue(transaction.getValue())
-              .code(new Code(contract != null ? contract.getCode() : BytesValue.EMPTY))
+              .code(contract != null ? codeCache.getCode(contract) : new Code())
               .blockHeader(blockHeader)
               .depth(0)
               .completer(c -> {})
@@ -26,6 +26,7 @@ import tech.pegasys.pantheon.ethereum.privacy.PrivateTransactionProcessor;
 import tech.pegasys.pantheon.ethereum.vm.EVM;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 
+import java.util.Optional;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -55,6 +56,7 @@ public class ProtocolSpecBuilder<T> {
   private MiningBeneficiaryCalculator miningBeneficiaryCalculator;
   private PrivacyParameters privacyParameters;
   private PrivateTransactionProcessorBuilder privateTransactionProcessorBuilder;
+  private SpeculativeTransactionExecutor speculativeTransactionExecutor;
 
   public ProtocolSpecBuilder<T> gasCalculator(final Supplier<GasCalculator> gasCalculatorBuilder) {
     this.gasCalculatorBuilder = gasCalculatorBuilder;
@@ -196,6 +198,12 @@ public class ProtocolSpecBuilder<T> {
     return this;
   }
 
+  public ProtocolSpecBuilder<T> speculativeTransactionExecutor(
+      final SpeculativeTransactionExecutor speculativeTransactionExecutor) {
+    this.speculativeTransactionExecutor = speculativeTransactionExecutor;
+    return this;
+  }
+
   public <R> ProtocolSpecBuilder<R> changeConsensusContextType(
       final Function<DifficultyCalculator<R>, BlockHeaderValidator<R>> blockHeaderValidatorBuilder,
       final Function<DifficultyCalculator<R>, BlockHeaderValidator<R>> ommerHeaderValidatorBuilder,
@@ -225,6 +233,7 @@ public class ProtocolSpecBuilder<T> {
         .transactionReceiptFactory(transactionReceiptFactory)
         .transactionReceiptType(transactionReceiptType)
         .miningBeneficiaryCalculator(miningBeneficiaryCalculator)
+        .speculativeTransactionExecutor(speculativeTransactionExecutor)
         .name(name);
   }
 
@@ -290,7 +299,8 @@ public class ProtocolSpecBuilder<T> {
             transactionProcessor,
             transactionReceiptFactory,
             blockReward,
-            miningBeneficiaryCalculator);
+            miningBeneficiaryCalculator,
+            Optional.ofNullable(speculativeTransactionExecutor));
     final BlockValidator<T> blockValidator =
         blockValidatorBuilder.apply(blockHeaderValidator, blockBodyValidator, blockProcessor);
     final BlockImporter<T> blockImporter = blockImporterBuilder.apply(blockValidator);
@@ -335,7 +345,8 @@ public class ProtocolSpecBuilder<T> {
         TransactionProcessor transactionProcessor,
         TransactionReceiptFactory transactionReceiptFactory,
         Wei blockReward,
-        MiningBeneficiaryCalculator miningBeneficiaryCalculator);
+        MiningBeneficiaryCalculator miningBeneficiaryCalculator,
+        Optional<SpeculativeTransactionExecutor> speculativeTransactionExecutor);
   }
 
   public interface BlockValidatorBuilder<T> {
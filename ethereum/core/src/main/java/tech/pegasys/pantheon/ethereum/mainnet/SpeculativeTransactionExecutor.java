@@ -0,0 +1,205 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static java.util.stream.Collectors.toList;
+
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.ProcessableBlockHeader;
+import tech.pegasys.pantheon.ethereum.core.SpeculativeUpdates;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.WorldView;
+import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Executes the transactions of a block in parallel, each against the state the block starts from.
+ *
+ * <p>Each execution records what it read in a {@link SpeculativeUpdates}, so that {@link
+ * MainnetBlockProcessor} can decide, while committing the transactions in order, whether an
+ * execution is still valid or the transaction must be executed again on top of its predecessors.
+ */
+public class SpeculativeTransactionExecutor {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Executor executor;
+
+  /**
+   * @param executor the executor transactions are executed on. It is owned by the caller, which is
+   *     responsible for shutting it down.
+   */
+  public SpeculativeTransactionExecutor(final Executor executor) {
+    this.executor = executor;
+  }
+
+  /**
+   * Executes the provided transactions in parallel against the provided world view.
+   *
+   * <p>This returns once every execution has completed, so the world view is not accessed anymore
+   * when it does.
+   *
+   * @return the execution of each transaction, or {@code null} for transactions that are known to
+   *     conflict with a preceding transaction and were not executed.
+   */
+  List<Execution> executeAll(
+      final Blockchain blockchain,
+      final WorldView worldView,
+      final ProcessableBlockHeader blockHeader,
+      final List<Transaction> transactions,
+      final Address miningBeneficiary,
+      final TransactionProcessor transactionProcessor) {
+    final List<CompletableFuture<Execution>> executions = new ArrayList<>(transactions.size());
+    for (final Transaction transaction : transactions) {
+      executions.add(
+          CompletableFuture.supplyAsync(
+              () ->
+                  executeSpeculatively(
+                      blockchain,
+                      worldView,
+                      blockHeader,
+                      transaction,
+                      miningBeneficiary,
+                      transactionProcessor),
+              executor));
+    }
+    return executions.stream().map(CompletableFuture::join).collect(toList());
+  }
+
+  /**
+   * Reads the state the provided transaction accesses from the provided world view and discards any
+   * update. The transaction is executed if its sender can already afford it, otherwise only its
+   * recipient is read.
+   *
+   * <p>This is used to pull the state of a block into the world state caches before the block is
+   * executed.
+   */
+  public static void prefetch(
+      final Blockchain blockchain,
+      final WorldView worldView,
+      final ProcessableBlockHeader blockHeader,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final TransactionProcessor transactionProcessor) {
+    try {
+      transaction.getTo().map(worldView::get).ifPresent(Account::getCode);
+    } catch (final RuntimeException e) {
+      LOG.trace("Failed to prefetch recipient of transaction {}", transaction.hash(), e);
+      return;
+    }
+    executeSpeculatively(
+        blockchain, worldView, blockHeader, transaction, miningBeneficiary, transactionProcessor);
+  }
+
+  private static Execution executeSpeculatively(
+      final Blockchain blockchain,
+      final WorldView worldView,
+      final ProcessableBlockHeader blockHeader,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final TransactionProcessor transactionProcessor) {
+    try {
+      final SpeculativeUpdates updates = new SpeculativeUpdates(worldView, miningBeneficiary);
+      // A sender whose nonce or balance doesn't match yet depends on an earlier transaction of the
+      // block, typically one of its own. Don't execute it only to have it rejected as invalid.
+      final Account sender = updates.updater().get(transaction.getSender());
+      final long senderNonce = sender == null ? Account.DEFAULT_NONCE : sender.getNonce();
+      if (senderNonce != transaction.getNonce()
+          || (sender != null && transaction.getUpfrontCost().compareTo(sender.getBalance()) > 0)) {
+        return null;
+      }
+      return execute(
+          blockchain,
+          updates,
+          blockHeader,
+          transaction,
+          miningBeneficiary,
+          transactionProcessor,
+          new BlockHashLookup(blockHeader, blockchain));
+    } catch (final RuntimeException e) {
+      // The state seen by a speculative execution may not be consistent, the transaction will be
+      // executed again in order.
+      LOG.trace("Speculative execution of transaction {} failed", transaction.hash(), e);
+      return null;
+    }
+  }
+
+  /**
+   * Executes the provided transaction against the provided world view.
+   *
+   * @return the execution of the transaction.
+   */
+  static Execution execute(
+      final Blockchain blockchain,
+      final WorldView worldView,
+      final ProcessableBlockHeader blockHeader,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final TransactionProcessor transactionProcessor,
+      final BlockHashLookup blockHashLookup) {
+    return execute(
+        blockchain,
+        new SpeculativeUpdates(worldView, miningBeneficiary),
+        blockHeader,
+        transaction,
+        miningBeneficiary,
+        transactionProcessor,
+        blockHashLookup);
+  }
+
+  private static Execution execute(
+      final Blockchain blockchain,
+      final SpeculativeUpdates updates,
+      final ProcessableBlockHeader blockHeader,
+      final Transaction transaction,
+      final Address miningBeneficiary,
+      final TransactionProcessor transactionProcessor,
+      final BlockHashLookup blockHashLookup) {
+    final TransactionProcessor.Result result =
+        transactionProcessor.processTransaction(
+            blockchain,
+            updates.updater(),
+            blockHeader,
+            transaction,
+            miningBeneficiary,
+            blockHashLookup);
+    return new Execution(updates, result);
+  }
+
+  static class Execution {
+    private final SpeculativeUpdates updates;
+    private final TransactionProcessor.Result result;
+
+    private Execution(final SpeculativeUpdates updates, final TransactionProcessor.Result result) {
+      this.updates = updates;
+      this.result = result;
+    }
+
+    SpeculativeUpdates getUpdates() {
+      return updates;
+    }
+
+    TransactionProcessor.Result getResult() {
+      return result;
+    }
+  }
+}
@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
 
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128G1Arithmetic;
 import tech.pegasys.pantheon.crypto.altbn128.AltBn128Point;
 import tech.pegasys.pantheon.crypto.altbn128.Fq;
 import tech.pegasys.pantheon.ethereum.core.Gas;
@@ -49,7 +50,7 @@ public class AltBN128MulPrecompiledContract extends AbstractPrecompiledContract
     if (!p.isOnCurve() || n.compareTo(MAX_N) > 0) {
       return null;
     }
-    final AltBn128Point product = p.multiply(n);
+    final AltBn128Point product = AltBn128G1Arithmetic.multiply(p, n);
 
     final BytesValue xResult = product.getX().toBytesValue();
     final BytesValue yResult = product.getY().toBytesValue();
@@ -29,6 +29,7 @@ import tech.pegasys.pantheon.ethereum.mainnet.TransactionValidator.TransactionIn
 import tech.pegasys.pantheon.ethereum.mainnet.ValidationResult;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.vm.Code;
+import tech.pegasys.pantheon.ethereum.vm.CodeCache;
 import tech.pegasys.pantheon.ethereum.vm.GasCalculator;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
 import tech.pegasys.pantheon.ethereum.vm.OperationTracer;
@@ -128,6 +129,8 @@ public class PrivateTransactionProcessor {
   @SuppressWarnings("unused")
   private final boolean clearEmptyAccounts;
 
+  private final CodeCache codeCache = CodeCache.shared();
+
   public PrivateTransactionProcessor(
       final GasCalculator gasCalculator,
       final TransactionValidator transactionValidator,
@@ -215,7 +218,7 @@ public class PrivateTransactionProcessor {
               .sender(senderAddress)
               .value(transaction.getValue())
               .apparentValue(transaction.getValue())
-              .code(new Code(contract != null ? contract.getCode() : BytesValue.EMPTY))
+              .code(contract != null ? codeCache.getCode(contract) : new Code())
               .blockHeader(blockHeader)
               .depth(0)
               .completer(c -> {})
@@ -16,9 +16,11 @@ import tech.pegasys.pantheon.ethereum.chain.BlockchainStorage;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.privacy.PrivateStateStorage;
 import tech.pegasys.pantheon.ethereum.privacy.PrivateTransactionStorage;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateSnapshot;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 
 import java.io.Closeable;
+import java.util.Optional;
 
 public interface StorageProvider extends Closeable {
 
@@ -26,6 +28,8 @@ public interface StorageProvider extends Closeable {
 
   WorldStateStorage createWorldStateStorage();
 
+  Optional<WorldStateSnapshot> createWorldStateSnapshot();
+
   PrivateTransactionStorage createPrivateTransactionStorage();
 
   PrivateStateStorage createPrivateStateStorage();
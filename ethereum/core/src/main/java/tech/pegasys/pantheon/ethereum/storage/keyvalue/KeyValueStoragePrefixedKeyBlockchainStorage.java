@@ -31,6 +31,8 @@ import java.nio.charset.StandardCharsets;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import com.google.common.collect.Lists;
 
@@ -40,6 +42,8 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
       BytesValue.wrap("chainHeadHash".getBytes(StandardCharsets.UTF_8));
   private static final BytesValue FORK_HEADS_KEY =
       BytesValue.wrap("forkHeads".getBytes(StandardCharsets.UTF_8));
+  private static final BytesValue BLOOM_BITS_SECTION_COUNT_KEY =
+      BytesValue.wrap("bloomBitsSectionCount".getBytes(StandardCharsets.UTF_8));
 
   private static final BytesValue CONSTANTS_PREFIX = BytesValue.of(1);
   private static final BytesValue BLOCK_HEADER_PREFIX = BytesValue.of(2);
@@ -48,6 +52,8 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
   private static final BytesValue BLOCK_HASH_PREFIX = BytesValue.of(5);
   private static final BytesValue TOTAL_DIFFICULTY_PREFIX = BytesValue.of(6);
   private static final BytesValue TRANSACTION_LOCATION_PREFIX = BytesValue.of(7);
+  private static final BytesValue BLOOM_BITS_SECTION_HEAD_PREFIX = BytesValue.of(8);
+  private static final BytesValue BLOOM_BITS_PREFIX = BytesValue.of(9);
 
   private final KeyValueStorage storage;
   private final BlockHashFunction blockHashFunction;
@@ -87,11 +93,46 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     return get(TRANSACTION_RECEIPTS_PREFIX, blockHash).map(this::rlpDecodeTransactionReceipts);
   }
 
+  @Override
+  public Optional<BytesValue> getBlockBodyRlp(final Hash blockHash) {
+    return get(BLOCK_BODY_PREFIX, blockHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getTransactionReceiptsRlp(final Hash blockHash) {
+    return get(TRANSACTION_RECEIPTS_PREFIX, blockHash);
+  }
+
   @Override
   public Optional<Hash> getBlockHash(final long blockNumber) {
     return get(BLOCK_HASH_PREFIX, UInt256Bytes.of(blockNumber)).map(this::bytesToHash);
   }
 
+  @Override
+  public List<Optional<Hash>> getAllBlockHashes(final List<Long> blockNumbers) {
+    return getAll(BLOCK_HASH_PREFIX, Lists.transform(blockNumbers, UInt256Bytes::of))
+        .map(value -> value.map(this::bytesToHash))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Optional<BlockBody>> getAllBlockBodies(final List<Hash> blockHashes) {
+    return getAll(BLOCK_BODY_PREFIX, blockHashes)
+        .map(
+            value ->
+                value.map(
+                    bytesValue -> BlockBody.readFrom(RLP.input(bytesValue), blockHashFunction)))
+        .collect(Collectors.toList());
+  }
+
+  @Override
+  public List<Optional<List<TransactionReceipt>>> getAllTransactionReceipts(
+      final List<Hash> blockHashes) {
+    return getAll(TRANSACTION_RECEIPTS_PREFIX, blockHashes)
+        .map(value -> value.map(this::rlpDecodeTransactionReceipts))
+        .collect(Collectors.toList());
+  }
+
   @Override
   public Optional<UInt256> getTotalDifficulty(final Hash blockHash) {
     return get(TOTAL_DIFFICULTY_PREFIX, blockHash).map(b -> UInt256.wrap(Bytes32.wrap(b, 0)));
@@ -103,6 +144,23 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
         .map(bytesValue -> TransactionLocation.readFrom(RLP.input(bytesValue)));
   }
 
+  @Override
+  public long getBloomBitsSectionCount() {
+    return get(CONSTANTS_PREFIX, BLOOM_BITS_SECTION_COUNT_KEY)
+        .map(BytesValues::extractLong)
+        .orElse(0L);
+  }
+
+  @Override
+  public Optional<Hash> getBloomBitsSectionHead(final long section) {
+    return get(BLOOM_BITS_SECTION_HEAD_PREFIX, UInt256Bytes.of(section)).map(this::bytesToHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getBloomBits(final int bloomBit, final long section) {
+    return get(BLOOM_BITS_PREFIX, bloomBitsKey(bloomBit, section));
+  }
+
   @Override
   public Updater updater() {
     return new Updater(storage.startTransaction());
@@ -120,6 +178,20 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
     return storage.get(BytesValues.concatenate(prefix, key));
   }
 
+  private Stream<Optional<BytesValue>> getAll(
+      final BytesValue prefix, final List<? extends BytesValue> keys) {
+    return storage
+        .getAll(
+            keys.stream()
+                .map(key -> BytesValues.concatenate(prefix, key))
+                .collect(Collectors.toList()))
+        .stream();
+  }
+
+  private static BytesValue bloomBitsKey(final int bloomBit, final long section) {
+    return BytesValues.concatenate(BytesValues.ofUnsignedShort(bloomBit), UInt256Bytes.of(section));
+  }
+
   public static class Updater implements BlockchainStorage.Updater {
 
     private final KeyValueStorage.Transaction transaction;
@@ -182,6 +254,26 @@ public class KeyValueStoragePrefixedKeyBlockchainStorage implements BlockchainSt
       remove(TRANSACTION_LOCATION_PREFIX, transactionHash);
     }
 
+    @Override
+    public void setBloomBitsSectionCount(final long sectionCount) {
+      set(CONSTANTS_PREFIX, BLOOM_BITS_SECTION_COUNT_KEY, BytesValues.toMinimalBytes(sectionCount));
+    }
+
+    @Override
+    public void putBloomBitsSectionHead(final long section, final Hash blockHash) {
+      set(BLOOM_BITS_SECTION_HEAD_PREFIX, UInt256Bytes.of(section), blockHash);
+    }
+
+    @Override
+    public void putBloomBits(final int bloomBit, final long section, final BytesValue bits) {
+      set(BLOOM_BITS_PREFIX, bloomBitsKey(bloomBit, section), bits);
+    }
+
+    @Override
+    public void removeBloomBits(final int bloomBit, final long section) {
+      remove(BLOOM_BITS_PREFIX, bloomBitsKey(bloomBit, section));
+    }
+
     @Override
     public void commit() {
       transaction.commit();
@@ -20,28 +20,61 @@ import tech.pegasys.pantheon.ethereum.privacy.PrivateStateKeyValueStorage;
 import tech.pegasys.pantheon.ethereum.privacy.PrivateStateStorage;
 import tech.pegasys.pantheon.ethereum.privacy.PrivateTransactionStorage;
 import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateSnapshot;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
 
 import java.io.IOException;
+import java.util.Optional;
 
 public class KeyValueStorageProvider implements StorageProvider {
 
   private final KeyValueStorage keyValueStorage;
+  private final KeyValueStorage blockchainKeyValueStorage;
+  private final WorldStateStorage worldStateStorage;
+  private final Optional<WorldStateSnapshot> worldStateSnapshot;
 
   public KeyValueStorageProvider(final KeyValueStorage keyValueStorage) {
+    this(
+        keyValueStorage,
+        keyValueStorage,
+        new KeyValueStorageWorldStateStorage(keyValueStorage),
+        Optional.empty());
+  }
+
+  /**
+   * Creates a provider whose blockchain and world state data may live in separate storages.
+   *
+   * @param keyValueStorage the storage for private data, closed when this provider is closed
+   * @param blockchainKeyValueStorage the storage for blockchain data
+   * @param worldStateStorage the world state storage
+   * @param worldStateSnapshot the flat world state snapshot, if any
+   */
+  public KeyValueStorageProvider(
+      final KeyValueStorage keyValueStorage,
+      final KeyValueStorage blockchainKeyValueStorage,
+      final WorldStateStorage worldStateStorage,
+      final Optional<WorldStateSnapshot> worldStateSnapshot) {
     this.keyValueStorage = keyValueStorage;
+    this.blockchainKeyValueStorage = blockchainKeyValueStorage;
+    this.worldStateStorage = worldStateStorage;
+    this.worldStateSnapshot = worldStateSnapshot;
   }
 
   @Override
   public BlockchainStorage createBlockchainStorage(final ProtocolSchedule<?> protocolSchedule) {
     return new KeyValueStoragePrefixedKeyBlockchainStorage(
-        keyValueStorage, ScheduleBasedBlockHashFunction.create(protocolSchedule));
+        blockchainKeyValueStorage, ScheduleBasedBlockHashFunction.create(protocolSchedule));
   }
 
   @Override
   public WorldStateStorage createWorldStateStorage() {
-    return new KeyValueStorageWorldStateStorage(keyValueStorage);
+    return worldStateStorage;
+  }
+
+  @Override
+  public Optional<WorldStateSnapshot> createWorldStateSnapshot() {
+    return worldStateSnapshot;
   }
 
   @Override
@@ -56,6 +89,7 @@ public class KeyValueStorageProvider implements StorageProvider {
 
   @Override
   public void close() throws IOException {
+    worldStateSnapshot.ifPresent(WorldStateSnapshot::close);
     keyValueStorage.close();
   }
 }
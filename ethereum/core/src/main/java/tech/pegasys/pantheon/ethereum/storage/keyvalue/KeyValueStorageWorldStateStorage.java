@@ -16,14 +16,28 @@ import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.util.Subscribers;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
 
 public class KeyValueStorageWorldStateStorage implements WorldStateStorage {
 
+  private static final int PRUNE_BATCH_SIZE = 1000;
+
   private final KeyValueStorage keyValueStorage;
+  private final Subscribers<NodesAddedListener> nodeAddedListeners = new Subscribers<>();
+  // Updaters commit under the read lock so they can run concurrently with each other, while each
+  // prune batch holds the write lock between checking its keys and committing their removal.
+  private final ReadWriteLock pruneLock = new ReentrantReadWriteLock();
 
   public KeyValueStorageWorldStateStorage(final KeyValueStorage keyValueStorage) {
     this.keyValueStorage = keyValueStorage;
@@ -67,6 +81,21 @@ public class KeyValueStorageWorldStateStorage implements WorldStateStorage {
     }
   }
 
+  @Override
+  public List<Optional<BytesValue>> getAllNodeData(final List<Bytes32> hashes) {
+    final List<BytesValue> keys = new ArrayList<>(hashes);
+    final List<Optional<BytesValue>> nodeData = new ArrayList<>(keyValueStorage.getAll(keys));
+    for (int i = 0; i < hashes.size(); i++) {
+      final Bytes32 hash = hashes.get(i);
+      if (hash.equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)) {
+        nodeData.set(i, Optional.of(MerklePatriciaTrie.EMPTY_TRIE_NODE));
+      } else if (hash.equals(Hash.EMPTY)) {
+        nodeData.set(i, Optional.of(BytesValue.EMPTY));
+      }
+    }
+    return nodeData;
+  }
+
   @Override
   public boolean isWorldStateAvailable(final Bytes32 rootHash) {
     return getAccountStateTrieNode(rootHash).isPresent();
@@ -74,15 +103,74 @@ public class KeyValueStorageWorldStateStorage implements WorldStateStorage {
 
   @Override
   public Updater updater() {
-    return new Updater(keyValueStorage.startTransaction());
+    return new Updater(
+        keyValueStorage.startTransaction(), nodeAddedListeners, pruneLock.readLock());
+  }
+
+  @Override
+  public long prune(final Predicate<Bytes32> inUseCheck) {
+    final List<Bytes32> batch = new ArrayList<>(PRUNE_BATCH_SIZE);
+    final AtomicLong prunedCount = new AtomicLong();
+    keyValueStorage.forEachKey(
+        key -> {
+          // Trie nodes and code are stored under their hash, all other keys have a different
+          // length.
+          if (key.size() != Bytes32.SIZE) {
+            return;
+          }
+          batch.add(Bytes32.wrap(key, 0));
+          if (batch.size() >= PRUNE_BATCH_SIZE) {
+            prunedCount.addAndGet(removeUnused(batch, inUseCheck));
+            batch.clear();
+          }
+        });
+    prunedCount.addAndGet(removeUnused(batch, inUseCheck));
+    return prunedCount.get();
+  }
+
+  private int removeUnused(final List<Bytes32> hashes, final Predicate<Bytes32> inUseCheck) {
+    final Lock lock = pruneLock.writeLock();
+    lock.lock();
+    try {
+      final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+      int removedCount = 0;
+      for (final Bytes32 hash : hashes) {
+        if (!inUseCheck.test(hash)) {
+          transaction.remove(hash);
+          removedCount++;
+        }
+      }
+      transaction.commit();
+      return removedCount;
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  @Override
+  public long addNodeAddedListener(final NodesAddedListener listener) {
+    return nodeAddedListeners.subscribe(listener);
+  }
+
+  @Override
+  public void removeNodeAddedListener(final long id) {
+    nodeAddedListeners.unsubscribe(id);
   }
 
   public static class Updater implements WorldStateStorage.Updater {
 
     private final KeyValueStorage.Transaction transaction;
-
-    public Updater(final KeyValueStorage.Transaction transaction) {
+    private final Subscribers<NodesAddedListener> nodeAddedListeners;
+    private final Lock commitLock;
+    private final List<Bytes32> addedNodes = new ArrayList<>();
+
+    private Updater(
+        final KeyValueStorage.Transaction transaction,
+        final Subscribers<NodesAddedListener> nodeAddedListeners,
+        final Lock commitLock) {
       this.transaction = transaction;
+      this.nodeAddedListeners = nodeAddedListeners;
+      this.commitLock = commitLock;
     }
 
     @Override
@@ -91,6 +179,7 @@ public class KeyValueStorageWorldStateStorage implements WorldStateStorage {
         // Don't save empty values
         return this;
       }
+      addedNodes.add(codeHash);
       transaction.put(codeHash, code);
       return this;
     }
@@ -101,6 +190,7 @@ public class KeyValueStorageWorldStateStorage implements WorldStateStorage {
         // Don't save empty nodes
         return this;
       }
+      addedNodes.add(nodeHash);
       transaction.put(nodeHash, node);
       return this;
     }
@@ -111,13 +201,20 @@ public class KeyValueStorageWorldStateStorage implements WorldStateStorage {
         // Don't save empty nodes
         return this;
       }
+      addedNodes.add(nodeHash);
       transaction.put(nodeHash, node);
       return this;
     }
 
     @Override
     public void commit() {
-      transaction.commit();
+      commitLock.lock();
+      try {
+        nodeAddedListeners.forEach(listener -> listener.onNodesAdded(addedNodes));
+        transaction.commit();
+      } finally {
+        commitLock.unlock();
+      }
     }
 
     @Override
@@ -13,20 +13,131 @@
 package tech.pegasys.pantheon.ethereum.storage.keyvalue;
 
 import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
+import tech.pegasys.pantheon.ethereum.worldstate.CachingWorldStateStorage;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateSnapshot;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.RocksDbBlockCache;
+import tech.pegasys.pantheon.services.kvstore.RocksDbColumnFamilyConfiguration;
+import tech.pegasys.pantheon.services.kvstore.RocksDbColumnFamilyConfiguration.Compression;
+import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
 import tech.pegasys.pantheon.services.kvstore.RocksDbKeyValueStorage;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 
 public class RocksDbStorageProvider {
 
+  private static final Logger LOG = LogManager.getLogger();
+
+  static final String BLOCKCHAIN_COLUMN_FAMILY = "blockchain";
+  static final String WORLD_STATE_COLUMN_FAMILY = "world-state";
+  static final String WORLD_STATE_SNAPSHOT_COLUMN_FAMILY = "world-state-snapshot";
+
+  // Chain data is written in order and read mostly near the head, while trie nodes are keyed by
+  // hash and read at random. Compression pays off for bodies and receipts but hardly at all for
+  // trie nodes, which are mostly hashes.
+  private static final List<RocksDbColumnFamilyConfiguration> COLUMN_FAMILIES =
+      Arrays.asList(
+          RocksDbColumnFamilyConfiguration.builder(BLOCKCHAIN_COLUMN_FAMILY)
+              .bloomFilterBitsPerKey(10)
+              .compression(Compression.LZ4)
+              .build(),
+          RocksDbColumnFamilyConfiguration.builder(WORLD_STATE_COLUMN_FAMILY)
+              .bloomFilterBitsPerKey(10)
+              .compression(Compression.NONE)
+              .build(),
+          RocksDbColumnFamilyConfiguration.builder(WORLD_STATE_SNAPSHOT_COLUMN_FAMILY)
+              .bloomFilterBitsPerKey(10)
+              .compression(Compression.LZ4)
+              .build());
+
   public static StorageProvider create(final Path databaseDir, final MetricsSystem metricsSystem)
       throws IOException {
-    final KeyValueStorage kv =
-        RocksDbKeyValueStorage.create(Files.createDirectories(databaseDir), metricsSystem);
-    return new KeyValueStorageProvider(kv);
+    return create(databaseDir, metricsSystem, RocksDbConfiguration.builder().build());
+  }
+
+  public static StorageProvider create(
+      final Path databaseDir,
+      final MetricsSystem metricsSystem,
+      final RocksDbConfiguration rocksDbConfiguration)
+      throws IOException {
+    try (final RocksDbBlockCache blockCache =
+        RocksDbBlockCache.create(rocksDbConfiguration.getCacheCapacity())) {
+      return create(databaseDir, metricsSystem, rocksDbConfiguration, blockCache);
+    }
+  }
+
+  /**
+   * Opens the database using a block cache that may be shared with other databases.
+   *
+   * @param databaseDir the directory containing the database
+   * @param metricsSystem the metrics system
+   * @param rocksDbConfiguration the database configuration, its cache capacity is ignored
+   * @param blockCache the block cache, which stays usable until the provider is closed
+   * @return the storage provider
+   */
+  public static StorageProvider create(
+      final Path databaseDir,
+      final MetricsSystem metricsSystem,
+      final RocksDbConfiguration rocksDbConfiguration,
+      final RocksDbBlockCache blockCache)
+      throws IOException {
+    Files.createDirectories(databaseDir);
+    final List<String> existingColumnFamilies =
+        RocksDbKeyValueStorage.listColumnFamilies(databaseDir);
+    if (!existingColumnFamilies.isEmpty()
+        && !existingColumnFamilies.contains(BLOCKCHAIN_COLUMN_FAMILY)) {
+      LOG.info(
+          "Database at {} stores all data in a single column family, per-family tuning is disabled",
+          databaseDir);
+      final RocksDbKeyValueStorage kv =
+          RocksDbKeyValueStorage.create(
+              databaseDir,
+              metricsSystem,
+              rocksDbConfiguration,
+              Collections.emptyList(),
+              blockCache);
+      return create(kv, kv, kv, kv, metricsSystem);
+    }
+
+    final RocksDbKeyValueStorage kv =
+        RocksDbKeyValueStorage.create(
+            databaseDir, metricsSystem, rocksDbConfiguration, COLUMN_FAMILIES, blockCache);
+    return create(
+        kv,
+        kv.getColumnFamily(BLOCKCHAIN_COLUMN_FAMILY),
+        kv.getColumnFamily(WORLD_STATE_COLUMN_FAMILY),
+        kv.getColumnFamily(WORLD_STATE_SNAPSHOT_COLUMN_FAMILY),
+        metricsSystem);
+  }
+
+  private static StorageProvider create(
+      final KeyValueStorage kv,
+      final KeyValueStorage blockchainKv,
+      final KeyValueStorage worldStateKv,
+      final KeyValueStorage worldStateSnapshotKv,
+      final MetricsSystem metricsSystem) {
+    final WorldStateStorage uncachedWorldStateStorage =
+        new KeyValueStorageWorldStateStorage(worldStateKv);
+    final WorldStateStorage worldStateStorage =
+        new CachingWorldStateStorage(
+            uncachedWorldStateStorage,
+            CachingWorldStateStorage.DEFAULT_CACHE_SIZE_BYTES,
+            metricsSystem);
+    // Generating the snapshot reads the whole world state, so keep it out of the node cache.
+    final WorldStateSnapshot worldStateSnapshot =
+        WorldStateSnapshot.create(worldStateSnapshotKv, uncachedWorldStateStorage);
+    return new KeyValueStorageProvider(
+        kv, blockchainKv, worldStateStorage, Optional.of(worldStateSnapshot));
   }
 }
@@ -28,6 +28,8 @@ import tech.pegasys.pantheon.util.uint.UInt256;
  */
 public abstract class AbstractCallOperation extends AbstractOperation {
 
+  private final CodeCache codeCache = CodeCache.shared();
+
   public AbstractCallOperation(
       final int opcode,
       final String name,
@@ -177,7 +179,7 @@ public abstract class AbstractCallOperation extends AbstractOperation {
             .sender(sender(frame))
             .value(value(frame))
             .apparentValue(apparentValue(frame))
-            .code(new Code(contract != null ? contract.getCode() : BytesValue.EMPTY))
+            .code(contract != null ? codeCache.getCode(contract) : new Code())
             .blockHeader(frame.getBlockHeader())
             .depth(frame.getMessageStackDepth() + 1)
             .isStatic(isStatic(frame))
@@ -13,18 +13,23 @@
 package tech.pegasys.pantheon.ethereum.vm;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.chain.RecentBlockHashes;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.ProcessableBlockHeader;
 import tech.pegasys.pantheon.ethereum.vm.operations.BlockHashOperation;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
 
 /**
  * Calculates and caches block hashes by number following the chain for a specific branch. This is
  * used by {@link BlockHashOperation} and ensures that the correct block hash is returned even when
  * the block being imported is on a fork.
  *
+ * <p>Once the branch being followed joins the canonical chain, hashes are served from the
+ * blockchain's {@link RecentBlockHashes} rather than by reading each ancestor's header.
+ *
  * <p>A new BlockHashCache must be created for each block being processed but should be reused for
  * all transactions within that block.
  */
@@ -33,6 +38,8 @@ public class BlockHashLookup {
   private ProcessableBlockHeader searchStartHeader;
   private final Blockchain blockchain;
   private final Map<Long, Hash> hashByNumber = new HashMap<>();
+  private RecentBlockHashes recentBlockHashes;
+  private boolean joinedCanonicalChain;
 
   public BlockHashLookup(final ProcessableBlockHeader currentBlock, final Blockchain blockchain) {
     this.searchStartHeader = currentBlock;
@@ -46,6 +53,10 @@ public class BlockHashLookup {
       return cachedHash;
     }
     while (searchStartHeader != null && searchStartHeader.getNumber() - 1 > blockNumber) {
+      final Optional<Hash> canonicalHash = getCanonicalHash(blockNumber);
+      if (canonicalHash.isPresent()) {
+        return canonicalHash.get();
+      }
       searchStartHeader = blockchain.getBlockHeader(searchStartHeader.getParentHash()).orElse(null);
       if (searchStartHeader != null) {
         hashByNumber.put(searchStartHeader.getNumber() - 1, searchStartHeader.getParentHash());
@@ -53,4 +64,19 @@ public class BlockHashLookup {
     }
     return hashByNumber.getOrDefault(blockNumber, Hash.ZERO);
   }
+
+  private Optional<Hash> getCanonicalHash(final long blockNumber) {
+    if (recentBlockHashes == null) {
+      recentBlockHashes = blockchain.getRecentBlockHashes();
+    }
+    if (!joinedCanonicalChain) {
+      // Every ancestor of a canonical block is canonical too.
+      joinedCanonicalChain =
+          recentBlockHashes
+              .getBlockHash(searchStartHeader.getNumber() - 1)
+              .map(searchStartHeader.getParentHash()::equals)
+              .orElse(false);
+    }
+    return joinedCanonicalChain ? recentBlockHashes.getBlockHash(blockNumber) : Optional.empty();
+  }
 }
@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.vm;
 
 import tech.pegasys.pantheon.ethereum.vm.operations.JumpDestOperation;
+import tech.pegasys.pantheon.ethereum.vm.operations.PushOperation;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
@@ -27,7 +28,7 @@ public class Code {
   private final BytesValue bytes;
 
   /** Used to cache valid jump destinations. */
-  private BitSet validJumpDestinations;
+  private volatile BitSet validJumpDestinations;
 
   /**
    * Public constructor.
@@ -71,28 +72,44 @@ public class Code {
   /**
    * Determine whether a specified destination is a valid jump target.
    *
-   * @param evm the EVM executing this code
    * @param destination The destination we're checking for validity.
    * @return Whether or not this location is a valid jump destination.
    */
-  public boolean isValidJumpDestination(final EVM evm, final UInt256 destination) {
+  public boolean isValidJumpDestination(final UInt256 destination) {
     if (!destination.fitsInt()) return false;
 
     final int jumpDestination = destination.toInt();
     if (jumpDestination > getSize()) return false;
 
-    if (validJumpDestinations == null) {
-      // Calculate valid jump destinations
-      validJumpDestinations = new BitSet(getSize());
-      evm.forEachOperation(
-          this,
-          (final Operation op, final Integer offset) -> {
-            if (op.getOpcode() == JumpDestOperation.OPCODE) {
-              validJumpDestinations.set(offset);
-            }
-          });
+    return getValidJumpDestinations().get(jumpDestination);
+  }
+
+  BitSet getValidJumpDestinations() {
+    BitSet jumpDestinations = validJumpDestinations;
+    if (jumpDestinations == null) {
+      // Calculate valid jump destinations. Concurrent callers may both do this, but they compute
+      // the same result and the bitset is never modified once published.
+      jumpDestinations = analyseJumpDestinations(bytes);
+      validJumpDestinations = jumpDestinations;
+    }
+    return jumpDestinations;
+  }
+
+  private static BitSet analyseJumpDestinations(final BytesValue bytes) {
+    final BitSet jumpDestinations = new BitSet(bytes.size());
+    int pc = 0;
+    while (pc < bytes.size()) {
+      final int opcode = bytes.get(pc) & 0xff;
+      if (opcode == JumpDestOperation.OPCODE) {
+        jumpDestinations.set(pc);
+      } else if (opcode >= PushOperation.PUSH_BASE
+          && opcode < PushOperation.PUSH_BASE + PushOperation.PUSH_MAX_LENGTH) {
+        // Skip the immediate data, which may contain bytes that look like a JUMPDEST.
+        pc += opcode - PushOperation.PUSH_BASE + 1;
+      }
+      pc++;
     }
-    return validJumpDestinations.get(jumpDestination);
+    return jumpDestinations;
   }
 
   public BytesValue getBytes() {
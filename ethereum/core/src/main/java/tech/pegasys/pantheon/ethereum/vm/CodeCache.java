@@ -0,0 +1,82 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+
+import java.util.concurrent.ExecutionException;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * Keeps recently executed contract code in memory, together with its jump destination analysis, so
+ * that contracts called repeatedly are only loaded and analysed once.
+ *
+ * <p>Entries are keyed by code hash, so they never go stale and a single cache can be shared by
+ * every transaction processor and call operation regardless of the fork being executed. The cache
+ * is bounded by the approximate memory used by the code and its analysis.
+ */
+public class CodeCache {
+
+  public static final long DEFAULT_MAX_SIZE_BYTES = 64L * 1024 * 1024;
+
+  // Approximate fixed cost of an entry: the key, the Code and BitSet objects and the cache entry.
+  private static final int ENTRY_OVERHEAD_BYTES = 128;
+
+  private static final CodeCache SHARED = new CodeCache(DEFAULT_MAX_SIZE_BYTES);
+
+  private final Cache<Hash, Code> codes;
+
+  public CodeCache(final long maxSizeBytes) {
+    this.codes =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxSizeBytes)
+            .weigher((Hash codeHash, Code code) -> weight(code))
+            .build();
+  }
+
+  /** @return the cache shared by all protocol specs */
+  public static CodeCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * Returns the analysed code of an account, loading and analysing it if it isn't cached.
+   *
+   * @param account the account whose code to return
+   * @return the account's code with its jump destinations already analysed
+   */
+  public Code getCode(final Account account) {
+    try {
+      return codes.get(account.getCodeHash(), () -> analyse(account));
+    } catch (final ExecutionException e) {
+      throw new IllegalStateException("Unable to load code of account " + account.getAddress(), e);
+    }
+  }
+
+  long size() {
+    return codes.size();
+  }
+
+  private static Code analyse(final Account account) {
+    final Code code = new Code(account.getCode());
+    code.getValidJumpDestinations();
+    return code;
+  }
+
+  private static int weight(final Code code) {
+    return ENTRY_OVERHEAD_BYTES + code.getSize() + code.getSize() / Byte.SIZE;
+  }
+}
@@ -19,6 +19,7 @@ import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.vm.MessageFrame.State;
 import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
 import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltManager;
+import tech.pegasys.pantheon.ethereum.vm.ehalt.StackOverflowExceptionalHaltPredicate;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.EnumSet;
@@ -31,18 +32,37 @@ public class EVM {
   private static final Logger LOG = getLogger();
 
   private static final int STOP_OPCODE = 0x00;
+  private static final int INVALID_OPCODE = 0xfe;
+  private static final int NUM_OPCODES = 256;
+
   private final OperationRegistry operations;
   private final Operation invalidOperation;
 
+  // Per opcode stack bounds, precomputed so the untraced loop can check them with two comparisons.
+  private final int[] minStackSize = new int[NUM_OPCODES];
+  private final int[] maxStackSize = new int[NUM_OPCODES];
+
   public EVM(final OperationRegistry operations, final Operation invalidOperation) {
     this.operations = operations;
     this.invalidOperation = invalidOperation;
+    for (int opcode = 0; opcode < NUM_OPCODES; opcode++) {
+      final Operation operation = operations.getOrDefault((byte) opcode, invalidOperation);
+      minStackSize[opcode] = operation.getStackItemsConsumed();
+      maxStackSize[opcode] =
+          StackOverflowExceptionalHaltPredicate.MAX_STACK_SIZE - operation.getStackSizeChange();
+    }
   }
 
   public void runToHalt(final MessageFrame frame, final OperationTracer operationTracer)
       throws ExceptionalHaltException {
-    while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
-      executeNextOperation(frame, operationTracer);
+    if (operationTracer == OperationTracer.NO_TRACING) {
+      while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
+        executeNextOperationUntraced(frame);
+      }
+    } else {
+      while (frame.getState() == MessageFrame.State.CODE_EXECUTING) {
+        executeNextOperation(frame, operationTracer);
+      }
     }
   }
 
@@ -75,6 +95,56 @@ public class EVM {
         });
   }
 
+  /**
+   * Executes the next operation without a tracer. This is equivalent to {@link
+   * #executeNextOperation(MessageFrame, OperationTracer)} with {@link OperationTracer#NO_TRACING}
+   * but does not allocate on the common path: the global halt conditions are checked against the
+   * precomputed stack bounds and the remaining gas directly, and the full set of halt reasons is
+   * only evaluated once the operation is known to halt.
+   */
+  private void executeNextOperationUntraced(final MessageFrame frame)
+      throws ExceptionalHaltException {
+    final Operation operation = operationAtOffset(frame.getCode(), frame.getPC());
+    frame.setCurrentOperation(operation);
+
+    final int opcode = operation.getOpcode();
+    final int stackSize = frame.stackSize();
+    if (opcode == INVALID_OPCODE
+        || stackSize < minStackSize[opcode]
+        || stackSize > maxStackSize[opcode]) {
+      haltExceptionally(frame);
+    }
+
+    final Gas cost;
+    try {
+      cost = operation.cost(frame);
+    } catch (final IllegalArgumentException e) {
+      haltExceptionally(frame);
+      return;
+    }
+    if (cost == null
+        || frame.getRemainingGasAsLong() < cost.toLong()
+        || operation
+            .exceptionalHaltCondition(frame, frame.getExceptionalHaltReasons(), this)
+            .isPresent()) {
+      haltExceptionally(frame);
+    }
+
+    if (LOG.isTraceEnabled()) {
+      logState(frame, Optional.of(cost));
+    }
+    frame.decrementRemainingGas(cost);
+    operation.execute(frame);
+    incrementProgramCounter(frame);
+  }
+
+  private void haltExceptionally(final MessageFrame frame) throws ExceptionalHaltException {
+    evaluateExceptionalHaltReasons(frame);
+    checkForExceptionalHalt(frame);
+    // Only a missing gas cost is caught by the fast checks but not by the full evaluation.
+    throw new IllegalStateException("Gas overflow detected");
+  }
+
   private void evaluateExceptionalHaltReasons(final MessageFrame frame) {
     final EnumSet<ExceptionalHaltReason> haltReasons =
         ExceptionalHaltManager.evaluateAll(frame, this);
@@ -15,7 +15,6 @@ package tech.pegasys.pantheon.ethereum.vm;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.BytesValues;
-import tech.pegasys.pantheon.util.bytes.MutableBytes32;
 import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 import tech.pegasys.pantheon.util.uint.UInt256Value;
@@ -23,9 +22,7 @@ import tech.pegasys.pantheon.util.uint.UInt256s;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
-import java.util.Objects;
-
-import com.google.common.base.Joiner;
+import java.util.Arrays;
 
 /**
  * A EVM memory implementation.
@@ -38,6 +35,10 @@ public class Memory {
   // See below.
   private static final long MAX_BYTES = 32L * Integer.MAX_VALUE;
 
+  private static final int PAGE_SHIFT = 10;
+  private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+  private static final int PAGE_MASK = PAGE_SIZE - 1;
+
   /**
    * The data stored within the memory.
    *
@@ -54,33 +55,21 @@ public class Memory {
    * So this is likely a reasonable limitation, at least at first (and possibly ever if I'm to bet).
    */
   /*
-   * Implementation note: using an array of word have a bunch of advantages: - it can make
-   * expansions cheaper (less bytes to copy on resize). - it makes word-related operations simple. -
-   * it's an easy way to put a higher limit on addressable memory (Integer.MAX_VALUE word is 32
-   * times more capacity than Integer.MAX_VALUE bytes). but it's not without downsides either: -
-   * non-word aligned operations (on more than 1 byte) are currently more expansive (could be
-   * improved, but with more works). - sequential access, even word-aligned, might be slower than if
-   * we allocated larger byte arrays underneath due to cache effects. This is likely good enough
-   * initially, but a page-based design (with a page being X word, X to be determined) could be
-   * worth exploring as a future improvement.
+   * Implementation note: memory is stored in fixed size pages of bytes, allocated as memory expands
+   * and never copied on resize. Accesses within a page, aligned or not, are single array copies,
+   * and accesses spanning pages are split into one copy per page. Pages are small enough that the
+   * first page is a cheap allocation for the many calls that use little memory, while the number
+   * of pages for MAX_BYTES still fits in an int.
    *
-   * Lastly note that we may want to share the underlying implementation with the VM Stack: the
-   * stack is really just growable memory that is grown/accessed from the end and on by fully word,
-   * but the same page-based design probably make sense.
+   * Bytes of a page beyond the active words are never written, since every write first expands
+   * the active words to cover it, so they are always zero.
    */
-  private final ArrayList<MutableBytes32> data;
+  private final ArrayList<byte[]> pages = new ArrayList<>();
 
-  // Really data.size(), but cached as a UInt256 to avoid recomputing it each time.
-  private UInt256 activeWords = UInt256.ZERO;
+  private int activeWordCount;
 
-  public Memory() {
-    this(new ArrayList<>());
-  }
-
-  private Memory(final ArrayList<MutableBytes32> data) {
-    this.data = data;
-    this.activeWords = UInt256.of(data.size());
-  }
+  // Really activeWordCount, but cached as a UInt256 to avoid recomputing it each time.
+  private UInt256 activeWords = UInt256.ZERO;
 
   private static RuntimeException overflow(final long v) {
     return overflow(String.valueOf(v));
@@ -125,9 +114,48 @@ public class Memory {
     return (int) (byteIndex / Bytes32.SIZE);
   }
 
-  private int indexInWord(final long byteIndex) {
-    checkByteIndex(byteIndex);
-    return (int) (byteIndex - ((byteIndex / Bytes32.SIZE) * Bytes32.SIZE));
+  private static int pageIndex(final long byteIndex) {
+    return (int) (byteIndex >>> PAGE_SHIFT);
+  }
+
+  private static int indexInPage(final long byteIndex) {
+    return (int) (byteIndex & PAGE_MASK);
+  }
+
+  /** Copies {@code length} bytes of memory starting at {@code start} to {@code destination}. */
+  private void read(final long start, final byte[] destination, final int length) {
+    long position = start;
+    int copied = 0;
+    while (copied < length) {
+      final int indexInPage = indexInPage(position);
+      final int toCopy = Math.min(length - copied, PAGE_SIZE - indexInPage);
+      System.arraycopy(pages.get(pageIndex(position)), indexInPage, destination, copied, toCopy);
+      position += toCopy;
+      copied += toCopy;
+    }
+  }
+
+  /** Copies the bytes of {@code value} to memory starting at {@code start}. */
+  private void write(final long start, final BytesValue value) {
+    final int length = value.size();
+    final int indexInPage = indexInPage(start);
+    if (indexInPage + length <= PAGE_SIZE) {
+      // Within a single page, fast-path.
+      value.copyTo(MutableBytesValue.wrap(pages.get(pageIndex(start)), indexInPage, length));
+      return;
+    }
+
+    long position = start;
+    int copied = 0;
+    while (copied < length) {
+      final int offset = indexInPage(position);
+      final int toCopy = Math.min(length - copied, PAGE_SIZE - offset);
+      value
+          .slice(copied, toCopy)
+          .copyTo(MutableBytesValue.wrap(pages.get(pageIndex(position)), offset, toCopy));
+      position += toCopy;
+      copied += toCopy;
+    }
   }
 
   /**
@@ -153,7 +181,7 @@ public class Memory {
       final long byteSize = (long) location.toInt() + (long) numBytes.toInt();
       int wordSize = (int) (byteSize / Bytes32.SIZE);
       if (byteSize % Bytes32.SIZE != 0) wordSize += 1;
-      return wordSize > data.size() ? UInt256.of(wordSize) : activeWords;
+      return wordSize > activeWordCount ? UInt256.of(wordSize) : activeWords;
     } else {
       // Slow, rare path
 
@@ -193,15 +221,16 @@ public class Memory {
    * @param newActiveWords The new number of active words to expand to.
    */
   private void maybeExpandCapacity(final int newActiveWords) {
-    if (data.size() >= newActiveWords) return;
+    if (activeWordCount >= newActiveWords) return;
 
-    // Require full capacity to guarantee we don't resize more than once.
-    data.ensureCapacity(newActiveWords);
-    final int toAdd = newActiveWords - data.size();
-    for (int i = 0; i < toAdd; i++) {
-      data.add(MutableBytes32.create());
+    final long newActiveBytes = (long) newActiveWords * Bytes32.SIZE;
+    final int pagesRequired = pageIndex(newActiveBytes + PAGE_MASK);
+    pages.ensureCapacity(pagesRequired);
+    while (pages.size() < pagesRequired) {
+      pages.add(new byte[PAGE_SIZE]);
     }
-    this.activeWords = UInt256.of(data.size());
+    this.activeWordCount = newActiveWords;
+    this.activeWords = UInt256.of(newActiveWords);
   }
 
   /**
@@ -217,12 +246,21 @@ public class Memory {
     if (!(other instanceof Memory)) return false;
 
     final Memory that = (Memory) other;
-    return this.data.equals(that.data);
+    if (this.activeWordCount != that.activeWordCount) return false;
+    // Both memories have the same number of pages, and bytes past the active words are zero.
+    for (int i = 0; i < pages.size(); i++) {
+      if (!Arrays.equals(this.pages.get(i), that.pages.get(i))) return false;
+    }
+    return true;
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(data);
+    int result = activeWordCount;
+    for (final byte[] page : pages) {
+      result = 31 * result + Arrays.hashCode(page);
+    }
+    return result;
   }
 
   /**
@@ -231,7 +269,7 @@ public class Memory {
    * @return The current number of active bytes stored in memory.
    */
   public long getActiveBytes() {
-    return (long) data.size() * Bytes32.SIZE;
+    return (long) activeWordCount * Bytes32.SIZE;
   }
 
   /**
@@ -265,36 +303,9 @@ public class Memory {
 
     ensureCapacityForBytes(start, length);
 
-    // Index of last byte to set.
-    final long end = start + length - 1;
-
-    final int startWord = wordForByte(start);
-    final int idxInStart = indexInWord(start);
-    final int endWord = wordForByte(end);
-    final int idxInEnd = indexInWord(end);
-
-    if (startWord == endWord) {
-      // Bytes within a word, fast-path.
-      final MutableBytesValue bytes = data.get(startWord);
-      return idxInStart == 0 && length == Bytes32.SIZE
-          ? bytes.copy()
-          : bytes.slice(idxInStart, length).copy();
-    }
-
-    // Spans multiple word, slower path.
-    final int bytesInStartWord = Bytes32.SIZE - idxInStart;
-    final int bytesInEndWord = idxInEnd + 1;
-
-    final MutableBytesValue result = MutableBytesValue.create(length);
-    int resultIdx = 0;
-    data.get(startWord).slice(idxInStart).copyTo(result, resultIdx);
-    resultIdx += bytesInStartWord;
-    for (int i = startWord + 1; i < endWord; i++) {
-      data.get(i).copyTo(result, resultIdx);
-      resultIdx += Bytes32.SIZE;
-    }
-    data.get(endWord).slice(0, bytesInEndWord).copyTo(result, resultIdx);
-    return result;
+    final byte[] result = new byte[length];
+    read(start, result, length);
+    return BytesValue.wrap(result);
   }
 
   /**
@@ -376,30 +387,7 @@ public class Memory {
       value = taintedValue;
     }
 
-    // Index of last byte to set.
-    final long end = start + value.size() - 1;
-
-    final int startWord = wordForByte(start);
-    final int idxInStart = indexInWord(start);
-    final int endWord = wordForByte(end);
-
-    if (startWord == endWord) {
-      // Bytes within a word, fast-path.
-      value.copyTo(data.get(startWord), idxInStart);
-      return;
-    }
-
-    // Spans multiple word, slower path.
-    final int bytesInStartWord = Bytes32.SIZE - idxInStart;
-
-    int valueIdx = 0;
-    value.slice(valueIdx, bytesInStartWord).copyTo(data.get(startWord), idxInStart);
-    valueIdx += bytesInStartWord;
-    for (int i = startWord + 1; i < endWord; i++) {
-      value.slice(valueIdx, Bytes32.SIZE).copyTo(data.get(i));
-      valueIdx += Bytes32.SIZE;
-    }
-    value.slice(valueIdx).copyTo(data.get(endWord), 0);
+    write(start, value);
   }
 
   /**
@@ -430,33 +418,15 @@ public class Memory {
 
     ensureCapacityForBytes(location, numBytes);
 
-    // Index of last byte to set.
-    final long end = location + numBytes - 1;
-
-    final int startWord = wordForByte(location);
-    final int idxInStart = indexInWord(location);
-    final int endWord = wordForByte(end);
-    final int idxInEnd = indexInWord(end);
-
-    if (startWord == endWord) {
-      // Bytes within a word, fast-path.
-      MutableBytesValue bytes = data.get(startWord);
-      if (idxInStart != 0 || numBytes != Bytes32.SIZE) {
-        bytes = bytes.mutableSlice(idxInStart, numBytes);
-      }
-      bytes.clear();
-      return;
-    }
-
-    // Spans multiple word, slower path.
-    final int bytesInStartWord = Bytes32.SIZE - idxInStart;
-    final int bytesInEndWord = idxInEnd + 1;
-
-    data.get(startWord).mutableSlice(idxInStart, bytesInStartWord).clear();
-    for (int i = startWord + 1; i < endWord; i++) {
-      data.get(i).clear();
+    long position = location;
+    int cleared = 0;
+    while (cleared < numBytes) {
+      final int indexInPage = indexInPage(position);
+      final int toClear = Math.min(numBytes - cleared, PAGE_SIZE - indexInPage);
+      Arrays.fill(pages.get(pageIndex(position)), indexInPage, indexInPage + toClear, (byte) 0);
+      position += toClear;
+      cleared += toClear;
     }
-    data.get(endWord).mutableSlice(0, bytesInEndWord).clear();
   }
 
   /**
@@ -469,10 +439,7 @@ public class Memory {
     final long start = asByteIndex(location);
     ensureCapacityForBytes(start, 1);
 
-    final int word = wordForByte(start);
-    final int idxInWord = indexInWord(start);
-
-    data.get(word).set(idxInWord, value);
+    pages.get(pageIndex(start))[indexInPage(start)] = value;
   }
 
   /**
@@ -485,22 +452,9 @@ public class Memory {
     final long start = asByteIndex(location);
     ensureCapacityForBytes(start, Bytes32.SIZE);
 
-    final int startWord = wordForByte(start);
-    final int idxInStart = indexInWord(start);
-
-    if (idxInStart == 0) {
-      // Word-aligned. Fast-path.
-      return data.get(startWord).copy();
-    }
-
-    // Spans 2 memory word, slower path.
-    final MutableBytes32 result = MutableBytes32.create();
-    final int sizeInFirstWord = Bytes32.SIZE - idxInStart;
-    data.get(startWord).slice(idxInStart, sizeInFirstWord).copyTo(result, 0);
-    data.get(startWord + 1)
-        .slice(0, Bytes32.SIZE - sizeInFirstWord)
-        .copyTo(result, sizeInFirstWord);
-    return result;
+    final byte[] result = new byte[Bytes32.SIZE];
+    read(start, result, Bytes32.SIZE);
+    return Bytes32.wrap(result);
   }
 
   /**
@@ -516,27 +470,22 @@ public class Memory {
     final long start = asByteIndex(location);
     ensureCapacityForBytes(start, Bytes32.SIZE);
 
-    final int startWord = wordForByte(start);
-    final int idxInStart = indexInWord(start);
-
-    if (idxInStart == 0) {
-      // Word-aligned. Fast-path.
-      bytes.copyTo(data.get(startWord));
-      return;
-    }
-
-    // Spans 2 memory word, slower path.
-    final int sizeInFirstWord = Bytes32.SIZE - idxInStart;
-    bytes.slice(0, sizeInFirstWord).copyTo(data.get(startWord), idxInStart);
-    bytes.slice(sizeInFirstWord).copyTo(data.get(startWord + 1), 0);
+    write(start, bytes);
   }
 
   @Override
   public String toString() {
-    if (data.isEmpty()) {
+    if (activeWordCount == 0) {
       return "";
     }
 
-    return '\n' + Joiner.on("\n").join(data);
+    final StringBuilder builder = new StringBuilder();
+    for (long word = 0; word < activeWordCount; word++) {
+      final long start = word * Bytes32.SIZE;
+      builder
+          .append('\n')
+          .append(BytesValue.wrap(pages.get(pageIndex(start)), indexInPage(start), Bytes32.SIZE));
+    }
+    return builder.toString();
   }
 }
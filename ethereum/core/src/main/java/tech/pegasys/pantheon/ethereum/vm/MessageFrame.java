@@ -186,7 +186,7 @@ public class MessageFrame {
   private State state;
 
   // Machine state fields.
-  private Gas gasRemaining;
+  private long gasRemaining;
   private final BlockHashLookup blockHashLookup;
   private int pc;
   private final Memory memory;
@@ -250,7 +250,7 @@ public class MessageFrame {
     this.blockchain = blockchain;
     this.messageFrameStack = messageFrameStack;
     this.worldState = worldState;
-    this.gasRemaining = initialGas;
+    this.gasRemaining = initialGas.toLong();
     this.blockHashLookup = blockHashLookup;
     this.pc = 0;
     this.memory = new Memory();
@@ -297,7 +297,7 @@ public class MessageFrame {
 
   /** Deducts the remainging gas. */
   public void clearGasRemaining() {
-    this.gasRemaining = Gas.ZERO;
+    this.gasRemaining = 0;
   }
 
   /**
@@ -306,7 +306,7 @@ public class MessageFrame {
    * @param amount The amount of gas to deduct
    */
   public void decrementRemainingGas(final Gas amount) {
-    this.gasRemaining = gasRemaining.minus(amount);
+    this.gasRemaining -= amount.toLong();
   }
 
   /**
@@ -315,6 +315,15 @@ public class MessageFrame {
    * @return the amount of remaining gas
    */
   public Gas getRemainingGas() {
+    return Gas.of(gasRemaining);
+  }
+
+  /**
+   * Return the amount of remaining gas without allocating a {@link Gas} instance.
+   *
+   * @return the amount of remaining gas
+   */
+  public long getRemainingGasAsLong() {
     return gasRemaining;
   }
 
@@ -324,7 +333,11 @@ public class MessageFrame {
    * @param amount The amount of gas to increment
    */
   public void incrementRemainingGas(final Gas amount) {
-    this.gasRemaining = gasRemaining.plus(amount);
+    try {
+      this.gasRemaining = Math.addExact(gasRemaining, amount.toLong());
+    } catch (final ArithmeticException e) {
+      this.gasRemaining = Long.MAX_VALUE;
+    }
   }
 
   /**
@@ -333,7 +346,7 @@ public class MessageFrame {
    * @param amount The amount of remainging gas
    */
   public void setGasRemaining(final Gas amount) {
-    this.gasRemaining = amount;
+    this.gasRemaining = amount.toLong();
   }
 
   /**
@@ -23,10 +23,13 @@ import tech.pegasys.pantheon.util.bytes.MutableBytes32;
 
 public class PushOperation extends AbstractOperation {
 
+  public static final int PUSH_BASE = 0x60;
+  public static final int PUSH_MAX_LENGTH = 32;
+
   private final int length;
 
   public PushOperation(final int length, final GasCalculator gasCalculator) {
-    super(0x60 + length - 1, "PUSH" + length, 0, 1, false, length + 1, gasCalculator);
+    super(PUSH_BASE + length - 1, "PUSH" + length, 0, 1, false, length + 1, gasCalculator);
     this.length = length;
   }
 
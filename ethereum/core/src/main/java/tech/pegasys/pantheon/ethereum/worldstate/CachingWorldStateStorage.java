@@ -0,0 +1,208 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+/**
+ * A {@link WorldStateStorage} that keeps recently used trie nodes in memory in front of another
+ * storage. Trie nodes are keyed by their hash, so cached entries never go stale. The cache is
+ * bounded by the total size in bytes of the cached nodes and is filled both by reads and by nodes
+ * written through committed updaters.
+ */
+public class CachingWorldStateStorage implements WorldStateStorage {
+
+  public static final long DEFAULT_CACHE_SIZE_BYTES = 256L * 1024 * 1024;
+
+  private final WorldStateStorage storage;
+  private final Cache<Bytes32, BytesValue> trieNodes;
+
+  public CachingWorldStateStorage(
+      final WorldStateStorage storage, final long maxCacheSizeBytes, final MetricsSystem metrics) {
+    this.storage = storage;
+    this.trieNodes =
+        CacheBuilder.newBuilder()
+            .maximumWeight(maxCacheSizeBytes)
+            .weigher((Bytes32 hash, BytesValue node) -> Bytes32.SIZE + node.size())
+            .recordStats()
+            .build();
+
+    metrics.createLongGauge(
+        MetricCategory.ROCKSDB,
+        "world_state_node_cache_hit_count",
+        "Number of world state trie node lookups served from the cache",
+        () -> trieNodes.stats().hitCount());
+    metrics.createLongGauge(
+        MetricCategory.ROCKSDB,
+        "world_state_node_cache_miss_count",
+        "Number of world state trie node lookups not found in the cache",
+        () -> trieNodes.stats().missCount());
+    metrics.createLongGauge(
+        MetricCategory.ROCKSDB,
+        "world_state_node_cache_eviction_count",
+        "Number of world state trie nodes evicted from the cache",
+        () -> trieNodes.stats().evictionCount());
+    metrics.createLongGauge(
+        MetricCategory.ROCKSDB,
+        "world_state_node_cache_entries",
+        "Number of world state trie nodes currently in the cache",
+        trieNodes::size);
+  }
+
+  @Override
+  public Optional<BytesValue> getCode(final Bytes32 codeHash) {
+    return storage.getCode(codeHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getAccountStateTrieNode(final Bytes32 nodeHash) {
+    return getTrieNode(nodeHash, storage::getAccountStateTrieNode);
+  }
+
+  @Override
+  public Optional<BytesValue> getAccountStorageTrieNode(final Bytes32 nodeHash) {
+    return getTrieNode(nodeHash, storage::getAccountStorageTrieNode);
+  }
+
+  @Override
+  public Optional<BytesValue> getNodeData(final Bytes32 hash) {
+    // Node data may also be contract code, so only serve it from the cache but never fill it.
+    final BytesValue cached = trieNodes.getIfPresent(hash);
+    return cached != null ? Optional.of(cached) : storage.getNodeData(hash);
+  }
+
+  @Override
+  public List<Optional<BytesValue>> getAllNodeData(final List<Bytes32> hashes) {
+    final List<Optional<BytesValue>> nodeData = new ArrayList<>(hashes.size());
+    final List<Integer> missingIndices = new ArrayList<>();
+    final List<Bytes32> missingHashes = new ArrayList<>();
+    for (final Bytes32 hash : hashes) {
+      final BytesValue cached = trieNodes.getIfPresent(hash);
+      if (cached == null) {
+        missingIndices.add(nodeData.size());
+        missingHashes.add(hash);
+      }
+      nodeData.add(Optional.ofNullable(cached));
+    }
+    if (!missingHashes.isEmpty()) {
+      final List<Optional<BytesValue>> loaded = storage.getAllNodeData(missingHashes);
+      for (int i = 0; i < missingIndices.size(); i++) {
+        nodeData.set(missingIndices.get(i), loaded.get(i));
+      }
+    }
+    return nodeData;
+  }
+
+  @Override
+  public boolean isWorldStateAvailable(final Bytes32 rootHash) {
+    return getAccountStateTrieNode(rootHash).isPresent();
+  }
+
+  @Override
+  public Updater updater() {
+    return new Updater(storage.updater(), trieNodes);
+  }
+
+  @Override
+  public long prune(final Predicate<Bytes32> inUseCheck) {
+    return storage.prune(
+        hash -> {
+          final boolean inUse = inUseCheck.test(hash);
+          if (!inUse) {
+            trieNodes.invalidate(hash);
+          }
+          return inUse;
+        });
+  }
+
+  @Override
+  public long addNodeAddedListener(final NodesAddedListener listener) {
+    return storage.addNodeAddedListener(listener);
+  }
+
+  @Override
+  public void removeNodeAddedListener(final long id) {
+    storage.removeNodeAddedListener(id);
+  }
+
+  private Optional<BytesValue> getTrieNode(
+      final Bytes32 nodeHash, final Function<Bytes32, Optional<BytesValue>> loader) {
+    final BytesValue cached = trieNodes.getIfPresent(nodeHash);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+    final Optional<BytesValue> node = loader.apply(nodeHash);
+    node.ifPresent(value -> trieNodes.put(nodeHash, value));
+    return node;
+  }
+
+  public static class Updater implements WorldStateStorage.Updater {
+
+    private final WorldStateStorage.Updater updater;
+    private final Cache<Bytes32, BytesValue> trieNodes;
+    private final Map<Bytes32, BytesValue> pendingNodes = new HashMap<>();
+
+    private Updater(
+        final WorldStateStorage.Updater updater, final Cache<Bytes32, BytesValue> trieNodes) {
+      this.updater = updater;
+      this.trieNodes = trieNodes;
+    }
+
+    @Override
+    public Updater putCode(final Bytes32 codeHash, final BytesValue code) {
+      updater.putCode(codeHash, code);
+      return this;
+    }
+
+    @Override
+    public Updater putAccountStateTrieNode(final Bytes32 nodeHash, final BytesValue node) {
+      updater.putAccountStateTrieNode(nodeHash, node);
+      pendingNodes.put(nodeHash, node);
+      return this;
+    }
+
+    @Override
+    public Updater putAccountStorageTrieNode(final Bytes32 nodeHash, final BytesValue node) {
+      updater.putAccountStorageTrieNode(nodeHash, node);
+      pendingNodes.put(nodeHash, node);
+      return this;
+    }
+
+    @Override
+    public void commit() {
+      updater.commit();
+      trieNodes.putAll(pendingNodes);
+      pendingNodes.clear();
+    }
+
+    @Override
+    public void rollback() {
+      pendingNodes.clear();
+      updater.rollback();
+    }
+  }
+}
@@ -32,30 +32,52 @@ import tech.pegasys.pantheon.util.uint.UInt256;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
 import java.util.SortedMap;
 import java.util.TreeMap;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class DefaultMutableWorldState implements MutableWorldState {
 
+  private static final int PARALLEL_STORAGE_COMMIT_THRESHOLD = 4;
+
   private final MerklePatriciaTrie<Bytes32, BytesValue> accountStateTrie;
   private final Map<Address, MerklePatriciaTrie<Bytes32, BytesValue>> updatedStorageTries =
       new HashMap<>();
   private final Map<Address, BytesValue> updatedAccountCode = new HashMap<>();
   private final WorldStateStorage worldStateStorage;
 
+  // Flat changes since the last persist, only tracked when backed by a snapshot.
+  private final Optional<WorldStateSnapshot> snapshot;
+  private final Map<Hash, BytesValue> updatedAccounts = new HashMap<>();
+  private final Map<Hash, Map<Hash, BytesValue>> updatedStorage = new HashMap<>();
+  private final Set<Hash> clearedStorage = new HashSet<>();
+  private Hash persistedRootHash;
+
   public DefaultMutableWorldState(final WorldStateStorage storage) {
     this(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH, storage);
   }
 
   public DefaultMutableWorldState(
       final Bytes32 rootHash, final WorldStateStorage worldStateStorage) {
+    this(rootHash, worldStateStorage, Optional.empty());
+  }
+
+  public DefaultMutableWorldState(
+      final Bytes32 rootHash,
+      final WorldStateStorage worldStateStorage,
+      final Optional<WorldStateSnapshot> snapshot) {
     this.worldStateStorage = worldStateStorage;
+    this.snapshot = snapshot;
     this.accountStateTrie = newAccountStateTrie(rootHash);
+    this.persistedRootHash = Hash.wrap(rootHash);
   }
 
   public DefaultMutableWorldState(final WorldState worldState) {
@@ -68,7 +90,9 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
     final DefaultMutableWorldState other = (DefaultMutableWorldState) worldState;
     this.worldStateStorage = other.worldStateStorage;
+    this.snapshot = other.snapshot;
     this.accountStateTrie = newAccountStateTrie(other.accountStateTrie.getRootHash());
+    this.persistedRootHash = Hash.wrap(accountStateTrie.getRootHash());
   }
 
   private MerklePatriciaTrie<Bytes32, BytesValue> newAccountStateTrie(final Bytes32 rootHash) {
@@ -88,23 +112,54 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
   @Override
   public MutableWorldState copy() {
-    return new DefaultMutableWorldState(rootHash(), worldStateStorage);
+    return new DefaultMutableWorldState(rootHash(), worldStateStorage, snapshot);
   }
 
   @Override
   public Account get(final Address address) {
+    return getAccountState(address);
+  }
+
+  private AccountState getAccountState(final Address address) {
     final Hash addressHash = Hash.hash(address);
+    final Optional<SnapshotLayer> snapshotLayer = snapshotLayer();
+    if (snapshotLayer.isPresent()) {
+      final Optional<BytesValue> account = snapshotLayer.get().getAccount(addressHash);
+      if (account.isPresent()) {
+        return account.get().isEmpty()
+            ? null
+            : deserializeAccount(address, addressHash, account.get(), snapshotLayer);
+      }
+    }
     return accountStateTrie
-        .get(Hash.hash(address))
-        .map(bytes -> deserializeAccount(address, addressHash, bytes))
+        .get(addressHash)
+        .map(bytes -> deserializeAccount(address, addressHash, bytes, Optional.empty()))
         .orElse(null);
   }
 
+  /**
+   * Returns the snapshot layer for this world state, which is only usable while there are no
+   * changes that have not been persisted yet.
+   */
+  private Optional<SnapshotLayer> snapshotLayer() {
+    if (!snapshot.isPresent()
+        || !updatedAccounts.isEmpty()
+        || !updatedStorage.isEmpty()
+        || !clearedStorage.isEmpty()) {
+      return Optional.empty();
+    }
+    return snapshot.get().getLayer(persistedRootHash);
+  }
+
   private AccountState deserializeAccount(
-      final Address address, final Hash addressHash, final BytesValue encoded) throws RLPException {
+      final Address address,
+      final Hash addressHash,
+      final BytesValue encoded,
+      final Optional<SnapshotLayer> snapshotLayer)
+      throws RLPException {
     final RLPInput in = RLP.input(encoded);
     StateTrieAccountValue accountValue = StateTrieAccountValue.readFrom(in);
-    return new AccountState(address, addressHash, accountValue);
+    return new AccountState(address, addressHash, accountValue, snapshotLayer);
   }
 
   private static BytesValue serializeAccount(
@@ -149,9 +204,26 @@ public class DefaultMutableWorldState implements MutableWorldState {
       updater.putCode(code);
     }
     // Commit account storage tries
-    for (final MerklePatriciaTrie<Bytes32, BytesValue> updatedStorage :
-        updatedStorageTries.values()) {
-      updatedStorage.commit(updater::putAccountStorageTrieNode);
+    if (updatedStorageTries.size() < PARALLEL_STORAGE_COMMIT_THRESHOLD) {
+      for (final MerklePatriciaTrie<Bytes32, BytesValue> updatedStorage :
+          updatedStorageTries.values()) {
+        updatedStorage.commit(updater::putAccountStorageTrieNode);
+      }
+    } else {
+      // Storage tries are independent, so hash them concurrently, buffering the nodes of each
+      // trie until they can be added to the (single threaded) updater.
+      final List<Map<Bytes32, BytesValue>> storageTrieNodes =
+          updatedStorageTries
+              .values()
+              .parallelStream()
+              .map(
+                  updatedStorage -> {
+                    final Map<Bytes32, BytesValue> nodes = new HashMap<>();
+                    updatedStorage.commit(nodes::put);
+                    return nodes;
+                  })
+              .collect(Collectors.toList());
+      storageTrieNodes.forEach(nodes -> nodes.forEach(updater::putAccountStorageTrieNode));
     }
     // Commit account updates
     accountStateTrie.commit(updater::putAccountStateTrieNode);
@@ -162,6 +234,40 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
     // Push changes to underlying storage
     updater.commit();
+
+    final Hash parentRootHash = persistedRootHash;
+    persistedRootHash = rootHash();
+    snapshot.ifPresent(
+        s ->
+            s.update(
+                parentRootHash,
+                persistedRootHash,
+                updatedAccounts,
+                updatedStorage,
+                clearedStorage));
+    updatedAccounts.clear();
+    updatedStorage.clear();
+    clearedStorage.clear();
+  }
+
+  private void recordAccountUpdate(final Hash addressHash, final BytesValue account) {
+    if (snapshot.isPresent()) {
+      updatedAccounts.put(addressHash, account);
+    }
+  }
+
+  private void recordStorageCleared(final Hash addressHash) {
+    if (snapshot.isPresent()) {
+      updatedStorage.remove(addressHash);
+      clearedStorage.add(addressHash);
+    }
+  }
+
+  private void recordStorageUpdate(
+      final Hash addressHash, final Hash slotHash, final BytesValue value) {
+    if (snapshot.isPresent()) {
+      updatedStorage.computeIfAbsent(addressHash, hash -> new HashMap<>()).put(slotHash, value);
+    }
   }
 
   // An immutable class that represents an individual account as stored in
@@ -172,16 +278,21 @@ public class DefaultMutableWorldState implements MutableWorldState {
     private final Hash addressHash;
 
     final StateTrieAccountValue accountValue;
+    private final Optional<SnapshotLayer> snapshotLayer;
 
     // Lazily initialized since we don't always access storage.
     private volatile MerklePatriciaTrie<Bytes32, BytesValue> storageTrie;
 
     private AccountState(
-        final Address address, final Hash addressHash, final StateTrieAccountValue accountValue) {
+        final Address address,
+        final Hash addressHash,
+        final StateTrieAccountValue accountValue,
+        final Optional<SnapshotLayer> snapshotLayer) {
 
       this.address = address;
       this.addressHash = addressHash;
       this.accountValue = accountValue;
+      this.snapshotLayer = snapshotLayer;
     }
 
     private MerklePatriciaTrie<Bytes32, BytesValue> storageTrie() {
@@ -245,7 +356,15 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
     @Override
     public UInt256 getStorageValue(final UInt256 key) {
-      final Optional<BytesValue> val = storageTrie().get(Hash.hash(key.getBytes()));
+      final Hash slotHash = Hash.hash(key.getBytes());
+      if (snapshotLayer.isPresent() && !updatedStorageTries.containsKey(address)) {
+        final Optional<BytesValue> value =
+            snapshotLayer.get().getStorageValue(addressHash, slotHash);
+        if (value.isPresent()) {
+          return value.get().isEmpty() ? UInt256.ZERO : convertToUInt256(value.get());
+        }
+      }
+      final Optional<BytesValue> val = storageTrie().get(slotHash);
       if (!val.isPresent()) {
         return UInt256.ZERO;
       }
@@ -296,13 +415,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
 
     @Override
     protected AccountState getForMutation(final Address address) {
-      final DefaultMutableWorldState wrapped = wrappedWorldView();
-      final Hash addressHash = Hash.hash(address);
-      return wrapped
-          .accountStateTrie
-          .get(addressHash)
-          .map(bytes -> wrapped.deserializeAccount(address, addressHash, bytes))
-          .orElse(null);
+      return wrappedWorldView().getAccountState(address);
     }
 
     @Override
@@ -325,6 +438,8 @@ public class DefaultMutableWorldState implements MutableWorldState {
         wrapped.accountStateTrie.remove(addressHash);
         wrapped.updatedStorageTries.remove(address);
         wrapped.updatedAccountCode.remove(address);
+        wrapped.recordAccountUpdate(addressHash, BytesValue.EMPTY);
+        wrapped.recordStorageCleared(addressHash);
       }
 
       for (final UpdateTrackingAccount<AccountState> updated : updatedAccounts()) {
@@ -341,6 +456,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
         Hash storageRoot = freshState ? Hash.EMPTY_TRIE_HASH : origin.getStorageRoot();
         if (freshState) {
           wrapped.updatedStorageTries.remove(updated.getAddress());
+          wrapped.recordStorageCleared(updated.getAddressHash());
         }
         final SortedMap<UInt256, UInt256> updatedStorage = updated.getUpdatedStorage();
         if (!updatedStorage.isEmpty()) {
@@ -355,8 +471,12 @@ public class DefaultMutableWorldState implements MutableWorldState {
             final Hash keyHash = Hash.hash(entry.getKey().getBytes());
             if (value.isZero()) {
               storageTrie.remove(keyHash);
+              wrapped.recordStorageUpdate(updated.getAddressHash(), keyHash, BytesValue.EMPTY);
             } else {
-              storageTrie.put(keyHash, RLP.encode(out -> out.writeUInt256Scalar(entry.getValue())));
+              final BytesValue encodedValue =
+                  RLP.encode(out -> out.writeUInt256Scalar(entry.getValue()));
+              storageTrie.put(keyHash, encodedValue);
+              wrapped.recordStorageUpdate(updated.getAddressHash(), keyHash, encodedValue);
             }
           }
           storageRoot = Hash.wrap(storageTrie.getRootHash());
@@ -367,6 +487,7 @@ public class DefaultMutableWorldState implements MutableWorldState {
             serializeAccount(updated.getNonce(), updated.getBalance(), storageRoot, codeHash);
 
         wrapped.accountStateTrie.put(updated.getAddressHash(), account);
+        wrapped.recordAccountUpdate(updated.getAddressHash(), account);
       }
     }
   }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * An in-memory layer holding the accounts and storage values changed by a single world state
+ * persist on top of a parent layer. Account and storage values that were removed are recorded as
+ * {@link BytesValue#EMPTY}.
+ */
+class DiffSnapshotLayer implements SnapshotLayer {
+
+  private final Hash rootHash;
+  private final Map<Hash, BytesValue> accounts;
+  private final Map<Hash, Map<Hash, BytesValue>> storage;
+  private final Set<Hash> clearedStorage;
+  // Updated when the parent is flattened into the disk layer.
+  private volatile SnapshotLayer parent;
+
+  DiffSnapshotLayer(
+      final SnapshotLayer parent,
+      final Hash rootHash,
+      final Map<Hash, BytesValue> accounts,
+      final Map<Hash, Map<Hash, BytesValue>> storage,
+      final Set<Hash> clearedStorage) {
+    this.parent = parent;
+    this.rootHash = rootHash;
+    this.accounts = accounts;
+    this.storage = storage;
+    this.clearedStorage = clearedStorage;
+  }
+
+  @Override
+  public Hash getRootHash() {
+    return rootHash;
+  }
+
+  @Override
+  public Optional<BytesValue> getAccount(final Hash accountHash) {
+    final BytesValue account = accounts.get(accountHash);
+    return account != null ? Optional.of(account) : parent.getAccount(accountHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getStorageValue(final Hash accountHash, final Hash slotHash) {
+    final Map<Hash, BytesValue> slots = storage.get(accountHash);
+    if (slots != null) {
+      final BytesValue value = slots.get(slotHash);
+      if (value != null) {
+        return Optional.of(value);
+      }
+    }
+    if (clearedStorage.contains(accountHash)) {
+      return Optional.of(BytesValue.EMPTY);
+    }
+    return parent.getStorageValue(accountHash, slotHash);
+  }
+
+  SnapshotLayer getParent() {
+    return parent;
+  }
+
+  void setParent(final SnapshotLayer parent) {
+    this.parent = parent;
+  }
+
+  Map<Hash, BytesValue> getAccounts() {
+    return accounts;
+  }
+
+  Map<Hash, Map<Hash, BytesValue>> getStorage() {
+    return storage;
+  }
+
+  Set<Hash> getClearedStorage() {
+    return clearedStorage;
+  }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Optional;
+
+/**
+ * The bottom layer of a snapshot, backed by the flat state in {@link SnapshotStorage}. The layer
+ * stops answering once the flat state has moved on to a different root.
+ */
+class DiskSnapshotLayer implements SnapshotLayer {
+
+  private final SnapshotStorage storage;
+  private final Hash rootHash;
+
+  DiskSnapshotLayer(final SnapshotStorage storage, final Hash rootHash) {
+    this.storage = storage;
+    this.rootHash = rootHash;
+  }
+
+  @Override
+  public Hash getRootHash() {
+    return rootHash;
+  }
+
+  @Override
+  public Optional<BytesValue> getAccount(final Hash accountHash) {
+    return storage.getAccount(rootHash, accountHash);
+  }
+
+  @Override
+  public Optional<BytesValue> getStorageValue(final Hash accountHash, final Hash slotHash) {
+    return storage.getStorageValue(rootHash, accountHash, slotHash);
+  }
+}
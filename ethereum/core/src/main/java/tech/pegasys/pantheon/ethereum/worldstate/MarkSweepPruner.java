@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
+import tech.pegasys.pantheon.ethereum.trie.Node;
+import tech.pegasys.pantheon.ethereum.trie.StoredMerklePatriciaTrie;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.google.common.hash.BloomFilter;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Removes world state trie nodes and code that are not reachable from a marked state root.
+ *
+ * <p>A pruning generation starts with {@link #prepare()}, which resets the marks and starts marking
+ * every node committed to the world state storage from then on. {@link #mark(Hash)} then marks
+ * every node reachable from a state root, and {@link #sweep()} removes every node that was not
+ * marked. Because nodes committed after {@link #prepare()} are always marked, world states
+ * persisted while marking or sweeping are never swept, and neither is any state that only differs
+ * from the marked one by such nodes.
+ *
+ * <p>Marks are kept in a bloom filter, so a small fraction of unreachable nodes may survive a
+ * sweep. They are removed by a later generation. The filter is sized for the number of nodes kept
+ * by the previous sweep, so it grows with the world state instead of saturating.
+ */
+public class MarkSweepPruner {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final long DEFAULT_EXPECTED_NODE_COUNT = 20_000_000;
+  private static final double MARKS_FALSE_POSITIVE_PROBABILITY = 0.01;
+  // Leaves room for the nodes added while marking and for the world state to grow between sweeps.
+  private static final double EXPECTED_NODE_COUNT_HEADROOM = 1.5;
+
+  private final WorldStateStorage worldStateStorage;
+  private final long expectedNodeCount;
+  private final Counter markedNodesCounter;
+  private final Counter markOperationCounter;
+  private final Counter sweptNodesCounter;
+  private final Counter sweepOperationCounter;
+
+  private volatile BloomFilter<Bytes32> markedNodes;
+  private volatile long retainedNodeCount;
+  private long nodeAddedListenerId = -1;
+
+  /**
+   * @param worldStateStorage the storage to prune
+   * @param expectedNodeCount the minimum number of nodes to size the marks for. Generations after
+   *     the first are sized for the number of nodes kept by the previous sweep if that is larger.
+   * @param metricsSystem the metrics system
+   */
+  public MarkSweepPruner(
+      final WorldStateStorage worldStateStorage,
+      final long expectedNodeCount,
+      final MetricsSystem metricsSystem) {
+    this.worldStateStorage = worldStateStorage;
+    this.expectedNodeCount = expectedNodeCount;
+
+    markedNodesCounter =
+        metricsSystem.createCounter(
+            MetricCategory.PRUNER, "marked_nodes_total", "Total number of nodes marked as in use");
+    markOperationCounter =
+        metricsSystem.createCounter(
+            MetricCategory.PRUNER, "mark_operations_total", "Total number of mark operations");
+    sweptNodesCounter =
+        metricsSystem.createCounter(
+            MetricCategory.PRUNER, "swept_nodes_total", "Total number of unused nodes removed");
+    sweepOperationCounter =
+        metricsSystem.createCounter(
+            MetricCategory.PRUNER, "sweep_operations_total", "Total number of sweep operations");
+  }
+
+  /** Starts a new pruning generation, marking every node committed from now on. */
+  public synchronized void prepare() {
+    worldStateStorage.removeNodeAddedListener(nodeAddedListenerId);
+    markedNodes =
+        BloomFilter.create(
+            (hash, sink) -> sink.putBytes(hash.getArrayUnsafe()),
+            markCapacity(),
+            MARKS_FALSE_POSITIVE_PROBABILITY);
+    nodeAddedListenerId = worldStateStorage.addNodeAddedListener(this::markNewNodes);
+  }
+
+  /**
+   * Marks every node reachable from the given state root, including the storage tries and code of
+   * every account.
+   *
+   * @param rootHash the state root to retain
+   */
+  public void mark(final Hash rootHash) {
+    markOperationCounter.inc();
+    markNode(rootHash);
+    createStateTrie(rootHash)
+        .visitAll(
+            node -> {
+              markNode(node);
+              node.getValue().ifPresent(this::markAccount);
+            });
+    LOG.debug("Completed marking world state {}", rootHash);
+  }
+
+  /** Removes every node that was not marked in the current generation and ends the generation. */
+  public void sweep() {
+    sweepOperationCounter.inc();
+    final BloomFilter<Bytes32> marks = markedNodes;
+    final LongAdder retained = new LongAdder();
+    final long prunedNodeCount =
+        worldStateStorage.prune(
+            hash -> {
+              final boolean inUse = marks.mightContain(hash);
+              if (inUse) {
+                retained.increment();
+              }
+              return inUse;
+            });
+    retainedNodeCount = retained.sum();
+    sweptNodesCounter.inc(prunedNodeCount);
+    LOG.debug(
+        "Completed sweeping world state, removed {} nodes and kept {}",
+        prunedNodeCount,
+        retainedNodeCount);
+    cleanup();
+  }
+
+  long markCapacity() {
+    return Math.max(expectedNodeCount, (long) (retainedNodeCount * EXPECTED_NODE_COUNT_HEADROOM));
+  }
+
+  /** Ends the current generation without sweeping and releases the marks. */
+  public synchronized void cleanup() {
+    worldStateStorage.removeNodeAddedListener(nodeAddedListenerId);
+    nodeAddedListenerId = -1;
+    markedNodes = null;
+  }
+
+  private void markAccount(final BytesValue value) {
+    final StateTrieAccountValue account = StateTrieAccountValue.readFrom(RLP.input(value));
+    markNode(account.getCodeHash());
+    final Hash storageRoot = account.getStorageRoot();
+    if (!storageRoot.equals(Hash.EMPTY_TRIE_HASH)) {
+      markNode(storageRoot);
+      createStorageTrie(storageRoot).visitAll(this::markNode);
+    }
+  }
+
+  private void markNode(final Node<BytesValue> node) {
+    // Nodes that are inlined in their parent are not stored on their own.
+    if (node.isReferencedByHash()) {
+      markNode(node.getHash());
+    }
+  }
+
+  private void markNode(final Bytes32 hash) {
+    markedNodesCounter.inc();
+    markedNodes.put(hash);
+  }
+
+  private void markNewNodes(final Collection<Bytes32> nodeHashes) {
+    final BloomFilter<Bytes32> marks = markedNodes;
+    if (marks != null) {
+      markedNodesCounter.inc(nodeHashes.size());
+      nodeHashes.forEach(marks::put);
+    }
+  }
+
+  private MerklePatriciaTrie<Bytes32, BytesValue> createStateTrie(final Bytes32 rootHash) {
+    return new StoredMerklePatriciaTrie<>(
+        worldStateStorage::getAccountStateTrieNode, rootHash, b -> b, b -> b);
+  }
+
+  private MerklePatriciaTrie<Bytes32, BytesValue> createStorageTrie(final Bytes32 rootHash) {
+    return new StoredMerklePatriciaTrie<>(
+        worldStateStorage::getAccountStorageTrieNode, rootHash, b -> b, b -> b);
+  }
+}
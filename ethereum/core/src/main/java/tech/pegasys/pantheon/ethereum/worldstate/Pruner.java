@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.chain.BlockAddedEvent;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs {@link MarkSweepPruner} generations alongside block import so that only the world states of
+ * recent blocks are kept.
+ *
+ * <p>A generation starts when a new canonical head is added. Once that block has {@code
+ * blockConfirmations} descendants its state is marked, and once it is the oldest of the last {@code
+ * blocksRetained} blocks everything that was not marked is swept. Since the generation starts from
+ * within the block added event, every world state persisted for a later block is marked as it is
+ * committed, so the states of all retained blocks survive the sweep.
+ *
+ * <p>If the block the generation started from is no longer canonical by the time it is marked, or
+ * its world state is not available, for example during fast sync, the generation is abandoned and a
+ * new one starts with the next block.
+ */
+public class Pruner {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final MarkSweepPruner pruningStrategy;
+  private final Blockchain blockchain;
+  private final WorldStateStorage worldStateStorage;
+  private final ExecutorService executorService;
+  private final long blockConfirmations;
+  private final long blocksRetained;
+
+  private final AtomicReference<State> state = new AtomicReference<>(State.IDLE);
+  private volatile long markBlockNumber;
+  private volatile Hash markBlockHash;
+  private Long blockAddedObserverId;
+
+  public Pruner(
+      final MarkSweepPruner pruningStrategy,
+      final Blockchain blockchain,
+      final WorldStateStorage worldStateStorage,
+      final ExecutorService executorService,
+      final PrunerConfiguration pruningConfiguration) {
+    this.pruningStrategy = pruningStrategy;
+    this.blockchain = blockchain;
+    this.worldStateStorage = worldStateStorage;
+    this.executorService = executorService;
+    this.blockConfirmations = pruningConfiguration.getBlockConfirmations();
+    this.blocksRetained = pruningConfiguration.getBlocksRetained();
+  }
+
+  public static Pruner create(
+      final MarkSweepPruner pruningStrategy,
+      final Blockchain blockchain,
+      final WorldStateStorage worldStateStorage,
+      final PrunerConfiguration pruningConfiguration) {
+    return new Pruner(
+        pruningStrategy,
+        blockchain,
+        worldStateStorage,
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("Pruner-%d").setDaemon(true).build()),
+        pruningConfiguration);
+  }
+
+  public void start() {
+    LOG.info("Starting world state pruning, retaining {} blocks", blocksRetained);
+    blockAddedObserverId =
+        blockchain.observeBlockAdded((event, blockchain) -> handleNewBlock(event));
+  }
+
+  public void stop() throws InterruptedException {
+    if (blockAddedObserverId != null) {
+      blockchain.removeObserver(blockAddedObserverId);
+    }
+    executorService.shutdownNow();
+    executorService.awaitTermination(10, TimeUnit.SECONDS);
+  }
+
+  private void handleNewBlock(final BlockAddedEvent event) {
+    if (!event.isNewCanonicalHead()) {
+      return;
+    }
+
+    final BlockHeader header = event.getBlock().getHeader();
+    final long blockNumber = header.getNumber();
+    if (state.compareAndSet(State.IDLE, State.AWAITING_CONFIRMATIONS)) {
+      pruningStrategy.prepare();
+      markBlockNumber = blockNumber;
+      markBlockHash = header.getHash();
+    } else if (blockNumber >= markBlockNumber + blockConfirmations
+        && state.compareAndSet(State.AWAITING_CONFIRMATIONS, State.MARKING)) {
+      execute(this::mark);
+    } else if (blockNumber >= markBlockNumber + blocksRetained - 1
+        && state.compareAndSet(State.MARKING_COMPLETE, State.SWEEPING)) {
+      execute(this::sweep);
+    }
+  }
+
+  private void mark() {
+    final Optional<Hash> stateRoot =
+        blockchain
+            .getBlockHeader(markBlockNumber)
+            .filter(header -> header.getHash().equals(markBlockHash))
+            .map(BlockHeader::getStateRoot)
+            .filter(worldStateStorage::isWorldStateAvailable);
+    if (!stateRoot.isPresent()) {
+      LOG.debug("World state of block {} is not available to mark", markBlockNumber);
+      pruningStrategy.cleanup();
+      state.set(State.IDLE);
+      return;
+    }
+    LOG.debug("Begin marking world state of block {}", markBlockNumber);
+    pruningStrategy.mark(stateRoot.get());
+    state.compareAndSet(State.MARKING, State.MARKING_COMPLETE);
+  }
+
+  private void sweep() {
+    LOG.debug("Begin sweeping world state nodes unused since block {}", markBlockNumber);
+    pruningStrategy.sweep();
+    state.compareAndSet(State.SWEEPING, State.IDLE);
+  }
+
+  private void execute(final Runnable action) {
+    executorService.execute(
+        () -> {
+          try {
+            action.run();
+          } catch (final Throwable t) {
+            LOG.error("World state pruning failed", t);
+            pruningStrategy.cleanup();
+            state.set(State.IDLE);
+          }
+        });
+  }
+
+  private enum State {
+    IDLE,
+    AWAITING_CONFIRMATIONS,
+    MARKING,
+    MARKING_COMPLETE,
+    SWEEPING
+  }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+public class PrunerConfiguration {
+
+  public static final int DEFAULT_BLOCK_CONFIRMATIONS = 10;
+  public static final int DEFAULT_BLOCKS_RETAINED = 1024;
+
+  private final int blockConfirmations;
+  private final int blocksRetained;
+
+  public PrunerConfiguration(final int blockConfirmations, final int blocksRetained) {
+    checkArgument(blockConfirmations >= 0, "Block confirmations must not be negative");
+    checkArgument(
+        blocksRetained > blockConfirmations,
+        "Blocks retained must be greater than the number of block confirmations");
+    this.blockConfirmations = blockConfirmations;
+    this.blocksRetained = blocksRetained;
+  }
+
+  public static PrunerConfiguration getDefault() {
+    return new PrunerConfiguration(DEFAULT_BLOCK_CONFIRMATIONS, DEFAULT_BLOCKS_RETAINED);
+  }
+
+  public int getBlockConfirmations() {
+    return blockConfirmations;
+  }
+
+  public int getBlocksRetained() {
+    return blocksRetained;
+  }
+}
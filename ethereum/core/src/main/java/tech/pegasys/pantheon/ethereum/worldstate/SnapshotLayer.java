@@ -0,0 +1,52 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Optional;
+
+/**
+ * A flat view of the accounts and storage of the world state with a given root hash.
+ *
+ * <p>Lookups return an empty optional when the layer is unable to answer, either because the
+ * requested key has not been generated yet or because the layer has been superseded by a later
+ * flattening. Callers must then fall back to reading the world state trie. Values that do not exist
+ * in the world state are reported as {@link BytesValue#EMPTY}, which is never a valid RLP encoded
+ * account or storage value.
+ */
+interface SnapshotLayer {
+
+  /** @return the root hash of the world state this layer represents. */
+  Hash getRootHash();
+
+  /**
+   * Reads the RLP encoded account with the given address hash.
+   *
+   * @param accountHash the hash of the account address
+   * @return the encoded account, {@link BytesValue#EMPTY} if the account does not exist, or empty
+   *     if this layer cannot answer
+   */
+  Optional<BytesValue> getAccount(Hash accountHash);
+
+  /**
+   * Reads the RLP encoded storage value of the given account and slot.
+   *
+   * @param accountHash the hash of the account address
+   * @param slotHash the hash of the storage slot key
+   * @return the encoded value, {@link BytesValue#EMPTY} if the slot is not set, or empty if this
+   *     layer cannot answer
+   */
+  Optional<BytesValue> getStorageValue(Hash accountHash, Hash slotHash);
+}
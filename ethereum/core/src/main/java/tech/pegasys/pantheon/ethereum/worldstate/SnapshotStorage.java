@@ -0,0 +1,426 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.trie.MerklePatriciaTrie;
+import tech.pegasys.pantheon.ethereum.trie.NodeLoader;
+import tech.pegasys.pantheon.ethereum.trie.StoredMerklePatriciaTrie;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage.Transaction;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Stores a flat copy of the accounts and storage of a single world state, keyed by account hash and
+ * by account hash and slot hash, next to the world state trie nodes.
+ *
+ * <p>The flat state is generated from the trie in the background. Accounts are generated in
+ * ascending order of their hash, and the generator marker records the hash of the next account to
+ * generate, so only accounts below the marker can be served while generation is in progress.
+ * Changes flattened into the flat state while it is being generated are only applied below the
+ * marker; the remaining accounts are later generated from the trie of the new root.
+ */
+class SnapshotStorage {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private static final BytesValue ACCOUNT_PREFIX = BytesValue.of(10);
+  private static final BytesValue STORAGE_PREFIX = BytesValue.of(11);
+  private static final BytesValue METADATA_PREFIX = BytesValue.of(12);
+  private static final BytesValue ROOT_HASH_KEY = metadataKey("rootHash");
+  private static final BytesValue GENERATOR_MARKER_KEY = metadataKey("generatorMarker");
+  private static final BytesValue WIPE_PENDING_KEY = metadataKey("wipePending");
+
+  private static final int ACCOUNT_KEY_SIZE = ACCOUNT_PREFIX.size() + Bytes32.SIZE;
+  private static final int STORAGE_KEY_SIZE = STORAGE_PREFIX.size() + 2 * Bytes32.SIZE;
+
+  private static final int ACCOUNTS_PER_GENERATION_BATCH = 100;
+  private static final int ENTRIES_PER_PAGE = 1000;
+  private static final int MAX_WRITES_PER_TRANSACTION = 10_000;
+
+  private final KeyValueStorage keyValueStorage;
+  private final WorldStateStorage worldStateStorage;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // Held while the flat state is written, other than while it is being wiped.
+  private final ReentrantLock generationLock = new ReentrantLock();
+
+  private Hash rootHash;
+  private Optional<Bytes32> generatorMarker;
+  private boolean wipePending;
+
+  SnapshotStorage(
+      final KeyValueStorage keyValueStorage, final WorldStateStorage worldStateStorage) {
+    this.keyValueStorage = keyValueStorage;
+    this.worldStateStorage = worldStateStorage;
+    // Without any metadata the flat state has never been written, so it is complete for the empty
+    // world state.
+    this.rootHash =
+        keyValueStorage
+            .get(ROOT_HASH_KEY)
+            .map(value -> Hash.wrap(Bytes32.wrap(value, 0)))
+            .orElse(Hash.EMPTY_TRIE_HASH);
+    this.generatorMarker =
+        keyValueStorage.get(GENERATOR_MARKER_KEY).map(value -> Bytes32.wrap(value, 0));
+    this.wipePending = keyValueStorage.get(WIPE_PENDING_KEY).isPresent();
+  }
+
+  Hash getRootHash() {
+    final Lock readLock = lock.readLock();
+    readLock.lock();
+    try {
+      return rootHash;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  boolean isGenerating() {
+    final Lock readLock = lock.readLock();
+    readLock.lock();
+    try {
+      return generatorMarker.isPresent();
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  Optional<BytesValue> getAccount(final Hash expectedRootHash, final Hash accountHash) {
+    final Lock readLock = lock.readLock();
+    readLock.lock();
+    try {
+      if (!rootHash.equals(expectedRootHash) || !isGenerated(accountHash)) {
+        return Optional.empty();
+      }
+      return Optional.of(keyValueStorage.get(accountKey(accountHash)).orElse(BytesValue.EMPTY));
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  Optional<BytesValue> getStorageValue(
+      final Hash expectedRootHash, final Hash accountHash, final Hash slotHash) {
+    final Lock readLock = lock.readLock();
+    readLock.lock();
+    try {
+      if (!rootHash.equals(expectedRootHash) || !isGenerated(accountHash)) {
+        return Optional.empty();
+      }
+      return Optional.of(
+          keyValueStorage.get(storageKey(accountHash, slotHash)).orElse(BytesValue.EMPTY));
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  /**
+   * Applies the changes of a diff layer whose parent is the current flat state, moving the flat
+   * state to the root of the diff layer. Flattening is skipped while a generation batch is in
+   * progress, so that importing blocks never waits for the generator.
+   *
+   * @param parentRootHash the root hash of the parent of the diff layer
+   * @param layer the diff layer to flatten
+   * @return true if the layer was flattened
+   */
+  boolean tryFlatten(final Hash parentRootHash, final DiffSnapshotLayer layer) {
+    if (!generationLock.tryLock()) {
+      return false;
+    }
+    final Lock writeLock = lock.writeLock();
+    writeLock.lock();
+    try {
+      checkState(
+          rootHash.equals(parentRootHash),
+          "Cannot flatten diff layer for %s onto flat state %s",
+          parentRootHash,
+          rootHash);
+      final Transaction transaction = keyValueStorage.startTransaction();
+      for (final Hash accountHash : layer.getClearedStorage()) {
+        if (isGenerated(accountHash)) {
+          removeStorage(transaction, accountHash);
+        }
+      }
+      layer
+          .getAccounts()
+          .forEach(
+              (accountHash, account) -> {
+                if (isGenerated(accountHash)) {
+                  putOrRemove(transaction, accountKey(accountHash), account);
+                }
+              });
+      layer
+          .getStorage()
+          .forEach(
+              (accountHash, slots) -> {
+                if (isGenerated(accountHash)) {
+                  slots.forEach(
+                      (slotHash, value) ->
+                          putOrRemove(transaction, storageKey(accountHash, slotHash), value));
+                }
+              });
+      transaction.put(ROOT_HASH_KEY, layer.getRootHash());
+      transaction.commit();
+      rootHash = layer.getRootHash();
+      return true;
+    } finally {
+      writeLock.unlock();
+      generationLock.unlock();
+    }
+  }
+
+  /**
+   * Discards the flat state and restarts generation from the given world state. Existing flat
+   * entries are wiped by the generator before generation starts.
+   *
+   * @param newRootHash the root hash of the world state to generate
+   */
+  void reset(final Hash newRootHash) {
+    generationLock.lock();
+    final Lock writeLock = lock.writeLock();
+    writeLock.lock();
+    try {
+      // A generator that has not written anything yet leaves nothing behind to wipe.
+      final boolean empty =
+          generatorMarker.map(marker -> marker.equals(Bytes32.ZERO)).orElse(false)
+              || (!generatorMarker.isPresent() && rootHash.equals(Hash.EMPTY_TRIE_HASH));
+      wipePending = wipePending || !empty;
+      rootHash = newRootHash;
+      generatorMarker = Optional.of(Bytes32.ZERO);
+
+      final Transaction transaction = keyValueStorage.startTransaction();
+      transaction.put(ROOT_HASH_KEY, rootHash);
+      transaction.put(GENERATOR_MARKER_KEY, Bytes32.ZERO);
+      if (wipePending) {
+        transaction.put(WIPE_PENDING_KEY, BytesValue.EMPTY);
+      }
+      transaction.commit();
+    } finally {
+      writeLock.unlock();
+      generationLock.unlock();
+    }
+  }
+
+  /**
+   * Generates the next batch of accounts, including their storage, from the world state trie.
+   * Entries are written above the generator marker, where they are not read, and only become
+   * visible once the marker moves past them.
+   *
+   * @return true if there are more accounts to generate
+   */
+  boolean generateNextBatch() {
+    if (isWipePending()) {
+      wipe();
+    }
+
+    generationLock.lock();
+    try {
+      final Hash generationRootHash;
+      final Bytes32 marker;
+      final Lock readLock = lock.readLock();
+      readLock.lock();
+      try {
+        if (!generatorMarker.isPresent() || wipePending) {
+          return wipePending;
+        }
+        generationRootHash = rootHash;
+        marker = generatorMarker.get();
+      } finally {
+        readLock.unlock();
+      }
+
+      final Map<Bytes32, BytesValue> accounts =
+          newTrie(worldStateStorage::getAccountStateTrieNode, generationRootHash)
+              .entriesFrom(marker, ACCOUNTS_PER_GENERATION_BATCH);
+      final BatchedWriter writer = new BatchedWriter();
+      Bytes32 lastAccountHash = null;
+      for (final Map.Entry<Bytes32, BytesValue> entry : accounts.entrySet()) {
+        final Hash accountHash = Hash.wrap(entry.getKey());
+        writer.put(accountKey(accountHash), entry.getValue());
+        final Hash storageRoot =
+            StateTrieAccountValue.readFrom(RLP.input(entry.getValue())).getStorageRoot();
+        forEachEntry(
+            newTrie(worldStateStorage::getAccountStorageTrieNode, storageRoot),
+            (slotHash, value) -> writer.put(storageKey(accountHash, Hash.wrap(slotHash)), value));
+        lastAccountHash = accountHash;
+      }
+      final Optional<Bytes32> nextMarker =
+          accounts.size() < ACCOUNTS_PER_GENERATION_BATCH
+              ? Optional.empty()
+              : nextKey(lastAccountHash);
+
+      final Lock writeLock = lock.writeLock();
+      writeLock.lock();
+      try {
+        if (nextMarker.isPresent()) {
+          writer.transaction.put(GENERATOR_MARKER_KEY, nextMarker.get());
+        } else {
+          writer.transaction.remove(GENERATOR_MARKER_KEY);
+          LOG.info("Generated world state snapshot for {}", rootHash);
+        }
+        writer.transaction.commit();
+        generatorMarker = nextMarker;
+      } finally {
+        writeLock.unlock();
+      }
+      return nextMarker.isPresent();
+    } finally {
+      generationLock.unlock();
+    }
+  }
+
+  private boolean isWipePending() {
+    final Lock readLock = lock.readLock();
+    readLock.lock();
+    try {
+      return wipePending;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  private void wipe() {
+    // Nothing is flattened into the flat state while the generator marker is at zero, so the
+    // removal does not need to hold either lock.
+    LOG.info("Removing previous world state snapshot");
+    final BatchedWriter writer = new BatchedWriter();
+    keyValueStorage.forEachKey(
+        key -> {
+          if (isSnapshotKey(key)) {
+            writer.remove(key);
+          }
+        });
+    writer.transaction.commit();
+
+    final Lock writeLock = lock.writeLock();
+    writeLock.lock();
+    try {
+      if (generatorMarker.map(marker -> marker.equals(Bytes32.ZERO)).orElse(false)) {
+        final Transaction transaction = keyValueStorage.startTransaction();
+        transaction.remove(WIPE_PENDING_KEY);
+        transaction.commit();
+        wipePending = false;
+      }
+    } finally {
+      writeLock.unlock();
+    }
+  }
+
+  private void removeStorage(final Transaction transaction, final Hash accountHash) {
+    final Optional<BytesValue> account = keyValueStorage.get(accountKey(accountHash));
+    if (!account.isPresent()) {
+      return;
+    }
+    final Hash storageRoot =
+        StateTrieAccountValue.readFrom(RLP.input(account.get())).getStorageRoot();
+    forEachEntry(
+        newTrie(worldStateStorage::getAccountStorageTrieNode, storageRoot),
+        (slotHash, value) -> transaction.remove(storageKey(accountHash, Hash.wrap(slotHash))));
+  }
+
+  private boolean isGenerated(final Hash accountHash) {
+    return !generatorMarker.isPresent() || accountHash.compareTo(generatorMarker.get()) < 0;
+  }
+
+  private static void forEachEntry(
+      final MerklePatriciaTrie<Bytes32, BytesValue> trie,
+      final BiConsumer<Bytes32, BytesValue> action) {
+    if (trie.getRootHash().equals(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH)) {
+      return;
+    }
+    Optional<Bytes32> start = Optional.of(Bytes32.ZERO);
+    while (start.isPresent()) {
+      final Map<Bytes32, BytesValue> entries = trie.entriesFrom(start.get(), ENTRIES_PER_PAGE);
+      Bytes32 last = null;
+      for (final Map.Entry<Bytes32, BytesValue> entry : entries.entrySet()) {
+        action.accept(entry.getKey(), entry.getValue());
+        last = entry.getKey();
+      }
+      start = entries.size() < ENTRIES_PER_PAGE ? Optional.empty() : nextKey(last);
+    }
+  }
+
+  private static Optional<Bytes32> nextKey(final Bytes32 key) {
+    final Bytes32 next = key.asUInt256().plus(1).getBytes();
+    return next.isZero() ? Optional.empty() : Optional.of(next);
+  }
+
+  private static MerklePatriciaTrie<Bytes32, BytesValue> newTrie(
+      final NodeLoader nodeLoader, final Bytes32 rootHash) {
+    return new StoredMerklePatriciaTrie<>(nodeLoader, rootHash, b -> b, b -> b);
+  }
+
+  private static void putOrRemove(
+      final Transaction transaction, final BytesValue key, final BytesValue value) {
+    if (value.isEmpty()) {
+      transaction.remove(key);
+    } else {
+      transaction.put(key, value);
+    }
+  }
+
+  private static boolean isSnapshotKey(final BytesValue key) {
+    return (key.size() == ACCOUNT_KEY_SIZE && key.get(0) == ACCOUNT_PREFIX.get(0))
+        || (key.size() == STORAGE_KEY_SIZE && key.get(0) == STORAGE_PREFIX.get(0));
+  }
+
+  private static BytesValue accountKey(final Hash accountHash) {
+    return BytesValues.concatenate(ACCOUNT_PREFIX, accountHash);
+  }
+
+  private static BytesValue storageKey(final Hash accountHash, final Hash slotHash) {
+    return BytesValues.concatenate(STORAGE_PREFIX, accountHash, slotHash);
+  }
+
+  private static BytesValue metadataKey(final String name) {
+    return BytesValues.concatenate(METADATA_PREFIX, BytesValue.wrap(name.getBytes(UTF_8)));
+  }
+
+  /** Spreads a large number of writes over several transactions. */
+  private class BatchedWriter {
+    private Transaction transaction = keyValueStorage.startTransaction();
+    private int writes;
+
+    void put(final BytesValue key, final BytesValue value) {
+      transaction.put(key, value);
+      maybeCommit();
+    }
+
+    void remove(final BytesValue key) {
+      transaction.remove(key);
+      maybeCommit();
+    }
+
+    private void maybeCommit() {
+      if (++writes % MAX_WRITES_PER_TRANSACTION == 0) {
+        transaction.commit();
+        transaction = keyValueStorage.startTransaction();
+      }
+    }
+  }
+}
@@ -22,10 +22,24 @@ import java.util.Optional;
 
 public class WorldStateArchive {
   private final WorldStateStorage storage;
+  private final Optional<WorldStateSnapshot> snapshot;
   private static final Hash EMPTY_ROOT_HASH = Hash.wrap(MerklePatriciaTrie.EMPTY_TRIE_NODE_HASH);
 
   public WorldStateArchive(final WorldStateStorage storage) {
+    this(storage, Optional.empty());
+  }
+
+  /**
+   * Creates an archive whose world states read accounts and storage from the given snapshot when it
+   * covers their root hash, and keep the snapshot up to date when they are persisted.
+   *
+   * @param storage the world state storage
+   * @param snapshot the snapshot of recent world states
+   */
+  public WorldStateArchive(
+      final WorldStateStorage storage, final Optional<WorldStateSnapshot> snapshot) {
     this.storage = storage;
+    this.snapshot = snapshot;
   }
 
   public Optional<WorldState> get(final Hash rootHash) {
@@ -33,14 +47,16 @@ public class WorldStateArchive {
   }
 
   public boolean isWorldStateAvailable(final Hash rootHash) {
+    // The snapshot only serves accounts and storage, so the trie is needed even when a snapshot
+    // layer covers the root. It may have been pruned while the layer is still retained.
     return storage.isWorldStateAvailable(rootHash);
   }
 
   public Optional<MutableWorldState> getMutable(final Hash rootHash) {
-    if (!storage.isWorldStateAvailable(rootHash)) {
+    if (!isWorldStateAvailable(rootHash)) {
       return Optional.empty();
     }
-    return Optional.of(new DefaultMutableWorldState(rootHash, storage));
+    return Optional.of(new DefaultMutableWorldState(rootHash, storage, snapshot));
   }
 
   public WorldState get() {
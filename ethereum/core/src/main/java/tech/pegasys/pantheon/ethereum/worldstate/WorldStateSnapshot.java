@@ -0,0 +1,262 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Serves account and storage reads for recent world states without walking the world state trie.
+ *
+ * <p>A snapshot consists of a flat copy of one world state on disk, the disk layer, with an
+ * in-memory diff layer on top of it for every world state persisted since. Diff layers form a tree,
+ * so world states of competing forks can be served as well. Once the chain of diff layers above the
+ * disk layer grows beyond {@code maxDiffLayers}, the oldest layers are flattened into the disk
+ * layer and any layers that branched off below the new disk layer are dropped.
+ *
+ * <p>The disk layer is generated from the world state trie in the background. If the snapshot is
+ * unable to follow the persisted world states, for example after an unclean shutdown, it is
+ * discarded and generated again from the latest world state.
+ */
+public class WorldStateSnapshot {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  public static final int DEFAULT_MAX_DIFF_LAYERS = 128;
+  // Number of consecutive persisted world states not covered by the snapshot before it is
+  // regenerated. A single uncovered world state is expected, for instance when the genesis state is
+  // written on startup.
+  private static final int MAX_UNCOVERED_UPDATES = 8;
+
+  private final SnapshotStorage storage;
+  private final ExecutorService generationExecutor;
+  private final int maxDiffLayers;
+  private final Map<Hash, DiffSnapshotLayer> diffLayers = new ConcurrentHashMap<>();
+  private final AtomicBoolean generating = new AtomicBoolean(false);
+  private volatile DiskSnapshotLayer diskLayer;
+  private volatile boolean generationFailed = false;
+  private volatile boolean closed = false;
+
+  private Optional<Hash> latestRootHash = Optional.empty();
+  private Optional<Hash> latestUncoveredRootHash = Optional.empty();
+  private int uncoveredUpdates = 0;
+
+  WorldStateSnapshot(
+      final SnapshotStorage storage,
+      final ExecutorService generationExecutor,
+      final int maxDiffLayers) {
+    this.storage = storage;
+    this.generationExecutor = generationExecutor;
+    this.maxDiffLayers = maxDiffLayers;
+    this.diskLayer = new DiskSnapshotLayer(storage, storage.getRootHash());
+    scheduleGeneration();
+  }
+
+  public static WorldStateSnapshot create(
+      final KeyValueStorage keyValueStorage, final WorldStateStorage worldStateStorage) {
+    return new WorldStateSnapshot(
+        new SnapshotStorage(keyValueStorage, worldStateStorage),
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("WorldStateSnapshot-%d")
+                .setDaemon(true)
+                .build()),
+        DEFAULT_MAX_DIFF_LAYERS);
+  }
+
+  /**
+   * Returns the layer serving the world state with the given root hash, if the snapshot covers it.
+   *
+   * @param rootHash the root hash of the world state
+   * @return the snapshot layer for the world state
+   */
+  Optional<SnapshotLayer> getLayer(final Hash rootHash) {
+    final DiffSnapshotLayer diffLayer = diffLayers.get(rootHash);
+    if (diffLayer != null) {
+      return Optional.of(diffLayer);
+    }
+    final DiskSnapshotLayer disk = diskLayer;
+    return disk.getRootHash().equals(rootHash) ? Optional.of(disk) : Optional.empty();
+  }
+
+  /**
+   * Records the changes made by persisting a world state on top of its parent world state.
+   *
+   * @param parentRootHash the root hash of the world state the changes were made to
+   * @param rootHash the root hash of the persisted world state
+   * @param accounts the updated accounts by account hash, with removed accounts as empty values
+   * @param storage the updated storage values by account hash and slot hash, with removed values as
+   *     empty values
+   * @param clearedStorage the hashes of the accounts whose storage was cleared before applying the
+   *     storage updates
+   */
+  synchronized void update(
+      final Hash parentRootHash,
+      final Hash rootHash,
+      final Map<Hash, BytesValue> accounts,
+      final Map<Hash, Map<Hash, BytesValue>> storage,
+      final Set<Hash> clearedStorage) {
+    if (closed) {
+      return;
+    }
+    try {
+      if (generationFailed) {
+        generationFailed = false;
+        reset(rootHash);
+        return;
+      }
+      if (getLayer(rootHash).isPresent()) {
+        return;
+      }
+      final Optional<SnapshotLayer> parent = getLayer(parentRootHash);
+      if (!parent.isPresent()) {
+        handleUncoveredUpdate(parentRootHash, rootHash);
+        return;
+      }
+      uncoveredUpdates = 0;
+      latestUncoveredRootHash = Optional.empty();
+
+      final DiffSnapshotLayer layer =
+          new DiffSnapshotLayer(
+              parent.get(),
+              rootHash,
+              new HashMap<>(accounts),
+              new HashMap<>(storage),
+              new HashSet<>(clearedStorage));
+      diffLayers.put(rootHash, layer);
+      latestRootHash = Optional.of(rootHash);
+      flattenBeyond(layer, maxDiffLayers);
+      scheduleGeneration();
+    } catch (final RuntimeException e) {
+      LOG.error("Failed to update world state snapshot, regenerating it", e);
+      try {
+        reset(rootHash);
+      } catch (final RuntimeException resetError) {
+        LOG.error("Failed to reset world state snapshot", resetError);
+      }
+    }
+  }
+
+  /**
+   * Stops generating the snapshot and flattens the diff layers of the most recently persisted world
+   * state, so that the snapshot can continue from that world state after a restart.
+   */
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    generationExecutor.shutdown();
+    try {
+      generationExecutor.awaitTermination(1, TimeUnit.MINUTES);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    try {
+      latestRootHash.map(diffLayers::get).ifPresent(layer -> flattenBeyond(layer, 0));
+    } catch (final RuntimeException e) {
+      LOG.error("Failed to flatten world state snapshot on shutdown", e);
+    }
+  }
+
+  private void handleUncoveredUpdate(final Hash parentRootHash, final Hash rootHash) {
+    if (latestUncoveredRootHash.map(parentRootHash::equals).orElse(false)) {
+      uncoveredUpdates++;
+    } else {
+      uncoveredUpdates = 1;
+    }
+    latestUncoveredRootHash = Optional.of(rootHash);
+    if (uncoveredUpdates >= MAX_UNCOVERED_UPDATES) {
+      LOG.info("World state snapshot does not cover recent world states, regenerating it");
+      reset(rootHash);
+    }
+  }
+
+  private void reset(final Hash rootHash) {
+    storage.reset(rootHash);
+    diffLayers.clear();
+    diskLayer = new DiskSnapshotLayer(storage, rootHash);
+    latestRootHash = Optional.empty();
+    latestUncoveredRootHash = Optional.empty();
+    uncoveredUpdates = 0;
+    scheduleGeneration();
+  }
+
+  private void flattenBeyond(final DiffSnapshotLayer layer, final int retainedLayers) {
+    final List<DiffSnapshotLayer> ancestors = new ArrayList<>();
+    SnapshotLayer current = layer;
+    while (current instanceof DiffSnapshotLayer) {
+      ancestors.add((DiffSnapshotLayer) current);
+      current = ((DiffSnapshotLayer) current).getParent();
+    }
+    for (int i = ancestors.size() - 1; i >= retainedLayers; i--) {
+      final DiffSnapshotLayer bottom = ancestors.get(i);
+      if (!storage.tryFlatten(diskLayer.getRootHash(), bottom)) {
+        // The generator is busy, the layers are flattened on a later update instead.
+        return;
+      }
+      final DiskSnapshotLayer newDiskLayer = new DiskSnapshotLayer(storage, bottom.getRootHash());
+      diffLayers.remove(bottom.getRootHash());
+      for (final DiffSnapshotLayer diffLayer : diffLayers.values()) {
+        if (diffLayer.getParent() == bottom) {
+          diffLayer.setParent(newDiskLayer);
+        }
+      }
+      diffLayers.values().removeIf(diffLayer -> diskLayerOf(diffLayer) != newDiskLayer);
+      diskLayer = newDiskLayer;
+    }
+  }
+
+  private static SnapshotLayer diskLayerOf(final DiffSnapshotLayer layer) {
+    SnapshotLayer current = layer;
+    while (current instanceof DiffSnapshotLayer) {
+      current = ((DiffSnapshotLayer) current).getParent();
+    }
+    return current;
+  }
+
+  private void scheduleGeneration() {
+    if (!closed && storage.isGenerating() && generating.compareAndSet(false, true)) {
+      generationExecutor.execute(this::generate);
+    }
+  }
+
+  private void generate() {
+    try {
+      while (!closed && storage.generateNextBatch()) {}
+    } catch (final RuntimeException e) {
+      LOG.error("Failed to generate world state snapshot", e);
+      generationFailed = true;
+    } finally {
+      generating.set(false);
+    }
+  }
+}
@@ -16,7 +16,10 @@ import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Predicate;
 
 public interface WorldStateStorage {
 
@@ -28,6 +31,14 @@ public interface WorldStateStorage {
 
   Optional<BytesValue> getNodeData(Bytes32 hash);
 
+  /**
+   * Reads the node data for several hashes at once.
+   *
+   * @param hashes the hashes of the trie nodes or code to read
+   * @return the node data for each hash, in the same order as the hashes
+   */
+  List<Optional<BytesValue>> getAllNodeData(List<Bytes32> hashes);
+
   boolean isWorldStateAvailable(Bytes32 rootHash);
 
   default boolean contains(final Bytes32 hash) {
@@ -36,6 +47,34 @@ public interface WorldStateStorage {
 
   Updater updater();
 
+  /**
+   * Removes every stored trie node and contract code entry whose hash is rejected by the given
+   * check. Entries are checked and removed in bounded batches, and no updater can commit while a
+   * batch is being checked and removed. Nodes committed between batches are reported to the node
+   * added listeners before they are written, so a pruner that marks them from its listener will
+   * never see them swept.
+   *
+   * @param inUseCheck returns true for hashes that must be retained
+   * @return the number of entries removed
+   */
+  long prune(Predicate<Bytes32> inUseCheck);
+
+  /**
+   * Registers a listener that is notified with the hashes of the trie nodes and code in each
+   * updater, before the updater's changes are written to storage.
+   *
+   * @param listener the listener to notify
+   * @return the id of the listener, used to remove it
+   */
+  long addNodeAddedListener(NodesAddedListener listener);
+
+  void removeNodeAddedListener(long id);
+
+  interface NodesAddedListener {
+
+    void onNodesAdded(Collection<Bytes32> nodeHashes);
+  }
+
   interface Updater {
 
     Updater putCode(Bytes32 nodeHash, BytesValue code);
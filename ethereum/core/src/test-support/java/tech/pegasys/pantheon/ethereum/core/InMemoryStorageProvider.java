@@ -26,10 +26,13 @@ import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStorageWorldStateStorage;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateSnapshot;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
 
+import java.util.Optional;
+
 public class InMemoryStorageProvider implements StorageProvider {
 
   public static MutableBlockchain createInMemoryBlockchain(final Block genesisBlock) {
@@ -61,6 +64,11 @@ public class InMemoryStorageProvider implements StorageProvider {
     return new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage());
   }
 
+  @Override
+  public Optional<WorldStateSnapshot> createWorldStateSnapshot() {
+    return Optional.empty();
+  }
+
   @Override
   public PrivateTransactionStorage createPrivateTransactionStorage() {
     return new PrivateKeyValueStorage(new InMemoryKeyValueStorage());
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.chain;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHashFunction;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BloomBitsIndexerTest {
+
+  private static final int SECTION_SIZE = 8;
+  private static final int CONFIRMATIONS = 2;
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private BlockchainStorage blockchainStorage;
+  private DefaultMutableBlockchain blockchain;
+  private List<Block> chain;
+
+  @Before
+  public void setUp() {
+    blockchainStorage =
+        new KeyValueStoragePrefixedKeyBlockchainStorage(
+            new InMemoryKeyValueStorage(), MainnetBlockHashFunction::createHash);
+    chain = gen.blockSequence(30);
+    blockchain =
+        new DefaultMutableBlockchain(
+            chain.get(0),
+            blockchainStorage,
+            new NoOpMetricsSystem(),
+            new BloomBitsIndexer(blockchainStorage, Runnable::run, SECTION_SIZE, CONFIRMATIONS));
+    for (int i = 1; i < chain.size(); i++) {
+      blockchain.appendBlock(chain.get(i), gen.receipts(chain.get(i)));
+    }
+  }
+
+  @Test
+  public void indexesConfirmedSections() {
+    // Head is block 29, so sections ending at blocks 7, 15 and 23 are confirmed.
+    assertThat(blockchainStorage.getBloomBitsSectionCount()).isEqualTo(3);
+  }
+
+  @Test
+  public void indexedMatchesAgreeWithHeaderBlooms() {
+    for (final List<List<LogsBloomFilter>> criteria : sampleCriteria()) {
+      assertThat(blockchain.getBlockNumbersMatchingLogsBloom(0, 29, criteria))
+          .isEqualTo(headerMatches(0, 29, criteria));
+      assertThat(blockchain.getBlockNumbersMatchingLogsBloom(5, 19, criteria))
+          .isEqualTo(headerMatches(5, 19, criteria));
+    }
+  }
+
+  @Test
+  public void everyBlockMatchesEmptyCriteria() {
+    assertThat(blockchain.getBlockNumbersMatchingLogsBloom(3, 6, new ArrayList<>()))
+        .containsExactly(3L, 4L, 5L, 6L);
+  }
+
+  @Test
+  public void reorgInvalidatesAndRebuildsSections() {
+    // Replace everything after block 10 with a heavier fork.
+    final List<Block> fork = new ArrayList<>();
+    Block parent = chain.get(10);
+    for (int i = 0; i < 20; i++) {
+      final Block block =
+          gen.block(
+              new BlockOptions()
+                  .setParentHash(parent.getHash())
+                  .setBlockNumber(parent.getHeader().getNumber() + 1)
+                  .setDifficulty(UInt256.of(1L << 40)));
+      fork.add(block);
+      parent = block;
+    }
+    blockchain.appendBlock(fork.get(0), gen.receipts(fork.get(0)));
+    assertThat(blockchain.blockIsOnCanonicalChain(fork.get(0).getHash())).isTrue();
+
+    // The section containing block 11 no longer reflects the canonical chain.
+    for (final List<List<LogsBloomFilter>> criteria : sampleCriteria()) {
+      assertThat(blockchain.getBlockNumbersMatchingLogsBloom(0, 11, criteria))
+          .isEqualTo(headerMatches(0, 11, criteria));
+    }
+
+    for (int i = 1; i < fork.size(); i++) {
+      blockchain.appendBlock(fork.get(i), gen.receipts(fork.get(i)));
+    }
+    assertThat(blockchain.getChainHeadBlockNumber()).isEqualTo(30);
+    assertThat(blockchainStorage.getBloomBitsSectionCount()).isEqualTo(3);
+    for (final List<List<LogsBloomFilter>> criteria : sampleCriteria()) {
+      assertThat(blockchain.getBlockNumbersMatchingLogsBloom(0, 30, criteria))
+          .isEqualTo(headerMatches(0, 30, criteria));
+    }
+  }
+
+  private List<List<List<LogsBloomFilter>>> sampleCriteria() {
+    final List<List<List<LogsBloomFilter>>> criteria = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      criteria.add(singletonList(singletonList(filterFor(gen))));
+      criteria.add(singletonList(Arrays.asList(filterFor(gen), filterFor(gen))));
+      criteria.add(Arrays.asList(singletonList(filterFor(gen)), singletonList(filterFor(gen))));
+    }
+    return criteria;
+  }
+
+  private static LogsBloomFilter filterFor(final BlockDataGenerator gen) {
+    final LogsBloomFilter filter = new LogsBloomFilter();
+    filter.insertBytes(gen.address());
+    return filter;
+  }
+
+  private List<Long> headerMatches(
+      final long from, final long to, final List<List<LogsBloomFilter>> criteria) {
+    final List<Long> matches = new ArrayList<>();
+    for (long number = from; number <= to; number++) {
+      if (BloomBitsIndexer.matches(
+          blockchain.getBlockHeader(number).get().getLogsBloom(), criteria)) {
+        matches.add(number);
+      }
+    }
+    return matches;
+  }
+}
@@ -23,6 +23,7 @@ import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHashFunction;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStoragePrefixedKeyBlockchainStorage;
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
@@ -683,12 +684,23 @@ public class DefaultMutableBlockchainTest {
     }
     final List<TransactionReceipt> actualReceipts = blockchain.getTxReceipts(hash).get();
     assertEquals(receipts, actualReceipts);
+
+    assertEquals(RLP.encode(block.getBody()::writeTo), blockchain.getBlockBodyRlp(hash).get());
+    assertEquals(
+        RLP.encode(out -> out.writeList(receipts, TransactionReceipt::writeTo)),
+        blockchain.getTxReceiptsRlp(hash).get());
   }
 
   private void assertBlockIsHead(final Blockchain blockchain, final Block head) {
     assertEquals(head.getHash(), blockchain.getChainHeadHash());
     assertEquals(head.getHeader().getNumber(), blockchain.getChainHeadBlockNumber());
     assertEquals(head.getHash(), blockchain.getChainHead().getHash());
+
+    // Recent block hashes must follow the canonical chain, including any blocks it dropped.
+    final RecentBlockHashes recentBlockHashes = blockchain.getRecentBlockHashes();
+    for (long number = 0; number <= head.getHeader().getNumber() + 2; number++) {
+      assertEquals(blockchain.getBlockHashByNumber(number), recentBlockHashes.getBlockHash(number));
+    }
   }
 
   private void assertTotalDifficultiesAreConsistent(final Blockchain blockchain, final Block head) {
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.chain;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import org.junit.Test;
+
+public class RecentBlockHashCacheTest {
+
+  private final RecentBlockHashCache cache = new RecentBlockHashCache(4);
+
+  @Test
+  public void returnsHashesOfRecentBlocks() {
+    putChain(0, 5, "a");
+
+    final RecentBlockHashes hashes = cache.snapshot();
+    assertThat(hashes.getBlockHash(5)).contains(hash("a", 5));
+    assertThat(hashes.getBlockHash(2)).contains(hash("a", 2));
+    assertThat(hashes.getBlockHash(1)).isEmpty();
+    assertThat(hashes.getBlockHash(6)).isEmpty();
+    assertThat(hashes.getBlockHash(-1)).isEmpty();
+  }
+
+  @Test
+  public void advancingTheHeadUpdatesExistingSnapshots() {
+    putChain(0, 3, "a");
+    final RecentBlockHashes hashes = cache.snapshot();
+
+    cache.put(4, hash("a", 4));
+
+    assertThat(hashes.getBlockHash(4)).contains(hash("a", 4));
+  }
+
+  @Test
+  public void reorganisationDropsLaterBlocks() {
+    putChain(0, 5, "a");
+
+    cache.put(4, hash("b", 4));
+
+    final RecentBlockHashes hashes = cache.snapshot();
+    assertThat(hashes.getBlockHash(3)).contains(hash("a", 3));
+    assertThat(hashes.getBlockHash(4)).contains(hash("b", 4));
+    assertThat(hashes.getBlockHash(5)).isEmpty();
+  }
+
+  @Test
+  public void reorganisationDoesNotChangeExistingSnapshots() {
+    putChain(0, 5, "a");
+    final RecentBlockHashes hashes = cache.snapshot();
+
+    putChain(3, 6, "b");
+
+    assertThat(hashes.getBlockHash(3)).contains(hash("a", 3));
+    assertThat(hashes.getBlockHash(5)).contains(hash("a", 5));
+    assertThat(hashes.getBlockHash(6)).isEmpty();
+    assertThat(cache.snapshot().getBlockHash(3)).contains(hash("b", 3));
+    assertThat(cache.snapshot().getBlockHash(6)).contains(hash("b", 6));
+  }
+
+  @Test
+  public void emptySnapshotHasNoHashes() {
+    assertThat(RecentBlockHashes.empty().getBlockHash(0)).isEmpty();
+    assertThat(cache.snapshot().getBlockHash(0)).isEmpty();
+  }
+
+  private void putChain(final long from, final long to, final String chain) {
+    for (long number = from; number <= to; number++) {
+      cache.put(number, hash(chain, number));
+    }
+  }
+
+  private static Hash hash(final String chain, final long number) {
+    return Hash.hash(BytesValue.wrap((chain + number).getBytes(UTF_8)));
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.SpeculativeUpdates.WriteSet;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.function.Consumer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SpeculativeUpdatesTest {
+
+  private static final Address ACCOUNT = Address.fromHexString("0x01");
+  private static final Address OTHER_ACCOUNT = Address.fromHexString("0x02");
+  private static final Address BENEFICIARY = Address.fromHexString("0xc0");
+
+  private MutableWorldState worldState;
+
+  @Before
+  public void setUp() {
+    worldState = InMemoryStorageProvider.createInMemoryWorldStateArchive().getMutable();
+    final WorldUpdater updater = worldState.updater();
+    updater.createAccount(ACCOUNT, 0, Wei.of(100)).setStorageValue(UInt256.ONE, UInt256.ONE);
+    updater.createAccount(OTHER_ACCOUNT, 0, Wei.of(100));
+    updater.createAccount(BENEFICIARY, 0, Wei.of(100));
+    updater.commit();
+    worldState.persist();
+  }
+
+  @Test
+  public void storageReadConflictsOnlyWithWritesToTheSameSlot() {
+    final SpeculativeUpdates reader = updates();
+    reader.updater().get(ACCOUNT).getStorageValue(UInt256.ONE);
+
+    assertThat(
+            reader.conflictsWith(
+                writes(w -> w.getMutable(ACCOUNT).setStorageValue(UInt256.of(2), UInt256.ONE))))
+        .isFalse();
+    assertThat(
+            reader.conflictsWith(
+                writes(w -> w.getMutable(ACCOUNT).setStorageValue(UInt256.ONE, UInt256.ZERO))))
+        .isTrue();
+    assertThat(reader.conflictsWith(writes(w -> w.getMutable(ACCOUNT).clearStorage()))).isTrue();
+  }
+
+  @Test
+  public void accountReadConflictsOnlyWithModifications() {
+    final SpeculativeUpdates reader = updates();
+    reader.updater().get(ACCOUNT).getBalance();
+
+    assertThat(reader.conflictsWith(writes(w -> w.getMutable(ACCOUNT)))).isFalse();
+    assertThat(reader.conflictsWith(writes(w -> w.getMutable(OTHER_ACCOUNT).incrementNonce())))
+        .isFalse();
+    assertThat(reader.conflictsWith(writes(w -> w.getMutable(ACCOUNT).incrementNonce()))).isTrue();
+    assertThat(reader.conflictsWith(writes(w -> w.deleteAccount(ACCOUNT)))).isTrue();
+  }
+
+  @Test
+  public void readOfMissingAccountConflictsWithItsCreation() {
+    final Address missing = Address.fromHexString("0x03");
+    final SpeculativeUpdates reader = updates();
+    assertThat(reader.updater().get(missing)).isNull();
+
+    assertThat(reader.conflictsWith(writes(w -> w.createAccount(missing)))).isTrue();
+  }
+
+  @Test
+  public void creditingTheBeneficiaryIsNotARead() {
+    final SpeculativeUpdates updates = updates();
+    updates.updater().getOrCreate(BENEFICIARY).incrementBalance(Wei.of(5));
+    assertThat(updates.updater().getTouchedAccounts()).allMatch(account -> !account.isEmpty());
+
+    final WriteSet writes = writes(w -> w.getOrCreate(BENEFICIARY).incrementBalance(Wei.of(7)));
+    assertThat(updates.conflictsWith(writes)).isFalse();
+
+    final WorldUpdater worldStateUpdater = worldState.updater();
+    worldStateUpdater.getMutable(BENEFICIARY).incrementBalance(Wei.of(7));
+    updates.applyTo(worldStateUpdater);
+    worldStateUpdater.commit();
+    assertThat(worldState.get(BENEFICIARY).getBalance()).isEqualTo(Wei.of(112));
+  }
+
+  @Test
+  public void observingTheBeneficiaryIsARead() {
+    final SpeculativeUpdates updates = updates();
+    final MutableAccount beneficiary = updates.updater().getOrCreate(BENEFICIARY);
+    beneficiary.incrementBalance(Wei.of(5));
+    assertThat(beneficiary.getBalance()).isEqualTo(Wei.of(105));
+
+    assertThat(
+            updates.conflictsWith(
+                writes(w -> w.getOrCreate(BENEFICIARY).incrementBalance(Wei.of(7)))))
+        .isTrue();
+  }
+
+  @Test
+  public void appliesUpdates() {
+    final SpeculativeUpdates updates = updates();
+    final WorldUpdater updater = updates.updater();
+    updater.getMutable(ACCOUNT).setStorageValue(UInt256.of(2), UInt256.of(3));
+    updater.getMutable(OTHER_ACCOUNT).decrementBalance(Wei.of(10));
+    updater.createAccount(Address.fromHexString("0x03"), 1, Wei.of(10));
+
+    final MutableWorldState expected = worldState.copy();
+    final WorldUpdater expectedUpdater = expected.updater();
+    expectedUpdater.getMutable(ACCOUNT).setStorageValue(UInt256.of(2), UInt256.of(3));
+    expectedUpdater.getMutable(OTHER_ACCOUNT).decrementBalance(Wei.of(10));
+    expectedUpdater.createAccount(Address.fromHexString("0x03"), 1, Wei.of(10));
+    expectedUpdater.commit();
+
+    final WorldUpdater worldStateUpdater = worldState.updater();
+    updates.applyTo(worldStateUpdater);
+    worldStateUpdater.commit();
+    assertThat(worldState.rootHash()).isEqualTo(expected.rootHash());
+  }
+
+  private SpeculativeUpdates updates() {
+    return new SpeculativeUpdates(worldState, BENEFICIARY);
+  }
+
+  private WriteSet writes(final Consumer<WorldUpdater> updates) {
+    final SpeculativeUpdates speculativeUpdates = updates();
+    updates.accept(speculativeUpdates.updater());
+    final WriteSet writes = new WriteSet();
+    speculativeUpdates.addWritesTo(writes);
+    return writes;
+  }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.core;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Test;
+
+public class TransactionSenderRecoveryTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator();
+
+  @Test
+  public void recoveredSendersAreCached() {
+    final Transaction transaction = gen.transaction();
+    final Transaction decoded = decode(transaction);
+
+    assertThat(decoded.getSender()).isEqualTo(transaction.getSender());
+    assertThat(TransactionSenderRecovery.getCachedSender(transaction.hash()))
+        .isEqualTo(transaction.getSender());
+  }
+
+  @Test
+  public void cachedSenderIsUsedInsteadOfRecovering() {
+    final Transaction transaction = gen.transaction();
+    final Address cachedSender = gen.address();
+    TransactionSenderRecovery.cacheSender(transaction.hash(), cachedSender);
+
+    assertThat(decode(transaction).getSender()).isEqualTo(cachedSender);
+  }
+
+  @Test
+  public void recoversSendersOfEveryBatch() throws Exception {
+    final List<Transaction> transactions = new ArrayList<>();
+    final List<Transaction> decoded = new ArrayList<>();
+    for (int i = 0; i < TransactionSenderRecovery.BATCH_SIZE * 2 + 1; i++) {
+      final Transaction transaction = gen.transaction();
+      transactions.add(transaction);
+      decoded.add(decode(transaction));
+    }
+
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final CompletableFuture<Void> result =
+          TransactionSenderRecovery.recoverSenders(decoded, executor);
+      result.get();
+    } finally {
+      executor.shutdownNow();
+    }
+
+    for (int i = 0; i < transactions.size(); i++) {
+      assertThat(TransactionSenderRecovery.getCachedSender(decoded.get(i).hash()))
+          .isEqualTo(transactions.get(i).getSender());
+    }
+  }
+
+  private static Transaction decode(final Transaction transaction) {
+    return Transaction.readFrom(RLP.input(RLP.encode(transaction::writeTo)));
+  }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import tech.pegasys.pantheon.config.StubGenesisConfigOptions;
+import tech.pegasys.pantheon.crypto.SECP256K1.KeyPair;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider;
+import tech.pegasys.pantheon.ethereum.core.MutableAccount;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.PrivacyParameters;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Util;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.vm.TestBlockchain;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameter;
+import org.junit.runners.Parameterized.Parameters;
+
+@RunWith(Parameterized.class)
+public class SpeculativeTransactionExecutorTest {
+
+  private static final int CHAIN_ID = 2018;
+  private static final Wei INITIAL_BALANCE = Wei.of(1_000_000_000_000_000_000L);
+  private static final long TRANSFER_GAS_LIMIT = 21_000;
+  private static final long CALL_GAS_LIMIT = 100_000;
+
+  // Increments storage slot 0.
+  private static final Address COUNTER = Address.fromHexString("0x1000");
+  // Increments the storage slot at the caller address.
+  private static final Address CALLER_COUNTER = Address.fromHexString("0x1001");
+  // Stores the balance of the coinbase in storage slot 0.
+  private static final Address COINBASE_READER = Address.fromHexString("0x1002");
+  // Self destructs, sending its balance to the caller.
+  private static final Address SELF_DESTRUCT = Address.fromHexString("0x1003");
+
+  private static final ExecutorService EXECUTOR_SERVICE = Executors.newFixedThreadPool(4);
+  private static final SpeculativeTransactionExecutor EXECUTOR =
+      new SpeculativeTransactionExecutor(EXECUTOR_SERVICE);
+
+  @Parameters(name = "{0}")
+  public static Collection<Object[]> protocolSchedules() {
+    return Arrays.asList(
+        new Object[][] {
+          // Receipts hold the state root after each transaction.
+          {"SpuriousDragon", new StubGenesisConfigOptions().eip158Block(0).chainId(CHAIN_ID)},
+          {
+            "ConstantinopleFix",
+            new StubGenesisConfigOptions().constantinopleFixBlock(0).chainId(CHAIN_ID)
+          },
+        });
+  }
+
+  @Parameter public String name;
+
+  @Parameter(1)
+  public StubGenesisConfigOptions config;
+
+  private final Blockchain blockchain = new TestBlockchain();
+  private final WorldStateArchive worldStateArchive =
+      InMemoryStorageProvider.createInMemoryWorldStateArchive();
+  private final List<KeyPair> senders = new ArrayList<>();
+  private final long[] nonces = new long[6];
+  private Address coinbase;
+  private ProtocolSpec<Void> protocolSpec;
+  private TransactionProcessor transactionProcessor;
+  private Hash initialStateRoot;
+
+  @AfterClass
+  public static void tearDownExecutor() {
+    EXECUTOR_SERVICE.shutdownNow();
+  }
+
+  @Before
+  public void setUp() {
+    protocolSpec =
+        MainnetProtocolSchedule.fromConfig(config, PrivacyParameters.noPrivacy())
+            .getByBlockNumber(1);
+    transactionProcessor = spy(protocolSpec.getTransactionProcessor());
+    for (int i = 0; i < nonces.length; i++) {
+      senders.add(KeyPair.generate());
+    }
+    // The last sender also mines the block.
+    coinbase = address(nonces.length - 1);
+
+    final MutableWorldState worldState = worldStateArchive.getMutable();
+    final WorldUpdater updater = worldState.updater();
+    for (int i = 0; i < nonces.length; i++) {
+      updater.createAccount(address(i), 0, INITIAL_BALANCE);
+    }
+    updater.createAccount(COUNTER).setCode(BytesValue.fromHexString("0x60005460010160005500"));
+    updater.createAccount(CALLER_COUNTER).setCode(BytesValue.fromHexString("0x3354600101335500"));
+    updater.createAccount(COINBASE_READER).setCode(BytesValue.fromHexString("0x413160005500"));
+    final MutableAccount selfDestruct = updater.createAccount(SELF_DESTRUCT, 0, Wei.of(1000));
+    selfDestruct.setCode(BytesValue.fromHexString("0x33ff"));
+    updater.commit();
+    worldState.persist();
+    initialStateRoot = worldState.rootHash();
+  }
+
+  @Test
+  public void independentTransfersAreNotExecutedAgain() {
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      transactions.add(transfer(i, Address.fromHexString("0x2000" + i), Wei.of(10)));
+    }
+
+    assertSpeculativeExecutionMatchesSequentialExecution(transactions);
+    verify(transactionProcessor, times(5))
+        .processTransaction(any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void transactionsFromTheSameSender() {
+    assertSpeculativeExecutionMatchesSequentialExecution(
+        Arrays.asList(
+            transfer(0, Address.fromHexString("0x2000"), Wei.of(10)),
+            transfer(0, Address.fromHexString("0x2001"), Wei.of(10)),
+            transfer(1, Address.fromHexString("0x2001"), Wei.of(10)),
+            transfer(0, Address.fromHexString("0x2002"), Wei.of(10))));
+  }
+
+  @Test
+  public void transfersDependingOnPrecedingTransfers() {
+    assertSpeculativeExecutionMatchesSequentialExecution(
+        Arrays.asList(
+            transfer(0, address(1), Wei.of(10)),
+            transfer(1, address(2), Wei.of(20)),
+            transfer(3, Address.fromHexString("0x2000"), Wei.of(30)),
+            transfer(2, Address.fromHexString("0x2000"), Wei.of(40))));
+  }
+
+  @Test
+  public void callsWritingTheSameStorageSlotAreExecutedAgain() {
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      transactions.add(call(i, COUNTER));
+    }
+
+    assertSpeculativeExecutionMatchesSequentialExecution(transactions);
+    verify(transactionProcessor, times(7))
+        .processTransaction(any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void callsWritingDistinctStorageSlotsAreNotExecutedAgain() {
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < 4; i++) {
+      transactions.add(call(i, CALLER_COUNTER));
+    }
+
+    assertSpeculativeExecutionMatchesSequentialExecution(transactions);
+    verify(transactionProcessor, times(4))
+        .processTransaction(any(), any(), any(), any(), any(), any());
+  }
+
+  @Test
+  public void transactionsObservingTheCoinbase() {
+    assertSpeculativeExecutionMatchesSequentialExecution(
+        Arrays.asList(
+            transfer(0, Address.fromHexString("0x2000"), Wei.of(10)),
+            call(1, COINBASE_READER),
+            transfer(2, coinbase, Wei.of(10)),
+            transfer(coinbaseIndex(), Address.fromHexString("0x2001"), Wei.of(10)),
+            call(3, COINBASE_READER)));
+  }
+
+  @Test
+  public void selfDestructAndContractCreation() {
+    assertSpeculativeExecutionMatchesSequentialExecution(
+        Arrays.asList(
+            call(0, SELF_DESTRUCT),
+            call(1, SELF_DESTRUCT),
+            transfer(2, SELF_DESTRUCT, Wei.of(10)),
+            create(3, "0x600160005500"),
+            create(3, "0x600260005500")));
+  }
+
+  @Test
+  public void randomTransactions() {
+    final Random random = new Random(42);
+    final Address[] targets = {
+      COUNTER, CALLER_COUNTER, COINBASE_READER, SELF_DESTRUCT, address(0), address(3), coinbase
+    };
+    final List<Transaction> transactions = new ArrayList<>();
+    for (int i = 0; i < 60; i++) {
+      final int sender = random.nextInt(nonces.length);
+      final Address target = targets[random.nextInt(targets.length)];
+      switch (random.nextInt(3)) {
+        case 0:
+          transactions.add(transfer(sender, target, Wei.of(random.nextInt(1000))));
+          break;
+        case 1:
+          transactions.add(call(sender, target));
+          break;
+        default:
+          transactions.add(create(sender, "0x600160005500"));
+      }
+    }
+
+    assertSpeculativeExecutionMatchesSequentialExecution(transactions);
+  }
+
+  private void assertSpeculativeExecutionMatchesSequentialExecution(
+      final List<Transaction> transactions) {
+    final BlockHeader blockHeader =
+        new BlockHeaderTestFixture()
+            .number(1)
+            .gasLimit(10_000_000)
+            .coinbase(coinbase)
+            .buildHeader();
+
+    final MainnetBlockProcessor sequentialProcessor =
+        new MainnetBlockProcessor(
+            protocolSpec.getTransactionProcessor(),
+            protocolSpec.getTransactionReceiptFactory(),
+            protocolSpec.getBlockReward(),
+            BlockHeader::getCoinbase);
+    final MutableWorldState sequentialWorldState =
+        worldStateArchive.getMutable(initialStateRoot).get();
+    final MainnetBlockProcessor.Result expected =
+        sequentialProcessor.processBlock(
+            blockchain, sequentialWorldState, blockHeader, transactions, emptyList());
+
+    final MainnetBlockProcessor speculativeProcessor =
+        new MainnetBlockProcessor(
+            transactionProcessor,
+            protocolSpec.getTransactionReceiptFactory(),
+            protocolSpec.getBlockReward(),
+            BlockHeader::getCoinbase,
+            Optional.of(EXECUTOR));
+    final MutableWorldState speculativeWorldState =
+        worldStateArchive.getMutable(initialStateRoot).get();
+    final MainnetBlockProcessor.Result actual =
+        speculativeProcessor.processBlock(
+            blockchain, speculativeWorldState, blockHeader, transactions, emptyList());
+
+    assertThat(expected.isSuccessful()).isTrue();
+    assertThat(actual.isSuccessful()).isTrue();
+    assertThat(actual.getReceipts()).isEqualTo(expected.getReceipts());
+    assertThat(speculativeWorldState.rootHash()).isEqualTo(sequentialWorldState.rootHash());
+  }
+
+  private Address address(final int sender) {
+    return Util.publicKeyToAddress(senders.get(sender).getPublicKey());
+  }
+
+  private int coinbaseIndex() {
+    return nonces.length - 1;
+  }
+
+  private Transaction transfer(final int sender, final Address to, final Wei value) {
+    return transaction(sender, Optional.of(to), value, TRANSFER_GAS_LIMIT, BytesValue.EMPTY);
+  }
+
+  private Transaction call(final int sender, final Address to) {
+    return transaction(sender, Optional.of(to), Wei.ZERO, CALL_GAS_LIMIT, BytesValue.EMPTY);
+  }
+
+  private Transaction create(final int sender, final String initCode) {
+    return transaction(
+        sender, Optional.empty(), Wei.ZERO, CALL_GAS_LIMIT, BytesValue.fromHexString(initCode));
+  }
+
+  private Transaction transaction(
+      final int sender,
+      final Optional<Address> to,
+      final Wei value,
+      final long gasLimit,
+      final BytesValue payload) {
+    return new TransactionTestFixture()
+        .sender(address(sender))
+        .nonce(nonces[sender]++)
+        .to(to)
+        .value(value)
+        .gasLimit(gasLimit)
+        .payload(payload)
+        .chainId(CHAIN_ID)
+        .createTransaction(senders.get(sender));
+  }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.mainnet.precompiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128Fq2Point;
+import tech.pegasys.pantheon.crypto.altbn128.AltBn128Point;
+import tech.pegasys.pantheon.crypto.altbn128.FieldElement;
+import tech.pegasys.pantheon.crypto.altbn128.Fq;
+import tech.pegasys.pantheon.crypto.altbn128.Fq2;
+import tech.pegasys.pantheon.ethereum.mainnet.SpuriousDragonGasCalculator;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+
+public class AltBN128PrecompiledContractTest {
+
+  private static final BytesValue TRUE = Bytes32.leftPad(BytesValue.of(1));
+  private static final BytesValue FALSE = Bytes32.ZERO;
+
+  private final MessageFrame messageFrame = mock(MessageFrame.class);
+  private final AltBN128AddPrecompiledContract add =
+      new AltBN128AddPrecompiledContract(new SpuriousDragonGasCalculator());
+  private final AltBN128MulPrecompiledContract mul =
+      new AltBN128MulPrecompiledContract(new SpuriousDragonGasCalculator());
+  private final AltBN128PairingPrecompiledContract pairing =
+      new AltBN128PairingPrecompiledContract(new SpuriousDragonGasCalculator());
+
+  private final AltBn128Point p = AltBn128Point.g1().multiply(BigInteger.valueOf(7));
+  private final AltBn128Fq2Point q = AltBn128Fq2Point.g2().multiply(BigInteger.valueOf(13));
+
+  @Test
+  public void addMatchesAffineAddition() {
+    final AltBn128Point other = AltBn128Point.g1().multiply(BigInteger.valueOf(11));
+    assertThat(add.compute(BytesValue.wrap(encode(p), encode(other)), messageFrame))
+        .isEqualTo(encode(p.add(other)));
+    assertThat(add.compute(BytesValue.wrap(encode(p), encode(p)), messageFrame))
+        .isEqualTo(encode(p.doub()));
+    assertThat(add.compute(BytesValue.wrap(encode(p), encode(negate(p))), messageFrame))
+        .isEqualTo(BytesValue.wrap(Bytes32.ZERO, Bytes32.ZERO));
+  }
+
+  @Test
+  public void mulMatchesAffineMultiplication() {
+    final BigInteger scalar =
+        new BigInteger(
+            "21888242871839275222246405745257275088548364400416034343698204186575808495");
+    assertThat(mul.compute(BytesValue.wrap(encode(p), UInt256.of(scalar).getBytes()), messageFrame))
+        .isEqualTo(encode(p.multiply(scalar)));
+  }
+
+  @Test
+  public void pairingOfEmptyInputIsTrue() {
+    assertThat(pairing.compute(BytesValue.EMPTY, messageFrame)).isEqualTo(TRUE);
+  }
+
+  @Test
+  public void pairingChecksProductOfPairings() {
+    final AltBn128Point p91 = AltBn128Point.g1().multiply(BigInteger.valueOf(91));
+    assertThat(
+            pairing.compute(
+                BytesValue.wrap(encode(p, q), encode(p91, negate(AltBn128Fq2Point.g2()))),
+                messageFrame))
+        .isEqualTo(TRUE);
+    assertThat(
+            pairing.compute(
+                BytesValue.wrap(encode(p, q), encode(p91, AltBn128Fq2Point.g2())), messageFrame))
+        .isEqualTo(FALSE);
+  }
+
+  @Test
+  public void pairingIgnoresPointsAtInfinity() {
+    final BytesValue infinity = BytesValue.wrap(Bytes32.ZERO, Bytes32.ZERO);
+    assertThat(pairing.compute(BytesValue.wrap(infinity, encode(q)), messageFrame)).isEqualTo(TRUE);
+  }
+
+  @Test
+  public void pairingRejectsTruncatedInput() {
+    assertThat(pairing.compute(encode(p, q).slice(1), messageFrame)).isNull();
+  }
+
+  private static AltBn128Point negate(final AltBn128Point point) {
+    return new AltBn128Point(point.getX(), negate(point.getY()));
+  }
+
+  private static AltBn128Fq2Point negate(final AltBn128Fq2Point point) {
+    final Fq[] y = point.getY().getCoefficients();
+    return new AltBn128Fq2Point(
+        point.getX(),
+        Fq2.create(
+            BytesValues.asUnsignedBigInteger(encode(negate(y[0]))),
+            BytesValues.asUnsignedBigInteger(encode(negate(y[1])))));
+  }
+
+  private static Fq negate(final Fq element) {
+    return Fq.create(
+        FieldElement.FIELD_MODULUS
+            .subtract(BytesValues.asUnsignedBigInteger(element.toBytesValue()))
+            .mod(FieldElement.FIELD_MODULUS));
+  }
+
+  private static BytesValue encode(final Fq element) {
+    return Bytes32.leftPad(element.toBytesValue());
+  }
+
+  private static BytesValue encode(final AltBn128Point point) {
+    return BytesValue.wrap(encode(point.getX()), encode(point.getY()));
+  }
+
+  private static BytesValue encode(final AltBn128Fq2Point point) {
+    final Fq[] x = point.getX().getCoefficients();
+    final Fq[] y = point.getY().getCoefficients();
+    return BytesValues.concatenate(encode(x[1]), encode(x[0]), encode(y[1]), encode(y[0]));
+  }
+
+  private static BytesValue encode(final AltBn128Point point, final AltBn128Fq2Point twist) {
+    return BytesValue.wrap(encode(point), encode(twist));
+  }
+}
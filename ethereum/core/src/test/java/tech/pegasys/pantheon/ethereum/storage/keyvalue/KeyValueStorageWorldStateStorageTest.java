@@ -21,6 +21,9 @@ import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
 import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.junit.Test;
 
 public class KeyValueStorageWorldStateStorageTest {
@@ -186,6 +189,36 @@ public class KeyValueStorageWorldStateStorageTest {
     assertThat(emptyStorage().isWorldStateAvailable(Hash.EMPTY_TRIE_HASH)).isTrue();
   }
 
+  @Test
+  public void prune_removesNodesThatAreNotInUse() {
+    final KeyValueStorageWorldStateStorage storage = emptyStorage();
+    final BytesValue bytesA = BytesValue.fromHexString("0x12");
+    final BytesValue bytesB = BytesValue.fromHexString("0x1234");
+    storage.updater().putAccountStateTrieNode(Hash.hash(bytesA), bytesA).putCode(bytesB).commit();
+
+    assertThat(storage.prune(hash -> hash.equals(Hash.hash(bytesB)))).isEqualTo(1);
+
+    assertThat(storage.getAccountStateTrieNode(Hash.hash(bytesA))).isEmpty();
+    assertThat(storage.getCode(Hash.hash(bytesB))).contains(bytesB);
+  }
+
+  @Test
+  public void nodeAddedListenersAreNotifiedOfCommittedNodes() {
+    final KeyValueStorageWorldStateStorage storage = emptyStorage();
+    final List<Bytes32> addedNodes = new ArrayList<>();
+    final long listenerId = storage.addNodeAddedListener(addedNodes::addAll);
+    final BytesValue bytesA = BytesValue.fromHexString("0x12");
+    final BytesValue bytesB = BytesValue.fromHexString("0x1234");
+    storage.updater().putAccountStorageTrieNode(Hash.hash(bytesA), bytesA).putCode(bytesB).commit();
+    storage.updater().putCode(bytesA).rollback();
+
+    assertThat(addedNodes).containsExactly(Hash.hash(bytesA), Hash.hash(bytesB));
+
+    storage.removeNodeAddedListener(listenerId);
+    storage.updater().putCode(bytesA).commit();
+    assertThat(addedNodes).hasSize(2);
+  }
+
   private KeyValueStorageWorldStateStorage emptyStorage() {
     return new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage());
   }
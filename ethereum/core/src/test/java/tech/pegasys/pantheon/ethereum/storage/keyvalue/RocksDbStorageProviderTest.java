@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.storage.keyvalue;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static tech.pegasys.pantheon.ethereum.storage.keyvalue.RocksDbStorageProvider.BLOCKCHAIN_COLUMN_FAMILY;
+import static tech.pegasys.pantheon.ethereum.storage.keyvalue.RocksDbStorageProvider.WORLD_STATE_COLUMN_FAMILY;
+import static tech.pegasys.pantheon.ethereum.storage.keyvalue.RocksDbStorageProvider.WORLD_STATE_SNAPSHOT_COLUMN_FAMILY;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage.Transaction;
+import tech.pegasys.pantheon.services.kvstore.RocksDbColumnFamilyConfiguration;
+import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
+import tech.pegasys.pantheon.services.kvstore.RocksDbKeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RocksDbStorageProviderTest {
+
+  private static final BytesValue CODE = BytesValue.fromHexString("0x600160020a");
+  private static final Hash CODE_HASH = Hash.hash(CODE);
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Test
+  public void worldStateIsStoredInItsOwnColumnFamily() throws Exception {
+    final Path databaseDir = folder.newFolder().toPath();
+    try (final StorageProvider storageProvider =
+        RocksDbStorageProvider.create(databaseDir, new NoOpMetricsSystem())) {
+      storageProvider.createWorldStateStorage().updater().putCode(CODE_HASH, CODE).commit();
+    }
+
+    assertThat(RocksDbKeyValueStorage.listColumnFamilies(databaseDir))
+        .containsExactly(
+            "default",
+            BLOCKCHAIN_COLUMN_FAMILY,
+            WORLD_STATE_COLUMN_FAMILY,
+            WORLD_STATE_SNAPSHOT_COLUMN_FAMILY);
+    try (final RocksDbKeyValueStorage kv =
+        RocksDbKeyValueStorage.create(
+            databaseDir,
+            new NoOpMetricsSystem(),
+            RocksDbConfiguration.builder().build(),
+            asList(
+                RocksDbColumnFamilyConfiguration.builder(BLOCKCHAIN_COLUMN_FAMILY).build(),
+                RocksDbColumnFamilyConfiguration.builder(WORLD_STATE_COLUMN_FAMILY).build(),
+                RocksDbColumnFamilyConfiguration.builder(WORLD_STATE_SNAPSHOT_COLUMN_FAMILY)
+                    .build()))) {
+      assertThat(kv.getColumnFamily(WORLD_STATE_COLUMN_FAMILY).get(CODE_HASH)).contains(CODE);
+      assertThat(kv.getColumnFamily(BLOCKCHAIN_COLUMN_FAMILY).get(CODE_HASH)).isEmpty();
+      assertThat(kv.get(CODE_HASH)).isEmpty();
+    }
+  }
+
+  @Test
+  public void existingSingleColumnFamilyDatabaseIsStillRead() throws Exception {
+    final Path databaseDir = folder.newFolder().toPath();
+    try (final KeyValueStorage kv =
+        RocksDbKeyValueStorage.create(
+            databaseDir,
+            new NoOpMetricsSystem(),
+            RocksDbConfiguration.builder().build(),
+            Collections.emptyList())) {
+      final Transaction transaction = kv.startTransaction();
+      transaction.put(CODE_HASH, CODE);
+      transaction.commit();
+    }
+
+    try (final StorageProvider storageProvider =
+        RocksDbStorageProvider.create(databaseDir, new NoOpMetricsSystem())) {
+      assertThat(storageProvider.createWorldStateStorage().getCode(CODE_HASH)).contains(CODE);
+    }
+    assertThat(RocksDbKeyValueStorage.listColumnFamilies(databaseDir)).containsExactly("default");
+  }
+}
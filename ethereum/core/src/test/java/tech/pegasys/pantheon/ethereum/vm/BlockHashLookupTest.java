@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.vm;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -22,6 +23,7 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.chain.RecentBlockHashes;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
 import tech.pegasys.pantheon.ethereum.core.Hash;
@@ -36,6 +38,7 @@ public class BlockHashLookupTest {
 
   private static final int CURRENT_BLOCK_NUMBER = 256;
   private final Blockchain blockchain = mock(Blockchain.class);
+  private final RecentBlockHashes recentBlockHashes = mock(RecentBlockHashes.class);
   private final BlockHeader[] headers = new BlockHeader[CURRENT_BLOCK_NUMBER];
   private BlockHashLookup lookup;
 
@@ -48,6 +51,8 @@ public class BlockHashLookupTest {
       headers[i] = header;
       parentHeader = headers[i];
     }
+    when(recentBlockHashes.getBlockHash(anyLong())).thenReturn(Optional.empty());
+    when(blockchain.getRecentBlockHashes()).thenReturn(recentBlockHashes);
     lookup =
         new BlockHashLookup(
             createHeader(CURRENT_BLOCK_NUMBER, headers[headers.length - 1]), blockchain);
@@ -103,9 +108,39 @@ public class BlockHashLookupTest {
     verify(blockchain).getBlockHeader(headers[CURRENT_BLOCK_NUMBER - 1].getHash());
     verify(blockchain).getBlockHeader(headers[CURRENT_BLOCK_NUMBER - 2].getHash());
     verify(blockchain).getBlockHeader(headers[CURRENT_BLOCK_NUMBER - 3].getHash());
+    verify(blockchain).getRecentBlockHashes();
     verifyNoMoreInteractions(blockchain);
   }
 
+  @Test
+  public void shouldUseRecentBlockHashesWhenParentIsCanonical() {
+    for (final BlockHeader header : headers) {
+      when(recentBlockHashes.getBlockHash(header.getNumber()))
+          .thenReturn(Optional.of(header.getHash()));
+    }
+
+    assertHashForBlockNumber(0);
+    assertHashForBlockNumber(CURRENT_BLOCK_NUMBER - 10);
+    verify(blockchain, never()).getBlockHeader(any(Hash.class));
+  }
+
+  @Test
+  public void shouldFollowForkUntilItJoinsCanonicalChain() {
+    final int forkPoint = CURRENT_BLOCK_NUMBER - 5;
+    for (final BlockHeader header : headers) {
+      when(recentBlockHashes.getBlockHash(header.getNumber()))
+          .thenReturn(
+              Optional.of(
+                  header.getNumber() < forkPoint ? header.getHash() : Hash.EMPTY_TRIE_HASH));
+    }
+
+    assertHashForBlockNumber(10);
+    for (int i = forkPoint; i < CURRENT_BLOCK_NUMBER; i++) {
+      verify(blockchain).getBlockHeader(headers[i].getHash());
+    }
+    verify(blockchain, never()).getBlockHeader(headers[forkPoint - 1].getHash());
+  }
+
   private void assertHashForBlockNumber(final int blockNumber) {
     assertThat(lookup.getBlockHash(blockNumber)).isEqualTo(headers[blockNumber].getHash());
   }
@@ -0,0 +1,79 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import org.junit.Test;
+
+public class CodeCacheTest {
+
+  // PUSH2 0x5b5b, JUMPDEST, PUSH1 (truncated)
+  private static final BytesValue CODE = BytesValue.fromHexString("0x615b5b5b60");
+
+  @Test
+  public void jumpDestinationsInsidePushDataAreInvalid() {
+    final Code code = new Code(CODE);
+
+    assertThat(code.isValidJumpDestination(UInt256.of(0))).isFalse();
+    assertThat(code.isValidJumpDestination(UInt256.of(1))).isFalse();
+    assertThat(code.isValidJumpDestination(UInt256.of(2))).isFalse();
+    assertThat(code.isValidJumpDestination(UInt256.of(3))).isTrue();
+    assertThat(code.isValidJumpDestination(UInt256.of(4))).isFalse();
+    assertThat(code.isValidJumpDestination(UInt256.of(5))).isFalse();
+    assertThat(code.isValidJumpDestination(UInt256.of(Long.MAX_VALUE))).isFalse();
+  }
+
+  @Test
+  public void codeIsLoadedOncePerCodeHash() {
+    final CodeCache cache = new CodeCache(1024);
+    final Account account = account(CODE);
+    final Account otherAccountWithSameCode = account(CODE);
+
+    final Code code = cache.getCode(account);
+    assertThat(code.getBytes()).isEqualTo(CODE);
+    assertThat(cache.getCode(account)).isSameAs(code);
+    assertThat(cache.getCode(otherAccountWithSameCode)).isSameAs(code);
+
+    verify(account, times(1)).getCode();
+    verify(otherAccountWithSameCode, times(0)).getCode();
+  }
+
+  @Test
+  public void codeLargerThanCacheIsNotRetained() {
+    final CodeCache cache = new CodeCache(1024);
+    final Account account = account(BytesValue.wrap(new byte[2048]));
+
+    assertThat(cache.getCode(account).getSize()).isEqualTo(2048);
+    assertThat(cache.getCode(account).getSize()).isEqualTo(2048);
+
+    verify(account, times(2)).getCode();
+    assertThat(cache.size()).isZero();
+  }
+
+  private static Account account(final BytesValue code) {
+    final Account account = mock(Account.class);
+    when(account.getCode()).thenReturn(code);
+    when(account.getCodeHash()).thenReturn(Hash.hash(code));
+    return account;
+  }
+}
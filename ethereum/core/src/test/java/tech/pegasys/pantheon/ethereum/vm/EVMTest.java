@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.vm;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowableOfType;
+
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.core.MessageFrameTestFixture;
+import tech.pegasys.pantheon.ethereum.mainnet.ConstantinopleFixGasCalculator;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetEvmRegistries;
+import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import org.junit.Test;
+
+public class EVMTest {
+
+  // Tracing with a pass-through tracer takes the general path rather than the untraced one.
+  private static final OperationTracer PASS_THROUGH_TRACER =
+      (frame, currentGasCost, executeOperation) -> executeOperation.execute();
+
+  private final EVM evm = MainnetEvmRegistries.constantinople(new ConstantinopleFixGasCalculator());
+
+  @Test
+  public void untracedExecutionMatchesTracedExecution() throws Exception {
+    // Counts down from 100 computing (n * n + 7) % 3 and storing the result in memory.
+    final String code = "0x60645b808002600701600390066000526001900380600257600051";
+
+    final MessageFrame untraced = run(code, 100_000, OperationTracer.NO_TRACING);
+    final MessageFrame traced = run(code, 100_000, PASS_THROUGH_TRACER);
+
+    assertThat(untraced.getState()).isEqualTo(MessageFrame.State.CODE_SUCCESS);
+    assertThat(untraced.getState()).isEqualTo(traced.getState());
+    assertThat(untraced.getRemainingGas()).isEqualTo(traced.getRemainingGas());
+    assertThat(untraced.getPC()).isEqualTo(traced.getPC());
+    assertThat(untraced.stackSize()).isEqualTo(2);
+    assertThat(untraced.getStackItem(0)).isEqualTo(traced.getStackItem(0));
+    assertThat(untraced.getStackItem(1)).isEqualTo(traced.getStackItem(1));
+  }
+
+  @Test
+  public void stackUnderflowHaltsWithSameReasons() {
+    assertSameExceptionalHalt("0x600101", 100, ExceptionalHaltReason.INSUFFICIENT_STACK_ITEMS);
+  }
+
+  @Test
+  public void insufficientGasHaltsWithSameReasons() {
+    assertSameExceptionalHalt("0x6001600101", 5, ExceptionalHaltReason.INSUFFICIENT_GAS);
+  }
+
+  @Test
+  public void invalidJumpDestinationHaltsWithSameReasons() {
+    assertSameExceptionalHalt("0x600156", 100, ExceptionalHaltReason.INVALID_JUMP_DESTINATION);
+  }
+
+  @Test
+  public void invalidOperationHaltsWithSameReasons() {
+    assertSameExceptionalHalt("0x6001fe", 100, ExceptionalHaltReason.INVALID_OPERATION);
+  }
+
+  private void assertSameExceptionalHalt(
+      final String code, final long gas, final ExceptionalHaltReason expectedReason) {
+    final ExceptionalHaltException untraced =
+        catchThrowableOfType(
+            () -> run(code, gas, OperationTracer.NO_TRACING), ExceptionalHaltException.class);
+    final ExceptionalHaltException traced =
+        catchThrowableOfType(
+            () -> run(code, gas, PASS_THROUGH_TRACER), ExceptionalHaltException.class);
+
+    assertThat(untraced.getReasons()).containsExactly(expectedReason);
+    assertThat(untraced.getReasons()).isEqualTo(traced.getReasons());
+  }
+
+  private MessageFrame run(final String code, final long gas, final OperationTracer tracer)
+      throws ExceptionalHaltException {
+    final MessageFrame frame =
+        new MessageFrameTestFixture()
+            .code(new Code(BytesValue.fromHexString(code)))
+            .initialGas(Gas.of(gas))
+            .build();
+    frame.setState(MessageFrame.State.CODE_EXECUTING);
+    evm.runToHalt(frame, tracer);
+    return frame;
+  }
+}
@@ -12,6 +12,7 @@
  */
 package tech.pegasys.pantheon.ethereum.vm;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import tech.pegasys.pantheon.util.bytes.Bytes32;
@@ -147,6 +148,45 @@ public class MemoryTest {
     assertThat(memory.getWord(UInt256.of(64))).isEqualTo(Bytes32.ZERO);
   }
 
+  @Test
+  public void shouldSetAndGetBytesSpanningSeveralPages() {
+    final BytesValue value = BytesValue.wrap(Strings.repeat("abcdefgh", 300).getBytes(UTF_8));
+    final UInt256 location = UInt256.of(1000);
+    memory.setBytes(location, UInt256.of(value.size()), value);
+
+    assertThat(memory.getBytes(location, UInt256.of(value.size()))).isEqualTo(value);
+    assertThat(memory.getWord(UInt256.of(1010))).isEqualTo(Bytes32.wrap(value, 10));
+    assertThat(memory.getActiveWords()).isEqualTo(UInt256.of(107));
+    assertThat(memory.getBytes(UInt256.of(3400), UInt256.of(24)))
+        .isEqualTo(BytesValue.wrap(new byte[24]));
+  }
+
+  @Test
+  public void shouldClearBytesSpanningSeveralPages() {
+    final BytesValue value = BytesValue.wrap(Strings.repeat("abcdefgh", 300).getBytes(UTF_8));
+    memory.setBytes(UInt256.ZERO, UInt256.of(value.size()), value);
+    memory.clearBytes(UInt256.of(1), UInt256.of(value.size() - 2));
+
+    assertThat(memory.getBytes(UInt256.ZERO, UInt256.of(value.size())))
+        .isEqualTo(
+            BytesValues.concatenate(
+                value.slice(0, 1),
+                BytesValue.wrap(new byte[value.size() - 2]),
+                value.slice(value.size() - 1)));
+  }
+
+  @Test
+  public void memoriesWithSameContentAreEqual() {
+    final Memory other = new Memory();
+    memory.setWord(UInt256.of(2040), WORD1);
+    other.setBytes(UInt256.of(2040), UInt256.of(32), WORD1);
+    assertThat(memory).isEqualTo(other);
+    assertThat(memory.hashCode()).isEqualTo(other.hashCode());
+
+    other.setByte(UInt256.of(100), (byte) 1);
+    assertThat(memory).isNotEqualTo(other);
+  }
+
   private static Bytes32 fillBytes32(final long value) {
     return Bytes32.fromHexString(Strings.repeat(Long.toString(value), 64));
   }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStorageWorldStateStorage;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Optional;
+
+import org.junit.Test;
+
+public class CachingWorldStateStorageTest {
+
+  private static final BytesValue NODE = BytesValue.fromHexString("0x0123456789");
+  private static final Hash NODE_HASH = Hash.hash(NODE);
+
+  private final WorldStateStorage backingStorage =
+      spy(new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage()));
+
+  @Test
+  public void repeatedReadsAreServedFromCache() {
+    backingStorage.updater().putAccountStateTrieNode(NODE_HASH, NODE).commit();
+    final CachingWorldStateStorage storage = createStorage(1024);
+
+    assertThat(storage.getAccountStateTrieNode(NODE_HASH)).contains(NODE);
+    assertThat(storage.getAccountStateTrieNode(NODE_HASH)).contains(NODE);
+    assertThat(storage.getAccountStorageTrieNode(NODE_HASH)).contains(NODE);
+
+    verify(backingStorage, times(1)).getAccountStateTrieNode(NODE_HASH);
+    verify(backingStorage, never()).getAccountStorageTrieNode(any());
+  }
+
+  @Test
+  public void committedNodesAreCached() {
+    final CachingWorldStateStorage storage = createStorage(1024);
+    storage.updater().putAccountStorageTrieNode(NODE_HASH, NODE).commit();
+
+    assertThat(storage.getAccountStorageTrieNode(NODE_HASH)).contains(NODE);
+    assertThat(storage.getNodeData(NODE_HASH)).contains(NODE);
+    assertThat(backingStorage.getAccountStorageTrieNode(NODE_HASH)).contains(NODE);
+
+    verify(backingStorage, times(1)).getAccountStorageTrieNode(NODE_HASH);
+    verify(backingStorage, never()).getNodeData(any());
+  }
+
+  @Test
+  public void rolledBackNodesAreNotCached() {
+    final CachingWorldStateStorage storage = createStorage(1024);
+    final WorldStateStorage.Updater updater = storage.updater();
+    updater.putAccountStateTrieNode(NODE_HASH, NODE);
+    updater.rollback();
+
+    assertThat(storage.getAccountStateTrieNode(NODE_HASH)).isEmpty();
+  }
+
+  @Test
+  public void missingNodesAreNotCached() {
+    final CachingWorldStateStorage storage = createStorage(1024);
+    assertThat(storage.getAccountStateTrieNode(NODE_HASH)).isEmpty();
+
+    backingStorage.updater().putAccountStateTrieNode(NODE_HASH, NODE).commit();
+    assertThat(storage.getAccountStateTrieNode(NODE_HASH)).contains(NODE);
+  }
+
+  @Test
+  public void nodesLargerThanCacheAreNotRetained() {
+    final BytesValue largeNode = BytesValue.wrap(new byte[2048]);
+    final Hash largeNodeHash = Hash.hash(largeNode);
+    backingStorage.updater().putAccountStateTrieNode(largeNodeHash, largeNode).commit();
+    final CachingWorldStateStorage storage = createStorage(1024);
+
+    assertThat(storage.getAccountStateTrieNode(largeNodeHash)).contains(largeNode);
+    assertThat(storage.getAccountStateTrieNode(largeNodeHash)).contains(largeNode);
+
+    verify(backingStorage, times(2)).getAccountStateTrieNode(largeNodeHash);
+  }
+
+  @Test
+  public void batchedNodeDataReadsOnlyLoadUncachedNodes() {
+    final BytesValue otherNode = BytesValue.fromHexString("0xabcdef");
+    final Hash otherNodeHash = Hash.hash(otherNode);
+    final Hash missingHash = Hash.hash(BytesValue.fromHexString("0x01"));
+    backingStorage.updater().putAccountStateTrieNode(otherNodeHash, otherNode).commit();
+    final CachingWorldStateStorage storage = createStorage(1024);
+    storage.updater().putAccountStateTrieNode(NODE_HASH, NODE).commit();
+
+    assertThat(storage.getAllNodeData(asList(NODE_HASH, otherNodeHash, missingHash)))
+        .containsExactly(Optional.of(NODE), Optional.of(otherNode), Optional.empty());
+
+    verify(backingStorage).getAllNodeData(asList(otherNodeHash, missingHash));
+  }
+
+  private CachingWorldStateStorage createStorage(final long maxCacheSizeBytes) {
+    return new CachingWorldStateStorage(backingStorage, maxCacheSizeBytes, new NoOpMetricsSystem());
+  }
+}
@@ -18,6 +18,7 @@ import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
+import tech.pegasys.pantheon.ethereum.core.Account;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.MutableAccount;
@@ -557,6 +558,35 @@ public class DefaultMutableWorldStateTest {
     assertThat(storage).isEqualTo(expected);
   }
 
+  @Test
+  public void persistsManyUpdatedStorageTries() {
+    final KeyValueStorageWorldStateStorage storage =
+        new KeyValueStorageWorldStateStorage(new InMemoryKeyValueStorage());
+    final MutableWorldState worldState = createEmpty(storage);
+    final WorldUpdater updater = worldState.updater();
+    for (int i = 0; i < 50; i++) {
+      final MutableAccount account = updater.createAccount(Address.fromHexString("0x" + i));
+      account.setBalance(Wei.of(i));
+      for (int j = 0; j < 20; j++) {
+        account.setStorageValue(UInt256.of(j), UInt256.of(i * 100 + j + 1));
+      }
+    }
+    updater.commit();
+    final Hash rootHash = worldState.rootHash();
+
+    worldState.persist();
+
+    assertThat(worldState.rootHash()).isEqualTo(rootHash);
+    final MutableWorldState persisted = new DefaultMutableWorldState(rootHash, storage);
+    for (int i = 0; i < 50; i++) {
+      final Account account = persisted.get(Address.fromHexString("0x" + i));
+      assertThat(account.getBalance()).isEqualTo(Wei.of(i));
+      for (int j = 0; j < 20; j++) {
+        assertThat(account.getStorageValue(UInt256.of(j))).isEqualTo(UInt256.of(i * 100 + j + 1));
+      }
+    }
+  }
+
   private Hash hash(final UInt256 key) {
     return Hash.hash(key.getBytes());
   }
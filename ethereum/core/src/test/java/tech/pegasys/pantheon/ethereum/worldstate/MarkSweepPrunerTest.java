@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStorageWorldStateStorage;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+public class MarkSweepPrunerTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private final InMemoryKeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+  private final WorldStateStorage worldStateStorage =
+      new KeyValueStorageWorldStateStorage(keyValueStorage);
+  private final MarkSweepPruner pruner =
+      new MarkSweepPruner(worldStateStorage, 10_000, new NoOpMetricsSystem());
+
+  @Test
+  public void sweepsNodesNotReachableFromMarkedState() {
+    final MutableWorldState worldState = new DefaultMutableWorldState(worldStateStorage);
+    final List<Address> accounts = createAccounts(worldState);
+    final Hash oldRoot = worldState.rootHash();
+    accounts.addAll(createAccounts(worldState));
+    final Hash newRoot = worldState.rootHash();
+    final Map<Address, List<Object>> expectedState = readState(newRoot, accounts);
+    final int storedKeyCount = keys().size();
+
+    pruner.prepare();
+    pruner.mark(newRoot);
+    pruner.sweep();
+
+    assertThat(worldStateStorage.isWorldStateAvailable(oldRoot)).isFalse();
+    assertThat(keys().size()).isLessThan(storedKeyCount);
+    assertThat(readState(newRoot, accounts)).isEqualTo(expectedState);
+  }
+
+  @Test
+  public void doesNotSweepNodesCommittedAfterPrepare() {
+    final MutableWorldState worldState = new DefaultMutableWorldState(worldStateStorage);
+    final List<Address> markedAccounts = createAccounts(worldState);
+    final Hash markedRoot = worldState.rootHash();
+
+    pruner.prepare();
+    pruner.mark(markedRoot);
+    final List<Address> accounts = new ArrayList<>(markedAccounts);
+    accounts.addAll(createAccounts(worldState));
+    final Hash newRoot = worldState.rootHash();
+    final Map<Address, List<Object>> expectedMarkedState = readState(markedRoot, markedAccounts);
+    final Map<Address, List<Object>> expectedNewState = readState(newRoot, accounts);
+    pruner.sweep();
+
+    assertThat(readState(markedRoot, markedAccounts)).isEqualTo(expectedMarkedState);
+    assertThat(readState(newRoot, accounts)).isEqualTo(expectedNewState);
+  }
+
+  @Test
+  public void doesNotSweepNonWorldStateData() {
+    final BytesValue otherKey = BytesValue.fromHexString("0x0102");
+    final KeyValueStorage.Transaction transaction = keyValueStorage.startTransaction();
+    transaction.put(otherKey, BytesValue.of(1));
+    transaction.commit();
+    createAccounts(new DefaultMutableWorldState(worldStateStorage));
+
+    pruner.prepare();
+    pruner.mark(Hash.EMPTY_TRIE_HASH);
+    pruner.sweep();
+
+    assertThat(keys()).containsExactly(otherKey);
+  }
+
+  @Test
+  public void sizesMarksForNodesKeptByPreviousSweep() {
+    final MarkSweepPruner pruner =
+        new MarkSweepPruner(worldStateStorage, 10, new NoOpMetricsSystem());
+    final MutableWorldState worldState = new DefaultMutableWorldState(worldStateStorage);
+    createAccounts(worldState);
+    assertThat(pruner.markCapacity()).isEqualTo(10);
+
+    pruner.prepare();
+    pruner.mark(worldState.rootHash());
+    pruner.sweep();
+
+    assertThat(pruner.markCapacity()).isGreaterThan(keys().size());
+  }
+
+  private List<Address> createAccounts(final MutableWorldState worldState) {
+    return gen.createRandomContractAccountsWithNonEmptyStorage(worldState, 20).stream()
+        .map(Account::getAddress)
+        .collect(Collectors.toList());
+  }
+
+  private Map<Address, List<Object>> readState(final Hash rootHash, final List<Address> accounts) {
+    final MutableWorldState worldState = new DefaultMutableWorldState(rootHash, worldStateStorage);
+    final Map<Address, List<Object>> state = new HashMap<>();
+    for (final Address address : accounts) {
+      final Account account = worldState.get(address);
+      state.put(
+          address,
+          Arrays.asList(
+              account.getBalance(),
+              account.getCode(),
+              account.storageEntriesFrom(Bytes32.ZERO, Integer.MAX_VALUE)));
+    }
+    return state;
+  }
+
+  private Set<BytesValue> keys() {
+    final Set<BytesValue> keys = new HashSet<>();
+    keyValueStorage.forEachKey(keys::add);
+    return keys;
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator.BlockOptions;
+import tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.List;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.InOrder;
+
+public class PrunerTest {
+
+  private final BlockDataGenerator gen = new BlockDataGenerator(1);
+  private final MarkSweepPruner markSweepPruner = mock(MarkSweepPruner.class);
+  private final WorldStateStorage worldStateStorage = mock(WorldStateStorage.class);
+  private final List<Block> chain = gen.blockSequence(12);
+  private final MutableBlockchain blockchain =
+      InMemoryStorageProvider.createInMemoryBlockchain(chain.get(0));
+
+  @Before
+  public void setUp() {
+    when(worldStateStorage.isWorldStateAvailable(any())).thenReturn(true);
+    final Pruner pruner =
+        new Pruner(
+            markSweepPruner,
+            blockchain,
+            worldStateStorage,
+            MoreExecutors.newDirectExecutorService(),
+            new PrunerConfiguration(2, 5));
+    pruner.start();
+  }
+
+  @Test
+  public void marksConfirmedBlockAndSweepsOnceRetentionPeriodPassed() {
+    appendBlocks(1, 3);
+    verify(markSweepPruner).prepare();
+    verify(markSweepPruner, never()).mark(any());
+
+    appendBlocks(3, 4);
+    verify(markSweepPruner).mark(chain.get(1).getHeader().getStateRoot());
+    verify(markSweepPruner, never()).sweep();
+
+    appendBlocks(4, 6);
+    verify(markSweepPruner).sweep();
+
+    appendBlocks(6, 9);
+    final InOrder inOrder = inOrder(markSweepPruner);
+    inOrder.verify(markSweepPruner).prepare();
+    inOrder.verify(markSweepPruner).mark(chain.get(1).getHeader().getStateRoot());
+    inOrder.verify(markSweepPruner).sweep();
+    inOrder.verify(markSweepPruner).prepare();
+    inOrder.verify(markSweepPruner).mark(chain.get(6).getHeader().getStateRoot());
+  }
+
+  @Test
+  public void abandonsGenerationWhenWorldStateIsNotAvailable() {
+    when(worldStateStorage.isWorldStateAvailable(chain.get(1).getHeader().getStateRoot()))
+        .thenReturn(false);
+
+    appendBlocks(1, 5);
+
+    verify(markSweepPruner, never()).mark(any());
+    verify(markSweepPruner).cleanup();
+    verify(markSweepPruner, never()).sweep();
+  }
+
+  @Test
+  public void abandonsGenerationWhenMarkBlockIsReorganisedAway() {
+    appendBlocks(1, 2);
+    final Block forkBlock =
+        gen.block(
+            new BlockOptions()
+                .setParentHash(chain.get(0).getHash())
+                .setBlockNumber(1)
+                .setDifficulty(UInt256.of(1L << 40)));
+    blockchain.appendBlock(forkBlock, gen.receipts(forkBlock));
+    Block parent = forkBlock;
+    for (int i = 0; i < 2; i++) {
+      final Block block =
+          gen.block(
+              new BlockOptions()
+                  .setParentHash(parent.getHash())
+                  .setBlockNumber(parent.getHeader().getNumber() + 1));
+      blockchain.appendBlock(block, gen.receipts(block));
+      parent = block;
+    }
+
+    verify(markSweepPruner, never()).mark(any());
+    verify(markSweepPruner).cleanup();
+  }
+
+  private void appendBlocks(final int from, final int to) {
+    for (int i = from; i < to; i++) {
+      blockchain.appendBlock(chain.get(i), gen.receipts(chain.get(i)));
+    }
+  }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.worldstate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+
+import tech.pegasys.pantheon.ethereum.core.Account;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.MutableAccount;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Wei;
+import tech.pegasys.pantheon.ethereum.core.WorldState;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.storage.keyvalue.KeyValueStorageWorldStateStorage;
+import tech.pegasys.pantheon.services.kvstore.InMemoryKeyValueStorage;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Test;
+
+public class WorldStateSnapshotTest {
+
+  private static final int MAX_DIFF_LAYERS = 3;
+  private static final Address ADDRESS = address(1);
+
+  private final KeyValueStorage keyValueStorage = new InMemoryKeyValueStorage();
+  private final WorldStateStorage worldStateStorage =
+      spy(new KeyValueStorageWorldStateStorage(keyValueStorage));
+  private WorldStateSnapshot snapshot = createSnapshot();
+  private WorldStateArchive archive =
+      new WorldStateArchive(worldStateStorage, Optional.of(snapshot));
+
+  @Test
+  public void persistedWorldStatesAreReadFromSnapshot() {
+    final MutableWorldState worldState = archive.getMutable();
+    final WorldUpdater updater = worldState.updater();
+    final MutableAccount account = updater.createAccount(ADDRESS, 1, Wei.of(100));
+    account.setStorageValue(UInt256.of(1), UInt256.of(2));
+    updater.commit();
+    worldState.persist();
+    final WorldState snapshotWorldState = archive.get(worldState.rootHash()).get();
+    clearInvocations(worldStateStorage);
+
+    final Account snapshotAccount = snapshotWorldState.get(ADDRESS);
+    assertThat(snapshotAccount.getBalance()).isEqualTo(Wei.of(100));
+    assertThat(snapshotAccount.getStorageValue(UInt256.of(1))).isEqualTo(UInt256.of(2));
+    assertThat(snapshotAccount.getStorageValue(UInt256.of(2))).isEqualTo(UInt256.ZERO);
+    assertThat(snapshotWorldState.get(address(2))).isNull();
+
+    verify(worldStateStorage, never()).getAccountStateTrieNode(any());
+    verify(worldStateStorage, never()).getAccountStorageTrieNode(any());
+  }
+
+  @Test
+  public void unpersistedChangesAreReadFromTrie() {
+    final MutableWorldState worldState = archive.getMutable();
+    setBalance(worldState, ADDRESS, 1);
+    worldState.persist();
+
+    final WorldUpdater updater = worldState.updater();
+    updater.getMutable(ADDRESS).setBalance(Wei.of(2));
+    updater.commit();
+
+    assertThat(worldState.get(ADDRESS).getBalance()).isEqualTo(Wei.of(2));
+  }
+
+  @Test
+  public void worldStatesWithPrunedTrieAreNotAvailable() {
+    final MutableWorldState worldState = archive.getMutable();
+    setBalance(worldState, ADDRESS, 1);
+    worldState.persist();
+    assertThat(archive.isWorldStateAvailable(worldState.rootHash())).isTrue();
+
+    worldStateStorage.prune(hash -> false);
+
+    assertThat(snapshot.getLayer(worldState.rootHash())).isPresent();
+    assertThat(archive.isWorldStateAvailable(worldState.rootHash())).isFalse();
+    assertThat(archive.getMutable(worldState.rootHash())).isEmpty();
+  }
+
+  @Test
+  public void oldLayersAreFlattenedIntoDisk() {
+    final MutableWorldState worldState = archive.getMutable();
+    final List<Hash> roots = new ArrayList<>();
+    for (int i = 1; i <= 6; i++) {
+      setBalance(worldState, address(i), i);
+      worldState.persist();
+      roots.add(worldState.rootHash());
+    }
+
+    // Only the last layers are retained, the rest are flattened into the disk layer.
+    assertThat(snapshot.getLayer(roots.get(1))).isEmpty();
+    assertThat(snapshot.getLayer(roots.get(2))).containsInstanceOf(DiskSnapshotLayer.class);
+    for (int i = 3; i < roots.size(); i++) {
+      assertThat(snapshot.getLayer(roots.get(i))).containsInstanceOf(DiffSnapshotLayer.class);
+    }
+    for (final Hash root : roots) {
+      assertMatchesTrie(root, 8, 0);
+    }
+  }
+
+  @Test
+  public void deletedAccountsAndClearedStorageAreFlattened() {
+    final MutableWorldState worldState = archive.getMutable();
+    WorldUpdater updater = worldState.updater();
+    MutableAccount account = updater.createAccount(ADDRESS);
+    account.setStorageValue(UInt256.of(1), UInt256.of(1));
+    account.setStorageValue(UInt256.of(2), UInt256.of(2));
+    updater.createAccount(address(2)).setStorageValue(UInt256.of(1), UInt256.of(1));
+    updater.commit();
+    worldState.persist();
+
+    updater = worldState.updater();
+    updater.deleteAccount(ADDRESS);
+    updater.commit();
+    updater = worldState.updater();
+    account = updater.createAccount(ADDRESS);
+    account.setStorageValue(UInt256.of(2), UInt256.of(3));
+    updater.getMutable(address(2)).clearStorage();
+    updater.commit();
+    worldState.persist();
+    final Hash root = worldState.rootHash();
+
+    for (int i = 0; i < MAX_DIFF_LAYERS; i++) {
+      setBalance(worldState, address(3), i + 1);
+      worldState.persist();
+    }
+    final Account flattenedAccount = archive.get(root).get().get(ADDRESS);
+    assertThat(snapshot.getLayer(root)).containsInstanceOf(DiskSnapshotLayer.class);
+    assertThat(flattenedAccount.getStorageValue(UInt256.of(1))).isEqualTo(UInt256.ZERO);
+    assertThat(flattenedAccount.getStorageValue(UInt256.of(2))).isEqualTo(UInt256.of(3));
+    assertMatchesTrie(worldState.rootHash(), 4, 3);
+  }
+
+  @Test
+  public void layersOfAbandonedForksAreDropped() {
+    final MutableWorldState worldState = archive.getMutable();
+    setBalance(worldState, ADDRESS, 1);
+    worldState.persist();
+    final MutableWorldState fork = worldState.copy();
+    setBalance(fork, ADDRESS, 2);
+    fork.persist();
+    assertThat(snapshot.getLayer(fork.rootHash())).isPresent();
+    assertThat(archive.get(fork.rootHash()).get().get(ADDRESS).getBalance()).isEqualTo(Wei.of(2));
+
+    for (int i = 0; i < MAX_DIFF_LAYERS + 1; i++) {
+      setBalance(worldState, address(2), i + 1);
+      worldState.persist();
+    }
+    assertThat(snapshot.getLayer(fork.rootHash())).isEmpty();
+    assertThat(archive.get(fork.rootHash()).get().get(ADDRESS).getBalance()).isEqualTo(Wei.of(2));
+  }
+
+  @Test
+  public void generatesSnapshotOfExistingWorldState() {
+    // Write enough accounts and storage slots to span several generation batches and pages.
+    final MutableWorldState existing = new DefaultMutableWorldState(worldStateStorage);
+    final WorldUpdater updater = existing.updater();
+    for (int i = 1; i <= 250; i++) {
+      updater.createAccount(address(i), i, Wei.of(i));
+    }
+    final MutableAccount account = updater.getMutable(ADDRESS);
+    for (int i = 1; i <= 2500; i++) {
+      account.setStorageValue(UInt256.of(i), UInt256.of(i));
+    }
+    updater.commit();
+    existing.persist();
+
+    final MutableWorldState worldState = archive.getMutable(existing.rootHash()).get();
+    for (int i = 0; i < 10; i++) {
+      setBalance(worldState, address(300), i + 1);
+      worldState.persist();
+    }
+
+    assertThat(snapshot.getLayer(worldState.rootHash())).isPresent();
+    assertMatchesTrie(worldState.rootHash(), 300, 2500);
+  }
+
+  @Test
+  public void closeFlattensLatestWorldState() {
+    final MutableWorldState worldState = archive.getMutable();
+    for (int i = 1; i <= 2; i++) {
+      setBalance(worldState, address(i), i);
+      worldState.persist();
+    }
+    snapshot.close();
+
+    snapshot = createSnapshot();
+    archive = new WorldStateArchive(worldStateStorage, Optional.of(snapshot));
+    assertThat(snapshot.getLayer(worldState.rootHash()))
+        .containsInstanceOf(DiskSnapshotLayer.class);
+    assertMatchesTrie(worldState.rootHash(), 2, 0);
+  }
+
+  private WorldStateSnapshot createSnapshot() {
+    return new WorldStateSnapshot(
+        new SnapshotStorage(keyValueStorage, worldStateStorage),
+        MoreExecutors.newDirectExecutorService(),
+        MAX_DIFF_LAYERS);
+  }
+
+  private void assertMatchesTrie(final Hash rootHash, final int accounts, final int slots) {
+    final WorldState fromSnapshot = archive.get(rootHash).get();
+    final WorldState fromTrie = new DefaultMutableWorldState(rootHash, worldStateStorage);
+    for (int i = 1; i <= accounts; i++) {
+      final Account expected = fromTrie.get(address(i));
+      final Account actual = fromSnapshot.get(address(i));
+      if (expected == null) {
+        assertThat(actual).isNull();
+        continue;
+      }
+      assertThat(actual.getNonce()).isEqualTo(expected.getNonce());
+      assertThat(actual.getBalance()).isEqualTo(expected.getBalance());
+      for (int slot = 1; slot <= slots; slot++) {
+        assertThat(actual.getStorageValue(UInt256.of(slot)))
+            .isEqualTo(expected.getStorageValue(UInt256.of(slot)));
+      }
+    }
+  }
+
+  private static void setBalance(
+      final MutableWorldState worldState, final Address address, final long balance) {
+    final WorldUpdater updater = worldState.updater();
+    updater.getOrCreate(address).setBalance(Wei.of(balance));
+    updater.commit();
+  }
+
+  private static Address address(final int i) {
+    return Address.fromHexString(String.format("0x%040x", i));
+  }
+}
@@ -31,15 +31,20 @@ import tech.pegasys.pantheon.util.Subscribers;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
+import java.time.Clock;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -56,10 +61,10 @@ public class EthPeer {
   private final AtomicBoolean statusHasBeenSentToPeer = new AtomicBoolean(false);
   private final AtomicBoolean statusHasBeenReceivedFromPeer = new AtomicBoolean(false);
 
-  private final RequestManager headersRequestManager = new RequestManager(this);
-  private final RequestManager bodiesRequestManager = new RequestManager(this);
-  private final RequestManager receiptsRequestManager = new RequestManager(this);
-  private final RequestManager nodeDataRequestManager = new RequestManager(this);
+  private final RequestManager headersRequestManager;
+  private final RequestManager bodiesRequestManager;
+  private final RequestManager receiptsRequestManager;
+  private final RequestManager nodeDataRequestManager;
 
   private final AtomicReference<Consumer<EthPeer>> onStatusesExchanged = new AtomicReference<>();
   private final PeerReputation reputation = new PeerReputation();
@@ -69,6 +74,14 @@ public class EthPeer {
       final PeerConnection connection,
       final String protocolName,
       final Consumer<EthPeer> onStatusesExchanged) {
+    this(connection, protocolName, onStatusesExchanged, Clock.systemUTC());
+  }
+
+  EthPeer(
+      final PeerConnection connection,
+      final String protocolName,
+      final Consumer<EthPeer> onStatusesExchanged,
+      final Clock clock) {
     this.connection = connection;
     this.protocolName = protocolName;
     knownBlocks =
@@ -82,6 +95,10 @@ public class EthPeer {
                 }));
     this.chainHeadState = new ChainState();
     this.onStatusesExchanged.set(onStatusesExchanged);
+    headersRequestManager = new RequestManager(this, clock);
+    bodiesRequestManager = new RequestManager(this, clock);
+    receiptsRequestManager = new RequestManager(this, clock);
+    nodeDataRequestManager = new RequestManager(this, clock);
   }
 
   public boolean isDisconnected() {
@@ -98,6 +115,7 @@ public class EthPeer {
 
   public void recordRequestTimeout(final int requestCode) {
     LOG.debug("Timed out while waiting for response from peer {}", this);
+    requestManager(requestCode).ifPresent(RequestManager::recordRequestTimeout);
     reputation.recordRequestTimeout(requestCode).ifPresent(this::disconnect);
   }
 
@@ -328,6 +346,73 @@ public class EthPeer {
         + nodeDataRequestManager.outstandingRequests();
   }
 
+  /**
+   * The throughput of this peer, averaged over the types of request it has responded to.
+   *
+   * @return the average number of bytes per second received, or empty if the peer hasn't responded
+   *     to any requests yet
+   */
+  public OptionalDouble throughput() {
+    return requestManagers()
+        .map(RequestManager::throughput)
+        .flatMapToDouble(this::stream)
+        .average();
+  }
+
+  /**
+   * The response time of this peer, averaged over the types of request it has responded to.
+   *
+   * @return the average response time in milliseconds, or empty if the peer hasn't responded to any
+   *     requests yet
+   */
+  public OptionalDouble responseTimeMillis() {
+    return requestManagers()
+        .map(RequestManager::responseTimeMillis)
+        .flatMapToDouble(this::stream)
+        .average();
+  }
+
+  /**
+   * Scales the number of items to request from this peer to how quickly it has been responding to
+   * that type of request.
+   *
+   * @param requestCode the message code of the request
+   * @param maxRequestSize the largest number of items to request
+   * @return the number of items to request from this peer
+   */
+  public int requestSize(final int requestCode, final int maxRequestSize) {
+    return requestManager(requestCode)
+        .map(requestManager -> requestManager.requestSize(maxRequestSize))
+        .orElse(maxRequestSize);
+  }
+
+  private Optional<RequestManager> requestManager(final int requestCode) {
+    switch (requestCode) {
+      case EthPV62.GET_BLOCK_HEADERS:
+        return Optional.of(headersRequestManager);
+      case EthPV62.GET_BLOCK_BODIES:
+        return Optional.of(bodiesRequestManager);
+      case EthPV63.GET_RECEIPTS:
+        return Optional.of(receiptsRequestManager);
+      case EthPV63.GET_NODE_DATA:
+        return Optional.of(nodeDataRequestManager);
+      default:
+        return Optional.empty();
+    }
+  }
+
+  private Stream<RequestManager> requestManagers() {
+    return Stream.of(
+        headersRequestManager,
+        bodiesRequestManager,
+        receiptsRequestManager,
+        nodeDataRequestManager);
+  }
+
+  private DoubleStream stream(final OptionalDouble value) {
+    return value.isPresent() ? DoubleStream.of(value.getAsDouble()) : DoubleStream.empty();
+  }
+
   public BytesValue nodeId() {
     return connection.getPeer().getNodeId();
   }
@@ -14,6 +14,8 @@ package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer.DisconnectCallback;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.util.Subscribers;
 
 import java.util.Collections;
@@ -21,8 +23,10 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalDouble;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
+import java.util.stream.DoubleStream;
 import java.util.stream.Stream;
 
 public class EthPeers {
@@ -41,14 +45,50 @@ public class EthPeers {
   public static final Comparator<EthPeer> LEAST_TO_MOST_BUSY =
       Comparator.comparing(EthPeer::outstandingRequests);
 
+  private static final double MIN_THROUGHPUT = 1;
+
   private final int maxOutstandingRequests = 5;
   private final Map<PeerConnection, EthPeer> connections = new ConcurrentHashMap<>();
   private final String protocolName;
   private final Subscribers<ConnectCallback> connectCallbacks = new Subscribers<>();
   private final Subscribers<DisconnectCallback> disconnectCallbacks = new Subscribers<>();
 
-  public EthPeers(final String protocolName) {
+  public EthPeers(final String protocolName, final MetricsSystem metricsSystem) {
     this.protocolName = protocolName;
+
+    metricsSystem.createGauge(
+        MetricCategory.PEERS,
+        "highest_throughput_bytes_per_second",
+        "Average throughput of the fastest connected peer",
+        () -> peerThroughputs().max().orElse(0));
+    metricsSystem.createGauge(
+        MetricCategory.PEERS,
+        "median_throughput_bytes_per_second",
+        "Median of the average throughput of connected peers",
+        () -> median(peerThroughputs()));
+    metricsSystem.createGauge(
+        MetricCategory.PEERS,
+        "lowest_throughput_bytes_per_second",
+        "Average throughput of the slowest connected peer",
+        () -> peerThroughputs().min().orElse(0));
+    metricsSystem.createGauge(
+        MetricCategory.PEERS,
+        "median_response_time_milliseconds",
+        "Median of the average response time of connected peers",
+        () -> median(measured(connections.values().stream().map(EthPeer::responseTimeMillis))));
+  }
+
+  private DoubleStream peerThroughputs() {
+    return measured(connections.values().stream().map(EthPeer::throughput));
+  }
+
+  private static DoubleStream measured(final Stream<OptionalDouble> values) {
+    return values.filter(OptionalDouble::isPresent).mapToDouble(OptionalDouble::getAsDouble);
+  }
+
+  private static double median(final DoubleStream values) {
+    final double[] sorted = values.sorted().toArray();
+    return sorted.length == 0 ? 0 : sorted[sorted.length / 2];
   }
 
   void registerConnection(final PeerConnection peerConnection) {
@@ -101,20 +141,39 @@ public class EthPeers {
   }
 
   public Optional<EthPeer> idlePeer() {
-    return idlePeers().min(LEAST_TO_MOST_BUSY);
+    return quickestToRespond(idlePeers());
   }
 
-  private Stream<EthPeer> idlePeers() {
+  private List<EthPeer> idlePeers() {
     final List<EthPeer> peers =
         availablePeers()
             .filter(p -> p.outstandingRequests() < maxOutstandingRequests)
             .collect(Collectors.toList());
     Collections.shuffle(peers);
-    return peers.stream();
+    return peers;
   }
 
   public Optional<EthPeer> idlePeer(final long withBlocksUpTo) {
-    return idlePeers().filter(p -> p.chainState().getEstimatedHeight() >= withBlocksUpTo).findAny();
+    return quickestToRespond(
+        idlePeers().stream()
+            .filter(p -> p.chainState().getEstimatedHeight() >= withBlocksUpTo)
+            .collect(Collectors.toList()));
+  }
+
+  /**
+   * Picks the peer expected to get through its outstanding requests and a new one the soonest,
+   * based on its throughput. Peers that haven't responded to any requests yet are assumed to be as
+   * fast as the fastest peer so that they get tried. Ties are broken by the order of the list.
+   */
+  private Optional<EthPeer> quickestToRespond(final List<EthPeer> peers) {
+    final double fastestThroughput =
+        measured(peers.stream().map(EthPeer::throughput)).max().orElse(1);
+    return peers.stream()
+        .min(
+            Comparator.comparingDouble(
+                p ->
+                    (p.outstandingRequests() + 1)
+                        / Math.max(p.throughput().orElse(fastestThroughput), MIN_THROUGHPUT)));
   }
 
   @FunctionalInterface
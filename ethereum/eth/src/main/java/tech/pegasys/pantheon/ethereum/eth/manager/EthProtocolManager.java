@@ -71,7 +71,8 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
       final int networkId,
       final boolean fastSyncEnabled,
       final int requestLimit,
-      final EthScheduler scheduler) {
+      final EthScheduler scheduler,
+      final MetricsSystem metricsSystem) {
     this.networkId = networkId;
     this.scheduler = scheduler;
     this.blockchain = blockchain;
@@ -80,14 +81,14 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
     this.shutdown = new CountDownLatch(1);
     genesisHash = blockchain.getBlockHashByNumber(0L).get();
 
-    ethPeers = new EthPeers(getSupportedProtocol());
+    ethPeers = new EthPeers(getSupportedProtocol(), metricsSystem);
     ethMessages = new EthMessages();
     ethContext = new EthContext(getSupportedProtocol(), ethPeers, ethMessages, scheduler);
 
     this.blockBroadcaster = new BlockBroadcaster(ethContext);
 
     // Set up request handlers
-    new EthServer(blockchain, worldStateArchive, ethMessages, requestLimit);
+    new EthServer(blockchain, worldStateArchive, ethMessages, scheduler, requestLimit);
   }
 
   EthProtocolManager(
@@ -106,7 +107,8 @@ public class EthProtocolManager implements ProtocolManager, MinedBlockObserver {
         networkId,
         fastSyncEnabled,
         requestLimit,
-        new EthScheduler(syncWorkers, txWorkers, computationWorkers, metricsSystem));
+        new EthScheduler(syncWorkers, txWorkers, computationWorkers, metricsSystem),
+        metricsSystem);
   }
 
   public EthProtocolManager(
@@ -12,11 +12,14 @@
  */
 package tech.pegasys.pantheon.ethereum.eth.manager;
 
+import static tech.pegasys.pantheon.ethereum.eth.manager.MonitoredExecutors.newBoundedThreadPool;
 import static tech.pegasys.pantheon.ethereum.eth.manager.MonitoredExecutors.newCachedThreadPool;
 import static tech.pegasys.pantheon.ethereum.eth.manager.MonitoredExecutors.newFixedThreadPool;
 import static tech.pegasys.pantheon.ethereum.eth.manager.MonitoredExecutors.newScheduledThreadPool;
 import static tech.pegasys.pantheon.util.FutureUtils.propagateResult;
 
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.TransactionSenderRecovery;
 import tech.pegasys.pantheon.ethereum.eth.manager.task.EthTask;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.services.pipeline.Pipeline;
@@ -44,6 +47,10 @@ import org.apache.logging.log4j.Logger;
 public class EthScheduler {
   private static final Logger LOG = LogManager.getLogger();
 
+  private static final int SERVING_WORKER_COUNT = 4;
+  private static final int PREFETCH_WORKER_COUNT = 2;
+  private static final int PREFETCH_QUEUE_CAPACITY = 1000;
+
   private final Duration defaultTimeout = Duration.ofSeconds(5);
 
   private final AtomicBoolean stopped = new AtomicBoolean(false);
@@ -54,6 +61,8 @@ public class EthScheduler {
   protected final ExecutorService txWorkerExecutor;
   protected final ExecutorService servicesExecutor;
   protected final ExecutorService computationExecutor;
+  protected final ExecutorService servingExecutor;
+  protected final ExecutorService prefetchExecutor;
 
   private final Collection<CompletableFuture<?>> serviceFutures = new ConcurrentLinkedDeque<>();
 
@@ -72,6 +81,13 @@ public class EthScheduler {
         newFixedThreadPool(
             EthScheduler.class.getSimpleName() + "-Computation",
             computationWorkerCount,
+            metricsSystem),
+        newFixedThreadPool(
+            EthScheduler.class.getSimpleName() + "-Serving", SERVING_WORKER_COUNT, metricsSystem),
+        newBoundedThreadPool(
+            EthScheduler.class.getSimpleName() + "-Prefetch",
+            PREFETCH_WORKER_COUNT,
+            PREFETCH_QUEUE_CAPACITY,
             metricsSystem));
   }
 
@@ -80,12 +96,16 @@ public class EthScheduler {
       final ScheduledExecutorService scheduler,
       final ExecutorService txWorkerExecutor,
       final ExecutorService servicesExecutor,
-      final ExecutorService computationExecutor) {
+      final ExecutorService computationExecutor,
+      final ExecutorService servingExecutor,
+      final ExecutorService prefetchExecutor) {
     this.syncWorkerExecutor = syncWorkerExecutor;
     this.scheduler = scheduler;
     this.txWorkerExecutor = txWorkerExecutor;
     this.servicesExecutor = servicesExecutor;
     this.computationExecutor = computationExecutor;
+    this.servingExecutor = servingExecutor;
+    this.prefetchExecutor = prefetchExecutor;
   }
 
   public <T> CompletableFuture<T> scheduleSyncWorkerTask(
@@ -111,6 +131,18 @@ public class EthScheduler {
     txWorkerExecutor.submit(command);
   }
 
+  public void scheduleServingTask(final Runnable command) {
+    servingExecutor.submit(command);
+  }
+
+  /**
+   * Schedules work that is only an optimisation, such as warming caches. It runs on its own workers
+   * so it never delays other tasks, and is dropped when too much of it is already queued.
+   */
+  public void schedulePrefetchTask(final Runnable command) {
+    prefetchExecutor.execute(command);
+  }
+
   public <T> CompletableFuture<T> scheduleServiceTask(final EthTask<T> task) {
     final CompletableFuture<T> serviceFuture = task.runAsync(servicesExecutor);
     serviceFutures.add(serviceFuture);
@@ -129,6 +161,11 @@ public class EthScheduler {
     return CompletableFuture.supplyAsync(computation, computationExecutor);
   }
 
+  public CompletableFuture<Void> recoverTransactionSenders(
+      final Collection<Transaction> transactions) {
+    return TransactionSenderRecovery.recoverSenders(transactions, computationExecutor::submit);
+  }
+
   public CompletableFuture<Void> scheduleFutureTask(
       final Runnable command, final Duration duration) {
     final CompletableFuture<Void> promise = new CompletableFuture<>();
@@ -205,6 +242,8 @@ public class EthScheduler {
       scheduler.shutdownNow();
       servicesExecutor.shutdownNow();
       computationExecutor.shutdownNow();
+      servingExecutor.shutdownNow();
+      prefetchExecutor.shutdownNow();
       shutdown.countDown();
     } else {
       LOG.trace("Attempted to stop already stopped " + getClass().getSimpleName());
@@ -233,6 +272,12 @@ public class EthScheduler {
       LOG.error(
           "{} computation executor did not shutdown cleanly.", this.getClass().getSimpleName());
     }
+    if (!servingExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+      LOG.error("{} serving executor did not shutdown cleanly.", this.getClass().getSimpleName());
+    }
+    if (!prefetchExecutor.awaitTermination(30, TimeUnit.SECONDS)) {
+      LOG.error("{} prefetch executor did not shutdown cleanly.", this.getClass().getSimpleName());
+    }
     LOG.trace("{} stopped.", this.getClass().getSimpleName());
   }
 
@@ -13,10 +13,8 @@
 package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
-import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
-import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
 import tech.pegasys.pantheon.ethereum.eth.messages.BlockBodiesMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.BlockHeadersMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.EthPV62;
@@ -39,6 +37,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import com.google.common.collect.Lists;
 import org.apache.logging.log4j.LogManager;
@@ -47,28 +46,54 @@ import org.apache.logging.log4j.Logger;
 class EthServer {
   private static final Logger LOG = LogManager.getLogger();
 
+  static final int MAX_PENDING_REQUESTS_PER_PEER = 16;
+
   private final Blockchain blockchain;
   private final WorldStateArchive worldStateArchive;
   private final EthMessages ethMessages;
   private final int requestLimit;
+  private final PeerRequestQueue requestQueue;
 
   EthServer(
       final Blockchain blockchain,
       final WorldStateArchive worldStateArchive,
       final EthMessages ethMessages,
+      final EthScheduler ethScheduler,
       final int requestLimit) {
     this.blockchain = blockchain;
     this.worldStateArchive = worldStateArchive;
     this.ethMessages = ethMessages;
     this.requestLimit = requestLimit;
+    this.requestQueue =
+        new PeerRequestQueue(ethScheduler::scheduleServingTask, MAX_PENDING_REQUESTS_PER_PEER);
     this.setupListeners();
   }
 
   private void setupListeners() {
-    ethMessages.subscribe(EthPV62.GET_BLOCK_HEADERS, this::handleGetBlockHeaders);
-    ethMessages.subscribe(EthPV62.GET_BLOCK_BODIES, this::handleGetBlockBodies);
-    ethMessages.subscribe(EthPV63.GET_RECEIPTS, this::handleGetReceipts);
-    ethMessages.subscribe(EthPV63.GET_NODE_DATA, this::handleGetNodeData);
+    ethMessages.subscribe(
+        EthPV62.GET_BLOCK_HEADERS, message -> queueRequest(message, this::handleGetBlockHeaders));
+    ethMessages.subscribe(
+        EthPV62.GET_BLOCK_BODIES, message -> queueRequest(message, this::handleGetBlockBodies));
+    ethMessages.subscribe(
+        EthPV63.GET_RECEIPTS, message -> queueRequest(message, this::handleGetReceipts));
+    ethMessages.subscribe(
+        EthPV63.GET_NODE_DATA, message -> queueRequest(message, this::handleGetNodeData));
+  }
+
+  private void queueRequest(final EthMessage message, final Consumer<EthMessage> handler) {
+    final EthPeer peer = message.getPeer();
+    final boolean queued =
+        requestQueue.submit(
+            peer,
+            () -> {
+              // Don't spend time on requests from peers that have gone away in the meantime.
+              if (!peer.isDisconnected()) {
+                handler.accept(message);
+              }
+            });
+    if (!queued) {
+      LOG.debug("Dropping request from peer {} which already has too many pending requests", peer);
+    }
   }
 
   private void handleGetBlockHeaders(final EthMessage message) {
@@ -165,20 +190,16 @@ class EthServer {
     final GetBlockBodiesMessage getBlockBodiesMessage = GetBlockBodiesMessage.readFrom(message);
     final Iterable<Hash> hashes = getBlockBodiesMessage.hashes();
 
-    final Collection<BlockBody> bodies = new ArrayList<>();
+    final List<BytesValue> bodies = new ArrayList<>();
     int count = 0;
     for (final Hash hash : hashes) {
       if (count >= requestLimit) {
         break;
       }
       count++;
-      final Optional<BlockBody> maybeBody = blockchain.getBlockBody(hash);
-      if (!maybeBody.isPresent()) {
-        continue;
-      }
-      bodies.add(maybeBody.get());
+      blockchain.getBlockBodyRlp(hash).ifPresent(bodies::add);
     }
-    return BlockBodiesMessage.create(bodies);
+    return BlockBodiesMessage.createUnsafe(bodies);
   }
 
   static MessageData constructGetReceiptsResponse(
@@ -186,20 +207,16 @@ class EthServer {
     final GetReceiptsMessage getReceipts = GetReceiptsMessage.readFrom(message);
     final Iterable<Hash> hashes = getReceipts.hashes();
 
-    final List<List<TransactionReceipt>> receipts = new ArrayList<>();
+    final List<BytesValue> receipts = new ArrayList<>();
     int count = 0;
     for (final Hash hash : hashes) {
       if (count >= requestLimit) {
         break;
       }
       count++;
-      final Optional<List<TransactionReceipt>> maybeReceipts = blockchain.getTxReceipts(hash);
-      if (!maybeReceipts.isPresent()) {
-        continue;
-      }
-      receipts.add(maybeReceipts.get());
+      blockchain.getTxReceiptsRlp(hash).ifPresent(receipts::add);
     }
-    return ReceiptsMessage.create(receipts);
+    return ReceiptsMessage.createUnsafe(receipts);
   }
 
   static MessageData constructGetNodeDataResponse(
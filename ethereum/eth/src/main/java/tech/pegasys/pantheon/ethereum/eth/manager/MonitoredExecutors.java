@@ -26,6 +26,7 @@ import java.util.concurrent.SynchronousQueue;
 import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.ThreadPoolExecutor.DiscardPolicy;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiFunction;
 
@@ -49,6 +50,30 @@ public class MonitoredExecutors {
                 rejectedExecutionHandler));
   }
 
+  /**
+   * Creates a fixed thread pool whose queue holds at most {@code queueCapacity} tasks. Tasks
+   * submitted while the queue is full are discarded rather than rejected.
+   */
+  public static ExecutorService newBoundedThreadPool(
+      final String name,
+      final int workerCount,
+      final int queueCapacity,
+      final MetricsSystem metricsSystem) {
+    return newMonitoredExecutor(
+        name,
+        metricsSystem,
+        CountingDiscardPolicy::new,
+        (rejectedExecutionHandler, threadFactory) ->
+            new ThreadPoolExecutor(
+                workerCount,
+                workerCount,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(queueCapacity),
+                threadFactory,
+                rejectedExecutionHandler));
+  }
+
   public static ExecutorService newCachedThreadPool(
       final String name, final MetricsSystem metricsSystem) {
     return newMonitoredExecutor(
@@ -78,12 +103,20 @@ public class MonitoredExecutors {
       final String name,
       final MetricsSystem metricsSystem,
       final BiFunction<RejectedExecutionHandler, ThreadFactory, T> creator) {
+    return newMonitoredExecutor(name, metricsSystem, CountingAbortPolicy::new, creator);
+  }
+
+  private static <T extends ThreadPoolExecutor> T newMonitoredExecutor(
+      final String name,
+      final MetricsSystem metricsSystem,
+      final BiFunction<String, MetricsSystem, RejectedExecutionHandler> rejectionPolicy,
+      final BiFunction<RejectedExecutionHandler, ThreadFactory, T> creator) {
 
     final String metricName = name.toLowerCase(Locale.US).replace('-', '_');
 
     final T executor =
         creator.apply(
-            new CountingAbortPolicy(metricName, metricsSystem),
+            rejectionPolicy.apply(metricName, metricsSystem),
             new ThreadFactoryBuilder().setNameFormat(name + "-%d").build());
 
     metricsSystem.createIntegerGauge(
@@ -137,4 +170,23 @@ public class MonitoredExecutors {
       super.rejectedExecution(r, e);
     }
   }
+
+  private static class CountingDiscardPolicy extends DiscardPolicy {
+
+    private final Counter discardedTaskCounter;
+
+    public CountingDiscardPolicy(final String metricName, final MetricsSystem metricsSystem) {
+      this.discardedTaskCounter =
+          metricsSystem.createCounter(
+              MetricCategory.EXECUTORS,
+              metricName + "_discarded_tasks_total",
+              "Total number of tasks discarded by this executor");
+    }
+
+    @Override
+    public void rejectedExecution(final Runnable r, final ThreadPoolExecutor e) {
+      discardedTaskCounter.inc();
+      super.rejectedExecution(r, e);
+    }
+  }
 }
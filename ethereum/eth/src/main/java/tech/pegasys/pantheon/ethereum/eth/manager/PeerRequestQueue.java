@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Runs the requests of peers on an executor, taking turns between peers so that a peer sending many
+ * requests can't hold up the requests of others. Each peer may only have a bounded number of
+ * requests waiting, further requests from it are rejected until it catches up.
+ */
+class PeerRequestQueue {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final Executor executor;
+  private final int maxPendingRequestsPerPeer;
+
+  private final Map<EthPeer, Deque<Runnable>> pendingRequests = new HashMap<>();
+  private final Deque<EthPeer> peersWithPendingRequests = new ArrayDeque<>();
+
+  PeerRequestQueue(final Executor executor, final int maxPendingRequestsPerPeer) {
+    this.executor = executor;
+    this.maxPendingRequestsPerPeer = maxPendingRequestsPerPeer;
+  }
+
+  /**
+   * Queues a request from the given peer.
+   *
+   * @param peer the peer the request came from
+   * @param request the request to run
+   * @return false if the peer already has too many pending requests and this one was rejected
+   */
+  boolean submit(final EthPeer peer, final Runnable request) {
+    synchronized (this) {
+      final Deque<Runnable> requests =
+          pendingRequests.computeIfAbsent(peer, key -> new ArrayDeque<>());
+      if (requests.size() >= maxPendingRequestsPerPeer) {
+        return false;
+      }
+      if (requests.isEmpty()) {
+        peersWithPendingRequests.add(peer);
+      }
+      requests.add(request);
+    }
+    // Every queued request gets a turn on the executor, though not necessarily its own.
+    executor.execute(this::runNextRequest);
+    return true;
+  }
+
+  synchronized int pendingRequestCount(final EthPeer peer) {
+    final Deque<Runnable> requests = pendingRequests.get(peer);
+    return requests == null ? 0 : requests.size();
+  }
+
+  private void runNextRequest() {
+    final Runnable request;
+    synchronized (this) {
+      final EthPeer peer = peersWithPendingRequests.poll();
+      if (peer == null) {
+        return;
+      }
+      final Deque<Runnable> requests = pendingRequests.get(peer);
+      request = requests.poll();
+      if (requests.isEmpty()) {
+        pendingRequests.remove(peer);
+      } else {
+        peersWithPendingRequests.add(peer);
+      }
+    }
+    try {
+      request.run();
+    } catch (final RuntimeException e) {
+      LOG.error("Failed to serve peer request", e);
+    }
+  }
+}
@@ -15,24 +15,46 @@ package tech.pegasys.pantheon.ethereum.eth.manager;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.api.PeerConnection.PeerNotConnected;
 
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Map;
+import java.util.OptionalDouble;
 import java.util.Queue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class RequestManager {
+  /** Responses slower than this shrink the size of subsequent requests. */
+  static final long TARGET_RESPONSE_TIME_MILLIS = 2000;
+
+  private static final double SAMPLE_WEIGHT = 0.25;
+  private static final double REQUEST_SIZE_INCREASE = 1.25;
+  private static final double REQUEST_SIZE_DECREASE = 0.5;
+  private static final double MIN_REQUEST_SIZE_FRACTION = 0.05;
+
   private final AtomicLong responseStreamId = new AtomicLong(0L);
   private final Map<Long, ResponseStream> responseStreams = new ConcurrentHashMap<>();
   private final EthPeer peer;
+  private final Clock clock;
 
   private final AtomicInteger outstandingRequests = new AtomicInteger(0);
 
+  // Exponentially weighted moving averages of the response time and throughput of this peer.
+  private double responseTimeMillis = Double.NaN;
+  private double bytesPerSecond = Double.NaN;
+  private double requestSizeFraction = 1.0;
+
   public RequestManager(final EthPeer peer) {
+    this(peer, Clock.systemUTC());
+  }
+
+  public RequestManager(final EthPeer peer, final Clock clock) {
     this.peer = peer;
+    this.clock = clock;
   }
 
   public int outstandingRequests() {
@@ -41,7 +63,7 @@ public class RequestManager {
 
   public ResponseStream dispatchRequest(final RequestSender sender) throws PeerNotConnected {
     outstandingRequests.incrementAndGet();
-    final ResponseStream stream = createStream();
+    final ResponseStream stream = createStream(clock.millis());
     sender.send();
     return stream;
   }
@@ -49,7 +71,6 @@ public class RequestManager {
   public void dispatchResponse(final EthMessage message) {
     final Collection<ResponseStream> streams = new ArrayList<>(responseStreams.values());
     final int count = outstandingRequests.decrementAndGet();
-
     streams.forEach(s -> s.processMessage(message.getData()));
     if (count == 0) {
       // No possibility of any remaining outstanding messages
@@ -57,13 +78,70 @@ public class RequestManager {
     }
   }
 
+  private synchronized void recordResponse(final long elapsedMillis, final int responseSize) {
+    final long responseTime = Math.max(1, elapsedMillis);
+    responseTimeMillis = average(responseTimeMillis, responseTime);
+    bytesPerSecond = average(bytesPerSecond, responseSize * 1000.0 / responseTime);
+    requestSizeFraction =
+        responseTime <= TARGET_RESPONSE_TIME_MILLIS
+            ? Math.min(1.0, requestSizeFraction * REQUEST_SIZE_INCREASE)
+            : Math.max(MIN_REQUEST_SIZE_FRACTION, requestSizeFraction * REQUEST_SIZE_DECREASE);
+  }
+
+  /**
+   * Records that a request timed out. It counts as a response with no data and halves the size of
+   * subsequent requests.
+   */
+  public synchronized void recordRequestTimeout() {
+    if (!Double.isNaN(bytesPerSecond)) {
+      bytesPerSecond = average(bytesPerSecond, 0);
+    }
+    requestSizeFraction =
+        Math.max(MIN_REQUEST_SIZE_FRACTION, requestSizeFraction * REQUEST_SIZE_DECREASE);
+  }
+
+  private static double average(final double currentAverage, final double sample) {
+    return Double.isNaN(currentAverage)
+        ? sample
+        : SAMPLE_WEIGHT * sample + (1 - SAMPLE_WEIGHT) * currentAverage;
+  }
+
+  /** @return the average number of bytes per second received in responses, if any were received */
+  public synchronized OptionalDouble throughput() {
+    return Double.isNaN(bytesPerSecond)
+        ? OptionalDouble.empty()
+        : OptionalDouble.of(bytesPerSecond);
+  }
+
+  /** @return the average time in milliseconds taken to respond, if any responses were received */
+  public synchronized OptionalDouble responseTimeMillis() {
+    return Double.isNaN(responseTimeMillis)
+        ? OptionalDouble.empty()
+        : OptionalDouble.of(responseTimeMillis);
+  }
+
+  /**
+   * Scales a request size to how quickly this peer has been responding. The full size is used until
+   * responses get slower than {@link #TARGET_RESPONSE_TIME_MILLIS} or requests time out.
+   *
+   * @param maxRequestSize the largest number of items to request
+   * @return the number of items to request from this peer
+   */
+  public synchronized int requestSize(final int maxRequestSize) {
+    return Math.max(1, (int) Math.ceil(maxRequestSize * requestSizeFraction));
+  }
+
   public void close() {
     closeOutstandingStreams(responseStreams.values());
   }
 
-  private ResponseStream createStream() {
+  private ResponseStream createStream(final long requestTimeMillis) {
     final long listenerId = nextStreamId();
-    final ResponseStream stream = new ResponseStream(peer, () -> deregisterStream(listenerId));
+    final ResponseStream stream =
+        new ResponseStream(
+            peer,
+            () -> deregisterStream(listenerId),
+            response -> recordResponse(clock.millis() - requestTimeMillis, response.getSize()));
     responseStreams.put(listenerId, stream);
     return stream;
   }
@@ -105,6 +183,11 @@ public class RequestManager {
     void exec();
   }
 
+  @FunctionalInterface
+  public interface ResponseRecorder {
+    void record(MessageData response);
+  }
+
   private static class Response {
     final boolean closed;
     final MessageData message;
@@ -118,13 +201,19 @@ public class RequestManager {
   public static class ResponseStream {
     private final EthPeer peer;
     private final DeregistrationProcessor deregisterCallback;
+    private final ResponseRecorder responseRecorder;
     private final Queue<Response> bufferedResponses = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean responseRecorded = new AtomicBoolean(false);
     private volatile boolean closed = false;
     private volatile ResponseCallback responseCallback = null;
 
-    public ResponseStream(final EthPeer peer, final DeregistrationProcessor deregisterCallback) {
+    public ResponseStream(
+        final EthPeer peer,
+        final DeregistrationProcessor deregisterCallback,
+        final ResponseRecorder responseRecorder) {
       this.peer = peer;
       this.deregisterCallback = deregisterCallback;
+      this.responseRecorder = responseRecorder;
     }
 
     public ResponseStream then(final ResponseCallback callback) {
@@ -152,6 +241,19 @@ public class RequestManager {
       return peer;
     }
 
+    /**
+     * Records the message that answers the request of this stream, updating the response time and
+     * throughput of the peer from the time the request was sent. Only the first response is
+     * recorded.
+     *
+     * @param response the message answering the request
+     */
+    public void recordResponse(final MessageData response) {
+      if (responseRecorded.compareAndSet(false, true)) {
+        responseRecorder.record(response);
+      }
+    }
+
     private void processMessage(final MessageData message) {
       if (closed) {
         return;
@@ -49,11 +49,11 @@ public abstract class AbstractPeerRequestTask<R> extends AbstractPeerTask<R> {
   @Override
   protected final void executeTaskWithPeer(final EthPeer peer) throws PeerNotConnected {
     final CompletableFuture<R> promise = new CompletableFuture<>();
-    responseStream =
-        sendRequest(peer)
-            .then(
-                (streamClosed, message, peer1) ->
-                    handleMessage(promise, streamClosed, message, peer1));
+    final ResponseStream stream = sendRequest(peer);
+    responseStream = stream;
+    stream.then(
+        (streamClosed, message, peer1) ->
+            handleMessage(promise, stream, streamClosed, message, peer1));
 
     promise.whenComplete(
         (r, t) -> {
@@ -73,6 +73,7 @@ public abstract class AbstractPeerRequestTask<R> extends AbstractPeerTask<R> {
 
   private void handleMessage(
       final CompletableFuture<R> promise,
+      final ResponseStream stream,
       final boolean streamClosed,
       final MessageData message,
       final EthPeer peer) {
@@ -82,6 +83,9 @@ public abstract class AbstractPeerRequestTask<R> extends AbstractPeerTask<R> {
     }
     try {
       final Optional<R> result = processResponse(streamClosed, message, peer);
+      if (result.isPresent() && !streamClosed) {
+        stream.recordResponse(message);
+      }
       result.ifPresent(promise::complete);
     } catch (final RLPException e) {
       // Peer sent us malformed data - disconnect
@@ -83,8 +83,12 @@ public class GetBodiesFromPeerTask<C> extends AbstractPeerRequestTask<List<Block
 
   @Override
   protected ResponseStream sendRequest(final EthPeer peer) throws PeerNotConnected {
+    // Slower peers are asked for fewer bodies, the remainder is requested again by the caller.
     final List<Hash> blockHashes =
-        headers.stream().map(BlockHeader::getHash).collect(Collectors.toList());
+        headers.stream()
+            .limit(peer.requestSize(EthPV62.GET_BLOCK_BODIES, headers.size()))
+            .map(BlockHeader::getHash)
+            .collect(Collectors.toList());
     LOG.debug("Requesting {} bodies from peer {}.", blockHashes.size(), peer);
     return peer.getBodies(blockHashes);
   }
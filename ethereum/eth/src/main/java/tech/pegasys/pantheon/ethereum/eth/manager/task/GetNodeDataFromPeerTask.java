@@ -32,6 +32,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -63,8 +64,14 @@ public class GetNodeDataFromPeerTask extends AbstractPeerRequestTask<Map<Hash, B
 
   @Override
   protected ResponseStream sendRequest(final EthPeer peer) throws PeerNotConnected {
-    LOG.debug("Requesting {} node data entries from peer {}.", hashes.size(), peer);
-    return peer.getNodeData(hashes);
+    // Slower peers are asked for fewer entries, the remainder is requested again by the caller.
+    final int requestSize = peer.requestSize(EthPV63.GET_NODE_DATA, hashes.size());
+    final Collection<Hash> requestedHashes =
+        requestSize < hashes.size()
+            ? hashes.stream().limit(requestSize).collect(Collectors.toList())
+            : hashes;
+    LOG.debug("Requesting {} node data entries from peer {}.", requestedHashes.size(), peer);
+    return peer.getNodeData(requestedHashes);
   }
 
   @Override
@@ -46,6 +46,21 @@ public final class BlockBodiesMessage extends AbstractMessageData {
     return new BlockBodiesMessage(tmp.encoded());
   }
 
+  /**
+   * Creates a message from already RLP encoded block bodies, which are copied into the message as
+   * they are.
+   *
+   * @param encodedBodies the RLP encoded block bodies
+   * @return the message
+   */
+  public static BlockBodiesMessage createUnsafe(final Iterable<BytesValue> encodedBodies) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    encodedBodies.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new BlockBodiesMessage(tmp.encoded());
+  }
+
   private BlockBodiesMessage(final BytesValue data) {
     super(data);
   }
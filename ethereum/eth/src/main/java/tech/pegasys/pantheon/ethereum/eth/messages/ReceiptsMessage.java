@@ -50,6 +50,21 @@ public final class ReceiptsMessage extends AbstractMessageData {
     return new ReceiptsMessage(tmp.encoded());
   }
 
+  /**
+   * Creates a message from the already RLP encoded receipt lists of each block, which are copied
+   * into the message as they are.
+   *
+   * @param encodedReceipts the RLP encoded list of receipts of each block
+   * @return the message
+   */
+  public static ReceiptsMessage createUnsafe(final Iterable<BytesValue> encodedReceipts) {
+    final BytesValueRLPOutput tmp = new BytesValueRLPOutput();
+    tmp.startList();
+    encodedReceipts.forEach(tmp::writeRLPUnsafe);
+    tmp.endList();
+    return new ReceiptsMessage(tmp.encoded());
+  }
+
   private ReceiptsMessage(final BytesValue data) {
     super(data);
   }
@@ -66,6 +66,7 @@ public class BlockPropagationManager<C> {
   private final SyncState syncState;
   private final MetricsSystem metricsSystem;
   private final BlockBroadcaster blockBroadcaster;
+  private final StatePrefetcher<C> statePrefetcher;
 
   private final AtomicBoolean started = new AtomicBoolean(false);
 
@@ -88,6 +89,8 @@ public class BlockPropagationManager<C> {
     this.ethContext = ethContext;
     this.metricsSystem = metricsSystem;
     this.blockBroadcaster = blockBroadcaster;
+    this.statePrefetcher =
+        new StatePrefetcher<>(protocolSchedule, protocolContext, ethContext.getScheduler());
     this.syncState = syncState;
     this.pendingBlocks = pendingBlocks;
   }
@@ -303,6 +306,7 @@ public class BlockPropagationManager<C> {
       final BlockHeader parent) {
     if (blockHeaderValidator.validateHeader(
         block.getHeader(), parent, protocolContext, HeaderValidationMode.FULL)) {
+      statePrefetcher.prefetch(block);
       ethContext.getScheduler().scheduleSyncWorkerTask(() -> broadcastBlock(block, parent));
       return runImportTask(block);
     } else {
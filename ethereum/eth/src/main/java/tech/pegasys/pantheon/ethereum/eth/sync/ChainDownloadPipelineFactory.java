@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync;
+
+import static tech.pegasys.pantheon.services.pipeline.PipelineBuilder.createPipelineFrom;
+
+import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.metrics.Counter;
+import tech.pegasys.pantheon.metrics.LabelledMetric;
+import tech.pegasys.pantheon.metrics.MetricCategory;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.services.pipeline.Pipeline;
+
+import java.util.Iterator;
+
+/**
+ * Creates the pipeline that downloads and imports the blocks between checkpoint headers. Headers,
+ * bodies and transaction signatures for later ranges are processed while earlier ranges are being
+ * imported, with bounded buffers between each stage.
+ *
+ * @param <C> the consensus algorithm context.
+ * @param <B> the type of block imported.
+ */
+public class ChainDownloadPipelineFactory<C, B> {
+
+  private final SynchronizerConfiguration config;
+  private final DownloadHeadersStep<C> downloadHeadersStep;
+  private final CheckpointHeaderValidationStep<C> validateHeadersStep;
+  private final BlockHandler<B> blockHandler;
+  private final ImportBlocksStep<B> importBlocksStep;
+  private final LabelledMetric<Counter> outputCounter;
+
+  public ChainDownloadPipelineFactory(
+      final SynchronizerConfiguration config,
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> protocolContext,
+      final EthContext ethContext,
+      final BlockHandler<B> blockHandler,
+      final ValidationPolicy detachedValidationPolicy,
+      final MetricsSystem metricsSystem) {
+    this.config = config;
+    this.blockHandler = blockHandler;
+    this.downloadHeadersStep =
+        new DownloadHeadersStep<>(
+            protocolSchedule, protocolContext, ethContext, detachedValidationPolicy, metricsSystem);
+    this.validateHeadersStep =
+        new CheckpointHeaderValidationStep<>(
+            protocolSchedule, protocolContext, detachedValidationPolicy);
+    this.importBlocksStep = new ImportBlocksStep<>(blockHandler);
+    this.outputCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.SYNCHRONIZER,
+            "chain_download_pipeline_processed_total",
+            "Number of entries processed by each chain download pipeline stage",
+            "step",
+            "action");
+  }
+
+  public Pipeline<CheckpointRange> createDownloadPipeline(
+      final Iterator<CheckpointRange> checkpointRanges, final Runnable segmentImportedListener) {
+    final int parallelism = config.downloaderParallelism();
+    // Enough to keep each parallel stage busy without holding many segments in memory.
+    final int bufferSize = parallelism * 2;
+    return createPipelineFrom("checkpointRangeSource", checkpointRanges, bufferSize, outputCounter)
+        .thenProcessAsyncOrdered(
+            "downloadHeaders", downloadHeadersStep::downloadHeaders, parallelism)
+        .thenProcess("validateHeaders", validateHeadersStep::validateCheckpointHeaders)
+        .thenProcessAsyncOrdered("downloadBodies", blockHandler::downloadBlocks, parallelism)
+        .thenProcessAsyncOrdered(
+            "extractTransactionSignatures",
+            blocks -> blockHandler.executeParallelCalculations(blocks).thenApply(done -> blocks),
+            parallelism)
+        .thenProcess("importBlocks", importBlocksStep::importBlocks)
+        .andFinishWith("chainSegmentImported", blocks -> segmentImportedListener.run());
+  }
+}
@@ -25,15 +25,18 @@ import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncTarget;
 import tech.pegasys.pantheon.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
 import tech.pegasys.pantheon.ethereum.p2p.wire.messages.DisconnectMessage.DisconnectReason;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.services.pipeline.Pipeline;
 import tech.pegasys.pantheon.util.ExceptionUtils;
 
 import java.time.Duration;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.logging.log4j.LogManager;
@@ -47,7 +50,7 @@ public class ChainDownloader<C> {
   private final SyncState syncState;
   private final SyncTargetManager<C> syncTargetManager;
   private final CheckpointHeaderManager<C> checkpointHeaderManager;
-  private final BlockImportTaskFactory blockImportTaskFactory;
+  private final BlockImportPipelineFactory blockImportPipelineFactory;
   private final MetricsSystem metricsSystem;
   private final CompletableFuture<Void> downloadFuture = new CompletableFuture<>();
 
@@ -62,7 +65,7 @@ public class ChainDownloader<C> {
       final SyncState syncState,
       final SyncTargetManager<C> syncTargetManager,
       final CheckpointHeaderManager<C> checkpointHeaderManager,
-      final BlockImportTaskFactory blockImportTaskFactory,
+      final BlockImportPipelineFactory blockImportPipelineFactory,
       final MetricsSystem metricsSystem) {
     this.metricsSystem = metricsSystem;
     this.config = config;
@@ -71,7 +74,7 @@ public class ChainDownloader<C> {
     this.syncState = syncState;
     this.syncTargetManager = syncTargetManager;
     this.checkpointHeaderManager = checkpointHeaderManager;
-    this.blockImportTaskFactory = blockImportTaskFactory;
+    this.blockImportPipelineFactory = blockImportPipelineFactory;
   }
 
   public CompletableFuture<Void> start() {
@@ -97,8 +100,7 @@ public class ChainDownloader<C> {
     currentTask =
         waitForPeers()
             .thenCompose(r -> syncTargetManager.findSyncTarget())
-            .thenCompose(this::pullCheckpointHeaders)
-            .thenCompose(this::importBlocks)
+            .thenCompose(this::importBlocksFromSyncTarget)
             .thenCompose(r -> checkSyncTarget())
             .whenComplete(
                 (r, t) -> {
@@ -128,6 +130,11 @@ public class ChainDownloader<C> {
                 });
   }
 
+  private CompletableFuture<Void> importBlocksFromSyncTarget(final SyncTarget syncTarget) {
+    return pullCheckpointHeaders(syncTarget)
+        .thenCompose(checkpointHeaders -> importBlocks(syncTarget, checkpointHeaders));
+  }
+
   private CompletableFuture<List<BlockHeader>> pullCheckpointHeaders(final SyncTarget syncTarget) {
     return syncTargetManager.isSyncTargetDisconnected()
         ? CompletableFuture.completedFuture(emptyList())
@@ -185,63 +192,118 @@ public class ChainDownloader<C> {
     syncState.clearSyncTarget();
   }
 
-  private CompletableFuture<List<Block>> importBlocks(final List<BlockHeader> checkpointHeaders) {
+  private CompletableFuture<Void> importBlocks(
+      final SyncTarget syncTarget, final List<BlockHeader> checkpointHeaders) {
     if (checkpointHeaders.isEmpty()) {
       // No checkpoints to download
-      return CompletableFuture.completedFuture(emptyList());
+      return CompletableFuture.completedFuture(null);
+    }
+
+    if (checkpointHeaders.size() < 2) {
+      // There is no later checkpoint to download a complete chain segment up to
+      return handleImportResult(
+          blockImportPipelineFactory
+              .importBlocksAfterCheckpoint(checkpointHeaders.get(0))
+              .thenApply(importedBlocks -> !importedBlocks.isEmpty()));
     }
 
-    final CompletableFuture<List<Block>> importedBlocks =
-        blockImportTaskFactory.importBlocksForCheckpoints(checkpointHeaders);
-
-    return importedBlocks.whenComplete(
-        (r, t) -> {
-          t = ExceptionUtils.rootCause(t);
-          if (t instanceof InvalidBlockException) {
-            // Blocks were invalid, meaning our checkpoints are wrong
-            // Reset sync target
-            final Optional<SyncTarget> maybeSyncTarget = syncState.syncTarget();
-            maybeSyncTarget.ifPresent(
-                target -> target.peer().disconnect(DisconnectReason.BREACH_OF_PROTOCOL));
-            final String peerDescriptor =
-                maybeSyncTarget
-                    .map(SyncTarget::peer)
-                    .map(EthPeer::toString)
-                    .orElse("(unknown - already disconnected)");
-            LOG.warn(
-                "Invalid block discovered while downloading from peer {}.  Disconnect.",
-                peerDescriptor);
-            clearSyncTarget();
-          } else if (t != null || r.isEmpty()) {
-            if (t != null) {
-              final Throwable rootCause = ExceptionUtils.rootCause(t);
-              if (rootCause instanceof EthTaskException) {
-                LOG.debug(rootCause.toString());
-              } else if (rootCause instanceof InterruptedException) {
-                LOG.trace("Interrupted while importing blocks", rootCause);
+    final AtomicInteger importedSegments = new AtomicInteger();
+    final CheckpointRangeSource checkpointRanges =
+        new CheckpointRangeSource(
+            checkpointHeaderManager,
+            syncTarget,
+            checkpointHeaders,
+            () -> shouldContinueDownloadingFrom(syncTarget));
+    final Pipeline<CheckpointRange> pipeline =
+        blockImportPipelineFactory.createImportPipeline(
+            checkpointRanges,
+            () -> {
+              checkpointHeaderManager.clearImportedCheckpointHeaders();
+              importedSegments.incrementAndGet();
+            });
+    return handleImportResult(
+        ethContext
+            .getScheduler()
+            .startPipeline(pipeline)
+            .thenApply(result -> importedSegments.get() > 0));
+  }
+
+  private boolean shouldContinueDownloadingFrom(final SyncTarget syncTarget) {
+    return !syncTargetManager.isSyncTargetDisconnected()
+        && !syncTargetManager.shouldSwitchSyncTarget(syncTarget);
+  }
+
+  private CompletableFuture<Void> handleImportResult(
+      final CompletableFuture<Boolean> importedAnyBlocks) {
+    return importedAnyBlocks
+        .whenComplete(
+            (r, t) -> {
+              t = ExceptionUtils.rootCause(t);
+              if (t instanceof InvalidBlockException) {
+                // Blocks were invalid, meaning our checkpoints are wrong
+                // Reset sync target
+                final Optional<SyncTarget> maybeSyncTarget = syncState.syncTarget();
+                maybeSyncTarget.ifPresent(
+                    target -> target.peer().disconnect(DisconnectReason.BREACH_OF_PROTOCOL));
+                final String peerDescriptor =
+                    maybeSyncTarget
+                        .map(SyncTarget::peer)
+                        .map(EthPeer::toString)
+                        .orElse("(unknown - already disconnected)");
+                LOG.warn(
+                    "Invalid block discovered while downloading from peer {}.  Disconnect.",
+                    peerDescriptor);
+                clearSyncTarget();
+              } else if (t != null || !r) {
+                if (t != null) {
+                  final Throwable rootCause = ExceptionUtils.rootCause(t);
+                  if (rootCause instanceof EthTaskException) {
+                    LOG.debug(rootCause.toString());
+                  } else if (rootCause instanceof InterruptedException) {
+                    LOG.trace("Interrupted while importing blocks", rootCause);
+                  } else {
+                    LOG.error("Encountered error importing blocks", t);
+                  }
+                }
+                if (checkpointHeaderManager.clearImportedCheckpointHeaders()) {
+                  chainSegmentTimeouts = 0;
+                }
+                if (t instanceof TimeoutException || r != null) {
+                  // Download timed out, or returned no new blocks
+                  chainSegmentTimeouts++;
+                }
               } else {
-                LOG.error("Encountered error importing blocks", t);
+                chainSegmentTimeouts = 0;
+
+                final BlockHeader lastImportedCheckpoint =
+                    checkpointHeaderManager.allCheckpointsImported();
+                syncState.setCommonAncestor(lastImportedCheckpoint);
               }
-            }
-            if (checkpointHeaderManager.clearImportedCheckpointHeaders()) {
-              chainSegmentTimeouts = 0;
-            }
-            if (t instanceof TimeoutException || r != null) {
-              // Download timed out, or returned no new blocks
-              chainSegmentTimeouts++;
-            }
-          } else {
-            chainSegmentTimeouts = 0;
-
-            final BlockHeader lastImportedCheckpoint =
-                checkpointHeaderManager.allCheckpointsImported();
-            syncState.setCommonAncestor(lastImportedCheckpoint);
-          }
-        });
-  }
-
-  public interface BlockImportTaskFactory {
-    CompletableFuture<List<Block>> importBlocksForCheckpoints(
-        final List<BlockHeader> checkpointHeaders);
+            })
+        .thenApply(r -> null);
+  }
+
+  /** Creates the processes that import the blocks following the checkpoint headers. */
+  public interface BlockImportPipelineFactory {
+
+    /**
+     * Creates a pipeline that downloads and imports the blocks in each of the supplied checkpoint
+     * ranges, in order.
+     *
+     * @param checkpointRanges the source of checkpoint ranges to import.
+     * @param segmentImportedListener called each time a checkpoint range has been imported.
+     * @return the pipeline, ready to be started.
+     */
+    Pipeline<CheckpointRange> createImportPipeline(
+        Iterator<CheckpointRange> checkpointRanges, Runnable segmentImportedListener);
+
+    /**
+     * Imports the blocks that follow the last known checkpoint header when there is no later
+     * checkpoint to download a complete chain segment up to.
+     *
+     * @param checkpointHeader the last checkpoint header, which has already been imported.
+     * @return the imported blocks.
+     */
+    CompletableFuture<List<Block>> importBlocksAfterCheckpoint(BlockHeader checkpointHeader);
   }
 }
@@ -71,21 +71,28 @@ public class CheckpointHeaderManager<C> {
       return CompletableFuture.completedFuture(getCheckpointsAwaitingImport());
     }
 
-    final BlockHeader lastHeader =
-        checkpointHeaders.size() > 0 ? checkpointHeaders.getLast() : syncTarget.commonAncestor();
+    final BlockHeader lastHeader = getLastCheckpointHeader(syncTarget);
     // Try to pull more checkpoint headers
     return getAdditionalCheckpointHeaders(syncTarget, lastHeader)
         .thenApply(
             additionalCheckpoints -> {
-              if (!additionalCheckpoints.isEmpty()) {
-                checkpointTimeouts = 0;
-                checkpointHeaders.addAll(additionalCheckpoints);
-                LOG.debug("Tracking {} checkpoint headers", checkpointHeaders.size());
-              }
+              addCheckpointHeaders(additionalCheckpoints);
               return getCheckpointsAwaitingImport();
             });
   }
 
+  private synchronized BlockHeader getLastCheckpointHeader(final SyncTarget syncTarget) {
+    return checkpointHeaders.size() > 0 ? checkpointHeaders.getLast() : syncTarget.commonAncestor();
+  }
+
+  private synchronized void addCheckpointHeaders(final List<BlockHeader> additionalCheckpoints) {
+    if (!additionalCheckpoints.isEmpty()) {
+      checkpointTimeouts = 0;
+      checkpointHeaders.addAll(additionalCheckpoints);
+      LOG.debug("Tracking {} checkpoint headers", checkpointHeaders.size());
+    }
+  }
+
   protected CompletableFuture<List<BlockHeader>> getAdditionalCheckpointHeaders(
       final SyncTarget syncTarget, final BlockHeader lastHeader) {
     return requestAdditionalCheckpointHeaders(lastHeader, syncTarget)
@@ -152,12 +159,18 @@ public class CheckpointHeaderManager<C> {
         && checkpointTimeouts >= config.downloaderCheckpointTimeoutsPermitted();
   }
 
-  public void clearSyncTarget() {
+  public synchronized void clearSyncTarget() {
     checkpointTimeouts = 0;
     checkpointHeaders.clear();
   }
 
-  public boolean clearImportedCheckpointHeaders() {
+  /**
+   * Removes the checkpoint headers that have been imported, keeping the last imported checkpoint as
+   * the start of the next chain segment. May be called while checkpoint headers are being pulled.
+   *
+   * @return true if any checkpoint after the first was imported.
+   */
+  public synchronized boolean clearImportedCheckpointHeaders() {
     final Blockchain blockchain = protocolContext.getBlockchain();
     // Update checkpoint headers to reflect if any checkpoints were imported.
     final List<BlockHeader> imported = new ArrayList<>();
@@ -165,6 +178,9 @@ public class CheckpointHeaderManager<C> {
         && blockchain.contains(checkpointHeaders.peekFirst().getHash())) {
       imported.add(checkpointHeaders.removeFirst());
     }
+    if (imported.isEmpty()) {
+      return false;
+    }
     final BlockHeader lastImportedCheckpointHeader = imported.get(imported.size() - 1);
     // The first checkpoint header is always present in the blockchain.
     checkpointHeaders.addFirst(lastImportedCheckpointHeader);
@@ -172,13 +188,13 @@ public class CheckpointHeaderManager<C> {
     return imported.size() > 1;
   }
 
-  public BlockHeader allCheckpointsImported() {
+  public synchronized BlockHeader allCheckpointsImported() {
     final BlockHeader lastImportedCheckpoint = checkpointHeaders.getLast();
     checkpointHeaders.clear();
     return lastImportedCheckpoint;
   }
 
-  private List<BlockHeader> getCheckpointsAwaitingImport() {
+  private synchronized List<BlockHeader> getCheckpointsAwaitingImport() {
     return Lists.newArrayList(checkpointHeaders);
   }
 }
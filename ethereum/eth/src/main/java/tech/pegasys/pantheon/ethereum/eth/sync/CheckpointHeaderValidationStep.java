@@ -0,0 +1,73 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync;
+
+import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import tech.pegasys.pantheon.ethereum.mainnet.BlockHeaderValidator;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class CheckpointHeaderValidationStep<C> {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ProtocolSchedule<C> protocolSchedule;
+  private final ProtocolContext<C> protocolContext;
+  private final ValidationPolicy validationPolicy;
+
+  public CheckpointHeaderValidationStep(
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> protocolContext,
+      final ValidationPolicy validationPolicy) {
+    this.protocolSchedule = protocolSchedule;
+    this.protocolContext = protocolContext;
+    this.validationPolicy = validationPolicy;
+  }
+
+  /**
+   * Checks that the downloaded headers connect to the checkpoint header the range starts from. The
+   * rest of the range was already validated against the end checkpoint when downloaded.
+   *
+   * @param headers the headers of a checkpoint range, starting with the start checkpoint.
+   * @return the headers to import, excluding the start checkpoint which belongs to the previous
+   *     range.
+   * @throws InvalidBlockException if the headers do not connect to the start checkpoint.
+   */
+  public List<BlockHeader> validateCheckpointHeaders(final List<BlockHeader> headers) {
+    final BlockHeader parentHeader = headers.get(0);
+    final BlockHeader childHeader = headers.get(1);
+    final BlockHeaderValidator<C> blockHeaderValidator =
+        protocolSchedule.getByBlockNumber(childHeader.getNumber()).getBlockHeaderValidator();
+    if (!blockHeaderValidator.validateHeader(
+        childHeader,
+        parentHeader,
+        protocolContext,
+        validationPolicy.getValidationModeForNextBlock())) {
+      LOG.debug(
+          "Could not validate headers {} to {}",
+          parentHeader.getNumber(),
+          headers.get(headers.size() - 1).getNumber());
+      throw new InvalidBlockException(
+          "Provided first header does not connect to last header.",
+          parentHeader.getNumber(),
+          parentHeader.getHash());
+    }
+    return new ArrayList<>(headers.subList(1, headers.size()));
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync;
+
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncTarget;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Supplies the ranges between consecutive checkpoint headers for a sync target. Additional
+ * checkpoint headers are pulled from the {@link CheckpointHeaderManager} as the earlier ranges are
+ * consumed, so the download pipeline never has to drain between batches of checkpoints. Iteration
+ * ends when no new checkpoints are returned or when downloading from the target should stop.
+ */
+public class CheckpointRangeSource implements Iterator<CheckpointRange> {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final CheckpointHeaderManager<?> checkpointHeaderManager;
+  private final SyncTarget syncTarget;
+  private final BooleanSupplier shouldContinueDownloading;
+  private final Queue<CheckpointRange> retrievedRanges = new ArrayDeque<>();
+  private BlockHeader lastRangeEnd;
+  private boolean reachedEndOfCheckpoints = false;
+
+  public CheckpointRangeSource(
+      final CheckpointHeaderManager<?> checkpointHeaderManager,
+      final SyncTarget syncTarget,
+      final List<BlockHeader> initialCheckpoints,
+      final BooleanSupplier shouldContinueDownloading) {
+    this.checkpointHeaderManager = checkpointHeaderManager;
+    this.syncTarget = syncTarget;
+    this.shouldContinueDownloading = shouldContinueDownloading;
+    this.lastRangeEnd = initialCheckpoints.get(0);
+    addRanges(initialCheckpoints);
+  }
+
+  @Override
+  public boolean hasNext() {
+    return !retrievedRanges.isEmpty() || !reachedEndOfCheckpoints;
+  }
+
+  /**
+   * Returns the next checkpoint range, retrieving more checkpoint headers if required.
+   *
+   * @return the next range or null if no further range could be retrieved.
+   */
+  @Override
+  public CheckpointRange next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException("No more checkpoint ranges available");
+    }
+    if (retrievedRanges.isEmpty()) {
+      retrieveMoreCheckpoints();
+    }
+    return retrievedRanges.poll();
+  }
+
+  private void retrieveMoreCheckpoints() {
+    if (!shouldContinueDownloading.getAsBoolean()) {
+      reachedEndOfCheckpoints = true;
+      return;
+    }
+    try {
+      final List<BlockHeader> checkpoints =
+          checkpointHeaderManager.pullCheckpointHeaders(syncTarget).get();
+      if (!addRanges(checkpoints)) {
+        LOG.debug("No new checkpoint headers after block {}", lastRangeEnd.getNumber());
+        reachedEndOfCheckpoints = true;
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      reachedEndOfCheckpoints = true;
+    } catch (final ExecutionException e) {
+      LOG.debug("Failed to retrieve checkpoint headers", e);
+      reachedEndOfCheckpoints = true;
+    }
+  }
+
+  private boolean addRanges(final List<BlockHeader> checkpoints) {
+    boolean addedRange = false;
+    for (final BlockHeader checkpoint : checkpoints) {
+      if (checkpoint.getNumber() > lastRangeEnd.getNumber()) {
+        retrievedRanges.add(new CheckpointRange(lastRangeEnd, checkpoint));
+        lastRangeEnd = checkpoint;
+        addedRange = true;
+      }
+    }
+    return addedRange;
+  }
+}
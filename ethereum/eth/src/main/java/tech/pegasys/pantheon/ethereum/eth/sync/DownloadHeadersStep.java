@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync;
+
+import static java.util.Collections.emptyList;
+
+import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
+import tech.pegasys.pantheon.ethereum.eth.sync.tasks.DownloadHeaderSequenceTask;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.metrics.MetricsSystem;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class DownloadHeadersStep<C> {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final ProtocolSchedule<C> protocolSchedule;
+  private final ProtocolContext<C> protocolContext;
+  private final EthContext ethContext;
+  private final ValidationPolicy validationPolicy;
+  private final MetricsSystem metricsSystem;
+
+  public DownloadHeadersStep(
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> protocolContext,
+      final EthContext ethContext,
+      final ValidationPolicy validationPolicy,
+      final MetricsSystem metricsSystem) {
+    this.protocolSchedule = protocolSchedule;
+    this.protocolContext = protocolContext;
+    this.ethContext = ethContext;
+    this.validationPolicy = validationPolicy;
+    this.metricsSystem = metricsSystem;
+  }
+
+  /**
+   * Downloads the headers between the start and end of the range.
+   *
+   * @param checkpointRange the range to download headers for.
+   * @return the headers of the range, including both the start and end checkpoint headers.
+   */
+  public CompletableFuture<List<BlockHeader>> downloadHeaders(
+      final CheckpointRange checkpointRange) {
+    final int headersToDownload = checkpointRange.getSegmentLength() - 1;
+    LOG.trace(
+        "Requesting download of {} blocks ending at {}",
+        headersToDownload,
+        checkpointRange.getEnd().getHash());
+    final CompletableFuture<List<BlockHeader>> headersFuture =
+        headersToDownload > 0
+            ? DownloadHeaderSequenceTask.endingAtHeader(
+                    protocolSchedule,
+                    protocolContext,
+                    ethContext,
+                    checkpointRange.getEnd(),
+                    headersToDownload,
+                    validationPolicy,
+                    metricsSystem)
+                .run()
+            : CompletableFuture.completedFuture(emptyList());
+    return headersFuture.thenApply(
+        headers -> {
+          final List<BlockHeader> rangeHeaders = new ArrayList<>(headers.size() + 2);
+          rangeHeaders.add(checkpointRange.getStart());
+          rangeHeaders.addAll(headers);
+          rangeHeaders.add(checkpointRange.getEnd());
+          LOG.debug(
+              "Downloaded headers {} to {}",
+              checkpointRange.getStart().getNumber() + 1,
+              checkpointRange.getEnd().getNumber());
+          return rangeHeaders;
+        });
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync;
+
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class ImportBlocksStep<B> {
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final BlockHandler<B> blockHandler;
+
+  public ImportBlocksStep(final BlockHandler<B> blockHandler) {
+    this.blockHandler = blockHandler;
+  }
+
+  /**
+   * Validates and imports a chain segment, blocking until the import completes.
+   *
+   * @param blocks the blocks to import, in order.
+   * @return the imported blocks.
+   */
+  public List<B> importBlocks(final List<B> blocks) {
+    final long firstBlock = blockHandler.extractBlockNumber(blocks.get(0));
+    final long lastBlock = blockHandler.extractBlockNumber(blocks.get(blocks.size() - 1));
+    LOG.debug("Starting import of chain segment {} to {}", firstBlock, lastBlock);
+    final List<B> importedBlocks = blockHandler.validateAndImportBlocks(blocks).join();
+    LOG.info("Completed importing chain segment {} to {}", firstBlock, lastBlock);
+    return importedBlocks;
+  }
+}
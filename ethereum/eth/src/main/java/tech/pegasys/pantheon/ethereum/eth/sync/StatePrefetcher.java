@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync;
+
+import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
+import tech.pegasys.pantheon.ethereum.mainnet.SpeculativeTransactionExecutor;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Pulls the state accessed by a block into the world state caches before the block is imported, so
+ * that its execution rarely has to wait for the database.
+ *
+ * <p>The transactions of the block are executed on the prefetch workers against the state of its
+ * parent and their updates are discarded. Blocks whose parent state isn't available are skipped, as
+ * any other state would not be the one they read.
+ */
+public class StatePrefetcher<C> {
+
+  private final ProtocolSchedule<C> protocolSchedule;
+  private final ProtocolContext<C> protocolContext;
+  private final EthScheduler ethScheduler;
+
+  public StatePrefetcher(
+      final ProtocolSchedule<C> protocolSchedule,
+      final ProtocolContext<C> protocolContext,
+      final EthScheduler ethScheduler) {
+    this.protocolSchedule = protocolSchedule;
+    this.protocolContext = protocolContext;
+    this.ethScheduler = ethScheduler;
+  }
+
+  public void prefetch(final Block block) {
+    final Blockchain blockchain = protocolContext.getBlockchain();
+    final BlockHeader header = block.getHeader();
+    final List<Transaction> transactions = block.getBody().getTransactions();
+    if (transactions.isEmpty() || blockchain.contains(block.getHash())) {
+      return;
+    }
+    final Optional<MutableWorldState> maybeWorldState = getWorldState(blockchain, header);
+    if (!maybeWorldState.isPresent()) {
+      return;
+    }
+
+    final MutableWorldState worldState = maybeWorldState.get();
+    final ProtocolSpec<C> protocolSpec = protocolSchedule.getByBlockNumber(header.getNumber());
+    final TransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
+    final Address miningBeneficiary =
+        protocolSpec.getMiningBeneficiaryCalculator().calculateBeneficiary(header);
+    for (final Transaction transaction : transactions) {
+      ethScheduler.schedulePrefetchTask(
+          () -> {
+            // The block may have been imported while the prefetch was waiting for a worker.
+            if (blockchain.contains(block.getHash())) {
+              return;
+            }
+            SpeculativeTransactionExecutor.prefetch(
+                blockchain,
+                worldState,
+                header,
+                transaction,
+                miningBeneficiary,
+                transactionProcessor);
+          });
+    }
+  }
+
+  private Optional<MutableWorldState> getWorldState(
+      final Blockchain blockchain, final BlockHeader header) {
+    final WorldStateArchive worldStateArchive = protocolContext.getWorldStateArchive();
+    return blockchain
+        .getBlockHeader(header.getParentHash())
+        .flatMap(parent -> worldStateArchive.getMutable(parent.getStateRoot()));
+  }
+}
@@ -18,29 +18,27 @@ import tech.pegasys.pantheon.ethereum.ProtocolContext;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
+import tech.pegasys.pantheon.ethereum.eth.sync.ChainDownloadPipelineFactory;
 import tech.pegasys.pantheon.ethereum.eth.sync.ChainDownloader;
+import tech.pegasys.pantheon.ethereum.eth.sync.ChainDownloader.BlockImportPipelineFactory;
+import tech.pegasys.pantheon.ethereum.eth.sync.CheckpointRange;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
 import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncState;
-import tech.pegasys.pantheon.ethereum.eth.sync.tasks.ParallelImportChainSegmentTask;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.metrics.Counter;
 import tech.pegasys.pantheon.metrics.LabelledMetric;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.services.pipeline.Pipeline;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
 
-public class FastSyncChainDownloader<C> {
+public class FastSyncChainDownloader<C> implements BlockImportPipelineFactory {
   private final ChainDownloader<C> chainDownloader;
-  private final SynchronizerConfiguration config;
-  private final ProtocolSchedule<C> protocolSchedule;
-  private final ProtocolContext<C> protocolContext;
-  private final EthContext ethContext;
-  private final MetricsSystem metricsSystem;
-  private final LabelledMetric<Counter> fastSyncValidationCounter;
+  private final ChainDownloadPipelineFactory<C, BlockWithReceipts> pipelineFactory;
 
   FastSyncChainDownloader(
       final SynchronizerConfiguration config,
@@ -50,11 +48,38 @@ public class FastSyncChainDownloader<C> {
       final SyncState syncState,
       final MetricsSystem metricsSystem,
       final BlockHeader pivotBlockHeader) {
-    this.config = config;
-    this.protocolSchedule = protocolSchedule;
-    this.protocolContext = protocolContext;
-    this.ethContext = ethContext;
-    this.metricsSystem = metricsSystem;
+    final LabelledMetric<Counter> fastSyncValidationCounter =
+        metricsSystem.createLabelledCounter(
+            MetricCategory.SYNCHRONIZER,
+            "fast_sync_validation_mode",
+            "Number of blocks validated using light vs full validation during fast sync",
+            "validationMode");
+    final FastSyncValidationPolicy attachedValidationPolicy =
+        new FastSyncValidationPolicy(
+            config.fastSyncFullValidationRate(),
+            HeaderValidationMode.LIGHT_SKIP_DETACHED,
+            HeaderValidationMode.SKIP_DETACHED,
+            fastSyncValidationCounter);
+    final FastSyncValidationPolicy detachedValidationPolicy =
+        new FastSyncValidationPolicy(
+            config.fastSyncFullValidationRate(),
+            HeaderValidationMode.LIGHT_DETACHED_ONLY,
+            HeaderValidationMode.DETACHED_ONLY,
+            fastSyncValidationCounter);
+    this.pipelineFactory =
+        new ChainDownloadPipelineFactory<>(
+            config,
+            protocolSchedule,
+            protocolContext,
+            ethContext,
+            new FastSyncBlockHandler<>(
+                protocolSchedule,
+                protocolContext,
+                ethContext,
+                metricsSystem,
+                attachedValidationPolicy),
+            detachedValidationPolicy,
+            metricsSystem);
 
     chainDownloader =
         new ChainDownloader<>(
@@ -77,57 +102,24 @@ public class FastSyncChainDownloader<C> {
                 protocolSchedule,
                 metricsSystem,
                 pivotBlockHeader),
-            this::importBlocksForCheckpoints,
+            this,
             metricsSystem);
-    this.fastSyncValidationCounter =
-        metricsSystem.createLabelledCounter(
-            MetricCategory.SYNCHRONIZER,
-            "fast_sync_validation_mode",
-            "Number of blocks validated using light vs full validation during fast sync",
-            "validationMode");
   }
 
   public CompletableFuture<Void> start() {
     return chainDownloader.start();
   }
 
-  private CompletableFuture<List<Block>> importBlocksForCheckpoints(
-      final List<BlockHeader> checkpointHeaders) {
-    if (checkpointHeaders.size() < 2) {
-      return CompletableFuture.completedFuture(emptyList());
-    }
-    final FastSyncValidationPolicy attachedValidationPolicy =
-        new FastSyncValidationPolicy(
-            config.fastSyncFullValidationRate(),
-            HeaderValidationMode.LIGHT_SKIP_DETACHED,
-            HeaderValidationMode.SKIP_DETACHED,
-            fastSyncValidationCounter);
-    final FastSyncValidationPolicy detatchedValidationPolicy =
-        new FastSyncValidationPolicy(
-            config.fastSyncFullValidationRate(),
-            HeaderValidationMode.LIGHT_DETACHED_ONLY,
-            HeaderValidationMode.DETACHED_ONLY,
-            fastSyncValidationCounter);
+  @Override
+  public Pipeline<CheckpointRange> createImportPipeline(
+      final Iterator<CheckpointRange> checkpointRanges, final Runnable segmentImportedListener) {
+    return pipelineFactory.createDownloadPipeline(checkpointRanges, segmentImportedListener);
+  }
 
-    final ParallelImportChainSegmentTask<C, BlockWithReceipts> importTask =
-        ParallelImportChainSegmentTask.forCheckpoints(
-            protocolSchedule,
-            protocolContext,
-            ethContext,
-            config.downloaderParallelism(),
-            new FastSyncBlockHandler<>(
-                protocolSchedule,
-                protocolContext,
-                ethContext,
-                metricsSystem,
-                attachedValidationPolicy),
-            detatchedValidationPolicy,
-            checkpointHeaders,
-            metricsSystem);
-    return importTask
-        .run()
-        .thenApply(
-            results ->
-                results.stream().map(BlockWithReceipts::getBlock).collect(Collectors.toList()));
+  @Override
+  public CompletableFuture<List<Block>> importBlocksAfterCheckpoint(
+      final BlockHeader checkpointHeader) {
+    // The pivot block is always the last checkpoint so there are never blocks after it to import.
+    return CompletableFuture.completedFuture(emptyList());
   }
 }
@@ -13,12 +13,14 @@
 package tech.pegasys.pantheon.ethereum.eth.sync.fullsync;
 
 import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
 import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
-import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
 import tech.pegasys.pantheon.ethereum.eth.sync.BlockHandler;
+import tech.pegasys.pantheon.ethereum.eth.sync.StatePrefetcher;
 import tech.pegasys.pantheon.ethereum.eth.sync.tasks.CompleteBlocksTask;
 import tech.pegasys.pantheon.ethereum.eth.sync.tasks.PersistBlockTask;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
@@ -26,7 +28,9 @@ import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 import org.apache.logging.log4j.LogManager;
@@ -39,6 +43,7 @@ public class FullSyncBlockHandler<C> implements BlockHandler<Block> {
   private final ProtocolContext<C> protocolContext;
   private final EthContext ethContext;
   private final MetricsSystem metricsSystem;
+  private final StatePrefetcher<C> statePrefetcher;
 
   public FullSyncBlockHandler(
       final ProtocolSchedule<C> protocolSchedule,
@@ -49,6 +54,8 @@ public class FullSyncBlockHandler<C> implements BlockHandler<Block> {
     this.protocolContext = protocolContext;
     this.ethContext = ethContext;
     this.metricsSystem = metricsSystem;
+    this.statePrefetcher =
+        new StatePrefetcher<>(protocolSchedule, protocolContext, ethContext.getScheduler());
   }
 
   @Override
@@ -57,13 +64,29 @@ public class FullSyncBlockHandler<C> implements BlockHandler<Block> {
         "Validating and importing {} to {}",
         blocks.get(0).getHeader().getNumber(),
         blocks.get(blocks.size() - 1).getHeader().getNumber());
+    final Blockchain blockchain = protocolContext.getBlockchain();
+    // Blocks are downloaded ahead of the import, so the state a block reads is only available
+    // once its parent is imported. Prefetch each block as soon as that happens, while the blocks
+    // before it are still being imported.
+    final Map<Hash, Block> blocksByParentHash = new HashMap<>();
+    blocks.forEach(block -> blocksByParentHash.put(block.getHeader().getParentHash(), block));
+    final long observerId =
+        blockchain.observeBlockAdded(
+            (event, chain) -> {
+              final Block child = blocksByParentHash.get(event.getBlock().getHash());
+              if (child != null) {
+                statePrefetcher.prefetch(child);
+              }
+            });
+    statePrefetcher.prefetch(blocks.get(0));
     return PersistBlockTask.forSequentialBlocks(
             protocolSchedule,
             protocolContext,
             blocks,
             HeaderValidationMode.SKIP_DETACHED,
             metricsSystem)
-        .get();
+        .get()
+        .whenComplete((result, error) -> blockchain.removeObserver(observerId));
   }
 
   @Override
@@ -79,13 +102,10 @@ public class FullSyncBlockHandler<C> implements BlockHandler<Block> {
 
   @Override
   public CompletableFuture<Void> executeParallelCalculations(final List<Block> blocks) {
-    final EthScheduler ethScheduler = ethContext.getScheduler();
-    final List<CompletableFuture<?>> calculations = new ArrayList<>();
+    final List<Transaction> transactions = new ArrayList<>();
     for (final Block block : blocks) {
-      for (final Transaction tx : block.getBody().getTransactions()) {
-        calculations.add(ethScheduler.scheduleComputationTask(tx::getSender));
-      }
+      transactions.addAll(block.getBody().getTransactions());
     }
-    return CompletableFuture.allOf(calculations.toArray(new CompletableFuture<?>[0]));
+    return ethContext.getScheduler().recoverTransactionSenders(transactions);
   }
 }
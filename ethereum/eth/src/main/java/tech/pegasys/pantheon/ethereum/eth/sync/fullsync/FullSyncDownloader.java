@@ -17,24 +17,29 @@ import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
 import tech.pegasys.pantheon.ethereum.eth.manager.task.AbstractPeerTask.PeerTaskResult;
+import tech.pegasys.pantheon.ethereum.eth.sync.ChainDownloadPipelineFactory;
 import tech.pegasys.pantheon.ethereum.eth.sync.ChainDownloader;
+import tech.pegasys.pantheon.ethereum.eth.sync.ChainDownloader.BlockImportPipelineFactory;
 import tech.pegasys.pantheon.ethereum.eth.sync.CheckpointHeaderManager;
+import tech.pegasys.pantheon.ethereum.eth.sync.CheckpointRange;
 import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
 import tech.pegasys.pantheon.ethereum.eth.sync.TrailingPeerRequirements;
 import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncState;
 import tech.pegasys.pantheon.ethereum.eth.sync.tasks.ImportBlocksTask;
-import tech.pegasys.pantheon.ethereum.eth.sync.tasks.ParallelImportChainSegmentTask;
 import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.services.pipeline.Pipeline;
 
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
 import com.google.common.annotations.VisibleForTesting;
 
-public class FullSyncDownloader<C> {
+public class FullSyncDownloader<C> implements BlockImportPipelineFactory {
   private final ChainDownloader<C> chainDownloader;
+  private final ChainDownloadPipelineFactory<C, Block> pipelineFactory;
   private final SynchronizerConfiguration config;
   private final ProtocolSchedule<C> protocolSchedule;
   private final ProtocolContext<C> protocolContext;
@@ -55,6 +60,16 @@ public class FullSyncDownloader<C> {
     this.ethContext = ethContext;
     this.syncState = syncState;
     this.metricsSystem = metricsSystem;
+    this.pipelineFactory =
+        new ChainDownloadPipelineFactory<>(
+            config,
+            protocolSchedule,
+            protocolContext,
+            ethContext,
+            new FullSyncBlockHandler<>(
+                protocolSchedule, protocolContext, ethContext, metricsSystem),
+            () -> HeaderValidationMode.DETACHED_ONLY,
+            metricsSystem);
     chainDownloader =
         new ChainDownloader<>(
             config,
@@ -64,7 +79,7 @@ public class FullSyncDownloader<C> {
                 config, protocolSchedule, protocolContext, ethContext, syncState, metricsSystem),
             new CheckpointHeaderManager<>(
                 config, protocolContext, ethContext, syncState, protocolSchedule, metricsSystem),
-            this::importBlocksForCheckpoints,
+            this,
             metricsSystem);
   }
 
@@ -77,35 +92,25 @@ public class FullSyncDownloader<C> {
     return chainDownloader.getCurrentTask();
   }
 
-  private CompletableFuture<List<Block>> importBlocksForCheckpoints(
-      final List<BlockHeader> checkpointHeaders) {
-    final CompletableFuture<List<Block>> importedBlocks;
-    if (checkpointHeaders.size() < 2) {
-      // Download blocks without constraining the end block
-      final ImportBlocksTask<C> importTask =
-          ImportBlocksTask.fromHeader(
-              protocolSchedule,
-              protocolContext,
-              ethContext,
-              checkpointHeaders.get(0),
-              config.downloaderChainSegmentSize(),
-              metricsSystem);
-      importedBlocks = importTask.run().thenApply(PeerTaskResult::getResult);
-    } else {
-      final ParallelImportChainSegmentTask<C, Block> importTask =
-          ParallelImportChainSegmentTask.forCheckpoints(
-              protocolSchedule,
-              protocolContext,
-              ethContext,
-              config.downloaderParallelism(),
-              new FullSyncBlockHandler<>(
-                  protocolSchedule, protocolContext, ethContext, metricsSystem),
-              () -> HeaderValidationMode.DETACHED_ONLY,
-              checkpointHeaders,
-              metricsSystem);
-      importedBlocks = importTask.run();
-    }
-    return importedBlocks;
+  @Override
+  public Pipeline<CheckpointRange> createImportPipeline(
+      final Iterator<CheckpointRange> checkpointRanges, final Runnable segmentImportedListener) {
+    return pipelineFactory.createDownloadPipeline(checkpointRanges, segmentImportedListener);
+  }
+
+  @Override
+  public CompletableFuture<List<Block>> importBlocksAfterCheckpoint(
+      final BlockHeader checkpointHeader) {
+    // Download blocks without constraining the end block
+    final ImportBlocksTask<C> importTask =
+        ImportBlocksTask.fromHeader(
+            protocolSchedule,
+            protocolContext,
+            ethContext,
+            checkpointHeader,
+            config.downloaderChainSegmentSize(),
+            metricsSystem);
+    return importTask.run().thenApply(PeerTaskResult::getResult);
   }
 
   public TrailingPeerRequirements calculateTrailingPeerRequirements() {
@@ -18,9 +18,13 @@ import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.services.pipeline.Pipe;
 import tech.pegasys.pantheon.services.tasks.Task;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 public class LoadLocalDataStep {
@@ -39,16 +43,23 @@ public class LoadLocalDataStep {
   }
 
   public Stream<Task<NodeDataRequest>> loadLocalData(
-      final Task<NodeDataRequest> task, final Pipe<Task<NodeDataRequest>> completedTasks) {
-    final NodeDataRequest request = task.getData();
-    final Optional<BytesValue> existingData = request.getExistingData(worldStateStorage);
-    if (existingData.isPresent()) {
-      existingNodeCounter.inc();
-      request.setData(existingData.get());
-      request.setRequiresPersisting(false);
-      completedTasks.put(task);
-      return Stream.empty();
+      final List<Task<NodeDataRequest>> tasks, final Pipe<Task<NodeDataRequest>> completedTasks) {
+    final List<Bytes32> hashes =
+        tasks.stream().map(task -> task.getData().getHash()).collect(Collectors.toList());
+    final List<Optional<BytesValue>> existingData = worldStateStorage.getAllNodeData(hashes);
+    final List<Task<NodeDataRequest>> missingTasks = new ArrayList<>();
+    for (int i = 0; i < tasks.size(); i++) {
+      final Task<NodeDataRequest> task = tasks.get(i);
+      if (existingData.get(i).isPresent()) {
+        existingNodeCounter.inc();
+        final NodeDataRequest request = task.getData();
+        request.setData(existingData.get(i).get());
+        request.setRequiresPersisting(false);
+        completedTasks.put(task);
+      } else {
+        missingTasks.add(task);
+      }
     }
-    return Stream.of(task);
+    return missingTasks.stream();
   }
 }
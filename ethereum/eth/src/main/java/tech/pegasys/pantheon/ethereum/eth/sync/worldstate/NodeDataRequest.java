@@ -22,7 +22,6 @@ import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.List;
-import java.util.Optional;
 
 public abstract class NodeDataRequest {
   private final RequestType requestType;
@@ -117,6 +116,4 @@ public abstract class NodeDataRequest {
   protected abstract void doPersist(final WorldStateStorage.Updater updater);
 
   public abstract List<NodeDataRequest> getChildRequests();
-
-  public abstract Optional<BytesValue> getExistingData(final WorldStateStorage worldStateStorage);
 }
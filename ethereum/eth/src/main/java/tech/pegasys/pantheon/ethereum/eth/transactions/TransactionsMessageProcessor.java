@@ -17,6 +17,7 @@ import static org.apache.logging.log4j.LogManager.getLogger;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionPool;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
 import tech.pegasys.pantheon.ethereum.eth.messages.TransactionsMessage;
 import tech.pegasys.pantheon.ethereum.p2p.wire.messages.DisconnectMessage.DisconnectReason;
 import tech.pegasys.pantheon.ethereum.rlp.RLPException;
@@ -32,11 +33,15 @@ class TransactionsMessageProcessor {
   private static final Logger LOG = getLogger();
   private final PeerTransactionTracker transactionTracker;
   private final TransactionPool transactionPool;
+  private final EthScheduler ethScheduler;
 
   public TransactionsMessageProcessor(
-      final PeerTransactionTracker transactionTracker, final TransactionPool transactionPool) {
+      final PeerTransactionTracker transactionTracker,
+      final TransactionPool transactionPool,
+      final EthScheduler ethScheduler) {
     this.transactionTracker = transactionTracker;
     this.transactionPool = transactionPool;
+    this.ethScheduler = ethScheduler;
   }
 
   void processTransactionsMessage(
@@ -48,7 +53,15 @@ class TransactionsMessageProcessor {
           transactionsMessage.transactions(Transaction::readFrom);
       final Set<Transaction> transactions = Sets.newHashSet(readTransactions);
       transactionTracker.markTransactionsAsSeen(peer, transactions);
-      transactionPool.addRemoteTransactions(transactions);
+      // Recover the senders in parallel up front, rather than one by one during validation, and
+      // hand the transactions back to a transaction worker once they are recovered instead of
+      // blocking this one. Transactions with invalid signatures are left for validation to reject.
+      ethScheduler
+          .recoverTransactionSenders(transactions)
+          .whenComplete(
+              (result, error) ->
+                  ethScheduler.scheduleTxWorkerTask(
+                      () -> transactionPool.addRemoteTransactions(transactions)));
     } catch (final RLPException ex) {
       if (peer != null) {
         peer.disconnect(DisconnectReason.BREACH_OF_PROTOCOL);
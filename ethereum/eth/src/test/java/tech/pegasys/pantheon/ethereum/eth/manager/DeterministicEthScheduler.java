@@ -36,6 +36,8 @@ public class DeterministicEthScheduler extends EthScheduler {
         new MockScheduledExecutor(),
         new MockExecutorService(),
         new MockExecutorService(),
+        new MockExecutorService(),
+        new MockExecutorService(),
         new MockExecutorService());
 
     this.timeoutPolicy = timeoutPolicy;
@@ -45,7 +47,9 @@ public class DeterministicEthScheduler extends EthScheduler {
             (MockExecutorService) this.scheduler,
             (MockExecutorService) this.txWorkerExecutor,
             (MockExecutorService) this.servicesExecutor,
-            (MockExecutorService) this.computationExecutor);
+            (MockExecutorService) this.computationExecutor,
+            (MockExecutorService) this.servingExecutor,
+            (MockExecutorService) this.prefetchExecutor);
   }
 
   // Test utility for running pending futures
@@ -15,8 +15,14 @@ package tech.pegasys.pantheon.ethereum.eth.manager;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
+import tech.pegasys.pantheon.ethereum.eth.manager.RequestManager.ResponseStream;
+import tech.pegasys.pantheon.ethereum.eth.messages.EthPV63;
+import tech.pegasys.pantheon.ethereum.p2p.wire.RawMessage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
+import java.util.Collections;
+
 import org.junit.Before;
 import org.junit.Test;
 
@@ -73,4 +79,38 @@ public class EthPeersTest {
     assertThat(EthPeers.BEST_CHAIN.compare(peerA, peerA)).isEqualTo(0);
     assertThat(EthPeers.BEST_CHAIN.compare(peerB, peerB)).isEqualTo(0);
   }
+
+  @Test
+  public void idlePeerPrefersPeersWithHigherThroughput() throws Exception {
+    final EthPeer fastPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, UInt256.of(100), 0).getEthPeer();
+    final EthPeer slowPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, UInt256.of(100), 0).getEthPeer();
+    respondToNodeDataRequest(fastPeer, 100_000);
+    respondToNodeDataRequest(slowPeer, 10);
+
+    assertThat(fastPeer.throughput().getAsDouble())
+        .isGreaterThan(slowPeer.throughput().getAsDouble());
+    assertThat(ethProtocolManager.ethContext().getEthPeers().idlePeer()).contains(fastPeer);
+  }
+
+  @Test
+  public void idlePeerPrefersLessBusyPeersWhenThroughputIsUnknown() throws Exception {
+    final EthPeer busyPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, UInt256.of(100), 0).getEthPeer();
+    final EthPeer idlePeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, UInt256.of(100), 0).getEthPeer();
+    busyPeer.getNodeData(Collections.emptyList());
+
+    assertThat(ethProtocolManager.ethContext().getEthPeers().idlePeer()).contains(idlePeer);
+  }
+
+  private void respondToNodeDataRequest(final EthPeer peer, final int responseSize)
+      throws Exception {
+    final ResponseStream stream = peer.getNodeData(Collections.emptyList());
+    final RawMessage response =
+        new RawMessage(EthPV63.NODE_DATA, BytesValue.wrap(new byte[responseSize]));
+    peer.dispatch(new EthMessage(peer, response));
+    stream.recordResponse(response);
+  }
 }
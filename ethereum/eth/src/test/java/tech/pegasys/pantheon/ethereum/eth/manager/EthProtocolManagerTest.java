@@ -999,8 +999,11 @@ public final class EthProtocolManagerTest {
     final ExecutorService transactions = mock(ExecutorService.class);
     final ExecutorService services = mock(ExecutorService.class);
     final ExecutorService computations = mock(ExecutorService.class);
+    final ExecutorService serving = mock(ExecutorService.class);
+    final ExecutorService prefetch = mock(ExecutorService.class);
     final EthScheduler ethScheduler =
-        new EthScheduler(worker, scheduled, transactions, services, computations);
+        new EthScheduler(
+            worker, scheduled, transactions, services, computations, serving, prefetch);
 
     // Create the fake TransactionMessage to feed to the EthManager.
     final BlockDataGenerator gen = new BlockDataGenerator(1);
@@ -1011,7 +1014,13 @@ public final class EthProtocolManagerTest {
 
     try (final EthProtocolManager ethManager =
         new EthProtocolManager(
-            blockchain, protocolContext.getWorldStateArchive(), 1, true, 1, ethScheduler)) {
+            blockchain,
+            protocolContext.getWorldStateArchive(),
+            1,
+            true,
+            1,
+            ethScheduler,
+            new NoOpMetricsSystem())) {
 
       // Create a transaction pool.  This has a side effect of registring a listener for the
       // transactions message.
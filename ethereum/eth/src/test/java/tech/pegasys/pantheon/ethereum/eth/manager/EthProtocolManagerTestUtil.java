@@ -27,6 +27,7 @@ import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.wire.DefaultMessage;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 public class EthProtocolManagerTestUtil {
@@ -49,7 +50,8 @@ public class EthProtocolManagerTestUtil {
         networkId,
         false,
         EthProtocolManager.DEFAULT_REQUEST_LIMIT,
-        ethScheduler);
+        ethScheduler,
+        new NoOpMetricsSystem());
   }
 
   public static EthProtocolManager create(
@@ -30,6 +30,8 @@ public class EthSchedulerShutdownTest {
   private ExecutorService txWorkerExecutor;
   private ExecutorService servicesExecutor;
   private ExecutorService computationExecutor;
+  private ExecutorService servingExecutor;
+  private ExecutorService prefetchExecutor;
 
   @Before
   public void setup() {
@@ -38,13 +40,17 @@ public class EthSchedulerShutdownTest {
     txWorkerExecutor = Executors.newSingleThreadExecutor();
     servicesExecutor = Executors.newSingleThreadExecutor();
     computationExecutor = Executors.newSingleThreadExecutor();
+    servingExecutor = Executors.newSingleThreadExecutor();
+    prefetchExecutor = Executors.newSingleThreadExecutor();
     ethScheduler =
         new EthScheduler(
             syncWorkerExecutor,
             scheduledExecutor,
             txWorkerExecutor,
             servicesExecutor,
-            computationExecutor);
+            computationExecutor,
+            servingExecutor,
+            prefetchExecutor);
   }
 
   @Test
@@ -98,6 +104,42 @@ public class EthSchedulerShutdownTest {
     assertThat(task2.hasBeenStarted()).isFalse();
   }
 
+  @Test
+  public void shutdown_servingWorkerShutsDown() throws InterruptedException {
+    final MockEthTask task1 = new MockEthTask(1);
+    final MockEthTask task2 = new MockEthTask();
+
+    ethScheduler.scheduleServingTask(task1::executeTask);
+    ethScheduler.scheduleServingTask(task2::executeTask);
+    ethScheduler.stop();
+
+    assertThat(servingExecutor.isShutdown()).isTrue();
+
+    ethScheduler.awaitStop();
+
+    assertThat(servingExecutor.isShutdown()).isTrue();
+    assertThat(servingExecutor.isTerminated()).isTrue();
+    assertThat(task2.hasBeenStarted()).isFalse();
+  }
+
+  @Test
+  public void shutdown_prefetchWorkerShutsDown() throws InterruptedException {
+    final MockEthTask task1 = new MockEthTask(1);
+    final MockEthTask task2 = new MockEthTask();
+
+    ethScheduler.schedulePrefetchTask(task1::executeTask);
+    ethScheduler.schedulePrefetchTask(task2::executeTask);
+    ethScheduler.stop();
+
+    assertThat(prefetchExecutor.isShutdown()).isTrue();
+
+    ethScheduler.awaitStop();
+
+    assertThat(prefetchExecutor.isShutdown()).isTrue();
+    assertThat(prefetchExecutor.isTerminated()).isTrue();
+    assertThat(task2.hasBeenStarted()).isFalse();
+  }
+
   @Test
   public void shutdown_servicesShutsDown() throws InterruptedException {
     final MockEthTask task1 = new MockEthTask(1);
@@ -14,17 +14,28 @@ package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.BlockBody;
+import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.TransactionReceipt;
+import tech.pegasys.pantheon.ethereum.eth.messages.BlockBodiesMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetBlockBodiesMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.GetNodeDataMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.GetReceiptsMessage;
 import tech.pegasys.pantheon.ethereum.eth.messages.NodeDataMessage;
+import tech.pegasys.pantheon.ethereum.eth.messages.ReceiptsMessage;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.Before;
@@ -45,7 +56,7 @@ public class EthServerTest {
 
   @Before
   public void setUp() {
-    new EthServer(blockchain, worldStateArchive, ethMessages, 2);
+    new EthServer(blockchain, worldStateArchive, ethMessages, new DeterministicEthScheduler(), 2);
   }
 
   @Test
@@ -57,6 +68,40 @@ public class EthServerTest {
     verify(ethPeer).send(NodeDataMessage.create(asList(VALUE1, VALUE2)));
   }
 
+  @Test
+  public void shouldRespondToBlockBodiesRequestsWithStoredRlp() throws Exception {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final BlockBody body1 = gen.block().getBody();
+    final BlockBody body2 = gen.block().getBody();
+    when(blockchain.getBlockBodyRlp(HASH1)).thenReturn(Optional.of(RLP.encode(body1::writeTo)));
+    when(blockchain.getBlockBodyRlp(HASH2)).thenReturn(Optional.of(RLP.encode(body2::writeTo)));
+    ethMessages.dispatch(
+        new EthMessage(ethPeer, GetBlockBodiesMessage.create(asList(HASH1, HASH2))));
+
+    verify(ethPeer).send(BlockBodiesMessage.create(asList(body1, body2)));
+  }
+
+  @Test
+  public void shouldRespondToReceiptsRequestsWithStoredRlp() throws Exception {
+    final BlockDataGenerator gen = new BlockDataGenerator(1);
+    final List<TransactionReceipt> receipts = gen.receipts(gen.block());
+    when(blockchain.getTxReceiptsRlp(HASH1))
+        .thenReturn(
+            Optional.of(RLP.encode(out -> out.writeList(receipts, TransactionReceipt::writeTo))));
+    ethMessages.dispatch(new EthMessage(ethPeer, GetReceiptsMessage.create(asList(HASH1))));
+
+    verify(ethPeer).send(ReceiptsMessage.create(singletonList(receipts)));
+  }
+
+  @Test
+  public void shouldNotRespondToRequestsFromDisconnectedPeers() throws Exception {
+    when(ethPeer.isDisconnected()).thenReturn(true);
+    ethMessages.dispatch(new EthMessage(ethPeer, GetNodeDataMessage.create(asList(HASH1))));
+
+    verify(worldStateArchive, never()).getNodeData(HASH1);
+    verify(ethPeer, never()).send(any());
+  }
+
   @Test
   public void shouldHandleDataBeingUnavailableWhenRespondingToNodeDataRequests() throws Exception {
     when(worldStateArchive.getNodeData(HASH1)).thenReturn(Optional.of(VALUE1));
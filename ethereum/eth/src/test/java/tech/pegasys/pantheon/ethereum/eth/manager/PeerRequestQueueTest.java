@@ -0,0 +1,80 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.manager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+public class PeerRequestQueueTest {
+
+  private final List<Runnable> scheduled = new ArrayList<>();
+  private final List<String> served = new ArrayList<>();
+  private final EthPeer peer1 = mock(EthPeer.class);
+  private final EthPeer peer2 = mock(EthPeer.class);
+  private final PeerRequestQueue queue = new PeerRequestQueue(scheduled::add, 3);
+
+  @Test
+  public void shouldTakeTurnsBetweenPeers() {
+    queue.submit(peer1, () -> served.add("peer1-a"));
+    queue.submit(peer1, () -> served.add("peer1-b"));
+    queue.submit(peer1, () -> served.add("peer1-c"));
+    queue.submit(peer2, () -> served.add("peer2-a"));
+    queue.submit(peer2, () -> served.add("peer2-b"));
+
+    runScheduled();
+
+    assertThat(served).containsExactly("peer1-a", "peer2-a", "peer1-b", "peer2-b", "peer1-c");
+  }
+
+  @Test
+  public void shouldRejectRequestsBeyondPerPeerLimit() {
+    assertThat(queue.submit(peer1, () -> served.add("peer1-a"))).isTrue();
+    assertThat(queue.submit(peer1, () -> served.add("peer1-b"))).isTrue();
+    assertThat(queue.submit(peer1, () -> served.add("peer1-c"))).isTrue();
+    assertThat(queue.submit(peer1, () -> served.add("peer1-d"))).isFalse();
+    assertThat(queue.submit(peer2, () -> served.add("peer2-a"))).isTrue();
+    assertThat(queue.pendingRequestCount(peer1)).isEqualTo(3);
+
+    runScheduled();
+
+    assertThat(queue.pendingRequestCount(peer1)).isZero();
+    assertThat(queue.submit(peer1, () -> served.add("peer1-e"))).isTrue();
+    runScheduled();
+    assertThat(served).containsExactly("peer1-a", "peer2-a", "peer1-b", "peer1-c", "peer1-e");
+  }
+
+  @Test
+  public void shouldKeepServingAfterARequestFails() {
+    queue.submit(
+        peer1,
+        () -> {
+          throw new IllegalStateException("Boom");
+        });
+    queue.submit(peer1, () -> served.add("peer1-b"));
+
+    runScheduled();
+
+    assertThat(served).containsExactly("peer1-b");
+  }
+
+  private void runScheduled() {
+    final List<Runnable> toRun = new ArrayList<>(scheduled);
+    scheduled.clear();
+    toRun.forEach(Runnable::run);
+  }
+}
@@ -13,6 +13,8 @@
 package tech.pegasys.pantheon.ethereum.eth.manager;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import tech.pegasys.pantheon.ethereum.eth.EthProtocol;
 import tech.pegasys.pantheon.ethereum.eth.manager.RequestManager.RequestSender;
@@ -24,6 +26,7 @@ import tech.pegasys.pantheon.ethereum.p2p.wire.Capability;
 import tech.pegasys.pantheon.ethereum.p2p.wire.RawMessage;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -211,10 +214,76 @@ public class RequestManagerTest {
     assertThat(closedCountB.get()).isEqualTo(1);
   }
 
+  @Test
+  public void tracksThroughputAndResponseTime() throws Exception {
+    final Clock clock = mock(Clock.class);
+    final RequestManager requestManager = new RequestManager(createPeer(), clock);
+    assertThat(requestManager.throughput()).isEmpty();
+    assertThat(requestManager.responseTimeMillis()).isEmpty();
+
+    when(clock.millis()).thenReturn(1000L, 1500L);
+    requestManager.dispatchRequest(() -> {}).recordResponse(message(1000));
+
+    assertThat(requestManager.throughput()).hasValue(2000.0);
+    assertThat(requestManager.responseTimeMillis()).hasValue(500.0);
+  }
+
+  @Test
+  public void timesResponsesFromTheirOwnRequest() throws Exception {
+    final Clock clock = mock(Clock.class);
+    final RequestManager requestManager = new RequestManager(createPeer(), clock);
+
+    when(clock.millis()).thenReturn(0L, 3000L, 3100L);
+    final ResponseStream timedOut = requestManager.dispatchRequest(() -> {});
+    requestManager.recordRequestTimeout();
+    final ResponseStream next = requestManager.dispatchRequest(() -> {});
+    timedOut.recordResponse(message(10));
+    assertThat(requestManager.responseTimeMillis()).hasValue(3100.0);
+
+    when(clock.millis()).thenReturn(3500L);
+    next.recordResponse(message(10));
+    next.recordResponse(message(10));
+    assertThat(requestManager.responseTimeMillis()).hasValue(0.25 * 500 + 0.75 * 3100);
+  }
+
+  @Test
+  public void shrinksRequestsForSlowPeersAndGrowsThemAgainWhenTheyRecover() throws Exception {
+    final Clock clock = mock(Clock.class);
+    final RequestManager requestManager = new RequestManager(createPeer(), clock);
+    assertThat(requestManager.requestSize(100)).isEqualTo(100);
+
+    when(clock.millis()).thenReturn(0L, 5000L);
+    requestManager.dispatchRequest(() -> {}).recordResponse(message(10));
+    assertThat(requestManager.requestSize(100)).isEqualTo(50);
+
+    requestManager.recordRequestTimeout();
+    assertThat(requestManager.requestSize(100)).isEqualTo(25);
+
+    when(clock.millis()).thenReturn(0L, 100L, 0L, 100L, 0L, 100L, 0L, 100L);
+    for (int i = 0; i < 4; i++) {
+      requestManager.dispatchRequest(() -> {}).recordResponse(message(10));
+    }
+    assertThat(requestManager.requestSize(100)).isEqualTo(62);
+  }
+
+  @Test
+  public void requestSizeIsNeverLessThanOne() {
+    final RequestManager requestManager = new RequestManager(createPeer(), mock(Clock.class));
+    for (int i = 0; i < 10; i++) {
+      requestManager.recordRequestTimeout();
+    }
+    assertThat(requestManager.requestSize(10)).isEqualTo(1);
+    assertThat(requestManager.requestSize(1000)).isEqualTo(50);
+  }
+
   private EthMessage mockMessage(final EthPeer peer) {
     return new EthMessage(peer, new RawMessage(1, BytesValue.EMPTY));
   }
 
+  private MessageData message(final int size) {
+    return new RawMessage(1, BytesValue.wrap(new byte[size]));
+  }
+
   private EthPeer createPeer() {
     final Set<Capability> caps = new HashSet<>(Collections.singletonList(EthProtocol.ETH63));
     final PeerConnection peerConnection = new MockPeerConnection(caps);
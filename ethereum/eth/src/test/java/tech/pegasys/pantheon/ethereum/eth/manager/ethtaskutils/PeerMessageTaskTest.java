@@ -66,6 +66,23 @@ public abstract class PeerMessageTaskTest<T> extends AbstractMessageTaskTest<T,
     assertThat(actualPeer.get()).isEqualTo(respondingEthPeer.getEthPeer());
   }
 
+  @Test
+  public void recordsResponseTimeOfAnsweringPeer() {
+    final Responder responder =
+        RespondingEthPeer.blockchainResponder(blockchain, protocolContext.getWorldStateArchive());
+    final RespondingEthPeer respondingEthPeer =
+        EthProtocolManagerTestUtil.createPeer(ethProtocolManager, 1000);
+    assertThat(respondingEthPeer.getEthPeer().responseTimeMillis()).isEmpty();
+
+    final EthTask<PeerTaskResult<T>> task = createTask(generateDataToBeRequested());
+    final CompletableFuture<PeerTaskResult<T>> future = task.run();
+    respondingEthPeer.respondWhile(responder, () -> !future.isDone());
+
+    assertThat(future).isDone();
+    assertThat(respondingEthPeer.getEthPeer().responseTimeMillis()).isPresent();
+    assertThat(respondingEthPeer.getEthPeer().throughput()).isPresent();
+  }
+
   @Test
   public void failsWhenNoPeersAreAvailable() {
     // Setup data to be requested
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.eth.sync.tasks.exceptions.InvalidBlockException;
+import tech.pegasys.pantheon.ethereum.mainnet.BlockHeaderValidator;
+import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class CheckpointHeaderValidationStepTest {
+
+  @SuppressWarnings("unchecked")
+  private final ProtocolSchedule<Void> protocolSchedule = mock(ProtocolSchedule.class);
+
+  @SuppressWarnings("unchecked")
+  private final ProtocolSpec<Void> protocolSpec = mock(ProtocolSpec.class);
+
+  @SuppressWarnings("unchecked")
+  private final BlockHeaderValidator<Void> headerValidator = mock(BlockHeaderValidator.class);
+
+  @SuppressWarnings("unchecked")
+  private final ProtocolContext<Void> protocolContext = mock(ProtocolContext.class);
+
+  private final BlockHeaderTestFixture headerFixture = new BlockHeaderTestFixture();
+  private final BlockHeader checkpointStart = headerFixture.number(10).buildHeader();
+  private final BlockHeader firstHeader =
+      headerFixture.number(11).parentHash(checkpointStart.getHash()).buildHeader();
+  private final BlockHeader checkpointEnd = headerFixture.number(12).buildHeader();
+
+  private final CheckpointHeaderValidationStep<Void> validationStep =
+      new CheckpointHeaderValidationStep<>(
+          protocolSchedule, protocolContext, () -> HeaderValidationMode.DETACHED_ONLY);
+
+  @Before
+  public void setUp() {
+    when(protocolSchedule.getByBlockNumber(firstHeader.getNumber())).thenReturn(protocolSpec);
+    when(protocolSpec.getBlockHeaderValidator()).thenReturn(headerValidator);
+  }
+
+  @Test
+  public void shouldReturnHeadersAfterCheckpointStartWhenValid() {
+    when(headerValidator.validateHeader(
+            firstHeader, checkpointStart, protocolContext, HeaderValidationMode.DETACHED_ONLY))
+        .thenReturn(true);
+
+    assertThat(
+            validationStep.validateCheckpointHeaders(
+                asList(checkpointStart, firstHeader, checkpointEnd)))
+        .containsExactly(firstHeader, checkpointEnd);
+  }
+
+  @Test
+  public void shouldThrowInvalidBlockExceptionWhenHeadersDoNotConnect() {
+    when(headerValidator.validateHeader(
+            firstHeader, checkpointStart, protocolContext, HeaderValidationMode.DETACHED_ONLY))
+        .thenReturn(false);
+
+    assertThatThrownBy(
+            () ->
+                validationStep.validateCheckpointHeaders(
+                    asList(checkpointStart, firstHeader, checkpointEnd)))
+        .isInstanceOf(InvalidBlockException.class);
+  }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.CompletableFuture.completedFuture;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.BlockHeaderTestFixture;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
+import tech.pegasys.pantheon.ethereum.eth.sync.state.SyncTarget;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+public class CheckpointRangeSourceTest {
+
+  @SuppressWarnings("unchecked")
+  private final CheckpointHeaderManager<Void> checkpointHeaderManager =
+      mock(CheckpointHeaderManager.class);
+
+  private final SyncTarget syncTarget = new SyncTarget(mock(EthPeer.class), header(0));
+  private final AtomicBoolean shouldContinue = new AtomicBoolean(true);
+
+  @Test
+  public void shouldReturnRangesFromInitialCheckpoints() {
+    final CheckpointRangeSource source = createSource(header(0), header(10), header(20));
+
+    assertThat(source.hasNext()).isTrue();
+    assertThat(source.next()).isEqualTo(new CheckpointRange(header(0), header(10)));
+    assertThat(source.next()).isEqualTo(new CheckpointRange(header(10), header(20)));
+    verifyZeroInteractions(checkpointHeaderManager);
+  }
+
+  @Test
+  public void shouldPullMoreCheckpointsWhenInitialRangesAreUsed() {
+    when(checkpointHeaderManager.pullCheckpointHeaders(syncTarget))
+        .thenReturn(completedFuture(asList(header(0), header(10), header(20), header(30))));
+    final CheckpointRangeSource source = createSource(header(0), header(10));
+
+    assertThat(source.next()).isEqualTo(new CheckpointRange(header(0), header(10)));
+    assertThat(source.next()).isEqualTo(new CheckpointRange(header(10), header(20)));
+    assertThat(source.next()).isEqualTo(new CheckpointRange(header(20), header(30)));
+    verify(checkpointHeaderManager).pullCheckpointHeaders(syncTarget);
+  }
+
+  @Test
+  public void shouldEndWhenNoNewCheckpointsAreReturned() {
+    when(checkpointHeaderManager.pullCheckpointHeaders(syncTarget))
+        .thenReturn(completedFuture(singletonList(header(10))));
+    final CheckpointRangeSource source = createSource(header(0), header(10));
+
+    assertThat(source.next()).isEqualTo(new CheckpointRange(header(0), header(10)));
+    assertThat(source.hasNext()).isTrue();
+    assertThat(source.next()).isNull();
+    assertThat(source.hasNext()).isFalse();
+  }
+
+  @Test
+  public void shouldEndWithoutPullingCheckpointsWhenDownloadShouldStop() {
+    final CheckpointRangeSource source = createSource(header(0), header(10));
+
+    assertThat(source.next()).isEqualTo(new CheckpointRange(header(0), header(10)));
+    shouldContinue.set(false);
+    assertThat(source.next()).isNull();
+    assertThat(source.hasNext()).isFalse();
+    verifyZeroInteractions(checkpointHeaderManager);
+  }
+
+  private CheckpointRangeSource createSource(final BlockHeader... initialCheckpoints) {
+    return new CheckpointRangeSource(
+        checkpointHeaderManager, syncTarget, asList(initialCheckpoints), shouldContinue::get);
+  }
+
+  private static BlockHeader header(final long number) {
+    return new BlockHeaderTestFixture().number(number).buildHeader();
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
+import tech.pegasys.pantheon.ethereum.eth.manager.ethtaskutils.BlockchainSetupUtil;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class StatePrefetcherTest {
+
+  private final BlockchainSetupUtil<Void> setupUtil = BlockchainSetupUtil.forTesting();
+  private final MutableBlockchain blockchain = setupUtil.getBlockchain();
+  private final EthScheduler ethScheduler = mock(EthScheduler.class);
+  private WorldStateStorage worldStateStorage;
+  private WorldStateArchive worldStateArchive;
+  private StatePrefetcher<Void> statePrefetcher;
+
+  @Before
+  public void setUp() {
+    setupUtil.importFirstBlocks(3);
+    doAnswer(
+            invocation -> {
+              invocation.<Runnable>getArgument(0).run();
+              return null;
+            })
+        .when(ethScheduler)
+        .schedulePrefetchTask(any());
+    worldStateStorage = spy(setupUtil.getWorldArchive().getStorage());
+    worldStateArchive = spy(new WorldStateArchive(worldStateStorage));
+    statePrefetcher =
+        new StatePrefetcher<>(
+            setupUtil.getProtocolSchedule(),
+            new ProtocolContext<>(blockchain, worldStateArchive, null),
+            ethScheduler);
+  }
+
+  @Test
+  public void readsStateOfParent() {
+    final Block block = blockWithTransactions(3);
+    final Hash chainHead = blockchain.getChainHeadHash();
+
+    statePrefetcher.prefetch(block);
+
+    verify(worldStateArchive).getMutable(parentStateRoot(block));
+    verify(worldStateStorage, atLeastOnce()).getAccountStateTrieNode(any());
+    verify(worldStateStorage, never()).updater();
+    assertThat(blockchain.getChainHeadHash()).isEqualTo(chainHead);
+  }
+
+  @Test
+  public void skipsBlocksWhoseParentIsUnknown() {
+    final Block block = blockWithTransactions(setupUtil.blockCount() - 1);
+
+    statePrefetcher.prefetch(block);
+
+    verifyZeroInteractions(ethScheduler, worldStateArchive, worldStateStorage);
+  }
+
+  @Test
+  public void skipsImportedBlocks() {
+    statePrefetcher.prefetch(setupUtil.getBlock(2));
+
+    verifyZeroInteractions(worldStateArchive, worldStateStorage);
+  }
+
+  private Block blockWithTransactions(final int index) {
+    final Block block = setupUtil.getBlock(index);
+    assertThat(block.getBody().getTransactions()).isNotEmpty();
+    return block;
+  }
+
+  private Hash parentStateRoot(final Block block) {
+    return blockchain.getBlockHeader(block.getHeader().getParentHash()).get().getStateRoot();
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.eth.sync.fullsync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthContext;
+import tech.pegasys.pantheon.ethereum.eth.manager.EthScheduler;
+import tech.pegasys.pantheon.ethereum.eth.manager.ethtaskutils.BlockchainSetupUtil;
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class FullSyncBlockHandlerTest {
+
+  private final BlockchainSetupUtil<Void> setupUtil = BlockchainSetupUtil.forTesting();
+  private final EthScheduler ethScheduler = mock(EthScheduler.class);
+  private FullSyncBlockHandler<Void> blockHandler;
+
+  @Before
+  public void setUp() {
+    setupUtil.importFirstBlocks(3);
+    when(ethScheduler.recoverTransactionSenders(any()))
+        .thenReturn(CompletableFuture.completedFuture(null));
+    final EthContext ethContext = mock(EthContext.class);
+    when(ethContext.getScheduler()).thenReturn(ethScheduler);
+    blockHandler =
+        new FullSyncBlockHandler<>(
+            setupUtil.getProtocolSchedule(),
+            setupUtil.getProtocolContext(),
+            ethContext,
+            new NoOpMetricsSystem());
+  }
+
+  @Test
+  public void prefetchesSegmentBlocksAsTheirParentsAreImported() {
+    // The segment is downloaded while the block before it is still being imported.
+    final List<Block> segment =
+        Arrays.asList(setupUtil.getBlock(4), setupUtil.getBlock(5), setupUtil.getBlock(6));
+    final int transactionCount =
+        segment.stream().mapToInt(block -> block.getBody().getTransactions().size()).sum();
+    assertThat(transactionCount).isGreaterThan(0);
+
+    blockHandler.executeParallelCalculations(segment).join();
+    verify(ethScheduler, never()).schedulePrefetchTask(any());
+
+    setupUtil.importBlockAtIndex(3);
+    assertThat(blockHandler.validateAndImportBlocks(segment).join()).isEqualTo(segment);
+
+    verify(ethScheduler, times(transactionCount)).schedulePrefetchTask(any());
+  }
+
+  @Test
+  public void stopsPrefetchingOnceTheSegmentIsImported() {
+    final List<Block> segment = Arrays.asList(setupUtil.getBlock(3), setupUtil.getBlock(4));
+    final int transactionCount =
+        segment.stream().mapToInt(block -> block.getBody().getTransactions().size()).sum();
+    blockHandler.validateAndImportBlocks(segment).join();
+
+    setupUtil.importBlockAtIndex(5);
+
+    verify(ethScheduler, times(transactionCount)).schedulePrefetchTask(any());
+  }
+}
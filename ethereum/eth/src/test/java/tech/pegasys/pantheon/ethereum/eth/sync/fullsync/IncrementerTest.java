@@ -35,7 +35,6 @@ import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.PrometheusMetricsSystem;
 
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -97,41 +96,25 @@ public class IncrementerTest {
     final List<Observation> metrics =
         metricsSystem.getMetrics(MetricCategory.SYNCHRONIZER).collect(Collectors.toList());
 
-    // the first iteration gets the genesis block, which results in no data
-    // being passed downstream.  So observed value is 2.
-    final Observation headerInboundObservation =
-        new Observation(
-            MetricCategory.SYNCHRONIZER,
-            "inboundQueueCounter",
-            2.0,
-            Collections.singletonList("ParallelDownloadHeadersTask"));
-    final Observation headerOutboundObservation =
-        new Observation(
-            MetricCategory.SYNCHRONIZER,
-            "outboundQueueCounter",
-            1.0,
-            Collections.singletonList("ParallelDownloadHeadersTask"));
-    assertThat(metrics).contains(headerInboundObservation, headerOutboundObservation);
-
-    for (final String label :
+    // Blocks 1 to 10 are imported through the pipeline as a single checkpoint range, the rest
+    // are imported after the last checkpoint.
+    for (final String stage :
         Arrays.asList(
-            "ParallelValidateHeadersTask",
-            "ParallelDownloadBodiesTask",
-            "ParallelExtractTxSignaturesTask",
-            "ParallelValidateAndImportBodiesTask")) {
-      final Observation inboundObservation =
-          new Observation(
-              MetricCategory.SYNCHRONIZER,
-              "inboundQueueCounter",
-              1.0,
-              Collections.singletonList(label));
-      final Observation outboundObservation =
-          new Observation(
-              MetricCategory.SYNCHRONIZER,
-              "outboundQueueCounter",
-              1.0,
-              Collections.singletonList(label));
-      assertThat(metrics).contains(inboundObservation, outboundObservation);
+            "checkpointRangeSource",
+            "downloadHeaders",
+            "validateHeaders",
+            "downloadBodies",
+            "extractTransactionSignatures",
+            "importBlocks")) {
+      for (final String action : Arrays.asList("added", "removed")) {
+        final Observation observation =
+            new Observation(
+                MetricCategory.SYNCHRONIZER,
+                "chain_download_pipeline_processed_total",
+                1.0,
+                Arrays.asList(stage + "_outputPipe", action));
+        assertThat(metrics).contains(observation);
+      }
     }
   }
 
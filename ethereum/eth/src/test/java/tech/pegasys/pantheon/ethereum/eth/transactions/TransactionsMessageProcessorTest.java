@@ -19,6 +19,7 @@ import static org.mockito.Mockito.verify;
 import tech.pegasys.pantheon.ethereum.core.BlockDataGenerator;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.core.TransactionPool;
+import tech.pegasys.pantheon.ethereum.eth.manager.DeterministicEthScheduler;
 import tech.pegasys.pantheon.ethereum.eth.manager.EthPeer;
 import tech.pegasys.pantheon.ethereum.eth.messages.TransactionsMessage;
 
@@ -37,7 +38,8 @@ public class TransactionsMessageProcessorTest {
   private final Transaction transaction3 = generator.transaction();
 
   private final TransactionsMessageProcessor messageHandler =
-      new TransactionsMessageProcessor(transactionTracker, transactionPool);
+      new TransactionsMessageProcessor(
+          transactionTracker, transactionPool, new DeterministicEthScheduler());
 
   @Test
   public void shouldMarkAllReceivedTransactionsAsSeen() {
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+
+/**
+ * Writes to a chunked HTTP response in fixed size chunks. Writes block the calling thread while the
+ * response's write queue is full, so a slow client limits how far ahead the producer can get
+ * instead of the pending output piling up in memory. Must not be used from an event loop thread.
+ */
+class HttpResponseOutputStream extends OutputStream {
+
+  private static final int CHUNK_SIZE = 64 * 1024;
+  private static final long DRAIN_POLL_INTERVAL_MILLIS = 100;
+
+  private final HttpServerResponse response;
+  private final byte[] chunk = new byte[CHUNK_SIZE];
+  private int position;
+
+  HttpResponseOutputStream(final HttpServerResponse response) {
+    this.response = response;
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    if (position == chunk.length) {
+      flush();
+    }
+    chunk[position++] = (byte) b;
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+    int written = 0;
+    while (written < length) {
+      if (position == chunk.length) {
+        flush();
+      }
+      final int count = Math.min(length - written, chunk.length - position);
+      System.arraycopy(bytes, offset + written, chunk, position, count);
+      position += count;
+      written += count;
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    if (position == 0) {
+      return;
+    }
+    awaitWritable();
+    response.write(Buffer.buffer(Arrays.copyOf(chunk, position)));
+    position = 0;
+  }
+
+  @Override
+  public void close() throws IOException {
+    flush();
+  }
+
+  private void awaitWritable() throws IOException {
+    while (true) {
+      if (response.closed()) {
+        throw new IOException("Connection closed by client");
+      }
+      if (!response.writeQueueFull()) {
+        return;
+      }
+      final CountDownLatch drained = new CountDownLatch(1);
+      response.drainHandler(ignored -> drained.countDown());
+      try {
+        // The queue may have drained before the handler was set, so check again periodically.
+        drained.await(DRAIN_POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while waiting to write response", e);
+      }
+    }
+  }
+}
@@ -28,7 +28,9 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResp
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcNoResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponseType;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcUnauthorizedResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingResult;
 import tech.pegasys.pantheon.metrics.LabelledMetric;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
@@ -36,6 +38,9 @@ import tech.pegasys.pantheon.metrics.OperationTimer;
 import tech.pegasys.pantheon.metrics.OperationTimer.TimingContext;
 import tech.pegasys.pantheon.util.NetworkUtility;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.nio.file.Path;
@@ -333,16 +338,29 @@ public class JsonRpcHttpService {
     vertx.executeBlocking(
         future -> {
           final JsonRpcResponse jsonRpcResponse = process(request, user);
+          if (isStreamingResponse(jsonRpcResponse)) {
+            streamResponse(response, jsonRpcResponse);
+          }
           future.complete(jsonRpcResponse);
         },
         false,
         (res) -> {
           if (res.failed()) {
-            response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
+            if (response.headWritten()) {
+              // Part of a streamed response has already been sent, so the status can't be changed.
+              LOG.debug("Failed to stream JSON-RPC response", res.cause());
+              response.close();
+            } else {
+              response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
+            }
             return;
           }
 
           final JsonRpcResponse jsonRpcResponse = (JsonRpcResponse) res.result();
+          if (isStreamingResponse(jsonRpcResponse)) {
+            response.end();
+            return;
+          }
           response.setStatusCode(status(jsonRpcResponse).code());
           response.putHeader("Content-Type", APPLICATION_JSON);
           response.end(serialise(jsonRpcResponse));
@@ -372,6 +390,27 @@ public class JsonRpcHttpService {
     return Json.encodePrettily(response);
   }
 
+  private boolean isStreamingResponse(final JsonRpcResponse response) {
+    return response.getType() == JsonRpcResponseType.SUCCESS
+        && ((JsonRpcSuccessResponse) response).getResult() instanceof StreamingResult;
+  }
+
+  /**
+   * Writes a response whose result is produced during serialisation as a chunked response, blocking
+   * the calling worker thread while the client catches up.
+   */
+  private void streamResponse(
+      final HttpServerResponse response, final JsonRpcResponse jsonRpcResponse) {
+    response.setStatusCode(status(jsonRpcResponse).code());
+    response.putHeader("Content-Type", APPLICATION_JSON);
+    response.setChunked(true);
+    try (final OutputStream out = new HttpResponseOutputStream(response)) {
+      Json.mapper.writeValue(out, jsonRpcResponse);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   @SuppressWarnings("rawtypes")
   private void handleJsonBatchRequest(
       final RoutingContext routingContext, final JsonArray jsonArray, final Optional<User> user) {
@@ -26,6 +26,9 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.AdminPeers;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.AdminRemovePeer;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugMetrics;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugStorageRangeAt;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugTraceBlock;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugTraceBlockByNumber;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugTraceChain;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.DebugTraceTransaction;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.EthAccounts;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods.EthBlockNumber;
@@ -91,6 +94,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrac
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.BlockResultFactory;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.ScheduleBasedBlockHashFunction;
 import tech.pegasys.pantheon.ethereum.p2p.api.P2PNetwork;
 import tech.pegasys.pantheon.ethereum.p2p.wire.Capability;
 import tech.pegasys.pantheon.ethereum.permissioning.AccountWhitelistController;
@@ -231,10 +235,16 @@ public class JsonRpcMethodsFactory {
               protocolSchedule,
               blockchainQueries.getBlockchain(),
               blockchainQueries.getWorldStateArchive());
+      final TransactionTracer transactionTracer = new TransactionTracer(blockReplay);
       addMethods(
           enabledMethods,
-          new DebugTraceTransaction(
-              blockchainQueries, new TransactionTracer(blockReplay), parameter),
+          new DebugTraceTransaction(blockchainQueries, transactionTracer, parameter),
+          new DebugTraceBlock(
+              parameter,
+              transactionTracer,
+              ScheduleBasedBlockHashFunction.create(protocolSchedule)),
+          new DebugTraceBlockByNumber(parameter, blockchainQueries, transactionTracer),
+          new DebugTraceChain(parameter, blockchainQueries, transactionTracer),
           new DebugStorageRangeAt(parameter, blockchainQueries, blockReplay),
           new DebugMetrics(metricsSystem));
     }
@@ -15,10 +15,14 @@ package tech.pegasys.pantheon.ethereum.jsonrpc.internal.filter;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Log;
 import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.TopicsParameter;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import com.google.common.collect.Lists;
 
@@ -26,10 +30,27 @@ public class LogsQuery {
 
   private final List<Address> queryAddresses;
   private final List<List<LogTopic>> queryTopics;
+  private final List<List<LogsBloomFilter>> bloomFilters;
 
   private LogsQuery(final List<Address> addresses, final List<List<LogTopic>> topics) {
     this.queryAddresses = addresses;
     this.queryTopics = topics;
+    this.bloomFilters = computeBloomFilters(addresses, topics);
+  }
+
+  /**
+   * Returns the bloom filters a block's logs bloom must match for the block to possibly contain
+   * logs matching this query. Each inner list holds the alternatives for one constraint, at least
+   * one of which must be contained in the logs bloom. An empty list matches every block.
+   *
+   * @return The bloom filters to check a block's logs bloom against.
+   */
+  public List<List<LogsBloomFilter>> getBloomFilters() {
+    return bloomFilters;
+  }
+
+  public boolean couldMatch(final LogsBloomFilter bloom) {
+    return bloomFilters.stream().allMatch(bloom::couldContainAny);
   }
 
   public boolean matches(final Log log) {
@@ -67,6 +88,28 @@ public class LogsQuery {
     return false;
   }
 
+  private static List<List<LogsBloomFilter>> computeBloomFilters(
+      final List<Address> addresses, final List<List<LogTopic>> topics) {
+    final List<List<LogsBloomFilter>> filters = new ArrayList<>();
+    if (!addresses.isEmpty()) {
+      filters.add(addresses.stream().map(LogsQuery::bloomFilterFor).collect(Collectors.toList()));
+    }
+    for (final List<LogTopic> alternatives : topics) {
+      // A wildcard in any position matches every log, so it cannot narrow down the blocks.
+      if (!alternatives.isEmpty() && !alternatives.contains(null)) {
+        filters.add(
+            alternatives.stream().map(LogsQuery::bloomFilterFor).collect(Collectors.toList()));
+      }
+    }
+    return filters;
+  }
+
+  private static LogsBloomFilter bloomFilterFor(final BytesValue value) {
+    final LogsBloomFilter filter = new LogsBloomFilter();
+    filter.insertBytes(value);
+    return filter;
+  }
+
   public static class Builder {
     private final List<Address> queryAddresses = Lists.newArrayList();
     private final List<List<LogTopic>> queryTopics = Lists.newArrayList();
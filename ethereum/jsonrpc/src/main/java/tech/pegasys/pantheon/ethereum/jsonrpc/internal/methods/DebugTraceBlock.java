@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockHashFunction;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceParams;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingDebugTraceBlockResult;
+import tech.pegasys.pantheon.ethereum.rlp.RLP;
+import tech.pegasys.pantheon.ethereum.rlp.RLPException;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+public class DebugTraceBlock implements JsonRpcMethod {
+
+  private static final Logger LOG = LogManager.getLogger();
+
+  private final JsonRpcParameter parameters;
+  private final TransactionTracer transactionTracer;
+  private final BlockHashFunction blockHashFunction;
+
+  public DebugTraceBlock(
+      final JsonRpcParameter parameters,
+      final TransactionTracer transactionTracer,
+      final BlockHashFunction blockHashFunction) {
+    this.parameters = parameters;
+    this.transactionTracer = transactionTracer;
+    this.blockHashFunction = blockHashFunction;
+  }
+
+  @Override
+  public String getName() {
+    return "debug_traceBlock";
+  }
+
+  @Override
+  public JsonRpcResponse response(final JsonRpcRequest request) {
+    final String input = parameters.required(request.getParams(), 0, String.class);
+    final Block block;
+    try {
+      block = Block.readFrom(RLP.input(BytesValue.fromHexString(input)), blockHashFunction);
+    } catch (final IllegalArgumentException | RLPException e) {
+      LOG.debug("Failed to parse block RLP", e);
+      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.INVALID_PARAMS);
+    }
+    final TraceOptions traceOptions =
+        parameters
+            .optional(request.getParams(), 1, TransactionTraceParams.class)
+            .map(TransactionTraceParams::traceOptions)
+            .orElse(TraceOptions.DEFAULT);
+
+    return new JsonRpcSuccessResponse(
+        request.getId(),
+        StreamingDebugTraceBlockResult.forBlock(transactionTracer, block, traceOptions));
+  }
+}
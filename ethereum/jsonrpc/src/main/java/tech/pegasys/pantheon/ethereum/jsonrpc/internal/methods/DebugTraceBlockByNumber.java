@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
+
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.BlockParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceParams;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingDebugTraceBlockResult;
+
+public class DebugTraceBlockByNumber extends AbstractBlockParameterMethod {
+
+  private final TransactionTracer transactionTracer;
+
+  public DebugTraceBlockByNumber(
+      final JsonRpcParameter parameters,
+      final BlockchainQueries blockchainQueries,
+      final TransactionTracer transactionTracer) {
+    super(blockchainQueries, parameters);
+    this.transactionTracer = transactionTracer;
+  }
+
+  @Override
+  public String getName() {
+    return "debug_traceBlockByNumber";
+  }
+
+  @Override
+  protected BlockParameter blockParameter(final JsonRpcRequest request) {
+    return parameters().required(request.getParams(), 0, BlockParameter.class);
+  }
+
+  @Override
+  protected Object resultByBlockNumber(final JsonRpcRequest request, final long blockNumber) {
+    final TraceOptions traceOptions =
+        parameters()
+            .optional(request.getParams(), 1, TransactionTraceParams.class)
+            .map(TransactionTraceParams::traceOptions)
+            .orElse(TraceOptions.DEFAULT);
+    return blockchainQueries()
+        .getBlockHashByNumber(blockNumber)
+        .map(
+            blockHash ->
+                StreamingDebugTraceBlockResult.forBlockHash(
+                    transactionTracer, blockHash, traceOptions))
+        .orElse(null);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
+
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.BlockParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTraceParams;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingDebugTraceChainResult;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+/**
+ * Traces every transaction of a range of blocks, inclusive of both ends. Blocks are replayed in
+ * parallel, each starting from the world state of the block's parent, so tracing a range costs a
+ * single execution of each transaction. All requests share one pool of {@code parallelism} worker
+ * threads, which stop when idle.
+ */
+public class DebugTraceChain implements JsonRpcMethod {
+
+  private final JsonRpcParameter parameters;
+  private final BlockchainQueries blockchainQueries;
+  private final TransactionTracer transactionTracer;
+  private final int parallelism;
+  private final ExecutorService executor;
+
+  public DebugTraceChain(
+      final JsonRpcParameter parameters,
+      final BlockchainQueries blockchainQueries,
+      final TransactionTracer transactionTracer) {
+    this(
+        parameters,
+        blockchainQueries,
+        transactionTracer,
+        Runtime.getRuntime().availableProcessors());
+  }
+
+  public DebugTraceChain(
+      final JsonRpcParameter parameters,
+      final BlockchainQueries blockchainQueries,
+      final TransactionTracer transactionTracer,
+      final int parallelism) {
+    this.parameters = parameters;
+    this.blockchainQueries = blockchainQueries;
+    this.transactionTracer = transactionTracer;
+    this.parallelism = parallelism;
+    this.executor = createExecutor(parallelism);
+  }
+
+  private static ExecutorService createExecutor(final int threads) {
+    // Tasks must run in submission order, see StreamingDebugTraceChainResult.
+    final ThreadPoolExecutor executor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(),
+            new ThreadFactoryBuilder().setNameFormat("DebugTraceChain-%d").setDaemon(true).build());
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  @Override
+  public String getName() {
+    return "debug_traceChain";
+  }
+
+  @Override
+  public JsonRpcResponse response(final JsonRpcRequest request) {
+    final long fromBlock =
+        blockNumber(parameters.required(request.getParams(), 0, BlockParameter.class));
+    final long toBlock =
+        blockNumber(parameters.required(request.getParams(), 1, BlockParameter.class));
+    if (fromBlock > toBlock || toBlock > blockchainQueries.headBlockNumber()) {
+      return new JsonRpcErrorResponse(request.getId(), JsonRpcError.INVALID_PARAMS);
+    }
+    final TraceOptions traceOptions =
+        parameters
+            .optional(request.getParams(), 2, TransactionTraceParams.class)
+            .map(TransactionTraceParams::traceOptions)
+            .orElse(TraceOptions.DEFAULT);
+
+    return new JsonRpcSuccessResponse(
+        request.getId(),
+        new StreamingDebugTraceChainResult(
+            blockchainQueries.getBlockchain(),
+            transactionTracer,
+            fromBlock,
+            toBlock,
+            traceOptions,
+            executor,
+            parallelism));
+  }
+
+  private long blockNumber(final BlockParameter blockParameter) {
+    return blockParameter.getNumber().orElse(blockchainQueries.headBlockNumber());
+  }
+}
@@ -13,6 +13,7 @@
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
 
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
 import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
@@ -22,8 +23,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionWithMetadata;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
-import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingDebugTraceTransactionResult;
 
 import java.util.Optional;
 
@@ -55,18 +55,17 @@ public class DebugTraceTransaction implements JsonRpcMethod {
     final Optional<TransactionWithMetadata> transactionWithMetadata =
         blockchain.transactionByHash(hash);
     final Hash blockHash = transactionWithMetadata.get().getBlockHash();
+    final Transaction transaction = transactionWithMetadata.get().getTransaction();
     final TraceOptions traceOptions =
         transactionTraceParams
             .map(TransactionTraceParams::traceOptions)
             .orElse(TraceOptions.DEFAULT);
 
-    final DebugOperationTracer execTracer = new DebugOperationTracer(traceOptions);
-
-    final DebugTraceTransactionResult result =
-        transactionTracer
-            .traceTransaction(blockHash, hash, execTracer)
-            .map(DebugTraceTransactionResult::new)
-            .orElse(null);
-    return new JsonRpcSuccessResponse(request.getId(), result);
+    // The transaction is only replayed while the response is written, so that the struct logs can
+    // be streamed to the client instead of being held in memory.
+    return new JsonRpcSuccessResponse(
+        request.getId(),
+        new StreamingDebugTraceTransactionResult(
+            transactionTracer, blockHash, transaction, traceOptions));
   }
 }
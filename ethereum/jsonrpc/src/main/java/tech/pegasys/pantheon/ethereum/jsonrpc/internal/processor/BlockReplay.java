@@ -13,17 +13,22 @@
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
 
 import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.BlockBody;
 import tech.pegasys.pantheon.ethereum.core.BlockHeader;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSpec;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 
 public class BlockReplay {
@@ -43,6 +48,92 @@ public class BlockReplay {
 
   public <T> Optional<T> beforeTransactionInBlock(
       final Hash blockHash, final Hash transactionHash, final Action<T> action) {
+    return performActionWithBlock(
+        blockHash,
+        (body, header, blockchain, mutableWorldState, transactionProcessor) -> {
+          final ProtocolSpec<?> spec = protocolSchedule.getByBlockNumber(header.getNumber());
+          final BlockHashLookup blockHashLookup = new BlockHashLookup(header, blockchain);
+          for (final Transaction transaction : body.getTransactions()) {
+            if (transaction.hash().equals(transactionHash)) {
+              return Optional.of(
+                  action.performAction(
+                      transaction, header, blockchain, mutableWorldState, transactionProcessor));
+            } else {
+              final WorldUpdater updater = mutableWorldState.updater();
+              transactionProcessor.processTransaction(
+                  blockchain,
+                  updater,
+                  header,
+                  transaction,
+                  spec.getMiningBeneficiaryCalculator().calculateBeneficiary(header),
+                  blockHashLookup);
+              updater.commit();
+            }
+          }
+          return Optional.empty();
+        });
+  }
+
+  /**
+   * Replays every transaction of a block exactly once, in order, starting from the world state of
+   * its parent. The action is called for each transaction with the world state before that
+   * transaction, and must process the transaction against it so that the next transaction sees its
+   * effects.
+   *
+   * @param blockHash the hash of the block to replay
+   * @param action processes and inspects each transaction
+   * @param <T> the type of the action results
+   * @return the action result for each transaction, or empty if the block or the world state of its
+   *     parent is not available
+   */
+  public <T> Optional<List<T>> block(final Hash blockHash, final Action<T> action) {
+    return performActionWithBlock(
+        blockHash,
+        (body, header, blockchain, mutableWorldState, transactionProcessor) ->
+            Optional.of(
+                replayTransactions(
+                    body, header, blockchain, mutableWorldState, transactionProcessor, action)));
+  }
+
+  /**
+   * Replays every transaction of a block that need not be part of the chain, such as a block
+   * supplied by a client. Its parent must be available.
+   *
+   * @param block the block to replay
+   * @param action processes and inspects each transaction
+   * @param <T> the type of the action results
+   * @return the action result for each transaction, or empty if the world state of the parent of
+   *     the block is not available
+   * @see #block(Hash, Action)
+   */
+  public <T> Optional<List<T>> block(final Block block, final Action<T> action) {
+    return performActionWithBlock(
+        block.getHeader(),
+        block.getBody(),
+        (body, header, blockchain, mutableWorldState, transactionProcessor) ->
+            Optional.of(
+                replayTransactions(
+                    body, header, blockchain, mutableWorldState, transactionProcessor, action)));
+  }
+
+  private <T> List<T> replayTransactions(
+      final BlockBody body,
+      final BlockHeader header,
+      final Blockchain blockchain,
+      final MutableWorldState mutableWorldState,
+      final TransactionProcessor transactionProcessor,
+      final Action<T> action) {
+    final List<T> results = new ArrayList<>(body.getTransactions().size());
+    for (final Transaction transaction : body.getTransactions()) {
+      results.add(
+          action.performAction(
+              transaction, header, blockchain, mutableWorldState, transactionProcessor));
+    }
+    return results;
+  }
+
+  private <T> Optional<T> performActionWithBlock(
+      final Hash blockHash, final BlockAction<T> action) {
     final BlockHeader header = blockchain.getBlockHeader(blockHash).orElse(null);
     if (header == null) {
       return Optional.empty();
@@ -51,6 +142,11 @@ public class BlockReplay {
     if (body == null) {
       return Optional.empty();
     }
+    return performActionWithBlock(header, body, action);
+  }
+
+  private <T> Optional<T> performActionWithBlock(
+      final BlockHeader header, final BlockBody body, final BlockAction<T> action) {
     final ProtocolSpec<?> protocolSpec = protocolSchedule.getByBlockNumber(header.getNumber());
     final TransactionProcessor transactionProcessor = protocolSpec.getTransactionProcessor();
     final BlockHeader previous = blockchain.getBlockHeader(header.getParentHash()).orElse(null);
@@ -62,24 +158,7 @@ public class BlockReplay {
     if (mutableWorldState == null) {
       return Optional.empty();
     }
-    final BlockHashLookup blockHashLookup = new BlockHashLookup(header, blockchain);
-    for (final Transaction transaction : body.getTransactions()) {
-      if (transaction.hash().equals(transactionHash)) {
-        return Optional.of(
-            action.performAction(
-                transaction, header, blockchain, mutableWorldState, transactionProcessor));
-      } else {
-        final ProtocolSpec<?> spec = protocolSchedule.getByBlockNumber(header.getNumber());
-        transactionProcessor.processTransaction(
-            blockchain,
-            mutableWorldState.updater(),
-            header,
-            transaction,
-            spec.getMiningBeneficiaryCalculator().calculateBeneficiary(header),
-            blockHashLookup);
-      }
-    }
-    return Optional.empty();
+    return action.perform(body, header, blockchain, mutableWorldState, transactionProcessor);
   }
 
   public <T> Optional<T> afterTransactionInBlock(
@@ -89,18 +168,45 @@ public class BlockReplay {
         transactionHash,
         (transaction, blockHeader, blockchain, worldState, transactionProcessor) -> {
           final ProtocolSpec<?> spec = protocolSchedule.getByBlockNumber(blockHeader.getNumber());
+          final WorldUpdater updater = worldState.updater();
           transactionProcessor.processTransaction(
               blockchain,
-              worldState.updater(),
+              updater,
               blockHeader,
               transaction,
               spec.getMiningBeneficiaryCalculator().calculateBeneficiary(blockHeader),
               new BlockHashLookup(blockHeader, blockchain));
+          updater.commit();
           return action.performAction(
               transaction, blockHeader, blockchain, worldState, transactionProcessor);
         });
   }
 
+  /**
+   * The account credited with the fees of the transactions in a block, which is not necessarily its
+   * coinbase.
+   *
+   * @param header the header of the block
+   * @return the mining beneficiary of the block
+   */
+  Address miningBeneficiary(final BlockHeader header) {
+    return protocolSchedule
+        .getByBlockNumber(header.getNumber())
+        .getMiningBeneficiaryCalculator()
+        .calculateBeneficiary(header);
+  }
+
+  @FunctionalInterface
+  private interface BlockAction<T> {
+
+    Optional<T> perform(
+        BlockBody body,
+        BlockHeader blockHeader,
+        Blockchain blockchain,
+        MutableWorldState worldState,
+        TransactionProcessor transactionProcessor);
+  }
+
   public interface Action<T> {
 
     T performAction(
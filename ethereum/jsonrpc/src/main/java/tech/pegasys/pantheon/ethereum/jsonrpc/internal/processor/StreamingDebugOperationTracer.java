@@ -0,0 +1,208 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
+
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
+import tech.pegasys.pantheon.ethereum.vm.OperationTracer;
+import tech.pegasys.pantheon.ethereum.vm.ehalt.ExceptionalHaltException;
+import tech.pegasys.pantheon.ethereum.vm.operations.SStoreOperation;
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+/**
+ * An {@link OperationTracer} that writes each executed operation as a struct log to a {@link
+ * JsonGenerator} instead of collecting trace frames, producing the same output as {@link
+ * tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StructLog}.
+ *
+ * <p>Stack and memory are written straight from the message frame before the operation executes, so
+ * no copy of them is kept. The updated storage of each message frame on the call stack is kept as a
+ * sorted map that is only reloaded from the world state when a frame is entered or resumed after a
+ * child frame, and is otherwise updated with the slot written by each {@code SSTORE}. Memory use is
+ * therefore bounded by the state of the transaction rather than by the length of its trace.
+ */
+public class StreamingDebugOperationTracer implements OperationTracer {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+  private static final UInt256 WORD_SIZE = UInt256.of(Bytes32.SIZE);
+
+  private final TraceOptions options;
+  private final JsonGenerator generator;
+  private final char[] hex = new char[Bytes32.SIZE * 2];
+  // The formatted updated storage of each message frame on the call stack, indexed by depth.
+  private final List<Map<String, String>> storageByDepth = new ArrayList<>();
+
+  public StreamingDebugOperationTracer(final TraceOptions options, final JsonGenerator generator) {
+    this.options = options;
+    this.generator = generator;
+  }
+
+  @Override
+  public void traceExecution(
+      final MessageFrame frame,
+      final Optional<Gas> currentGasCost,
+      final ExecuteOperation executeOperation)
+      throws ExceptionalHaltException {
+    final String[] error = errors(frame);
+    final boolean storageWrite =
+        options.isStorageEnabled()
+            && frame.getCurrentOperation() instanceof SStoreOperation
+            && frame.stackSize() >= 2;
+    final UInt256 storageKey = storageWrite ? frame.getStackItem(0).asUInt256() : null;
+    final UInt256 storageValue = storageWrite ? frame.getStackItem(1).asUInt256() : null;
+
+    try {
+      writeStructLogStart(frame, currentGasCost);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    boolean executed = false;
+    try {
+      executeOperation.execute();
+      executed = true;
+    } finally {
+      final Map<String, String> storage =
+          options.isStorageEnabled()
+              ? currentStorage(frame, executed ? storageKey : null, storageValue)
+              : null;
+      try {
+        writeStructLogEnd(storage, error);
+      } catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  private void writeStructLogStart(final MessageFrame frame, final Optional<Gas> currentGasCost)
+      throws IOException {
+    generator.writeStartObject();
+    generator.writeNumberField("pc", frame.getPC());
+    generator.writeStringField("op", frame.getCurrentOperation().getName());
+    generator.writeNumberField("gas", frame.getRemainingGasAsLong());
+    generator.writeNumberField("gasCost", currentGasCost.map(Gas::toLong).orElse(0L));
+    generator.writeNumberField("depth", frame.getMessageStackDepth() + 1);
+
+    generator.writeFieldName("stack");
+    if (options.isStackEnabled()) {
+      final int stackSize = frame.stackSize();
+      generator.writeStartArray(stackSize);
+      for (int i = stackSize - 1; i >= 0; i--) {
+        writeHex(frame.getStackItem(i));
+      }
+      generator.writeEndArray();
+    } else {
+      generator.writeNull();
+    }
+
+    generator.writeFieldName("memory");
+    if (options.isMemoryEnabled()) {
+      final int words = frame.memoryWordSize().toInt();
+      generator.writeStartArray(words);
+      UInt256 offset = UInt256.ZERO;
+      for (int i = 0; i < words; i++) {
+        writeHex(frame.readMemory(offset, WORD_SIZE));
+        offset = offset.plus(WORD_SIZE);
+      }
+      generator.writeEndArray();
+    } else {
+      generator.writeNull();
+    }
+  }
+
+  private void writeStructLogEnd(final Map<String, String> storage, final String[] error)
+      throws IOException {
+    generator.writeFieldName("storage");
+    if (storage != null) {
+      generator.writeStartObject();
+      for (final Map.Entry<String, String> entry : storage.entrySet()) {
+        generator.writeStringField(entry.getKey(), entry.getValue());
+      }
+      generator.writeEndObject();
+    } else {
+      generator.writeNull();
+    }
+    if (error != null) {
+      generator.writeArrayFieldStart("error");
+      for (final String reason : error) {
+        generator.writeString(reason);
+      }
+      generator.writeEndArray();
+    }
+    generator.writeEndObject();
+  }
+
+  private Map<String, String> currentStorage(
+      final MessageFrame frame, final UInt256 writtenKey, final UInt256 writtenValue) {
+    final int depth = frame.getMessageStackDepth();
+    while (storageByDepth.size() > depth + 1) {
+      // Returning from child frames, which may have committed storage changes to this frame.
+      storageByDepth.remove(storageByDepth.size() - 1);
+      if (storageByDepth.size() == depth + 1) {
+        storageByDepth.set(depth, null);
+      }
+    }
+    while (storageByDepth.size() <= depth) {
+      storageByDepth.add(null);
+    }
+
+    Map<String, String> storage = storageByDepth.get(depth);
+    if (storage == null) {
+      final Map<String, String> formattedStorage = new TreeMap<>();
+      frame
+          .getWorldState()
+          .getMutable(frame.getRecipientAddress())
+          .getUpdatedStorage()
+          .forEach(
+              (key, value) ->
+                  formattedStorage.put(key.toUnprefixedHexString(), value.toUnprefixedHexString()));
+      storage = formattedStorage;
+      storageByDepth.set(depth, storage);
+    } else if (writtenKey != null) {
+      storage.put(writtenKey.toUnprefixedHexString(), writtenValue.toUnprefixedHexString());
+    }
+    return storage;
+  }
+
+  private static String[] errors(final MessageFrame frame) {
+    if (frame.getExceptionalHaltReasons().isEmpty()) {
+      return null;
+    }
+    return frame.getExceptionalHaltReasons().stream()
+        .map(ExceptionalHaltReason::name)
+        .toArray(String[]::new);
+  }
+
+  private void writeHex(final BytesValue value) throws IOException {
+    final int size = value.size();
+    for (int i = 0; i < size; i++) {
+      final int b = value.get(i) & 0xFF;
+      hex[2 * i] = HEX_DIGITS[b >>> 4];
+      hex[2 * i + 1] = HEX_DIGITS[b & 0x0F];
+    }
+    generator.writeString(hex, 0, 2 * size);
+  }
+}
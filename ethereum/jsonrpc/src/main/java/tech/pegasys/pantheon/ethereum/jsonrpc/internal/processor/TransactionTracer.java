@@ -12,12 +12,20 @@
  */
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
 
+import tech.pegasys.pantheon.ethereum.core.Block;
 import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
 import tech.pegasys.pantheon.ethereum.vm.BlockHashLookup;
 import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
+import tech.pegasys.pantheon.ethereum.vm.OperationTracer;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 /** Used to produce debug traces of transactions */
 public class TransactionTracer {
@@ -40,10 +48,90 @@ public class TransactionTracer {
                   mutableWorldState.updater(),
                   header,
                   transaction,
-                  header.getCoinbase(),
+                  blockReplay.miningBeneficiary(header),
                   tracer,
                   new BlockHashLookup(header, blockchain));
           return new TransactionTrace(transaction, result, tracer.getTraceFrames());
         });
   }
+
+  /**
+   * Replays a transaction with a tracer that consumes the trace as it is produced instead of
+   * collecting it.
+   *
+   * @param blockHash the hash of the block containing the transaction
+   * @param transactionHash the hash of the transaction to trace
+   * @param tracerFactory creates the tracer once the state before the transaction is available, so
+   *     it is never created if the transaction cannot be replayed
+   * @return the result of the transaction, or empty if the transaction could not be replayed
+   */
+  public Optional<Result> traceTransaction(
+      final Hash blockHash,
+      final Hash transactionHash,
+      final Supplier<OperationTracer> tracerFactory) {
+    return blockReplay.beforeTransactionInBlock(
+        blockHash,
+        transactionHash,
+        (transaction, header, blockchain, mutableWorldState, transactionProcessor) ->
+            transactionProcessor.processTransaction(
+                blockchain,
+                mutableWorldState.updater(),
+                header,
+                transaction,
+                blockReplay.miningBeneficiary(header),
+                tracerFactory.get(),
+                new BlockHashLookup(header, blockchain)));
+  }
+
+  /**
+   * Replays every transaction of a block exactly once, in order, tracing each with its own tracer.
+   *
+   * @param blockHash the hash of the block to trace
+   * @param tracerFactory creates the tracer for a transaction just before it is executed
+   * @param resultHandler is called with each transaction and its result once it has executed
+   * @return the result of each transaction, or empty if the block could not be replayed
+   */
+  public Optional<List<Result>> traceBlock(
+      final Hash blockHash,
+      final Function<Transaction, OperationTracer> tracerFactory,
+      final BiConsumer<Transaction, Result> resultHandler) {
+    return blockReplay.block(blockHash, traceTransactionAction(tracerFactory, resultHandler));
+  }
+
+  /**
+   * Replays every transaction of a block that need not be part of the chain.
+   *
+   * @param block the block to trace, its parent must be available
+   * @param tracerFactory creates the tracer for a transaction just before it is executed
+   * @param resultHandler is called with each transaction and its result once it has executed
+   * @return the result of each transaction, or empty if the block could not be replayed
+   * @see #traceBlock(Hash, Function, BiConsumer)
+   */
+  public Optional<List<Result>> traceBlock(
+      final Block block,
+      final Function<Transaction, OperationTracer> tracerFactory,
+      final BiConsumer<Transaction, Result> resultHandler) {
+    return blockReplay.block(block, traceTransactionAction(tracerFactory, resultHandler));
+  }
+
+  private BlockReplay.Action<Result> traceTransactionAction(
+      final Function<Transaction, OperationTracer> tracerFactory,
+      final BiConsumer<Transaction, Result> resultHandler) {
+    return (transaction, header, blockchain, mutableWorldState, transactionProcessor) -> {
+      final WorldUpdater updater = mutableWorldState.updater();
+      final Result result =
+          transactionProcessor.processTransaction(
+              blockchain,
+              updater,
+              header,
+              transaction,
+              blockReplay.miningBeneficiary(header),
+              tracerFactory.apply(transaction),
+              new BlockHashLookup(header, blockchain));
+      // Later transactions of the block must see the effects of this one.
+      updater.commit();
+      resultHandler.accept(transaction, result);
+      return result;
+    };
+  }
 }
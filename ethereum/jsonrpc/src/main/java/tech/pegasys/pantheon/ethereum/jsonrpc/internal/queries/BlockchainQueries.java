@@ -33,15 +33,20 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
+import com.google.common.base.Suppliers;
 import com.google.common.collect.Lists;
 
 public class BlockchainQueries {
 
+  private static final int LOG_QUERY_BATCH_SIZE = 64;
+
   private final WorldStateArchive worldStateArchive;
   private final Blockchain blockchain;
 
@@ -485,39 +490,90 @@ public class BlockchainQueries {
     if (fromBlockNumber > toBlockNumber || toBlockNumber > headBlockNumber()) {
       return Lists.newArrayList();
     }
-    List<LogWithMetadata> matchingLogs = Lists.newArrayList();
-    for (long blockNumber = fromBlockNumber; blockNumber <= toBlockNumber; blockNumber++) {
-      final Hash blockhash = blockchain.getBlockHashByNumber(blockNumber).get();
-      final boolean logHasBeenRemoved = !blockchain.blockIsOnCanonicalChain(blockhash);
-      final List<TransactionReceipt> receipts = blockchain.getTxReceipts(blockhash).get();
-      final List<Transaction> transaction =
-          blockchain.getBlockBody(blockhash).get().getTransactions();
-      matchingLogs =
-          generateLogWithMetadata(
-              receipts,
-              blockNumber,
-              query,
-              blockhash,
-              matchingLogs,
-              transaction,
-              logHasBeenRemoved);
+    final List<LogWithMetadata> matchingLogs = Lists.newArrayList();
+    final List<Long> candidateBlockNumbers =
+        blockchain.getBlockNumbersMatchingLogsBloom(
+            fromBlockNumber, toBlockNumber, query.getBloomFilters());
+    for (final List<Long> blockNumbers :
+        Lists.partition(candidateBlockNumbers, LOG_QUERY_BATCH_SIZE)) {
+      matchingLogs.addAll(matchingLogs(blockNumbers, query));
     }
     return matchingLogs;
   }
 
+  private List<LogWithMetadata> matchingLogs(final List<Long> blockNumbers, final LogsQuery query) {
+    final List<Hash> blockHashes =
+        blockchain.getAllBlockHashesByNumber(blockNumbers).stream()
+            .map(Optional::get)
+            .collect(Collectors.toList());
+    final List<List<TransactionReceipt>> blockReceipts =
+        blockchain.getAllTxReceipts(blockHashes).stream()
+            .map(Optional::get)
+            .collect(Collectors.toList());
+
+    // Block bodies are only needed for blocks whose receipts contain a matching log.
+    final List<Integer> matchingIndices = new ArrayList<>();
+    for (int i = 0; i < blockHashes.size(); i++) {
+      if (containsMatchingLog(blockReceipts.get(i), query)) {
+        matchingIndices.add(i);
+      }
+    }
+    if (matchingIndices.isEmpty()) {
+      return Collections.emptyList();
+    }
+    final List<Optional<BlockBody>> blockBodies =
+        blockchain.getAllBlockBodies(Lists.transform(matchingIndices, blockHashes::get));
+    // Re-read the canonical hashes after loading the receipts so logs of blocks removed by a
+    // concurrent reorg are flagged as such.
+    final List<Optional<Hash>> canonicalHashes = blockchain.getAllBlockHashesByNumber(blockNumbers);
+
+    final List<LogWithMetadata> matchingLogs = Lists.newArrayList();
+    for (int j = 0; j < matchingIndices.size(); j++) {
+      final int i = matchingIndices.get(j);
+      final Hash blockhash = blockHashes.get(i);
+      final BlockBody blockBody = blockBodies.get(j).get();
+      final boolean logHasBeenRemoved = !canonicalHashes.get(i).equals(Optional.of(blockhash));
+      generateLogWithMetadata(
+          blockReceipts.get(i),
+          blockNumbers.get(i),
+          query,
+          blockhash,
+          matchingLogs,
+          blockBody::getTransactions,
+          logHasBeenRemoved);
+    }
+    return matchingLogs;
+  }
+
+  private static boolean containsMatchingLog(
+      final List<TransactionReceipt> receipts, final LogsQuery query) {
+    return receipts.stream()
+        .flatMap(receipt -> receipt.getLogs().stream())
+        .anyMatch(query::matches);
+  }
+
   public List<LogWithMetadata> matchingLogs(final Hash blockhash, final LogsQuery query) {
     final List<LogWithMetadata> matchingLogs = Lists.newArrayList();
     Optional<BlockHeader> blockHeader = blockchain.getBlockHeader(blockhash);
-    if (!blockHeader.isPresent()) {
+    if (!blockHeader.isPresent() || !query.couldMatch(blockHeader.get().getLogsBloom())) {
       return matchingLogs;
     }
     final List<TransactionReceipt> receipts = blockchain.getTxReceipts(blockhash).get();
-    final List<Transaction> transaction =
-        blockchain.getBlockBody(blockhash).get().getTransactions();
     final long number = blockHeader.get().getNumber();
     final boolean logHasBeenRemoved = !blockchain.blockIsOnCanonicalChain(blockhash);
     return generateLogWithMetadata(
-        receipts, number, query, blockhash, matchingLogs, transaction, logHasBeenRemoved);
+        receipts,
+        number,
+        query,
+        blockhash,
+        matchingLogs,
+        transactionsSupplier(blockhash),
+        logHasBeenRemoved);
+  }
+
+  private Supplier<List<Transaction>> transactionsSupplier(final Hash blockhash) {
+    // Block bodies are only loaded once a matching log has been found in the receipts.
+    return Suppliers.memoize(() -> blockchain.getBlockBody(blockhash).get().getTransactions());
   }
 
   private List<LogWithMetadata> generateLogWithMetadata(
@@ -526,7 +582,7 @@ public class BlockchainQueries {
       final LogsQuery query,
       final Hash blockhash,
       final List<LogWithMetadata> matchingLogs,
-      final List<Transaction> transaction,
+      final Supplier<List<Transaction>> transactions,
       final boolean removed) {
     for (int transactionIndex = 0; transactionIndex < receipts.size(); ++transactionIndex) {
       final TransactionReceipt receipt = receipts.get(transactionIndex);
@@ -537,7 +593,7 @@ public class BlockchainQueries {
                   logIndex,
                   number,
                   blockhash,
-                  transaction.get(transactionIndex).hash(),
+                  transactions.get().get(transactionIndex).hash(),
                   transactionIndex,
                   receipts.get(transactionIndex).getLogs().get(logIndex).getLogger(),
                   receipts.get(transactionIndex).getLogs().get(logIndex).getData(),
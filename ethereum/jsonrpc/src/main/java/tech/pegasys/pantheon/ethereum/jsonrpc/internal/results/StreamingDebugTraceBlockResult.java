@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
+
+import static tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingDebugTraceTransactionResult.writeTraceEnd;
+import static tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingDebugTraceTransactionResult.writeTraceStart;
+
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.StreamingDebugOperationTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
+import tech.pegasys.pantheon.ethereum.vm.OperationTracer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * The result of {@code debug_traceBlock} and {@code debug_traceBlockByNumber}: an array with the
+ * trace of each transaction in the block, in the format of {@link
+ * StreamingDebugTraceTransactionResult}. The block is replayed once while the result is serialised,
+ * and each trace is written as its transaction executes. If the block cannot be replayed the result
+ * is {@code null}.
+ */
+public class StreamingDebugTraceBlockResult implements StreamingResult {
+
+  private final BlockTrace blockTrace;
+  private final TraceOptions traceOptions;
+
+  private StreamingDebugTraceBlockResult(
+      final BlockTrace blockTrace, final TraceOptions traceOptions) {
+    this.blockTrace = blockTrace;
+    this.traceOptions = traceOptions;
+  }
+
+  public static StreamingDebugTraceBlockResult forBlockHash(
+      final TransactionTracer transactionTracer,
+      final Hash blockHash,
+      final TraceOptions traceOptions) {
+    return new StreamingDebugTraceBlockResult(
+        (tracerFactory, resultHandler) ->
+            transactionTracer.traceBlock(blockHash, tracerFactory, resultHandler),
+        traceOptions);
+  }
+
+  public static StreamingDebugTraceBlockResult forBlock(
+      final TransactionTracer transactionTracer,
+      final Block block,
+      final TraceOptions traceOptions) {
+    return new StreamingDebugTraceBlockResult(
+        (tracerFactory, resultHandler) ->
+            transactionTracer.traceBlock(block, tracerFactory, resultHandler),
+        traceOptions);
+  }
+
+  @Override
+  public void serialize(final JsonGenerator generator, final SerializerProvider serializers)
+      throws IOException {
+    // The array is only opened once the block is known to be replayable, so that null can be
+    // written instead.
+    final boolean[] started = {false};
+    final Optional<List<Result>> results;
+    try {
+      results =
+          blockTrace.trace(
+              transaction -> {
+                try {
+                  if (!started[0]) {
+                    generator.writeStartArray();
+                    started[0] = true;
+                  }
+                  writeTraceStart(generator);
+                } catch (final IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+                return new StreamingDebugOperationTracer(traceOptions, generator);
+              },
+              (transaction, result) -> {
+                try {
+                  writeTraceEnd(generator, transaction, result);
+                } catch (final IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+              });
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    if (!results.isPresent()) {
+      generator.writeNull();
+      return;
+    }
+    if (!started[0]) {
+      generator.writeStartArray();
+    }
+    generator.writeEndArray();
+  }
+
+  @Override
+  public void serializeWithType(
+      final JsonGenerator generator,
+      final SerializerProvider serializers,
+      final TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, serializers);
+  }
+
+  @FunctionalInterface
+  private interface BlockTrace {
+
+    Optional<List<Result>> trace(
+        Function<Transaction, OperationTracer> tracerFactory,
+        BiConsumer<Transaction, Result> resultHandler);
+  }
+}
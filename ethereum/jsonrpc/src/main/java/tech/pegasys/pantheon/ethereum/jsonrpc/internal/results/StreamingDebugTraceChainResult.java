@@ -0,0 +1,263 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
+
+import tech.pegasys.pantheon.ethereum.chain.Blockchain;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import io.vertx.core.json.Json;
+
+/**
+ * The result of {@code debug_traceChain}: for each block of a range, an object with the block
+ * number, hash and the result of {@link StreamingDebugTraceBlockResult} as {@code traces}.
+ *
+ * <p>Blocks are traced in parallel on the given executor, each block starting from the world state
+ * of its own parent, and are written in order. At most {@code parallelism} blocks are traced ahead
+ * of the one being written. Each of them buffers its trace up to {@link #MAX_BUFFERED_TRACE_CHARS}
+ * and then waits for the serialising thread to reach it and drain the rest straight into the
+ * response, so every block is traced exactly once.
+ *
+ * <p>The executor must run tasks in submission order. A block then only waits on a block submitted
+ * before it, which has already been given a thread.
+ */
+public class StreamingDebugTraceChainResult implements StreamingResult {
+
+  static final int MAX_BUFFERED_TRACE_CHARS = 4 * 1024 * 1024;
+
+  private final Blockchain blockchain;
+  private final TransactionTracer transactionTracer;
+  private final long fromBlock;
+  private final long toBlock;
+  private final TraceOptions traceOptions;
+  private final ExecutorService executor;
+  private final int parallelism;
+  private final int maxBufferedTraceChars;
+
+  public StreamingDebugTraceChainResult(
+      final Blockchain blockchain,
+      final TransactionTracer transactionTracer,
+      final long fromBlock,
+      final long toBlock,
+      final TraceOptions traceOptions,
+      final ExecutorService executor,
+      final int parallelism) {
+    this(
+        blockchain,
+        transactionTracer,
+        fromBlock,
+        toBlock,
+        traceOptions,
+        executor,
+        parallelism,
+        MAX_BUFFERED_TRACE_CHARS);
+  }
+
+  StreamingDebugTraceChainResult(
+      final Blockchain blockchain,
+      final TransactionTracer transactionTracer,
+      final long fromBlock,
+      final long toBlock,
+      final TraceOptions traceOptions,
+      final ExecutorService executor,
+      final int parallelism,
+      final int maxBufferedTraceChars) {
+    this.blockchain = blockchain;
+    this.transactionTracer = transactionTracer;
+    this.fromBlock = fromBlock;
+    this.toBlock = toBlock;
+    this.traceOptions = traceOptions;
+    this.executor = executor;
+    this.parallelism = parallelism;
+    this.maxBufferedTraceChars = maxBufferedTraceChars;
+  }
+
+  @Override
+  public void serialize(final JsonGenerator generator, final SerializerProvider serializers)
+      throws IOException {
+    final Deque<BlockTraces> pending = new ArrayDeque<>(parallelism);
+    long nextBlock = fromBlock;
+    try {
+      generator.writeStartArray();
+      while (nextBlock <= toBlock && pending.size() < parallelism) {
+        pending.add(submit(nextBlock++));
+      }
+      while (!pending.isEmpty()) {
+        final BlockTraces blockTraces = pending.getFirst();
+        generator.writeStartObject();
+        generator.writeStringField("block", Quantity.create(blockTraces.number));
+        if (blockTraces.hash.isPresent()) {
+          generator.writeStringField("hash", blockTraces.hash.get().toString());
+          generator.writeFieldName("traces");
+          blockTraces.writeTo(generator);
+        } else {
+          generator.writeNullField("hash");
+          generator.writeNullField("traces");
+        }
+        generator.writeEndObject();
+        pending.removeFirst();
+        if (nextBlock <= toBlock) {
+          pending.add(submit(nextBlock++));
+        }
+      }
+      generator.writeEndArray();
+    } finally {
+      pending.forEach(BlockTraces::cancel);
+    }
+  }
+
+  private BlockTraces submit(final long blockNumber) {
+    final Optional<Hash> blockHash = blockchain.getBlockHashByNumber(blockNumber);
+    if (!blockHash.isPresent()) {
+      return new BlockTraces(blockNumber, blockHash, Optional.empty(), Optional.empty());
+    }
+    final TraceBuffer buffer = new TraceBuffer(maxBufferedTraceChars);
+    final Future<?> tracing =
+        executor.submit(
+            () -> {
+              try (final JsonGenerator traceGenerator =
+                  Json.mapper.getFactory().createGenerator(buffer)) {
+                Json.mapper.writeValue(
+                    traceGenerator,
+                    StreamingDebugTraceBlockResult.forBlockHash(
+                        transactionTracer, blockHash.get(), traceOptions));
+              } finally {
+                buffer.complete();
+              }
+              return null;
+            });
+    return new BlockTraces(blockNumber, blockHash, Optional.of(buffer), Optional.of(tracing));
+  }
+
+  @Override
+  public void serializeWithType(
+      final JsonGenerator generator,
+      final SerializerProvider serializers,
+      final TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, serializers);
+  }
+
+  private static class BlockTraces {
+
+    private final long number;
+    private final Optional<Hash> hash;
+    // Both empty if the block doesn't exist.
+    private final Optional<TraceBuffer> traces;
+    private final Optional<Future<?>> tracing;
+
+    private BlockTraces(
+        final long number,
+        final Optional<Hash> hash,
+        final Optional<TraceBuffer> traces,
+        final Optional<Future<?>> tracing) {
+      this.number = number;
+      this.hash = hash;
+      this.traces = traces;
+      this.tracing = tracing;
+    }
+
+    private void writeTo(final JsonGenerator generator) throws IOException {
+      // Writing an empty raw value first lets the generator place the field separator.
+      generator.writeRawValue("");
+      try {
+        for (Optional<String> chunk = traces.get().take();
+            chunk.isPresent();
+            chunk = traces.get().take()) {
+          generator.writeRaw(chunk.get());
+        }
+        tracing.get().get();
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException("Interrupted while tracing block " + number, e);
+      } catch (final ExecutionException e) {
+        throw new IOException("Failed to trace block " + number, e.getCause());
+      }
+    }
+
+    private void cancel() {
+      tracing.ifPresent(future -> future.cancel(true));
+    }
+  }
+
+  /**
+   * Hands the characters written by a tracing thread over to the serialising thread, blocking the
+   * tracing thread while more than a limit is waiting to be taken.
+   */
+  private static class TraceBuffer extends Writer {
+
+    private final Deque<String> chunks = new ArrayDeque<>();
+    private final int maxChars;
+    private int bufferedChars;
+    private boolean complete;
+
+    private TraceBuffer(final int maxChars) {
+      this.maxChars = maxChars;
+    }
+
+    @Override
+    public synchronized void write(final char[] chars, final int offset, final int length)
+        throws IOException {
+      try {
+        while (bufferedChars > 0 && bufferedChars + length > maxChars) {
+          wait();
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while buffering trace");
+      }
+      chunks.add(new String(chars, offset, length));
+      bufferedChars += length;
+      notifyAll();
+    }
+
+    synchronized void complete() {
+      complete = true;
+      notifyAll();
+    }
+
+    /** Returns the next written chunk, or empty once tracing is complete and all were taken. */
+    synchronized Optional<String> take() throws InterruptedException {
+      while (chunks.isEmpty() && !complete) {
+        wait();
+      }
+      final String chunk = chunks.poll();
+      if (chunk == null) {
+        return Optional.empty();
+      }
+      bufferedChars -= chunk.length();
+      notifyAll();
+      return Optional.of(chunk);
+    }
+
+    @Override
+    public void flush() {}
+
+    @Override
+    public void close() {}
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
+
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.StreamingDebugOperationTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Optional;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+/**
+ * The result of {@code debug_traceTransaction}, produced by replaying the transaction while the
+ * result is serialised. Struct logs are written as each operation executes, so they come before the
+ * summary fields of {@link DebugTraceTransactionResult}, which are only known once the transaction
+ * completes. If the transaction cannot be replayed the result is {@code null}.
+ */
+public class StreamingDebugTraceTransactionResult implements StreamingResult {
+
+  private final TransactionTracer transactionTracer;
+  private final Hash blockHash;
+  private final Transaction transaction;
+  private final TraceOptions traceOptions;
+
+  public StreamingDebugTraceTransactionResult(
+      final TransactionTracer transactionTracer,
+      final Hash blockHash,
+      final Transaction transaction,
+      final TraceOptions traceOptions) {
+    this.transactionTracer = transactionTracer;
+    this.blockHash = blockHash;
+    this.transaction = transaction;
+    this.traceOptions = traceOptions;
+  }
+
+  @Override
+  public void serialize(final JsonGenerator generator, final SerializerProvider serializers)
+      throws IOException {
+    final Optional<Result> result;
+    try {
+      result =
+          transactionTracer.traceTransaction(
+              blockHash,
+              transaction.hash(),
+              () -> {
+                try {
+                  writeTraceStart(generator);
+                } catch (final IOException e) {
+                  throw new UncheckedIOException(e);
+                }
+                return new StreamingDebugOperationTracer(traceOptions, generator);
+              });
+    } catch (final UncheckedIOException e) {
+      throw e.getCause();
+    }
+
+    if (result.isPresent()) {
+      writeTraceEnd(generator, transaction, result.get());
+    } else {
+      generator.writeNull();
+    }
+  }
+
+  /** Opens the trace object of a transaction, ready for its struct logs to be written. */
+  static void writeTraceStart(final JsonGenerator generator) throws IOException {
+    generator.writeStartObject();
+    generator.writeArrayFieldStart("structLogs");
+  }
+
+  /** Closes the trace object of a transaction once it has executed. */
+  static void writeTraceEnd(
+      final JsonGenerator generator, final Transaction transaction, final Result result)
+      throws IOException {
+    generator.writeEndArray();
+    generator.writeNumberField("gas", transaction.getGasLimit() - result.getGasRemaining());
+    generator.writeBooleanField("failed", !result.isSuccessful());
+    generator.writeStringField("returnValue", result.getOutput().toString().substring(2));
+    generator.writeEndObject();
+  }
+
+  @Override
+  public void serializeWithType(
+      final JsonGenerator generator,
+      final SerializerProvider serializers,
+      final TypeSerializer typeSerializer)
+      throws IOException {
+    serialize(generator, serializers);
+  }
+}
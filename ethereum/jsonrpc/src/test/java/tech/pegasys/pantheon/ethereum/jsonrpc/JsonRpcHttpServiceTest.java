@@ -40,6 +40,8 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockWithMetadata
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionWithMetadata;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingResult;
 import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
 import tech.pegasys.pantheon.ethereum.p2p.api.P2PNetwork;
 import tech.pegasys.pantheon.ethereum.p2p.wire.Capability;
@@ -50,6 +52,7 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.uint.UInt256;
 
+import java.io.IOException;
 import java.math.BigInteger;
 import java.net.InetSocketAddress;
 import java.util.ArrayList;
@@ -64,6 +67,9 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
 import io.vertx.core.Vertx;
 import io.vertx.core.json.Json;
 import io.vertx.core.json.JsonArray;
@@ -1451,6 +1457,50 @@ public class JsonRpcHttpServiceTest {
     }
   }
 
+  @Test
+  public void streamingResultIsWrittenAsChunkedResponse() throws Exception {
+    final int entries = 100_000;
+    final StreamingResult result =
+        new StreamingResult() {
+          @Override
+          public void serialize(final JsonGenerator generator, final SerializerProvider provider)
+              throws IOException {
+            generator.writeStartArray();
+            for (int i = 0; i < entries; i++) {
+              generator.writeNumber(i);
+            }
+            generator.writeEndArray();
+          }
+
+          @Override
+          public void serializeWithType(
+              final JsonGenerator generator,
+              final SerializerProvider provider,
+              final TypeSerializer typeSerializer)
+              throws IOException {
+            serialize(generator, provider);
+          }
+        };
+    final JsonRpcMethod jsonRpcMethod = mock(JsonRpcMethod.class);
+    when(jsonRpcMethod.getName()).thenReturn("foo");
+    when(jsonRpcMethod.response(ArgumentMatchers.any()))
+        .thenReturn(new JsonRpcSuccessResponse("666", result));
+    doReturn(jsonRpcMethod).when(rpcMethods).get("foo");
+
+    final RequestBody body =
+        RequestBody.create(JSON, "{\"jsonrpc\":\"2.0\",\"id\":\"666\",\"method\":\"foo\"}");
+
+    try (final Response resp = client.newCall(buildPostRequest(body)).execute()) {
+      assertThat(resp.code()).isEqualTo(200);
+      assertThat(resp.header("Transfer-Encoding")).isEqualTo("chunked");
+      final JsonObject json = new JsonObject(resp.body().string());
+      testHelper.assertValidJsonRpcResult(json, "666");
+      final JsonArray streamed = json.getJsonArray("result");
+      assertThat(streamed.size()).isEqualTo(entries);
+      assertThat(streamed.getInteger(entries - 1)).isEqualTo(entries - 1);
+    }
+  }
+
   @Test
   public void exceptionallyHandleJsonBatchRequest() throws Exception {
     final JsonRpcMethod jsonRpcMethod = mock(JsonRpcMethod.class);
@@ -17,9 +17,12 @@ import static org.assertj.core.api.Assertions.assertThat;
 import tech.pegasys.pantheon.ethereum.core.Address;
 import tech.pegasys.pantheon.ethereum.core.Log;
 import tech.pegasys.pantheon.ethereum.core.LogTopic;
+import tech.pegasys.pantheon.ethereum.core.LogsBloomFilter;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import com.google.common.collect.Lists;
@@ -414,4 +417,43 @@ public class LogsQueryTest {
 
     assertThat(query.matches(log)).isTrue();
   }
+
+  @Test
+  public void bloomOfMatchingLogCouldMatch() {
+    final Address address = Address.fromHexString("0x1111111111111111111111111111111111111111");
+    final LogTopic topic =
+        LogTopic.fromHexString(
+            "0xaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
+    final LogsQuery query =
+        new LogsQuery.Builder()
+            .address(address)
+            .topics(Arrays.asList(Arrays.asList(null, topic), Collections.singletonList(topic)))
+            .build();
+    final Log log =
+        new Log(address, BytesValue.fromHexString("0x0102"), Arrays.asList(topic, topic));
+
+    // The wildcard topic position does not constrain the bloom.
+    assertThat(query.getBloomFilters()).hasSize(2);
+    assertThat(query.matches(log)).isTrue();
+    assertThat(query.couldMatch(LogsBloomFilter.compute(Collections.singletonList(log)))).isTrue();
+  }
+
+  @Test
+  public void bloomWithoutQueriedAddressCannotMatch() {
+    final Address address1 = Address.fromHexString("0x1111111111111111111111111111111111111111");
+    final Address address2 = Address.fromHexString("0x2222222222222222222222222222222222222222");
+    final LogsQuery query = new LogsQuery.Builder().address(address1).build();
+    final Log log = new Log(address2, BytesValue.fromHexString("0x0102"), new ArrayList<>());
+
+    assertThat(query.couldMatch(LogsBloomFilter.compute(Collections.singletonList(log)))).isFalse();
+    assertThat(query.couldMatch(LogsBloomFilter.empty())).isFalse();
+  }
+
+  @Test
+  public void wildcardQueryCouldMatchEmptyBloom() {
+    final LogsQuery query = new LogsQuery.Builder().build();
+
+    assertThat(query.getBloomFilters()).isEmpty();
+    assertThat(query.couldMatch(LogsBloomFilter.empty())).isTrue();
+  }
 }
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcError;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcErrorResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingDebugTraceChainResult;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class DebugTraceChainTest {
+
+  private final BlockchainQueries blockchainQueries = mock(BlockchainQueries.class);
+  private final DebugTraceChain method =
+      new DebugTraceChain(
+          new JsonRpcParameter(), blockchainQueries, mock(TransactionTracer.class), 2);
+
+  @Before
+  public void setUp() {
+    when(blockchainQueries.headBlockNumber()).thenReturn(10L);
+  }
+
+  @Test
+  public void nameShouldBeDebugTraceChain() {
+    assertThat(method.getName()).isEqualTo("debug_traceChain");
+  }
+
+  @Test
+  public void shouldReturnStreamingResultForRangeWithinChain() {
+    final JsonRpcResponse response = method.response(request("0x1", "latest"));
+
+    assertThat(response).isInstanceOf(JsonRpcSuccessResponse.class);
+    assertThat(((JsonRpcSuccessResponse) response).getResult())
+        .isInstanceOf(StreamingDebugTraceChainResult.class);
+  }
+
+  @Test
+  public void shouldRejectRangeEndingBeforeItStarts() {
+    final JsonRpcRequest request = request("0x5", "0x4");
+    assertThat(method.response(request))
+        .isEqualToComparingFieldByField(
+            new JsonRpcErrorResponse(request.getId(), JsonRpcError.INVALID_PARAMS));
+  }
+
+  @Test
+  public void shouldRejectRangeEndingAfterChainHead() {
+    final JsonRpcRequest request = request("0x5", "0xb");
+    assertThat(method.response(request))
+        .isEqualToComparingFieldByField(
+            new JsonRpcErrorResponse(request.getId(), JsonRpcError.INVALID_PARAMS));
+  }
+
+  private static JsonRpcRequest request(final String fromBlock, final String toBlock) {
+    return new JsonRpcRequest("2.0", "debug_traceChain", new Object[] {fromBlock, toBlock});
+  }
+}
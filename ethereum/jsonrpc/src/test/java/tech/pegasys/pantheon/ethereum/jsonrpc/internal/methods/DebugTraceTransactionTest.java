@@ -12,37 +12,34 @@
  */
 package tech.pegasys.pantheon.ethereum.jsonrpc.internal.methods;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
-import tech.pegasys.pantheon.ethereum.core.BlockHeader;
-import tech.pegasys.pantheon.ethereum.core.Gas;
 import tech.pegasys.pantheon.ethereum.core.Hash;
 import tech.pegasys.pantheon.ethereum.core.Transaction;
-import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.JsonRpcRequest;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.parameters.JsonRpcParameter;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTrace;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.StreamingDebugOperationTracer;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.BlockchainQueries;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.queries.TransactionWithMetadata;
 import tech.pegasys.pantheon.ethereum.jsonrpc.internal.response.JsonRpcSuccessResponse;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.DebugTraceTransactionResult;
-import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StructLog;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StreamingResult;
 import tech.pegasys.pantheon.ethereum.mainnet.TransactionProcessor.Result;
-import tech.pegasys.pantheon.ethereum.vm.ExceptionalHaltReason;
+import tech.pegasys.pantheon.ethereum.vm.OperationTracer;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
-import java.util.Collections;
-import java.util.EnumSet;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
+import io.vertx.core.json.Json;
+import org.junit.Before;
 import org.junit.Test;
 
 public class DebugTraceTransactionTest {
@@ -54,58 +51,67 @@ public class DebugTraceTransactionTest {
       new DebugTraceTransaction(blockchain, transactionTracer, parameters);
   private final Transaction transaction = mock(Transaction.class);
 
-  private final BlockHeader blockHeader = mock(BlockHeader.class);
   private final Hash blockHash =
       Hash.fromHexString("aaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaaa");
   private final Hash transactionHash =
       Hash.fromHexString("bbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbbb");
 
+  @Before
+  public void setUp() {
+    final TransactionWithMetadata transactionWithMetadata =
+        new TransactionWithMetadata(transaction, 12L, blockHash, 2);
+    when(transaction.hash()).thenReturn(transactionHash);
+    when(blockchain.transactionByHash(transactionHash))
+        .thenReturn(Optional.of(transactionWithMetadata));
+  }
+
   @Test
   public void nameShouldBeDebugTraceTransaction() {
     assertEquals("debug_traceTransaction", debugTraceTransaction.getName());
   }
 
   @Test
+  @SuppressWarnings("unchecked")
   public void shouldTraceTheTransactionUsingTheTransactionTracer() {
-    final TransactionWithMetadata transactionWithMetadata =
-        new TransactionWithMetadata(transaction, 12L, blockHash, 2);
     final Map<String, Boolean> map = new HashMap<>();
     map.put("disableStorage", true);
     final Object[] params = new Object[] {transactionHash, map};
     final JsonRpcRequest request = new JsonRpcRequest("2.0", "debug_traceTransaction", params);
     final Result result = mock(Result.class);
-
-    final TraceFrame traceFrame =
-        new TraceFrame(
-            12,
-            "NONE",
-            Gas.of(45),
-            Optional.of(Gas.of(56)),
-            2,
-            EnumSet.noneOf(ExceptionalHaltReason.class),
-            Optional.empty(),
-            Optional.empty(),
-            Optional.empty());
-    final List<TraceFrame> traceFrames = Collections.singletonList(traceFrame);
-    final TransactionTrace transactionTrace =
-        new TransactionTrace(transaction, result, traceFrames);
     when(transaction.getGasLimit()).thenReturn(100L);
     when(result.getGasRemaining()).thenReturn(27L);
+    when(result.isSuccessful()).thenReturn(true);
     when(result.getOutput()).thenReturn(BytesValue.fromHexString("1234"));
-    when(blockHeader.getNumber()).thenReturn(12L);
-    when(blockchain.headBlockNumber()).thenReturn(12L);
-    when(blockchain.transactionByHash(transactionHash))
-        .thenReturn(Optional.of(transactionWithMetadata));
-    when(transactionTracer.traceTransaction(eq(blockHash), eq(transactionHash), any()))
-        .thenReturn(Optional.of(transactionTrace));
+    when(transactionTracer.traceTransaction(
+            eq(blockHash), eq(transactionHash), any(Supplier.class)))
+        .thenAnswer(
+            invocation -> {
+              final OperationTracer tracer =
+                  ((Supplier<OperationTracer>) invocation.getArgument(2)).get();
+              assertThat(tracer).isInstanceOf(StreamingDebugOperationTracer.class);
+              return Optional.of(result);
+            });
+
+    final JsonRpcSuccessResponse response =
+        (JsonRpcSuccessResponse) debugTraceTransaction.response(request);
+
+    assertThat(response.getResult()).isInstanceOf(StreamingResult.class);
+    assertThat(Json.encode(response.getResult()))
+        .isEqualTo("{\"structLogs\":[],\"gas\":73,\"failed\":false,\"returnValue\":\"1234\"}");
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void shouldReturnNullWhenTransactionCannotBeReplayed() {
+    final JsonRpcRequest request =
+        new JsonRpcRequest("2.0", "debug_traceTransaction", new Object[] {transactionHash});
+    when(transactionTracer.traceTransaction(
+            eq(blockHash), eq(transactionHash), any(Supplier.class)))
+        .thenReturn(Optional.empty());
+
     final JsonRpcSuccessResponse response =
         (JsonRpcSuccessResponse) debugTraceTransaction.response(request);
-    final DebugTraceTransactionResult transactionResult =
-        (DebugTraceTransactionResult) response.getResult();
 
-    assertEquals(73, transactionResult.getGas());
-    assertEquals("1234", transactionResult.getReturnValue());
-    final List<StructLog> expectedStructLogs = Collections.singletonList(new StructLog(traceFrame));
-    assertEquals(expectedStructLogs, transactionResult.getStructLogs());
+    assertThat(Json.encode(response.getResult())).isEqualTo("null");
   }
 }
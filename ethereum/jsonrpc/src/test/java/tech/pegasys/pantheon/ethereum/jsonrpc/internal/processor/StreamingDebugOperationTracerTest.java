@@ -0,0 +1,149 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import tech.pegasys.pantheon.ethereum.core.Address;
+import tech.pegasys.pantheon.ethereum.core.AddressHelpers;
+import tech.pegasys.pantheon.ethereum.core.ExecutionContextTestFixture;
+import tech.pegasys.pantheon.ethereum.core.Gas;
+import tech.pegasys.pantheon.ethereum.core.MessageFrameTestFixture;
+import tech.pegasys.pantheon.ethereum.core.MutableWorldState;
+import tech.pegasys.pantheon.ethereum.core.WorldUpdater;
+import tech.pegasys.pantheon.ethereum.debug.TraceFrame;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StructLog;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.results.StructLogWithError;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetMessageCallProcessor;
+import tech.pegasys.pantheon.ethereum.mainnet.PrecompileContractRegistry;
+import tech.pegasys.pantheon.ethereum.vm.Code;
+import tech.pegasys.pantheon.ethereum.vm.DebugOperationTracer;
+import tech.pegasys.pantheon.ethereum.vm.MessageFrame;
+import tech.pegasys.pantheon.ethereum.vm.OperationTracer;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.uint.UInt256;
+
+import java.io.StringWriter;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.vertx.core.json.Json;
+import org.junit.Test;
+
+public class StreamingDebugOperationTracerTest {
+
+  private static final Address CONTRACT = AddressHelpers.ofValue(244259721);
+
+  // Writes storage and memory, then delegate calls itself with non-empty call data to write more
+  // storage from a child frame before writing storage again once the child returns.
+  private static final String NESTED_STORAGE_WRITES =
+      "0x366020576001600055602a600052600060006001601f305af4506003600155005b600560025500";
+
+  private final ExecutionContextTestFixture fixture = ExecutionContextTestFixture.create();
+
+  @Test
+  public void shouldWriteSameStructLogsAsCollectedTraceFrames() throws Exception {
+    final String streamed = streamed(NESTED_STORAGE_WRITES, new TraceOptions(true, true, true));
+    // The storage written by the child frame is visible to the parent once the child returns.
+    assertThat(streamed)
+        .contains("\"depth\":2")
+        .contains(
+            "\"storage\":{\""
+                + word(0)
+                + "\":\""
+                + word(1)
+                + "\",\""
+                + word(2)
+                + "\":\""
+                + word(5)
+                + "\"}");
+    assertStreamedMatchesCollected(NESTED_STORAGE_WRITES, new TraceOptions(true, true, true));
+  }
+
+  @Test
+  public void shouldOmitDisabledFields() throws Exception {
+    assertStreamedMatchesCollected(NESTED_STORAGE_WRITES, new TraceOptions(false, false, false));
+    assertStreamedMatchesCollected(NESTED_STORAGE_WRITES, new TraceOptions(true, false, true));
+  }
+
+  @Test
+  public void shouldWriteErrorForExceptionalHalt() throws Exception {
+    final String streamed = streamed("0x600101", new TraceOptions(true, true, true));
+    assertThat(streamed).contains("\"error\":[\"INSUFFICIENT_STACK_ITEMS\"]");
+    assertStreamedMatchesCollected("0x600101", new TraceOptions(true, true, true));
+  }
+
+  private void assertStreamedMatchesCollected(final String code, final TraceOptions options)
+      throws Exception {
+    final DebugOperationTracer collectingTracer = new DebugOperationTracer(options);
+    execute(code, collectingTracer);
+    final List<StructLog> structLogs =
+        collectingTracer.getTraceFrames().stream()
+            .map(StreamingDebugOperationTracerTest::structLog)
+            .collect(Collectors.toList());
+
+    assertThat(streamed(code, options)).isEqualTo(Json.encode(structLogs));
+  }
+
+  private String streamed(final String code, final TraceOptions options) throws Exception {
+    final StringWriter writer = new StringWriter();
+    try (final JsonGenerator generator = Json.mapper.getFactory().createGenerator(writer)) {
+      generator.writeStartArray();
+      execute(code, new StreamingDebugOperationTracer(options, generator));
+      generator.writeEndArray();
+    }
+    return writer.toString();
+  }
+
+  private static String word(final long value) {
+    return UInt256.of(value).toUnprefixedHexString();
+  }
+
+  private static StructLog structLog(final TraceFrame frame) {
+    return frame.getExceptionalHaltReasons().isEmpty()
+        ? new StructLog(frame)
+        : new StructLogWithError(frame);
+  }
+
+  private void execute(final String code, final OperationTracer tracer) {
+    final MutableWorldState worldState = fixture.getStateArchive().getMutable();
+    final WorldUpdater updater = worldState.updater();
+    updater.getOrCreate(CONTRACT).setCode(BytesValue.fromHexString(code));
+    updater.commit();
+
+    final Deque<MessageFrame> messageFrameStack = new ArrayDeque<>();
+    final MessageFrame initialFrame =
+        new MessageFrameTestFixture()
+            .messageFrameStack(messageFrameStack)
+            .blockchain(fixture.getBlockchain())
+            .worldState(worldState.updater())
+            .initialGas(Gas.of(1_000_000))
+            .address(CONTRACT)
+            .contract(CONTRACT)
+            .code(new Code(BytesValue.fromHexString(code)))
+            .build();
+    messageFrameStack.addFirst(initialFrame);
+
+    final MainnetMessageCallProcessor messageCallProcessor =
+        new MainnetMessageCallProcessor(
+            fixture.getProtocolSchedule().getByBlockNumber(0).getEvm(),
+            new PrecompileContractRegistry());
+    while (!messageFrameStack.isEmpty()) {
+      messageCallProcessor.process(messageFrameStack.peekFirst(), tracer);
+    }
+  }
+}
@@ -69,6 +69,8 @@ public class TransactionTracerTest {
 
   @Mock private MutableWorldState mutableWorldState;
 
+  @Mock private WorldUpdater worldUpdater;
+
   @Mock private TransactionProcessor transactionProcessor;
 
   private TransactionTracer transactionTracer;
@@ -97,6 +99,7 @@ public class TransactionTracerTest {
     when(blockHeader.getParentHash()).thenReturn(previousBlockHash);
     when(previousBlockHeader.getStateRoot()).thenReturn(Hash.ZERO);
     when(worldStateArchive.getMutable(Hash.ZERO)).thenReturn(Optional.of(mutableWorldState));
+    when(mutableWorldState.updater()).thenReturn(worldUpdater);
     when(protocolSchedule.getByBlockNumber(12)).thenReturn(protocolSpec);
     when(protocolSpec.getTransactionProcessor()).thenReturn(transactionProcessor);
     when(protocolSpec.getMiningBeneficiaryCalculator()).thenReturn(BlockHeader::getCoinbase);
@@ -195,4 +198,29 @@ public class TransactionTracerTest {
 
     assertEquals(Optional.empty(), transactionTrace);
   }
+
+  @Test
+  public void traceBlockShouldCreditFeesToMiningBeneficiary() {
+    final Result result = mock(Result.class);
+    final Address beneficiary = Address.fromHexString("0x0000000000000000000000000000000000000001");
+    when(protocolSpec.getMiningBeneficiaryCalculator()).thenReturn(header -> beneficiary);
+    when(blockchain.getBlockHeader(blockHash)).thenReturn(Optional.of(blockHeader));
+    when(blockchain.getBlockHeader(previousBlockHash)).thenReturn(Optional.of(previousBlockHeader));
+    when(blockBody.getTransactions()).thenReturn(Arrays.asList(otherTransaction, transaction));
+    when(blockchain.getBlockBody(blockHash)).thenReturn(Optional.of(blockBody));
+    when(transactionProcessor.processTransaction(
+            eq(blockchain),
+            eq(worldUpdater),
+            eq(blockHeader),
+            any(),
+            eq(beneficiary),
+            any(),
+            any()))
+        .thenReturn(result);
+
+    final Optional<List<Result>> results =
+        transactionTracer.traceBlock(blockHash, t -> tracer, (t, r) -> {});
+
+    assertEquals(Optional.of(Arrays.asList(result, result)), results);
+  }
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.jsonrpc.internal.results;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryBlockchain;
+import static tech.pegasys.pantheon.ethereum.core.InMemoryStorageProvider.createInMemoryWorldStateArchive;
+
+import tech.pegasys.pantheon.ethereum.ProtocolContext;
+import tech.pegasys.pantheon.ethereum.chain.GenesisState;
+import tech.pegasys.pantheon.ethereum.chain.MutableBlockchain;
+import tech.pegasys.pantheon.ethereum.core.Block;
+import tech.pegasys.pantheon.ethereum.core.BlockHeader;
+import tech.pegasys.pantheon.ethereum.core.Hash;
+import tech.pegasys.pantheon.ethereum.core.Transaction;
+import tech.pegasys.pantheon.ethereum.debug.TraceOptions;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.BlockReplay;
+import tech.pegasys.pantheon.ethereum.jsonrpc.internal.processor.TransactionTracer;
+import tech.pegasys.pantheon.ethereum.mainnet.HeaderValidationMode;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetBlockHashFunction;
+import tech.pegasys.pantheon.ethereum.mainnet.MainnetProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.mainnet.ProtocolSchedule;
+import tech.pegasys.pantheon.ethereum.util.RawBlockIterator;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.google.common.base.Charsets;
+import com.google.common.io.Resources;
+import io.vertx.core.json.Json;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.Test;
+
+public class StreamingDebugTraceBlockResultTest {
+
+  private static final String RESOURCES = "tech/pegasys/pantheon/ethereum/jsonrpc/";
+  private static final ExecutorService EXECUTOR = Executors.newFixedThreadPool(3);
+
+  private final ProtocolSchedule<Void> protocolSchedule = MainnetProtocolSchedule.create();
+  private final List<Block> blocks = new ArrayList<>();
+  private MutableBlockchain blockchain;
+  private TransactionTracer transactionTracer;
+
+  @AfterClass
+  public static void shutDownExecutor() {
+    EXECUTOR.shutdownNow();
+  }
+
+  @Before
+  public void setUp() throws Exception {
+    final URL blocksUrl =
+        getClass().getClassLoader().getResource(RESOURCES + "jsonRpcTestBlockchain.blocks");
+    final URL genesisUrl =
+        getClass().getClassLoader().getResource(RESOURCES + "jsonRpcTestGenesis.json");
+    try (final RawBlockIterator iterator =
+        new RawBlockIterator(
+            Paths.get(blocksUrl.toURI()),
+            rlp -> BlockHeader.readFrom(rlp, MainnetBlockHashFunction::createHash))) {
+      while (iterator.hasNext()) {
+        blocks.add(iterator.next());
+      }
+    }
+
+    final WorldStateArchive worldStateArchive = createInMemoryWorldStateArchive();
+    GenesisState.fromJson(Resources.toString(genesisUrl, Charsets.UTF_8), protocolSchedule)
+        .writeStateTo(worldStateArchive.getMutable());
+    blockchain = createInMemoryBlockchain(blocks.get(0));
+    final ProtocolContext<Void> context =
+        new ProtocolContext<>(blockchain, worldStateArchive, null);
+    for (final Block block : blocks.subList(1, blocks.size())) {
+      protocolSchedule
+          .getByBlockNumber(block.getHeader().getNumber())
+          .getBlockImporter()
+          .importBlock(context, block, HeaderValidationMode.NONE);
+    }
+
+    transactionTracer =
+        new TransactionTracer(new BlockReplay(protocolSchedule, blockchain, worldStateArchive));
+  }
+
+  @Test
+  public void blockTraceMatchesTracesOfEachTransaction() throws Exception {
+    for (final Block block : blocks.subList(1, blocks.size())) {
+      final ArrayNode expected = Json.mapper.createArrayNode();
+      for (final Transaction transaction : block.getBody().getTransactions()) {
+        expected.add(
+            json(
+                new StreamingDebugTraceTransactionResult(
+                    transactionTracer, block.getHash(), transaction, TraceOptions.DEFAULT)));
+      }
+
+      assertThat(
+              json(
+                  StreamingDebugTraceBlockResult.forBlockHash(
+                      transactionTracer, block.getHash(), TraceOptions.DEFAULT)))
+          .isEqualTo(expected);
+      assertThat(
+              json(
+                  StreamingDebugTraceBlockResult.forBlock(
+                      transactionTracer, block, TraceOptions.DEFAULT)))
+          .isEqualTo(expected);
+    }
+  }
+
+  @Test
+  public void chainTraceContainsBlockTracesInOrder() throws Exception {
+    final long toBlock = blockchain.getChainHeadBlockNumber();
+    assertChainTrace(
+        new StreamingDebugTraceChainResult(
+            blockchain, transactionTracer, 1, toBlock, TraceOptions.DEFAULT, EXECUTOR, 3),
+        toBlock);
+  }
+
+  @Test
+  public void chainTraceStreamsTracesTooLargeToBufferWithoutTracingAgain() throws Exception {
+    final TransactionTracer tracer = spy(transactionTracer);
+    final long toBlock = blockchain.getChainHeadBlockNumber();
+    assertChainTrace(
+        new StreamingDebugTraceChainResult(
+            blockchain, tracer, 1, toBlock, TraceOptions.DEFAULT, EXECUTOR, 3, 16),
+        toBlock);
+
+    verify(tracer, times((int) toBlock)).traceBlock(any(Hash.class), any(), any());
+  }
+
+  private void assertChainTrace(final StreamingDebugTraceChainResult result, final long toBlock)
+      throws Exception {
+    final JsonNode chainTrace = json(result);
+
+    assertThat(chainTrace.size()).isEqualTo(toBlock);
+    for (int i = 0; i < chainTrace.size(); i++) {
+      final Block block = blocks.get(i + 1);
+      final JsonNode blockTrace = chainTrace.get(i);
+      assertThat(blockTrace.get("block").asText()).isEqualTo(Quantity.create(i + 1));
+      assertThat(blockTrace.get("hash").asText()).isEqualTo(block.getHash().toString());
+      assertThat(blockTrace.get("traces"))
+          .isEqualTo(
+              json(
+                  StreamingDebugTraceBlockResult.forBlock(
+                      transactionTracer, block, TraceOptions.DEFAULT)));
+    }
+  }
+
+  private static JsonNode json(final Object result) throws IOException {
+    return Json.mapper.readTree(Json.mapper.writeValueAsString(result));
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.rlpx.framing;
+
+import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
+import tech.pegasys.pantheon.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
+import tech.pegasys.pantheon.ethereum.p2p.wire.RawMessage;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.util.Random;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.util.ReferenceCountUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+@State(Scope.Thread)
+public class FramerBenchmark {
+
+  private static final ByteBufAllocator ALLOCATOR = PooledByteBufAllocator.DEFAULT;
+
+  @Param({"128", "4096", "262144"})
+  public int messageSize;
+
+  @Param({"false", "true"})
+  public boolean compressed;
+
+  private Framer sendingFramer;
+  private Framer receivingFramer;
+  private MessageData message;
+  private ByteBuf framed;
+  private ByteBuf received;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    final Random random = new Random(1);
+    final byte[] aesSecret = new byte[32];
+    final byte[] macSecret = new byte[32];
+    random.nextBytes(aesSecret);
+    random.nextBytes(macSecret);
+    // Both ends start with the same MAC state, so frames from one can be read by the other.
+    sendingFramer = new Framer(new HandshakeSecrets(aesSecret, macSecret, macSecret));
+    receivingFramer = new Framer(new HandshakeSecrets(aesSecret, macSecret, macSecret));
+    if (compressed) {
+      sendingFramer.enableCompression();
+      receivingFramer.enableCompression();
+    }
+
+    // Half random, half repeated bytes so that compression has something to do.
+    final byte[] data = new byte[messageSize];
+    random.nextBytes(data);
+    for (int i = 0; i < messageSize / 2; i++) {
+      data[i] = (byte) (i % 16);
+    }
+    message = new RawMessage(0x10, BytesValue.wrap(data));
+    // MessageFramer frames into heap buffers, while inbound frames arrive in the direct buffers
+    // filled by socket reads.
+    framed = ALLOCATOR.heapBuffer();
+    received = ALLOCATOR.directBuffer();
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    framed.release();
+    received.release();
+  }
+
+  @Benchmark
+  public int frameAndDeframe() {
+    framed.clear();
+    sendingFramer.frame(message, framed);
+    received.clear();
+    received.writeBytes(framed);
+    final MessageData deframed = receivingFramer.deframe(received);
+    final int size = deframed.getSize();
+    ReferenceCountUtil.release(deframed);
+    return size;
+  }
+}
@@ -12,6 +12,8 @@
  */
 package tech.pegasys.pantheon.ethereum.p2p.config;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import java.util.Objects;
 
 public class RlpxConfiguration {
@@ -19,6 +21,8 @@ public class RlpxConfiguration {
   private String bindHost = "0.0.0.0";
   private int bindPort = 30303;
   private int maxPeers = 25;
+  private int workerThreads = Runtime.getRuntime().availableProcessors();
+  private boolean preferNativeTransport = true;
   private WireProtocolConfig wire = new WireProtocolConfig();
 
   public static RlpxConfiguration create() {
@@ -61,6 +65,31 @@ public class RlpxConfiguration {
     return maxPeers;
   }
 
+  public int getWorkerThreads() {
+    return workerThreads;
+  }
+
+  public RlpxConfiguration setWorkerThreads(final int workerThreads) {
+    checkArgument(workerThreads > 0, "At least one worker thread is required");
+    this.workerThreads = workerThreads;
+    return this;
+  }
+
+  /**
+   * Whether to use the native epoll transport for RLPx connections. It is only used when it is
+   * available for the current platform, otherwise the JDK NIO transport is used.
+   *
+   * @return true if the native transport should be used when available
+   */
+  public boolean isPreferNativeTransport() {
+    return preferNativeTransport;
+  }
+
+  public RlpxConfiguration setPreferNativeTransport(final boolean preferNativeTransport) {
+    this.preferNativeTransport = preferNativeTransport;
+    return this;
+  }
+
   public String getClientId() {
     return clientId;
   }
@@ -79,13 +108,15 @@ public class RlpxConfiguration {
     }
     final RlpxConfiguration that = (RlpxConfiguration) o;
     return bindPort == that.bindPort
+        && workerThreads == that.workerThreads
+        && preferNativeTransport == that.preferNativeTransport
         && Objects.equals(bindHost, that.bindHost)
         && Objects.equals(wire, that.wire);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(bindHost, bindPort, wire);
+    return Objects.hash(bindHost, bindPort, workerThreads, preferNativeTransport, wire);
   }
 
   @Override
@@ -93,6 +124,8 @@ public class RlpxConfiguration {
     final StringBuilder sb = new StringBuilder("RlpxConfiguration{");
     sb.append("bindHost='").append(bindHost).append('\'');
     sb.append(", bindPort=").append(bindPort);
+    sb.append(", workerThreads=").append(workerThreads);
+    sb.append(", preferNativeTransport=").append(preferNativeTransport);
     sb.append(", wire=").append(wire);
     sb.append('}');
     return sb.toString();
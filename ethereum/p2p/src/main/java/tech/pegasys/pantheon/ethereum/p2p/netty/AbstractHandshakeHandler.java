@@ -139,6 +139,7 @@ abstract class AbstractHandshakeHandler extends SimpleChannelInboundHandler<Byte
     private final Framer framer;
 
     private ValidateFirstOutboundMessage(final Framer framer) {
+      super(false);
       this.framer = framer;
     }
 
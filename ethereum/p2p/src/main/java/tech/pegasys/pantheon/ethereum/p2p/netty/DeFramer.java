@@ -18,6 +18,7 @@ import tech.pegasys.pantheon.ethereum.p2p.netty.exceptions.IncompatiblePeerExcep
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.framing.Framer;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.framing.FramingException;
 import tech.pegasys.pantheon.ethereum.p2p.wire.PeerInfo;
+import tech.pegasys.pantheon.ethereum.p2p.wire.RawMessage;
 import tech.pegasys.pantheon.ethereum.p2p.wire.SubProtocol;
 import tech.pegasys.pantheon.ethereum.p2p.wire.messages.DisconnectMessage.DisconnectReason;
 import tech.pegasys.pantheon.ethereum.p2p.wire.messages.HelloMessage;
@@ -36,6 +37,7 @@ import io.netty.channel.ChannelHandlerContext;
 import io.netty.handler.codec.ByteToMessageDecoder;
 import io.netty.handler.codec.DecoderException;
 import io.netty.handler.timeout.IdleStateHandler;
+import io.netty.util.ReferenceCountUtil;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -75,10 +77,13 @@ final class DeFramer extends ByteToMessageDecoder {
 
       if (!hellosExchanged && message.getCode() == WireMessageCodes.HELLO) {
         hellosExchanged = true;
-        // Decode first hello and use the payload to modify pipeline
+        // Decode first hello and use the payload to modify pipeline. The peer info outlives the
+        // pooled buffer backing the message, so decode it from a copy.
+        final MessageData hello = new RawMessage(message.getCode(), message.getData().copy());
+        ReferenceCountUtil.release(message);
         final PeerInfo peerInfo;
         try {
-          peerInfo = HelloMessage.readFrom(message).getPeerInfo();
+          peerInfo = HelloMessage.readFrom(hello).getPeerInfo();
         } catch (final RLPException e) {
           LOG.debug("Received invalid HELLO message", e);
           connectFuture.completeExceptionally(e);
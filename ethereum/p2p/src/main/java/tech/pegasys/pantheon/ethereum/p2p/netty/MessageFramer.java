@@ -25,6 +25,8 @@ final class MessageFramer extends MessageToByteEncoder<OutboundMessage> {
   private final Framer framer;
 
   MessageFramer(final CapabilityMultiplexer multiplexer, final Framer framer) {
+    // Frames are encrypted in place, which needs heap buffers.
+    super(false);
     this.multiplexer = multiplexer;
     this.framer = framer;
   }
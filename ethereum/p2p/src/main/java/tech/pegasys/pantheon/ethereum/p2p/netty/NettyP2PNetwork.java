@@ -77,10 +77,7 @@ import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
 import io.netty.channel.socket.SocketChannel;
-import io.netty.channel.socket.nio.NioServerSocketChannel;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.SingleThreadEventExecutor;
 import io.vertx.core.Vertx;
 import org.apache.logging.log4j.LogManager;
@@ -156,9 +153,11 @@ public class NettyP2PNetwork implements P2PNetwork {
   public final Map<Peer, CompletableFuture<PeerConnection>> pendingConnections =
       new ConcurrentHashMap<>();
 
-  private final EventLoopGroup boss = new NioEventLoopGroup(1);
+  private final NettyTransport transport;
 
-  private final EventLoopGroup workers = new NioEventLoopGroup(1);
+  private final EventLoopGroup boss;
+
+  private final EventLoopGroup workers;
 
   private volatile PeerInfo ourPeerInfo;
 
@@ -230,6 +229,9 @@ public class NettyP2PNetwork implements P2PNetwork {
       final Blockchain blockchain) {
 
     maxPeers = config.getRlpx().getMaxPeers();
+    transport = NettyTransport.create(config.getRlpx().isPreferNativeTransport());
+    boss = transport.eventLoopGroup("boss", 1);
+    workers = transport.eventLoopGroup("workers", config.getRlpx().getWorkerThreads());
     connections = new PeerConnectionRegistry(metricsSystem);
     this.peerBlacklist = peerBlacklist;
     this.peerMaintainConnectionList = new HashSet<>();
@@ -265,6 +267,9 @@ public class NettyP2PNetwork implements P2PNetwork {
         "The number of pending tasks in the Netty boss event loop",
         pendingTaskCounter(boss));
 
+    registerEventLoopMetrics(metricsSystem, "boss", boss);
+    registerEventLoopMetrics(metricsSystem, "workers", workers);
+
     metricsSystem.createIntegerGauge(
         MetricCategory.NETWORK,
         "vertx_eventloop_pending_tasks",
@@ -281,7 +286,7 @@ public class NettyP2PNetwork implements P2PNetwork {
     server =
         new ServerBootstrap()
             .group(boss, workers)
-            .channel(NioServerSocketChannel.class)
+            .channelFactory(transport.serverChannelFactory())
             .childHandler(inboundChannelInitializer())
             .bind(config.getRlpx().getBindHost(), config.getRlpx().getBindPort());
     final CountDownLatch latch = new CountDownLatch(1);
@@ -305,7 +310,11 @@ public class NettyP2PNetwork implements P2PNetwork {
                   supportedCapabilities,
                   socketAddress.getPort(),
                   this.keyPair.getPublicKey().getEncodedBytes());
-          LOG.info("P2PNetwork started and listening on {}", socketAddress);
+          LOG.info(
+              "P2PNetwork started and listening on {} using {} transport with {} worker threads",
+              socketAddress,
+              transport.isNative() ? "native" : "NIO",
+              config.getRlpx().getWorkerThreads());
           latch.countDown();
         });
 
@@ -331,6 +340,25 @@ public class NettyP2PNetwork implements P2PNetwork {
             .sum();
   }
 
+  private void registerEventLoopMetrics(
+      final MetricsSystem metricsSystem, final String groupName, final EventLoopGroup group) {
+    final List<SingleThreadEventExecutor> eventLoops = NettyTransport.eventLoops(group);
+    // A single saturated loop slows down every peer assigned to it, which the group total hides.
+    metricsSystem.createIntegerGauge(
+        MetricCategory.NETWORK,
+        "netty_" + groupName + "_max_pending_tasks",
+        "The largest number of pending tasks in a single Netty " + groupName + " event loop",
+        () ->
+            eventLoops.stream().mapToInt(SingleThreadEventExecutor::pendingTasks).max().orElse(0));
+    final List<Supplier<Double>> busyTimes =
+        eventLoops.stream().map(NettyTransport::busyTimeSeconds).collect(Collectors.toList());
+    metricsSystem.createGauge(
+        MetricCategory.NETWORK,
+        "netty_" + groupName + "_busy_seconds",
+        "CPU time spent by the threads of the Netty " + groupName + " event loops",
+        () -> busyTimes.stream().mapToDouble(Supplier::get).sum());
+  }
+
   /** @return a channel initializer for inbound connections */
   public ChannelInitializer<SocketChannel> inboundChannelInitializer() {
     return new ChannelInitializer<SocketChannel>() {
@@ -470,7 +498,7 @@ public class NettyP2PNetwork implements P2PNetwork {
 
     new Bootstrap()
         .group(workers)
-        .channel(NioSocketChannel.class)
+        .channelFactory(transport.channelFactory())
         .remoteAddress(new InetSocketAddress(endpoint.getHost(), endpoint.getFunctionalTcpPort()))
         .option(ChannelOption.TCP_NODELAY, true)
         .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, TIMEOUT_SECONDS * 1000)
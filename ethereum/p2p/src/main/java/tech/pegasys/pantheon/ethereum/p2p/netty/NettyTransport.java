@@ -0,0 +1,118 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.netty;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelFactory;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ReflectiveChannelFactory;
+import io.netty.channel.ServerChannel;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollServerSocketChannel;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The Netty transport used for RLPx connections. The native epoll transport is used when it is
+ * preferred and available on the classpath for the current platform, otherwise the JDK NIO
+ * transport is used.
+ */
+class NettyTransport {
+  private static final Logger LOG = LogManager.getLogger();
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+  private final boolean useNative;
+
+  private NettyTransport(final boolean useNative) {
+    this.useNative = useNative;
+  }
+
+  static NettyTransport create(final boolean preferNative) {
+    if (preferNative) {
+      if (isEpollAvailable()) {
+        LOG.debug("Using native transport for RLPx connections");
+        return new NettyTransport(true);
+      }
+      LOG.debug("Native transport unavailable, using NIO for RLPx connections");
+    }
+    return new NettyTransport(false);
+  }
+
+  private static boolean isEpollAvailable() {
+    try {
+      return Epoll.isAvailable();
+    } catch (final LinkageError e) {
+      // The epoll classes aren't on the classpath.
+      return false;
+    }
+  }
+
+  boolean isNative() {
+    return useNative;
+  }
+
+  EventLoopGroup eventLoopGroup(final String name, final int threads) {
+    final DefaultThreadFactory threadFactory = new DefaultThreadFactory("rlpx-" + name);
+    return useNative
+        ? new EpollEventLoopGroup(threads, threadFactory)
+        : new NioEventLoopGroup(threads, threadFactory);
+  }
+
+  ChannelFactory<? extends Channel> channelFactory() {
+    return new ReflectiveChannelFactory<>(
+        useNative ? EpollSocketChannel.class : NioSocketChannel.class);
+  }
+
+  ChannelFactory<? extends ServerChannel> serverChannelFactory() {
+    return new ReflectiveChannelFactory<>(
+        useNative ? EpollServerSocketChannel.class : NioServerSocketChannel.class);
+  }
+
+  static List<SingleThreadEventExecutor> eventLoops(final EventLoopGroup eventLoopGroup) {
+    return StreamSupport.stream(eventLoopGroup.spliterator(), false)
+        .filter(eventExecutor -> eventExecutor instanceof SingleThreadEventExecutor)
+        .map(eventExecutor -> (SingleThreadEventExecutor) eventExecutor)
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Reports the CPU time consumed by the thread behind an event loop. Event loops block in the
+   * selector while idle, so this is the time the loop spent busy with I/O and tasks.
+   *
+   * @param eventLoop the event loop to report on
+   * @return a supplier of the busy time in seconds, or 0 if the loop is shutting down
+   */
+  static Supplier<Double> busyTimeSeconds(final SingleThreadEventExecutor eventLoop) {
+    return () -> {
+      if (eventLoop.isShuttingDown() || !THREAD_MX_BEAN.isThreadCpuTimeSupported()) {
+        return 0d;
+      }
+      final long cpuTimeNanos = THREAD_MX_BEAN.getThreadCpuTime(eventLoop.threadProperties().id());
+      return cpuTimeNanos < 0 ? 0d : cpuTimeNanos / 1_000_000_000d;
+    };
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.ethereum.p2p.rlpx.framing;
+
+import tech.pegasys.pantheon.ethereum.p2p.wire.AbstractMessageData;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.util.ReferenceCounted;
+
+/**
+ * A message whose data is a view over a reference counted {@link ByteBuf}, typically a pooled
+ * buffer the message was deframed into. The data is only valid until the message is released, so
+ * consumers that keep it beyond that point must take a copy.
+ */
+final class ByteBufMessage extends AbstractMessageData implements ReferenceCounted {
+
+  private final int code;
+  private final ByteBuf buffer;
+
+  ByteBufMessage(final int code, final ByteBuf buffer) {
+    super(wrap(buffer));
+    this.code = code;
+    this.buffer = buffer;
+  }
+
+  private static BytesValue wrap(final ByteBuf buffer) {
+    if (!buffer.isReadable()) {
+      return BytesValue.EMPTY;
+    }
+    if (buffer.hasArray()) {
+      return BytesValue.wrap(
+          buffer.array(), buffer.arrayOffset() + buffer.readerIndex(), buffer.readableBytes());
+    }
+    return MutableBytesValue.wrapBuffer(buffer);
+  }
+
+  @Override
+  public int getCode() {
+    return code;
+  }
+
+  @Override
+  public int refCnt() {
+    return buffer.refCnt();
+  }
+
+  @Override
+  public ByteBufMessage retain() {
+    buffer.retain();
+    return this;
+  }
+
+  @Override
+  public ByteBufMessage retain(final int increment) {
+    buffer.retain(increment);
+    return this;
+  }
+
+  @Override
+  public ByteBufMessage touch() {
+    buffer.touch();
+    return this;
+  }
+
+  @Override
+  public ByteBufMessage touch(final Object hint) {
+    buffer.touch(hint);
+    return this;
+  }
+
+  @Override
+  public boolean release() {
+    return buffer.release();
+  }
+
+  @Override
+  public boolean release(final int decrement) {
+    return buffer.release(decrement);
+  }
+}
@@ -18,9 +18,9 @@ import static org.bouncycastle.pqc.math.linearalgebra.ByteUtils.xor;
 
 import tech.pegasys.pantheon.ethereum.p2p.api.MessageData;
 import tech.pegasys.pantheon.ethereum.p2p.rlpx.handshake.HandshakeSecrets;
-import tech.pegasys.pantheon.ethereum.p2p.wire.RawMessage;
 import tech.pegasys.pantheon.ethereum.rlp.RLP;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.MutableBytesValue;
 
 import java.util.Arrays;
 
@@ -45,6 +45,13 @@ import org.bouncycastle.crypto.params.ParametersWithIV;
  * fragmented frames, as well as streams of multiple messages within the same incoming buffer, as
  * long as the order of incoming bytes matches the underlying TCP sequence.
  *
+ * <p>Frames are decrypted and authenticated in place on heap buffers taken from the allocator of
+ * the incoming buffer, and deframed messages are handed out as views over those buffers. Such
+ * messages are {@link io.netty.util.ReferenceCounted} and must be released once they have been
+ * dispatched.
+ *
+ * <p>A framer is not thread safe: it is expected to be confined to the event loop of its channel.
+ *
  * @see <a href="https://github.com/ethereum/devp2p/blob/master/rlpx.md#framing">RLPx framing</a>
  */
 public class Framer {
@@ -130,7 +137,7 @@ public class Framer {
    *     could be extracted yet.
    * @throws FramingException Thrown when a decryption or internal error occurs.
    */
-  public synchronized MessageData deframe(final ByteBuf buf) throws FramingException {
+  public MessageData deframe(final ByteBuf buf) throws FramingException {
     if (buf == null || !buf.isReadable()) {
       return null;
     }
@@ -142,7 +149,6 @@ public class Framer {
       }
       frameSize = processHeader(buf.readSlice(LENGTH_FULL_HEADER));
       headerProcessed = true;
-      buf.discardReadBytes();
     }
 
     final int size = frameSize + padding16(frameSize) + LENGTH_MAC;
@@ -150,10 +156,29 @@ public class Framer {
       return null;
     }
 
-    final MessageData msg = processFrame(buf.readSlice(size), frameSize);
-    buf.discardReadBytes();
-    headerProcessed = false;
-    return msg;
+    final ByteBuf frame = readFrame(buf, size);
+    try {
+      final MessageData msg = processFrame(frame, frameSize);
+      headerProcessed = false;
+      return msg;
+    } finally {
+      frame.release();
+    }
+  }
+
+  /**
+   * Takes the next frame out of the buffer as a heap buffer that can be decrypted in place. Heap
+   * buffers are sliced without copying; the slice keeps the bytes alive until released, so the
+   * caller must not discard the read bytes of the incoming buffer while deframed messages are in
+   * use.
+   */
+  private static ByteBuf readFrame(final ByteBuf buf, final int size) {
+    if (buf.hasArray()) {
+      return buf.readRetainedSlice(size);
+    }
+    final ByteBuf frame = buf.alloc().heapBuffer(size, size);
+    buf.readBytes(frame, size);
+    return frame;
   }
 
   /**
@@ -224,10 +249,12 @@ public class Framer {
    * Parses, decrypts and performs MAC verification on a frame.
    *
    * <p>This method expects a well-formed frame, sized according to the length indicated in this
-   * packet's header.
+   * packet's header, in a heap buffer. The frame is decrypted in place.
    *
-   * @param f The buffer containing
-   * @param frameSize The expected
+   * @param f The buffer containing the frame.
+   * @param frameSize The expected size of the frame, excluding padding and MAC.
+   * @return The message, backed by either the frame buffer or a buffer holding the decompressed
+   *     message data.
    */
   private MessageData processFrame(final ByteBuf f, final int frameSize) {
     final int pad = padding16(frameSize);
@@ -236,53 +263,68 @@ public class Framer {
       throw error("Expected %s bytes in header, got %s", expectedSize, f.readableBytes());
     }
 
-    final byte[] frameData = new byte[frameSize + pad];
-    final byte[] fMac = new byte[LENGTH_MAC];
-    f.readBytes(frameData).readBytes(fMac);
+    final byte[] frame = f.array();
+    final int frameOffset = f.arrayOffset() + f.readerIndex();
+    final int frameDataLength = frameSize + pad;
 
     // Validate the frame's MAC.
-    final byte[] fMacSeed = secrets.updateIngress(frameData).getIngressMac();
+    final byte[] fMacSeed =
+        secrets.updateIngress(frame, frameOffset, frameDataLength).getIngressMac();
     final byte[] fMacSeedEnc = new byte[16];
     macEncryptor.processBlock(fMacSeed, 0, fMacSeedEnc, 0);
-    byte[] expectedMac = secrets.updateIngress(xor(fMacSeedEnc, fMacSeed)).getIngressMac();
-    expectedMac = Arrays.copyOf(expectedMac, LENGTH_MAC);
+    final byte[] expectedMac = secrets.updateIngress(xor(fMacSeedEnc, fMacSeed)).getIngressMac();
 
-    validateMac(fMac, expectedMac);
+    validateMac(frame, frameOffset + frameDataLength, expectedMac);
 
     // Decrypt frame data.
-    decryptor.processBytes(frameData, 0, frameData.length, frameData, 0);
+    decryptor.processBytes(frame, frameOffset, frameDataLength, frame, frameOffset);
 
     // Read the id.
-    final BytesValue idbv = RLP.decodeOne(BytesValue.of(frameData[0]));
+    final BytesValue idbv = RLP.decodeOne(BytesValue.of(frame[frameOffset]));
     final int id = idbv.isZero() || idbv.size() == 0 ? 0 : idbv.get(0);
 
-    // Write message data to ByteBuf, decompressing as necessary
-    final BytesValue data;
-    if (compressionEnabled) {
-      final byte[] compressedMessageData = Arrays.copyOfRange(frameData, 1, frameData.length - pad);
-      final int uncompressedLength = compressor.uncompressedLength(compressedMessageData);
-      if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
-        throw error("Message size %s in excess of maximum length.", uncompressedLength);
-      }
-      final byte[] decompressedMessageData = compressor.decompress(compressedMessageData);
-      data = BytesValue.wrap(decompressedMessageData);
-    } else {
-      // Move data to a ByteBuf
-      final int messageLength = frameSize - LENGTH_MESSAGE_ID;
-      data = BytesValue.wrap(frameData, 1, messageLength);
+    final int messageOffset = frameOffset + LENGTH_MESSAGE_ID;
+    final int messageLength = frameSize - LENGTH_MESSAGE_ID;
+    if (!compressionEnabled) {
+      return new ByteBufMessage(
+          id, f.retainedSlice(f.readerIndex() + LENGTH_MESSAGE_ID, messageLength));
     }
 
-    return new RawMessage(id, data);
+    // Decompress straight into a buffer of its own.
+    final int uncompressedLength =
+        compressor.uncompressedLength(frame, messageOffset, messageLength);
+    if (uncompressedLength >= LENGTH_MAX_MESSAGE_FRAME) {
+      throw error("Message size %s in excess of maximum length.", uncompressedLength);
+    }
+    final ByteBuf data = f.alloc().heapBuffer(uncompressedLength, uncompressedLength);
+    try {
+      final int decompressedLength =
+          compressor.decompress(
+              frame, messageOffset, messageLength, data.array(), data.arrayOffset());
+      data.writerIndex(decompressedLength);
+      return new ByteBufMessage(id, data);
+    } catch (final RuntimeException e) {
+      data.release();
+      throw e;
+    }
   }
 
   private void validateMac(final byte[] candidateMac, final byte[] expectedMac) {
-    if (!Arrays.equals(expectedMac, candidateMac)) {
+    validateMac(candidateMac, 0, expectedMac);
+  }
+
+  private void validateMac(
+      final byte[] candidate, final int candidateOffset, final byte[] expectedMac) {
+    int diff = 0;
+    for (int i = 0; i < LENGTH_MAC; i++) {
+      diff |= candidate[candidateOffset + i] ^ expectedMac[i];
+    }
+    if (diff != 0) {
       throw error(
           "Frame MAC did not match expected MAC; expected: %s, received: %s",
-          hexDump(expectedMac), hexDump(candidateMac));
+          hexDump(expectedMac, 0, LENGTH_MAC), hexDump(candidate, candidateOffset, LENGTH_MAC));
     }
   }
-
   /**
    * Frames a message for sending to an RLPx peer, encrypting it and calculating the appropriate
    * MACs.
@@ -290,18 +332,24 @@ public class Framer {
    * @param message The message to frame.
    * @param output The {@link ByteBuf} to write framed data to.
    */
-  public synchronized void frame(final MessageData message, final ByteBuf output) {
+  public void frame(final MessageData message, final ByteBuf output) {
     Preconditions.checkArgument(
         message.getSize() < LENGTH_MAX_MESSAGE_FRAME, "Message size in excess of maximum length.");
-    // Compress message
-    if (compressionEnabled) {
-      // Extract data from message
-      // Compress data
-      final byte[] compressed = compressor.compress(message.getData().getArrayUnsafe());
-      // Construct new, compressed message
-      frameMessage(new RawMessage(message.getCode(), BytesValue.wrap(compressed)), output);
-    } else {
+    if (!compressionEnabled) {
       frameMessage(message, output);
+      return;
+    }
+
+    // Compress into a buffer from the output's allocator rather than a fresh array.
+    final byte[] uncompressed = message.getData().getArrayUnsafe();
+    final int maxCompressedLength = compressor.maxCompressedLength(uncompressed.length);
+    final ByteBuf compressed = output.alloc().heapBuffer(maxCompressedLength, maxCompressedLength);
+    try {
+      compressed.writerIndex(
+          compressor.compress(uncompressed, compressed.array(), compressed.arrayOffset()));
+      frameMessage(new ByteBufMessage(message.getCode(), compressed), output);
+    } finally {
+      compressed.release();
     }
   }
 
@@ -309,6 +357,7 @@ public class Framer {
   void frameMessage(final MessageData message, final ByteBuf buf) {
     final int frameSize = message.getSize() + LENGTH_MESSAGE_ID;
     final int pad = padding16(frameSize);
+    final int frameDataLength = frameSize + pad;
 
     final byte id = (byte) message.getCode();
 
@@ -325,27 +374,43 @@ public class Framer {
     byte[] hMac = Arrays.copyOf(secrets.getEgressMac(), LENGTH_MAC);
     macEncryptor.processBlock(hMac, 0, hMac, 0);
     hMac = secrets.updateEgress(xor(h, hMac)).getEgressMac();
-    hMac = Arrays.copyOf(hMac, LENGTH_MAC);
-    buf.writeBytes(h).writeBytes(hMac);
-
-    // Encrypt payload.
-    final byte[] f = new byte[frameSize + pad];
+    buf.ensureWritable(LENGTH_FULL_HEADER + frameDataLength + LENGTH_MAC);
+    buf.writeBytes(h).writeBytes(hMac, 0, LENGTH_MAC);
 
+    // Write the payload, zero-padded to 16-byte boundary.
     final BytesValue bv = id == 0 ? RLP.NULL : RLP.encodeOne(BytesValue.of(id));
     assert bv.size() == 1;
-    f[0] = bv.get(0);
-
-    // Zero-padded to 16-byte boundary.
-    message.getData().copyTo(f, 0, 1);
-    encryptor.processBytes(f, 0, f.length, f, 0);
-
-    // Calculate the frame MAC.
-    final byte[] fMacSeed = Arrays.copyOf(secrets.updateEgress(f).getEgressMac(), LENGTH_MAC);
-    byte[] fMac = new byte[16];
+    final int frameIndex = buf.writerIndex();
+    buf.writeByte(bv.get(0));
+    writeTo(message.getData(), buf);
+    buf.writeZero(pad);
+
+    // Encrypt the payload in place and calculate the frame MAC.
+    final byte[] fMacSeed;
+    if (buf.hasArray()) {
+      final int frameOffset = buf.arrayOffset() + frameIndex;
+      encryptor.processBytes(buf.array(), frameOffset, frameDataLength, buf.array(), frameOffset);
+      fMacSeed = secrets.updateEgress(buf.array(), frameOffset, frameDataLength).getEgressMac();
+    } else {
+      final byte[] f = new byte[frameDataLength];
+      buf.getBytes(frameIndex, f);
+      encryptor.processBytes(f, 0, f.length, f, 0);
+      buf.setBytes(frameIndex, f);
+      fMacSeed = secrets.updateEgress(f).getEgressMac();
+    }
+    final byte[] fMac = new byte[16];
     macEncryptor.processBlock(fMacSeed, 0, fMac, 0);
-    fMac = Arrays.copyOf(secrets.updateEgress(xor(fMac, fMacSeed)).getEgressMac(), LENGTH_MAC);
+    buf.writeBytes(secrets.updateEgress(xor(fMac, fMacSeed)).getEgressMac(), 0, LENGTH_MAC);
+  }
 
-    buf.writeBytes(f).writeBytes(fMac);
+  private static void writeTo(final BytesValue data, final ByteBuf buf) {
+    if (buf.hasArray()) {
+      final int index = buf.writerIndex();
+      data.copyTo(MutableBytesValue.wrap(buf.array(), buf.arrayOffset() + index, data.size()));
+      buf.writerIndex(index + data.size());
+    } else {
+      buf.writeBytes(data.getArrayUnsafe());
+    }
   }
 
   private static int padding16(final int size) {
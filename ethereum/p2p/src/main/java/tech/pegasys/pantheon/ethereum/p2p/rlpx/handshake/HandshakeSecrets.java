@@ -71,7 +71,19 @@ public class HandshakeSecrets {
    * @return Returns this instance for fluent chaining.
    */
   public HandshakeSecrets updateEgress(final byte[] bytes) {
-    egressMac.update(bytes, 0, bytes.length);
+    return updateEgress(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Updates the egress mac with a range of the provided bytes.
+   *
+   * @param bytes The array holding the bytes of the outgoing message.
+   * @param offset The offset of the first byte to add to the mac.
+   * @param length The number of bytes to add to the mac.
+   * @return Returns this instance for fluent chaining.
+   */
+  public HandshakeSecrets updateEgress(final byte[] bytes, final int offset, final int length) {
+    egressMac.update(bytes, offset, length);
     return this;
   }
 
@@ -82,7 +94,19 @@ public class HandshakeSecrets {
    * @return Returns this instance for fluent chaining.
    */
   public HandshakeSecrets updateIngress(final byte[] bytes) {
-    ingressMac.update(bytes, 0, bytes.length);
+    return updateIngress(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Updates the ingress mac with a range of the provided bytes.
+   *
+   * @param bytes The array holding the bytes of the incoming message.
+   * @param offset The offset of the first byte to add to the mac.
+   * @param length The number of bytes to add to the mac.
+   * @return Returns this instance for fluent chaining.
+   */
+  public HandshakeSecrets updateIngress(final byte[] bytes, final int offset, final int length) {
+    ingressMac.update(bytes, offset, length);
     return this;
   }
 
@@ -162,6 +162,62 @@ public final class NettyP2PNetworkTest {
     }
   }
 
+  @Test
+  public void handshakingWithMultipleWorkerThreads() throws Exception {
+    final DiscoveryConfiguration noDiscovery = DiscoveryConfiguration.create().setActive(false);
+    final SECP256K1.KeyPair listenKp = SECP256K1.KeyPair.generate();
+    final Capability cap = Capability.create("eth", 63);
+    try (final P2PNetwork listener =
+            new NettyP2PNetwork(
+                vertx,
+                listenKp,
+                NetworkingConfiguration.create()
+                    .setDiscovery(noDiscovery)
+                    .setSupportedProtocols(subProtocol())
+                    .setRlpx(
+                        RlpxConfiguration.create()
+                            .setBindPort(0)
+                            .setWorkerThreads(4)
+                            .setPreferNativeTransport(false)),
+                singletonList(cap),
+                new PeerBlacklist(),
+                new NoOpMetricsSystem(),
+                Optional.empty(),
+                Optional.empty());
+        final P2PNetwork connector =
+            new NettyP2PNetwork(
+                vertx,
+                SECP256K1.KeyPair.generate(),
+                NetworkingConfiguration.create()
+                    .setSupportedProtocols(subProtocol())
+                    .setRlpx(RlpxConfiguration.create().setBindPort(0))
+                    .setDiscovery(noDiscovery),
+                singletonList(cap),
+                new PeerBlacklist(),
+                new NoOpMetricsSystem(),
+                Optional.empty(),
+                Optional.empty())) {
+
+      final int listenPort = listener.getLocalPeerInfo().getPort();
+      listener.start();
+      connector.start();
+      final BytesValue listenId = listenKp.getPublicKey().getEncodedBytes();
+      assertThat(
+              connector
+                  .connect(
+                      new DefaultPeer(
+                          listenId,
+                          new Endpoint(
+                              InetAddress.getLoopbackAddress().getHostAddress(),
+                              listenPort,
+                              OptionalInt.of(listenPort))))
+                  .get(30L, TimeUnit.SECONDS)
+                  .getPeer()
+                  .getNodeId())
+          .isEqualTo(listenId);
+    }
+  }
+
   @Test
   public void preventMultipleConnections() throws Exception {
 
@@ -15,6 +15,7 @@ package tech.pegasys.pantheon.ethereum.p2p.rlpx.framing;
 import static io.netty.buffer.ByteBufUtil.decodeHexDump;
 import static io.netty.buffer.Unpooled.buffer;
 import static io.netty.buffer.Unpooled.wrappedBuffer;
+import static java.util.Arrays.asList;
 import static java.util.stream.Collectors.toList;
 import static java.util.stream.StreamSupport.stream;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -36,7 +37,10 @@ import java.util.Random;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
 import io.netty.buffer.Unpooled;
+import io.netty.util.ReferenceCountUtil;
+import io.netty.util.ReferenceCounted;
 import org.junit.Test;
 import org.xerial.snappy.Snappy;
 
@@ -240,6 +244,53 @@ public class FramerTest {
     assertThatThrownBy(() -> receivingFramer.deframe(out)).isInstanceOf(FramingException.class);
   }
 
+  @Test
+  public void deframesCompressedMessagesIntoPooledBuffers() throws IOException {
+    final JsonNode td = MAPPER.readTree(FramerTest.class.getResource("/peer1.json"));
+    final Framer sendingFramer = new Framer(secretsFrom(td, false));
+    final Framer receivingFramer = new Framer(secretsFrom(td, true));
+    sendingFramer.enableCompression();
+    receivingFramer.enableCompression();
+
+    final byte[] payload = new byte[4096];
+    new Random(1).nextBytes(payload);
+    final MessageData message = new RawMessage(0x10, BytesValue.wrap(payload));
+
+    final ByteBuf in = PooledByteBufAllocator.DEFAULT.directBuffer();
+    sendingFramer.frame(message, in);
+    sendingFramer.frame(message, in);
+
+    final MessageData first = receivingFramer.deframe(in);
+    final MessageData second = receivingFramer.deframe(in);
+    assertThat(in.isReadable()).isFalse();
+    in.release();
+
+    for (final MessageData deframed : asList(first, second)) {
+      assertThat(deframed.getCode()).isEqualTo(message.getCode());
+      assertThat(deframed.getData()).isEqualTo(message.getData());
+      assertThat(deframed).isInstanceOf(ReferenceCounted.class);
+      assertThat(ReferenceCountUtil.release(deframed)).isTrue();
+    }
+  }
+
+  @Test
+  public void deframedMessagesSliceHeapBuffersWithoutCopying() throws IOException {
+    final JsonNode td = MAPPER.readTree(FramerTest.class.getResource("/peer1.json"));
+    final Framer sendingFramer = new Framer(secretsFrom(td, false));
+    final Framer receivingFramer = new Framer(secretsFrom(td, true));
+
+    final MessageData message = new RawMessage(0x10, BytesValue.fromHexString("0x0102030405"));
+    final ByteBuf in = Unpooled.buffer();
+    sendingFramer.frame(message, in);
+
+    final MessageData deframed = receivingFramer.deframe(in);
+    assertThat(deframed.getData()).isEqualTo(message.getData());
+    // The message holds on to the incoming buffer until it is released.
+    assertThat(in.refCnt()).isEqualTo(2);
+    ReferenceCountUtil.release(deframed);
+    assertThat(in.refCnt()).isEqualTo(1);
+  }
+
   private HandshakeSecrets secretsFrom(final JsonNode td, final boolean swap) {
     final byte[] aes = decodeHexDump(td.get("aes_secret").asText());
     final byte[] mac = decodeHexDump(td.get("mac_secret").asText());
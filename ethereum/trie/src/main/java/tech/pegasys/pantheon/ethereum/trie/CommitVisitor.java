@@ -16,7 +16,12 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 class CommitVisitor<V> implements NodeVisitor<V> {
 
+  // Hashing the dirty subtrees of a branch in parallel only pays off when enough of them are more
+  // than a single leaf.
+  static final int PARALLEL_HASHING_MIN_DIRTY_SUBTREES = 4;
+
   private final NodeUpdater nodeUpdater;
+  private boolean subtreesHashed = false;
 
   public CommitVisitor(final NodeUpdater nodeUpdater) {
     this.nodeUpdater = nodeUpdater;
@@ -42,6 +47,14 @@ class CommitVisitor<V> implements NodeVisitor<V> {
       return;
     }
 
+    final boolean hashSubtrees = !subtreesHashed && shouldHashSubtreesInParallel(branchNode);
+    if (hashSubtrees) {
+      // Compute and cache the hashes of the independent dirty subtrees concurrently, so storing
+      // them below only has to encode the nodes.
+      branchNode.getChildren().get().parallelStream().filter(Node::isDirty).forEach(Node::getHash);
+      subtreesHashed = true;
+    }
+
     for (byte i = 0; i < BranchNode.RADIX; ++i) {
       final Node<V> child = branchNode.child(i);
       if (child.isDirty()) {
@@ -49,9 +62,23 @@ class CommitVisitor<V> implements NodeVisitor<V> {
       }
     }
 
+    if (hashSubtrees) {
+      subtreesHashed = false;
+    }
     maybeStoreNode(branchNode);
   }
 
+  private boolean shouldHashSubtreesInParallel(final BranchNode<V> branchNode) {
+    int dirtySubtrees = 0;
+    for (byte i = 0; i < BranchNode.RADIX; ++i) {
+      final Node<V> child = branchNode.child(i);
+      if (child.isDirty() && !(child instanceof LeafNode)) {
+        dirtySubtrees++;
+      }
+    }
+    return dirtySubtrees >= PARALLEL_HASHING_MIN_DIRTY_SUBTREES;
+  }
+
   @Override
   public void visit(final LeafNode<V> leafNode) {
     if (!leafNode.isDirty()) {
@@ -55,5 +55,8 @@ public interface Node<V> {
   /** @return True if the node needs to be persisted. */
   boolean isDirty();
 
+  /** Releases any child nodes that were loaded from storage so they can be garbage collected. */
+  default void unload() {}
+
   String print();
 }
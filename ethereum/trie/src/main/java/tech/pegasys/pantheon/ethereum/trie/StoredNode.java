@@ -96,6 +96,11 @@ class StoredNode<V> implements Node<V> {
     return load().replacePath(path);
   }
 
+  @Override
+  public void unload() {
+    loaded = null;
+  }
+
   private Node<V> load() {
     if (loaded == null) {
       loaded =
@@ -21,7 +21,9 @@ import tech.pegasys.pantheon.util.bytes.Bytes32;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.nio.charset.Charset;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Function;
 
 import org.junit.Before;
@@ -417,4 +419,56 @@ public class StoredMerklePatriciaTrieTest {
 
     newTrie.get(BytesValue.fromHexString("0x0401"));
   }
+
+  @Test
+  public void visitAllVisitsEveryStoredNode() {
+    final Set<String> values = new HashSet<>();
+    for (int i = 0; i < 100; i++) {
+      final String value = "value number " + i;
+      trie.put(BytesValue.of(i, (i * 3) % 256), value);
+      values.add(value);
+    }
+    trie.commit(merkleStorage::put);
+    merkleStorage.commit();
+
+    final StoredMerklePatriciaTrie<BytesValue, String> storedTrie =
+        new StoredMerklePatriciaTrie<>(
+            merkleStorage::get, trie.getRootHash(), valueSerializer, valueDeserializer);
+    final Set<BytesValue> visitedHashes = new HashSet<>();
+    final Set<String> visitedValues = new HashSet<>();
+    visitedHashes.add(storedTrie.getRootHash());
+    storedTrie.visitAll(
+        node -> {
+          if (node.isReferencedByHash()) {
+            visitedHashes.add(node.getHash());
+          }
+          node.getValue().ifPresent(visitedValues::add);
+        });
+
+    final Set<BytesValue> storedHashes = new HashSet<>();
+    keyValueStore.forEachKey(storedHashes::add);
+    assertThat(visitedHashes).isEqualTo(storedHashes);
+    assertThat(visitedValues).isEqualTo(values);
+  }
+
+  @Test
+  public void commitsLargeTrie() {
+    final MerklePatriciaTrie<BytesValue, String> simpleTrie =
+        new SimpleMerklePatriciaTrie<>(valueSerializer);
+    for (int i = 0; i < 1000; i++) {
+      final BytesValue key = BytesValue.of(i % 256, i / 256, 7);
+      trie.put(key, "value " + i);
+      simpleTrie.put(key, "value " + i);
+    }
+    trie.commit(merkleStorage::put);
+    merkleStorage.commit();
+
+    assertThat(trie.getRootHash()).isEqualTo(simpleTrie.getRootHash());
+    final StoredMerklePatriciaTrie<BytesValue, String> storedTrie =
+        new StoredMerklePatriciaTrie<>(
+            merkleStorage::get, trie.getRootHash(), valueSerializer, valueDeserializer);
+    for (int i = 0; i < 1000; i++) {
+      assertThat(storedTrie.get(BytesValue.of(i % 256, i / 256, 7))).contains("value " + i);
+    }
+  }
 }
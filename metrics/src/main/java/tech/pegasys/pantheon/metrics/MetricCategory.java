@@ -23,6 +23,7 @@ public enum MetricCategory {
   NETWORK("network"),
   PEERS("peers"),
   PROCESS("process", false),
+  PRUNER("pruner"),
   ROCKSDB("rocksdb"),
   RPC("rpc"),
   SYNCHRONIZER("synchronizer");
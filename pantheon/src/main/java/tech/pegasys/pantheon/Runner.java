@@ -18,6 +18,7 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketService;
 import tech.pegasys.pantheon.ethereum.p2p.NetworkRunner;
 import tech.pegasys.pantheon.ethereum.p2p.peers.Endpoint;
 import tech.pegasys.pantheon.ethereum.p2p.peers.Peer;
+import tech.pegasys.pantheon.ethereum.worldstate.Pruner;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsService;
 
 import java.io.File;
@@ -44,6 +45,7 @@ public class Runner implements AutoCloseable {
   private final Optional<JsonRpcHttpService> jsonRpc;
   private final Optional<WebSocketService> websocketRpc;
   private final Optional<MetricsService> metrics;
+  private final Optional<Pruner> pruner;
 
   private final PantheonController<?> pantheonController;
   private final Path dataDir;
@@ -54,6 +56,7 @@ public class Runner implements AutoCloseable {
       final Optional<JsonRpcHttpService> jsonRpc,
       final Optional<WebSocketService> websocketRpc,
       final Optional<MetricsService> metrics,
+      final Optional<Pruner> pruner,
       final PantheonController<?> pantheonController,
       final Path dataDir) {
     this.vertx = vertx;
@@ -61,6 +64,7 @@ public class Runner implements AutoCloseable {
     this.jsonRpc = jsonRpc;
     this.websocketRpc = websocketRpc;
     this.metrics = metrics;
+    this.pruner = pruner;
     this.pantheonController = pantheonController;
     this.dataDir = dataDir;
   }
@@ -75,6 +79,7 @@ public class Runner implements AutoCloseable {
       jsonRpc.ifPresent(service -> waitForServiceToStart("jsonRpc", service.start()));
       websocketRpc.ifPresent(service -> waitForServiceToStop("websocketRpc", service.start()));
       metrics.ifPresent(service -> waitForServiceToStart("metrics", service.start()));
+      pruner.ifPresent(Pruner::start);
       LOG.info("Ethereum main loop is up.");
       writePantheonPortsToFile();
     } catch (final Exception ex) {
@@ -101,6 +106,9 @@ public class Runner implements AutoCloseable {
       jsonRpc.ifPresent(service -> waitForServiceToStop("jsonRpc", service.stop()));
       websocketRpc.ifPresent(service -> waitForServiceToStop("websocketRpc", service.stop()));
       metrics.ifPresent(service -> waitForServiceToStop("metrics", service.stop()));
+      if (pruner.isPresent()) {
+        pruner.get().stop();
+      }
     } finally {
       try {
         vertx.close();
@@ -62,7 +62,11 @@ import tech.pegasys.pantheon.ethereum.permissioning.NodePermissioningControllerF
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.node.NodePermissioningController;
 import tech.pegasys.pantheon.ethereum.transaction.TransactionSimulator;
+import tech.pegasys.pantheon.ethereum.worldstate.MarkSweepPruner;
+import tech.pegasys.pantheon.ethereum.worldstate.Pruner;
+import tech.pegasys.pantheon.ethereum.worldstate.PrunerConfiguration;
 import tech.pegasys.pantheon.ethereum.worldstate.WorldStateArchive;
+import tech.pegasys.pantheon.ethereum.worldstate.WorldStateStorage;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsService;
@@ -92,6 +96,8 @@ public class RunnerBuilder {
   private String discoveryHost;
   private int listenPort;
   private int maxPeers;
+  private int p2pWorkerThreads = Runtime.getRuntime().availableProcessors();
+  private boolean p2pNativeTransportEnabled = true;
   private JsonRpcConfiguration jsonRpcConfiguration;
   private WebSocketConfiguration webSocketConfiguration;
   private Path dataDir;
@@ -100,6 +106,7 @@ public class RunnerBuilder {
   private MetricsSystem metricsSystem;
   private Optional<PermissioningConfiguration> permissioningConfiguration = Optional.empty();
   private Collection<EnodeURL> staticNodes = Collections.emptyList();
+  private Optional<PrunerConfiguration> prunerConfiguration = Optional.empty();
 
   private EnodeURL getSelfEnode() {
     String nodeId = pantheonController.getLocalNodeKeyPair().getPublicKey().toString();
@@ -146,6 +153,16 @@ public class RunnerBuilder {
     return this;
   }
 
+  public RunnerBuilder p2pWorkerThreads(final int p2pWorkerThreads) {
+    this.p2pWorkerThreads = p2pWorkerThreads;
+    return this;
+  }
+
+  public RunnerBuilder p2pNativeTransportEnabled(final boolean p2pNativeTransportEnabled) {
+    this.p2pNativeTransportEnabled = p2pNativeTransportEnabled;
+    return this;
+  }
+
   public RunnerBuilder jsonRpcConfiguration(final JsonRpcConfiguration jsonRpcConfiguration) {
     this.jsonRpcConfiguration = jsonRpcConfiguration;
     return this;
@@ -162,6 +179,11 @@ public class RunnerBuilder {
     return this;
   }
 
+  public RunnerBuilder prunerConfiguration(final PrunerConfiguration prunerConfiguration) {
+    this.prunerConfiguration = Optional.of(prunerConfiguration);
+    return this;
+  }
+
   public RunnerBuilder dataDir(final Path dataDir) {
     this.dataDir = dataDir;
     return this;
@@ -225,7 +247,12 @@ public class RunnerBuilder {
 
     final NetworkingConfiguration networkConfig =
         new NetworkingConfiguration()
-            .setRlpx(RlpxConfiguration.create().setBindPort(listenPort).setMaxPeers(maxPeers))
+            .setRlpx(
+                RlpxConfiguration.create()
+                    .setBindPort(listenPort)
+                    .setMaxPeers(maxPeers)
+                    .setWorkerThreads(p2pWorkerThreads)
+                    .setPreferNativeTransport(p2pNativeTransportEnabled))
             .setDiscovery(discoveryConfiguration)
             .setClientId(PantheonInfo.version())
             .setSupportedProtocols(subProtocols);
@@ -376,12 +403,28 @@ public class RunnerBuilder {
       metricsService = Optional.of(createMetricsService(vertx, metricsConfiguration));
     }
 
+    final Optional<Pruner> pruner =
+        prunerConfiguration.map(
+            configuration -> {
+              final WorldStateStorage worldStateStorage =
+                  context.getWorldStateArchive().getStorage();
+              return Pruner.create(
+                  new MarkSweepPruner(
+                      worldStateStorage,
+                      MarkSweepPruner.DEFAULT_EXPECTED_NODE_COUNT,
+                      metricsSystem),
+                  context.getBlockchain(),
+                  worldStateStorage,
+                  configuration);
+            });
+
     return new Runner(
         vertx,
         networkRunner,
         jsonRpcHttpService,
         webSocketService,
         metricsService,
+        pruner,
         pantheonController,
         dataDir);
   }
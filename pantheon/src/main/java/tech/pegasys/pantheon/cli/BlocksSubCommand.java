@@ -17,6 +17,7 @@ import static tech.pegasys.pantheon.cli.BlocksSubCommand.COMMAND_NAME;
 import static tech.pegasys.pantheon.cli.DefaultCommandValues.MANDATORY_FILE_FORMAT_HELP;
 
 import tech.pegasys.pantheon.cli.BlocksSubCommand.ImportSubCommand;
+import tech.pegasys.pantheon.controller.PantheonController;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsService;
 import tech.pegasys.pantheon.util.BlockImporter;
@@ -121,8 +122,10 @@ class BlocksSubCommand implements Runnable {
         //noinspection ConstantConditions
         final Path path = blocksImportFile.toPath();
 
-        parentCommand.blockImporter.importBlockchain(
-            path, parentCommand.parentCommand.buildController());
+        try (final PantheonController<?> controller =
+            parentCommand.parentCommand.buildBulkImportController()) {
+          parentCommand.blockImporter.importBlockchain(path, controller);
+        }
       } catch (final FileNotFoundException e) {
         throw new ExecutionException(
             new CommandLine(this), "Could not find file to import: " + blocksImportFile);
@@ -56,6 +56,7 @@ public interface DefaultCommandValues {
   // but we use FULL for the moment as Fast is still in progress
   SyncMode DEFAULT_SYNC_MODE = SyncMode.FULL;
   int DEFAULT_MAX_PEERS = 25;
+  int DEFAULT_P2P_WORKER_THREADS = Runtime.getRuntime().availableProcessors();
 
   static Path getDefaultPantheonDataPath(final Object command) {
     // this property is retrieved from Gradle tasks or Pantheon running shell script.
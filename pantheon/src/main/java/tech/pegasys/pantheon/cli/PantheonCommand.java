@@ -54,11 +54,13 @@ import tech.pegasys.pantheon.ethereum.permissioning.LocalPermissioningConfigurat
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfigurationBuilder;
 import tech.pegasys.pantheon.ethereum.permissioning.SmartContractPermissioningConfiguration;
+import tech.pegasys.pantheon.ethereum.worldstate.PrunerConfiguration;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
 import tech.pegasys.pantheon.metrics.prometheus.PrometheusMetricsSystem;
 import tech.pegasys.pantheon.metrics.vertx.VertxMetricsAdapterFactory;
+import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
 import tech.pegasys.pantheon.util.BlockImporter;
 import tech.pegasys.pantheon.util.InvalidConfigurationException;
 import tech.pegasys.pantheon.util.PermissioningConfigurationValidator;
@@ -212,6 +214,21 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
           "Maximum P2P peer connections that can be established (default: ${DEFAULT-VALUE})")
   private final Integer maxPeers = DEFAULT_MAX_PEERS;
 
+  @Option(
+      names = {"--p2p-worker-threads"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Number of threads handling P2P connections (default: number of available processors)")
+  private final Integer p2pWorkerThreads = DEFAULT_P2P_WORKER_THREADS;
+
+  @Option(
+      hidden = true,
+      names = {"--Xp2p-native-transport-enabled"},
+      description =
+          "Use the native transport for P2P connections when the platform supports it (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Boolean p2pNativeTransportEnabled = true;
+
   @Option(
       names = {"--banned-node-ids", "--banned-node-id"},
       paramLabel = MANDATORY_NODE_ID_FORMAT_HELP,
@@ -228,6 +245,14 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
           "Synchronization mode, possible values are ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})")
   private final SyncMode syncMode = DEFAULT_SYNC_MODE;
 
+  @Option(
+      hidden = true,
+      names = {"--parallel-transaction-execution-enabled"},
+      description =
+          "Execute the transactions of imported blocks speculatively in parallel (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Boolean parallelTransactionExecutionEnabled = false;
+
   @Option(
       names = {"--network"},
       paramLabel = MANDATORY_NETWORK_FORMAT_HELP,
@@ -491,6 +516,67 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
       arity = "1")
   private final Integer txPoolMaxSize = PendingTransactions.MAX_PENDING_TRANSACTIONS;
 
+  @Option(
+      names = {"--pruning-enabled"},
+      description =
+          "Enable pruning of the world state, keeping only the state of recent blocks (default: ${DEFAULT-VALUE})")
+  private final Boolean isPruningEnabled = false;
+
+  @Option(
+      names = {"--pruning-blocks-retained"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Number of recent blocks for which to keep the world state when pruning (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer pruningBlocksRetained = PrunerConfiguration.DEFAULT_BLOCKS_RETAINED;
+
+  @Option(
+      names = {"--pruning-block-confirmations"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Number of confirmations a block needs before its world state is marked for pruning (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer pruningBlockConfirmations = PrunerConfiguration.DEFAULT_BLOCK_CONFIRMATIONS;
+
+  @Option(
+      names = {"--rocksdb-cache-capacity"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Capacity in bytes of the RocksDB block cache shared by all databases (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Long rocksDbCacheCapacity = RocksDbConfiguration.DEFAULT_CACHE_CAPACITY;
+
+  @Option(
+      names = {"--rocksdb-max-background-jobs"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Maximum number of concurrent RocksDB flushes and compactions (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer rocksDbMaxBackgroundJobs = RocksDbConfiguration.DEFAULT_MAX_BACKGROUND_JOBS;
+
+  @Option(
+      names = {"--rocksdb-write-buffer-size"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Size in bytes of each RocksDB memtable before it is flushed to disk (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Long rocksDbWriteBufferSize = RocksDbConfiguration.DEFAULT_WRITE_BUFFER_SIZE;
+
+  @Option(
+      names = {"--rocksdb-max-write-buffer-number"},
+      paramLabel = MANDATORY_INTEGER_FORMAT_HELP,
+      description =
+          "Maximum number of RocksDB memtables kept in memory per column family (default: ${DEFAULT-VALUE})",
+      arity = "1")
+  private final Integer rocksDbMaxWriteBufferNumber =
+      RocksDbConfiguration.DEFAULT_MAX_WRITE_BUFFER_NUMBER;
+
+  @Option(
+      names = {"--rocksdb-write-batch-enabled"},
+      description =
+          "Commit database updates as plain RocksDB write batches instead of transactions (default: ${DEFAULT-VALUE})")
+  private final Boolean isRocksDbWriteBatchEnabled = false;
+
   // Inner class so we can get to loggingLevel.
   public class PantheonExceptionHandler
       extends CommandLine.AbstractHandler<List<Object>, PantheonExceptionHandler>
@@ -599,6 +685,8 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
             "--bootnodes",
             "--discovery-enabled",
             "--max-peers",
+            "--p2p-worker-threads",
+            "--Xp2p-native-transport-enabled",
             "--banned-node-id",
             "--banned-node-ids"));
 
@@ -610,6 +698,14 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
         !isMiningEnabled,
         Arrays.asList("--miner-coinbase", "--min-gas-price", "--miner-extra-data"));
 
+    // Check that pruning options are able to work or send an error
+    CommandLineUtils.checkOptionDependencies(
+        logger,
+        commandLine,
+        "--pruning-enabled",
+        !isPruningEnabled,
+        Arrays.asList("--pruning-blocks-retained", "--pruning-block-confirmations"));
+
     //noinspection ConstantConditions
     if (isMiningEnabled && coinbase == null) {
       throw new ParameterException(
@@ -675,6 +771,21 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
   }
 
   PantheonController<?> buildController() {
+    return buildController(rocksDbConfiguration().build());
+  }
+
+  /**
+   * Builds a controller for an offline bulk import. The import is the only writer, so updates are
+   * written as plain write batches, and as an interrupted import can simply be run again the write
+   * ahead log is disabled. The returned controller must be closed to flush the imported data.
+   *
+   * @return the controller
+   */
+  PantheonController<?> buildBulkImportController() {
+    return buildController(rocksDbConfiguration().writeBatchMode(true).walDisabled(true).build());
+  }
+
+  private PantheonController<?> buildController(final RocksDbConfiguration rocksDbConfiguration) {
     try {
       return controllerBuilder
           .synchronizerConfiguration(buildSyncConfig())
@@ -687,6 +798,8 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
           .nodePrivateKeyFile(nodePrivateKeyFile())
           .metricsSystem(metricsSystem.get())
           .privacyParameters(privacyParameters())
+          .rocksDbConfiguration(rocksDbConfiguration)
+          .parallelTransactionExecutionEnabled(parallelTransactionExecutionEnabled)
           .build();
     } catch (final InvalidConfigurationException e) {
       throw new ExecutionException(this.commandLine, e.getMessage());
@@ -901,11 +1014,34 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
             commandLine, "Please specify Enclave public key file path to enable privacy");
       }
       privacyParameters.setPrivacyAddress(privacyPrecompiledAddress);
-      privacyParameters.enablePrivateDB(dataDir());
     }
     return privacyParameters;
   }
 
+  private Optional<PrunerConfiguration> prunerConfiguration() {
+    if (!isPruningEnabled) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(new PrunerConfiguration(pruningBlockConfirmations, pruningBlocksRetained));
+    } catch (final IllegalArgumentException e) {
+      throw new ParameterException(commandLine, e.getMessage());
+    }
+  }
+
+  private RocksDbConfiguration.Builder rocksDbConfiguration() {
+    try {
+      return RocksDbConfiguration.builder()
+          .cacheCapacity(rocksDbCacheCapacity)
+          .maxBackgroundJobs(rocksDbMaxBackgroundJobs)
+          .writeBufferSize(rocksDbWriteBufferSize)
+          .maxWriteBufferNumber(rocksDbMaxWriteBufferNumber)
+          .writeBatchMode(isRocksDbWriteBatchEnabled);
+    } catch (final IllegalArgumentException e) {
+      throw new ParameterException(commandLine, e.getMessage());
+    }
+  }
+
   private SynchronizerConfiguration buildSyncConfig() {
     return synchronizerConfigurationBuilder
         .syncMode(syncMode)
@@ -931,6 +1067,7 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
     checkNotNull(runnerBuilder);
 
     permissioningConfiguration.ifPresent(runnerBuilder::permissioningConfiguration);
+    prunerConfiguration().ifPresent(runnerBuilder::prunerConfiguration);
 
     final MetricsSystem metricsSystem = this.metricsSystem.get();
     final Runner runner =
@@ -943,6 +1080,8 @@ public class PantheonCommand implements DefaultCommandValues, Runnable {
             .discoveryHost(discoveryHost)
             .discoveryPort(discoveryPort)
             .maxPeers(maxPeers)
+            .p2pWorkerThreads(p2pWorkerThreads)
+            .p2pNativeTransportEnabled(p2pNativeTransportEnabled)
             .jsonRpcConfiguration(jsonRpcConfiguration)
             .webSocketConfiguration(webSocketConfiguration)
             .dataDir(dataDir())
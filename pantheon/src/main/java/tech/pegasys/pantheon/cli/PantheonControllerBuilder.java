@@ -25,6 +25,8 @@ import tech.pegasys.pantheon.ethereum.eth.sync.SynchronizerConfiguration;
 import tech.pegasys.pantheon.ethereum.storage.StorageProvider;
 import tech.pegasys.pantheon.ethereum.storage.keyvalue.RocksDbStorageProvider;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.RocksDbBlockCache;
+import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
 
 import java.io.File;
 import java.io.IOException;
@@ -42,6 +44,8 @@ public class PantheonControllerBuilder {
   private MetricsSystem metricsSystem;
   private PrivacyParameters privacyParameters;
   private Integer maxPendingTransactions = PendingTransactions.MAX_PENDING_TRANSACTIONS;
+  private RocksDbConfiguration rocksDbConfiguration = RocksDbConfiguration.builder().build();
+  private boolean parallelTransactionExecutionEnabled;
 
   public PantheonControllerBuilder synchronizerConfiguration(
       final SynchronizerConfiguration synchronizerConfiguration) {
@@ -89,14 +93,35 @@ public class PantheonControllerBuilder {
     return this;
   }
 
+  public PantheonControllerBuilder rocksDbConfiguration(
+      final RocksDbConfiguration rocksDbConfiguration) {
+    this.rocksDbConfiguration = rocksDbConfiguration;
+    return this;
+  }
+
+  public PantheonControllerBuilder parallelTransactionExecutionEnabled(
+      final boolean parallelTransactionExecutionEnabled) {
+    this.parallelTransactionExecutionEnabled = parallelTransactionExecutionEnabled;
+    return this;
+  }
+
   public PantheonController<?> build() throws IOException {
     // instantiate a controller with mainnet config if no genesis file is defined
     // otherwise use the indicated genesis file
     final KeyPair nodeKeys = loadKeyPair(nodePrivateKeyFile);
     privacyParameters.setSigningKeyPair(nodeKeys);
 
-    final StorageProvider storageProvider =
-        RocksDbStorageProvider.create(homePath.resolve(DATABASE_PATH), metricsSystem);
+    // All databases share one block cache, which is released once the last of them is closed.
+    final StorageProvider storageProvider;
+    try (final RocksDbBlockCache blockCache =
+        RocksDbBlockCache.create(rocksDbConfiguration.getCacheCapacity())) {
+      storageProvider =
+          RocksDbStorageProvider.create(
+              homePath.resolve(DATABASE_PATH), metricsSystem, rocksDbConfiguration, blockCache);
+      if (privacyParameters.isEnabled() && privacyParameters.getPrivateStorageProvider() == null) {
+        privacyParameters.enablePrivateDB(homePath, blockCache);
+      }
+    }
 
     final GenesisConfigFile genesisConfigFile;
     if (devMode) {
@@ -117,6 +142,7 @@ public class PantheonControllerBuilder {
         privacyParameters,
         homePath,
         clock,
-        maxPendingTransactions);
+        maxPendingTransactions,
+        parallelTransactionExecutionEnabled);
   }
 }
@@ -54,7 +54,7 @@ public class TomlConfigFileDefaultProvider implements IDefaultValueProvider {
       defaultValue = getBooleanEntryAsString(optionSpec);
     } else if (optionSpec.isMultiValue()) {
       defaultValue = getListEntryAsString(optionSpec);
-    } else if (optionSpec.type().equals(Integer.class)) {
+    } else if (optionSpec.type().equals(Integer.class) || optionSpec.type().equals(Long.class)) {
       defaultValue = getIntegerEntryAsString(optionSpec);
     } else { // else will be treated as String
       defaultValue = getEntryAsString(optionSpec);
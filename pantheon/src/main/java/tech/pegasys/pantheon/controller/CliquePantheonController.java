@@ -224,9 +224,7 @@ public class CliquePantheonController implements PantheonController<CliqueContex
           }
           try {
             storageProvider.close();
-            if (privacyParameters.isEnabled()) {
-              privacyParameters.getPrivateStorageProvider().close();
-            }
+            privacyParameters.closePrivateStorage();
           } catch (final IOException e) {
             LOG.error("Failed to close storage provider", e);
           }
@@ -166,9 +166,7 @@ public class IbftLegacyPantheonController implements PantheonController<IbftCont
         () -> {
           try {
             storageProvider.close();
-            if (privacyParameters.isEnabled()) {
-              privacyParameters.getPrivateStorageProvider().close();
-            }
+            privacyParameters.closePrivateStorage();
           } catch (final IOException e) {
             LOG.error("Failed to close storage provider", e);
           }
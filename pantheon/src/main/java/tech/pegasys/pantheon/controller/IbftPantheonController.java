@@ -303,9 +303,7 @@ public class IbftPantheonController implements PantheonController<IbftContext> {
           }
           try {
             storageProvider.close();
-            if (privacyParameters.isEnabled()) {
-              privacyParameters.getPrivateStorageProvider().close();
-            }
+            privacyParameters.closePrivateStorage();
           } catch (final IOException e) {
             LOG.error("Failed to close storage provider", e);
           }
@@ -46,6 +46,7 @@ import tech.pegasys.pantheon.metrics.MetricsSystem;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.time.Clock;
+import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -106,6 +107,40 @@ public class MainnetPantheonController implements PantheonController<Void> {
       final MetricsSystem metricsSystem,
       final Clock clock,
       final int maxPendingTransactions) {
+    return init(
+        storageProvider,
+        genesisConfig,
+        protocolSchedule,
+        syncConfig,
+        miningParams,
+        networkId,
+        nodeKeys,
+        privacyParameters,
+        dataDirectory,
+        metricsSystem,
+        clock,
+        maxPendingTransactions,
+        Optional.empty());
+  }
+
+  /**
+   * @param transactionExecutor the executor the protocol schedule executes block transactions on,
+   *     if any, which is shut down when the controller is closed.
+   */
+  public static PantheonController<Void> init(
+      final StorageProvider storageProvider,
+      final GenesisConfigFile genesisConfig,
+      final ProtocolSchedule<Void> protocolSchedule,
+      final SynchronizerConfiguration syncConfig,
+      final MiningParameters miningParams,
+      final int networkId,
+      final KeyPair nodeKeys,
+      final PrivacyParameters privacyParameters,
+      final Path dataDirectory,
+      final MetricsSystem metricsSystem,
+      final Clock clock,
+      final int maxPendingTransactions,
+      final Optional<ExecutorService> transactionExecutor) {
 
     final GenesisState genesisState = GenesisState.fromConfig(genesisConfig, protocolSchedule);
     final ProtocolContext<Void> protocolContext =
@@ -193,11 +228,10 @@ public class MainnetPantheonController implements PantheonController<Void> {
           } catch (final InterruptedException e) {
             LOG.error("Failed to shutdown miner executor");
           }
+          transactionExecutor.ifPresent(ExecutorService::shutdownNow);
           try {
             storageProvider.close();
-            if (privacyParameters.getPrivateStorageProvider() != null) {
-              privacyParameters.getPrivateStorageProvider().close();
-            }
+            privacyParameters.closePrivateStorage();
           } catch (final IOException e) {
             LOG.error("Failed to close storage provider", e);
           }
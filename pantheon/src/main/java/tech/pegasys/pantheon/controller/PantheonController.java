@@ -37,6 +37,11 @@ import java.nio.file.Path;
 import java.time.Clock;
 import java.util.Collection;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 public interface PantheonController<C> extends Closeable {
 
@@ -54,14 +59,52 @@ public interface PantheonController<C> extends Closeable {
       final Path dataDirectory,
       final Clock clock,
       final int maxPendingTransactions) {
+    return fromConfig(
+        genesisConfigFile,
+        syncConfig,
+        storageProvider,
+        networkId,
+        miningParameters,
+        nodeKeys,
+        metricsSystem,
+        privacyParameters,
+        dataDirectory,
+        clock,
+        maxPendingTransactions,
+        false);
+  }
+
+  static PantheonController<?> fromConfig(
+      final GenesisConfigFile genesisConfigFile,
+      final SynchronizerConfiguration syncConfig,
+      final StorageProvider storageProvider,
+      final int networkId,
+      final MiningParameters miningParameters,
+      final KeyPair nodeKeys,
+      final MetricsSystem metricsSystem,
+      final PrivacyParameters privacyParameters,
+      final Path dataDirectory,
+      final Clock clock,
+      final int maxPendingTransactions,
+      final boolean parallelTransactionExecutionEnabled) {
 
     final GenesisConfigOptions configOptions = genesisConfigFile.getConfigOptions();
 
     if (configOptions.isEthHash()) {
+      final Optional<ExecutorService> transactionExecutor =
+          parallelTransactionExecutionEnabled
+              ? Optional.of(
+                  Executors.newFixedThreadPool(
+                      Runtime.getRuntime().availableProcessors(),
+                      new ThreadFactoryBuilder()
+                          .setNameFormat("TransactionExecutor-%d")
+                          .setDaemon(true)
+                          .build()))
+              : Optional.empty();
       return MainnetPantheonController.init(
           storageProvider,
           genesisConfigFile,
-          MainnetProtocolSchedule.fromConfig(configOptions, privacyParameters),
+          MainnetProtocolSchedule.fromConfig(configOptions, privacyParameters, transactionExecutor),
           syncConfig,
           miningParameters,
           networkId,
@@ -70,7 +113,8 @@ public interface PantheonController<C> extends Closeable {
           dataDirectory,
           metricsSystem,
           clock,
-          maxPendingTransactions);
+          maxPendingTransactions,
+          transactionExecutor);
     } else if (configOptions.isIbft2()) {
       return IbftPantheonController.init(
           storageProvider,
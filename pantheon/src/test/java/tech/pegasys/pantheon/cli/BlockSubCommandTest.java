@@ -14,11 +14,15 @@ package tech.pegasys.pantheon.cli;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.verify;
 
+import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
+
 import java.io.File;
 
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 import picocli.CommandLine.Model.CommandSpec;
 
 public class BlockSubCommandTest extends CommandTestAbstract {
@@ -106,4 +110,22 @@ public class BlockSubCommandTest extends CommandTestAbstract {
     assertThat(commandOutput.toString()).isEmpty();
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
+
+  @Test
+  public void blockImportUsesBulkImportStorageSettingsAndClosesController() throws Exception {
+    File fileToImport = temp.newFile("blocks.file");
+    parseCommand(
+        BLOCK_SUBCOMMAND_NAME, BLOCK_IMPORT_SUBCOMMAND_NAME, "--from", fileToImport.getPath());
+
+    final ArgumentCaptor<RocksDbConfiguration> rocksDbArg =
+        ArgumentCaptor.forClass(RocksDbConfiguration.class);
+    verify(mockControllerBuilder).rocksDbConfiguration(rocksDbArg.capture());
+    verify(mockBlockImporter).importBlockchain(any(), eq(mockController));
+    verify(mockController).close();
+
+    assertThat(rocksDbArg.getValue().isWriteBatchMode()).isTrue();
+    assertThat(rocksDbArg.getValue().isWalDisabled()).isTrue();
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
 }
@@ -107,6 +107,9 @@ public abstract class CommandTestAbstract {
     when(mockControllerBuilder.nodePrivateKeyFile(any())).thenReturn(mockControllerBuilder);
     when(mockControllerBuilder.metricsSystem(any())).thenReturn(mockControllerBuilder);
     when(mockControllerBuilder.privacyParameters(any())).thenReturn(mockControllerBuilder);
+    when(mockControllerBuilder.rocksDbConfiguration(any())).thenReturn(mockControllerBuilder);
+    when(mockControllerBuilder.parallelTransactionExecutionEnabled(anyBoolean()))
+        .thenReturn(mockControllerBuilder);
 
     when(mockSyncConfBuilder.syncMode(any())).thenReturn(mockSyncConfBuilder);
     when(mockSyncConfBuilder.maxTrailingPeers(anyInt())).thenReturn(mockSyncConfBuilder);
@@ -119,6 +122,8 @@ public abstract class CommandTestAbstract {
     when(mockRunnerBuilder.discoveryHost(anyString())).thenReturn(mockRunnerBuilder);
     when(mockRunnerBuilder.discoveryPort(anyInt())).thenReturn(mockRunnerBuilder);
     when(mockRunnerBuilder.maxPeers(anyInt())).thenReturn(mockRunnerBuilder);
+    when(mockRunnerBuilder.p2pWorkerThreads(anyInt())).thenReturn(mockRunnerBuilder);
+    when(mockRunnerBuilder.p2pNativeTransportEnabled(anyBoolean())).thenReturn(mockRunnerBuilder);
     when(mockRunnerBuilder.p2pEnabled(anyBoolean())).thenReturn(mockRunnerBuilder);
     when(mockRunnerBuilder.jsonRpcConfiguration(any())).thenReturn(mockRunnerBuilder);
     when(mockRunnerBuilder.webSocketConfiguration(any())).thenReturn(mockRunnerBuilder);
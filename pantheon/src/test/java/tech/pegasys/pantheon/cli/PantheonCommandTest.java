@@ -17,9 +17,11 @@ import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assume.assumeFalse;
 import static org.junit.Assume.assumeTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.isNotNull;
 import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static tech.pegasys.pantheon.cli.NetworkName.DEV;
@@ -47,8 +49,10 @@ import tech.pegasys.pantheon.ethereum.jsonrpc.websocket.WebSocketConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.LocalPermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.PermissioningConfiguration;
 import tech.pegasys.pantheon.ethereum.permissioning.SmartContractPermissioningConfiguration;
+import tech.pegasys.pantheon.ethereum.worldstate.PrunerConfiguration;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.prometheus.MetricsConfiguration;
+import tech.pegasys.pantheon.services.kvstore.RocksDbConfiguration;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.enode.EnodeURL;
 
@@ -860,13 +864,23 @@ public class PantheonCommandTest extends CommandTestAbstract {
         "false",
         "--max-peers",
         "42",
+        "--p2p-worker-threads",
+        "2",
+        "--Xp2p-native-transport-enabled",
+        "false",
         "--banned-node-id",
         String.join(",", nodes),
         "--banned-node-ids",
         String.join(",", nodes));
 
     verifyOptionsConstraintLoggerCall(
-        "--p2p-enabled", "--discovery-enabled", "--bootnodes", "--max-peers", "--banned-node-ids");
+        "--p2p-enabled",
+        "--discovery-enabled",
+        "--bootnodes",
+        "--max-peers",
+        "--p2p-worker-threads",
+        "--Xp2p-native-transport-enabled",
+        "--banned-node-ids");
 
     assertThat(commandOutput.toString()).isEmpty();
     assertThat(commandErrorOutput.toString()).isEmpty();
@@ -1035,6 +1049,48 @@ public class PantheonCommandTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
 
+  @Test
+  public void p2pWorkerThreadsOptionMustBeUsed() {
+    parseCommand("--p2p-worker-threads", "3");
+
+    verify(mockRunnerBuilder).p2pWorkerThreads(eq(3));
+    verify(mockRunnerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void p2pWorkerThreadsDefaultToAvailableProcessors() {
+    parseCommand();
+
+    verify(mockRunnerBuilder).p2pWorkerThreads(eq(Runtime.getRuntime().availableProcessors()));
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void p2pNativeTransportOptionMustBeUsed() {
+    parseCommand("--Xp2p-native-transport-enabled", "false");
+
+    verify(mockRunnerBuilder).p2pNativeTransportEnabled(eq(false));
+    verify(mockRunnerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void p2pNativeTransportIsEnabledByDefault() {
+    parseCommand();
+
+    verify(mockRunnerBuilder).p2pNativeTransportEnabled(eq(true));
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
   @Ignore("Ignored as we only have one mode available for now. See NC-1057/NC-1681")
   @Test
   public void syncModeOptionMustBeUsed() {
@@ -1049,6 +1105,26 @@ public class PantheonCommandTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
 
+  @Test
+  public void parallelTransactionExecutionOptionMustBeUsed() {
+    parseCommand("--parallel-transaction-execution-enabled", "true");
+
+    verify(mockControllerBuilder).parallelTransactionExecutionEnabled(eq(true));
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void parallelTransactionExecutionIsDisabledByDefault() {
+    parseCommand();
+
+    verify(mockControllerBuilder).parallelTransactionExecutionEnabled(eq(false));
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
   @Test
   public void rpcHttpEnabledPropertyDefaultIsFalse() {
     parseCommand();
@@ -1846,6 +1922,117 @@ public class PantheonCommandTest extends CommandTestAbstract {
     assertThat(commandErrorOutput.toString()).isEmpty();
   }
 
+  @Test
+  public void pruningIsDisabledByDefault() {
+    parseCommand();
+
+    verify(mockRunnerBuilder, never()).prunerConfiguration(any());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void pruningParametersAreCaptured() {
+    parseCommand(
+        "--pruning-enabled", "--pruning-blocks-retained=500", "--pruning-block-confirmations=5");
+
+    final ArgumentCaptor<PrunerConfiguration> pruningArg =
+        ArgumentCaptor.forClass(PrunerConfiguration.class);
+
+    verify(mockRunnerBuilder).prunerConfiguration(pruningArg.capture());
+    verify(mockRunnerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+    assertThat(pruningArg.getValue().getBlocksRetained()).isEqualTo(500);
+    assertThat(pruningArg.getValue().getBlockConfirmations()).isEqualTo(5);
+  }
+
+  @Test
+  public void pruningOptionsRequiresServiceToBeEnabled() {
+    parseCommand("--pruning-blocks-retained", "500", "--pruning-block-confirmations", "5");
+
+    verifyOptionsConstraintLoggerCall(
+        "--pruning-enabled", "--pruning-blocks-retained", "--pruning-block-confirmations");
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+  }
+
+  @Test
+  public void pruningBlocksRetainedMustExceedBlockConfirmations() {
+    parseCommand(
+        "--pruning-enabled", "--pruning-blocks-retained=5", "--pruning-block-confirmations=5");
+
+    verify(mockRunnerBuilder, never()).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .contains("Blocks retained must be greater than the number of block confirmations");
+  }
+
+  @Test
+  public void rocksDbConfigurationDefaultsAreUsed() throws Exception {
+    parseCommand();
+
+    final ArgumentCaptor<RocksDbConfiguration> rocksDbArg =
+        ArgumentCaptor.forClass(RocksDbConfiguration.class);
+
+    verify(mockControllerBuilder).rocksDbConfiguration(rocksDbArg.capture());
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+    assertThat(rocksDbArg.getValue().getCacheCapacity())
+        .isEqualTo(RocksDbConfiguration.DEFAULT_CACHE_CAPACITY);
+    assertThat(rocksDbArg.getValue().getMaxBackgroundJobs())
+        .isEqualTo(RocksDbConfiguration.DEFAULT_MAX_BACKGROUND_JOBS);
+    assertThat(rocksDbArg.getValue().getWriteBufferSize())
+        .isEqualTo(RocksDbConfiguration.DEFAULT_WRITE_BUFFER_SIZE);
+    assertThat(rocksDbArg.getValue().getMaxWriteBufferNumber())
+        .isEqualTo(RocksDbConfiguration.DEFAULT_MAX_WRITE_BUFFER_NUMBER);
+    assertThat(rocksDbArg.getValue().isWriteBatchMode()).isFalse();
+    assertThat(rocksDbArg.getValue().isWalDisabled()).isFalse();
+  }
+
+  @Test
+  public void rocksDbParametersAreCaptured() throws Exception {
+    parseCommand(
+        "--rocksdb-cache-capacity=1073741824",
+        "--rocksdb-max-background-jobs=8",
+        "--rocksdb-write-buffer-size=33554432",
+        "--rocksdb-max-write-buffer-number=4",
+        "--rocksdb-write-batch-enabled");
+
+    final ArgumentCaptor<RocksDbConfiguration> rocksDbArg =
+        ArgumentCaptor.forClass(RocksDbConfiguration.class);
+
+    verify(mockControllerBuilder).rocksDbConfiguration(rocksDbArg.capture());
+    verify(mockControllerBuilder).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString()).isEmpty();
+    assertThat(rocksDbArg.getValue().getCacheCapacity()).isEqualTo(1073741824L);
+    assertThat(rocksDbArg.getValue().getMaxBackgroundJobs()).isEqualTo(8);
+    assertThat(rocksDbArg.getValue().getWriteBufferSize()).isEqualTo(33554432L);
+    assertThat(rocksDbArg.getValue().getMaxWriteBufferNumber()).isEqualTo(4);
+    assertThat(rocksDbArg.getValue().isWriteBatchMode()).isTrue();
+    assertThat(rocksDbArg.getValue().isWalDisabled()).isFalse();
+  }
+
+  @Test
+  public void rocksDbMaxWriteBufferNumberMustBeAtLeastTwo() throws Exception {
+    parseCommand("--rocksdb-max-write-buffer-number=1");
+
+    verify(mockControllerBuilder, never()).build();
+
+    assertThat(commandOutput.toString()).isEmpty();
+    assertThat(commandErrorOutput.toString())
+        .contains("Max write buffer number must be at least 2");
+  }
+
   @Test
   public void miningParametersAreCaptured() throws Exception {
     final Address requestedCoinbase = Address.fromHexString("0000011111222223333344444");
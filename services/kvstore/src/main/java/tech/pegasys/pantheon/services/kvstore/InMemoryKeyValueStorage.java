@@ -14,14 +14,17 @@ package tech.pegasys.pantheon.services.kvstore;
 
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
 
 public class InMemoryKeyValueStorage implements KeyValueStorage {
 
@@ -39,11 +42,39 @@ public class InMemoryKeyValueStorage implements KeyValueStorage {
     }
   }
 
+  @Override
+  public List<Optional<BytesValue>> getAll(final List<BytesValue> keys) {
+    final List<Optional<BytesValue>> values = new ArrayList<>(keys.size());
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      for (final BytesValue key : keys) {
+        values.add(Optional.ofNullable(hashValueStore.get(key)));
+      }
+      return values;
+    } finally {
+      lock.unlock();
+    }
+  }
+
   @Override
   public Transaction startTransaction() {
     return new InMemoryTransaction();
   }
 
+  @Override
+  public void forEachKey(final Consumer<BytesValue> action) {
+    final Set<BytesValue> keys;
+    final Lock lock = rwLock.readLock();
+    lock.lock();
+    try {
+      keys = new HashSet<>(hashValueStore.keySet());
+    } finally {
+      lock.unlock();
+    }
+    keys.forEach(action);
+  }
+
   @Override
   public void close() {}
 
@@ -17,8 +17,10 @@ import static com.google.common.base.Preconditions.checkState;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.io.Closeable;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /** Service provided by pantheon to facilitate persistent data storage. */
 public interface KeyValueStorage extends Closeable {
@@ -29,6 +31,15 @@ public interface KeyValueStorage extends Closeable {
    */
   Optional<BytesValue> get(BytesValue key) throws StorageException;
 
+  /**
+   * Reads the values of several keys in a single call, which is cheaper than separate calls to
+   * {@link #get(BytesValue)} when each read has to cross into native code.
+   *
+   * @param keys Indexes into persistent data repository.
+   * @return The values persisted at the key indexes, in the same order as the keys.
+   */
+  List<Optional<BytesValue>> getAll(List<BytesValue> keys) throws StorageException;
+
   /**
    * Begins a transaction. Returns a transaction object that can be updated and committed.
    *
@@ -36,6 +47,14 @@ public interface KeyValueStorage extends Closeable {
    */
   Transaction startTransaction() throws StorageException;
 
+  /**
+   * Performs the given action for every key in the store. Keys added or removed while the iteration
+   * is in progress may or may not be visited.
+   *
+   * @param action The action to perform for each key.
+   */
+  void forEachKey(Consumer<BytesValue> action) throws StorageException;
+
   class Entry {
     private final BytesValue key;
     private final BytesValue value;
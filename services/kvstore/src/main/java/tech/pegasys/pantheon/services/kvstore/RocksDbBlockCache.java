@@ -0,0 +1,72 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.kvstore;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+import tech.pegasys.pantheon.services.util.RocksDbUtil;
+
+import java.io.Closeable;
+
+import org.rocksdb.Cache;
+import org.rocksdb.LRUCache;
+
+/**
+ * An LRU block cache that can be shared by several RocksDB databases, so their combined cache
+ * memory is bounded by a single capacity. Every database opened with the cache holds a reference to
+ * it, as does the creator until it closes the cache, and the cache is released once all of them are
+ * closed.
+ */
+public class RocksDbBlockCache implements Closeable {
+
+  private final Cache cache;
+  private int references = 1;
+  private boolean closed;
+
+  private RocksDbBlockCache(final Cache cache) {
+    this.cache = cache;
+  }
+
+  public static RocksDbBlockCache create(final long capacity) {
+    checkArgument(capacity > 0, "Cache capacity must be positive");
+    RocksDbUtil.loadNativeLibrary();
+    return new RocksDbBlockCache(new LRUCache(capacity));
+  }
+
+  synchronized Cache retain() {
+    if (references == 0) {
+      throw new IllegalStateException("Block cache has been closed");
+    }
+    references++;
+    return cache;
+  }
+
+  synchronized void release() {
+    if (--references == 0) {
+      cache.close();
+    }
+  }
+
+  /** Drops the creator's reference. Databases that are still open keep using the cache. */
+  @Override
+  public synchronized void close() {
+    if (!closed) {
+      closed = true;
+      release();
+    }
+  }
+
+  synchronized boolean isReleased() {
+    return references == 0;
+  }
+}
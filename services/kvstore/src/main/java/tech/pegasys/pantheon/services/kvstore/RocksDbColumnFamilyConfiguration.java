@@ -0,0 +1,128 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.kvstore;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/**
+ * Tuning for a single RocksDB column family. Data with different access patterns, such as
+ * append-mostly chain data and randomly accessed trie nodes, can be kept in separate column
+ * families so that each gets its own block cache, bloom filter, compression and compaction style.
+ */
+public class RocksDbColumnFamilyConfiguration {
+
+  public enum Compression {
+    NONE,
+    SNAPPY,
+    LZ4,
+    ZSTD
+  }
+
+  public enum CompactionStyle {
+    LEVEL,
+    UNIVERSAL
+  }
+
+  private final String name;
+  private final long blockCacheSize;
+  private final int bloomFilterBitsPerKey;
+  private final Compression compression;
+  private final CompactionStyle compactionStyle;
+
+  private RocksDbColumnFamilyConfiguration(
+      final String name,
+      final long blockCacheSize,
+      final int bloomFilterBitsPerKey,
+      final Compression compression,
+      final CompactionStyle compactionStyle) {
+    this.name = name;
+    this.blockCacheSize = blockCacheSize;
+    this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+    this.compression = compression;
+    this.compactionStyle = compactionStyle;
+  }
+
+  public static Builder builder(final String name) {
+    return new Builder(name);
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * The capacity in bytes of a block cache dedicated to this column family, or zero if the column
+   * family should use the block cache shared by all databases.
+   *
+   * @return the dedicated block cache size in bytes
+   */
+  public long getBlockCacheSize() {
+    return blockCacheSize;
+  }
+
+  /**
+   * The number of bloom filter bits per key, or zero if no bloom filter should be used.
+   *
+   * @return the number of bloom filter bits per key
+   */
+  public int getBloomFilterBitsPerKey() {
+    return bloomFilterBitsPerKey;
+  }
+
+  public Compression getCompression() {
+    return compression;
+  }
+
+  public CompactionStyle getCompactionStyle() {
+    return compactionStyle;
+  }
+
+  public static class Builder {
+    private final String name;
+    private long blockCacheSize = 0;
+    private int bloomFilterBitsPerKey = 0;
+    private Compression compression = Compression.SNAPPY;
+    private CompactionStyle compactionStyle = CompactionStyle.LEVEL;
+
+    private Builder(final String name) {
+      this.name = name;
+    }
+
+    public Builder blockCacheSize(final long blockCacheSize) {
+      checkArgument(blockCacheSize >= 0, "Block cache size must not be negative");
+      this.blockCacheSize = blockCacheSize;
+      return this;
+    }
+
+    public Builder bloomFilterBitsPerKey(final int bloomFilterBitsPerKey) {
+      checkArgument(bloomFilterBitsPerKey >= 0, "Bloom filter bits per key must not be negative");
+      this.bloomFilterBitsPerKey = bloomFilterBitsPerKey;
+      return this;
+    }
+
+    public Builder compression(final Compression compression) {
+      this.compression = compression;
+      return this;
+    }
+
+    public Builder compactionStyle(final CompactionStyle compactionStyle) {
+      this.compactionStyle = compactionStyle;
+      return this;
+    }
+
+    public RocksDbColumnFamilyConfiguration build() {
+      return new RocksDbColumnFamilyConfiguration(
+          name, blockCacheSize, bloomFilterBitsPerKey, compression, compactionStyle);
+    }
+  }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.kvstore;
+
+import static com.google.common.base.Preconditions.checkArgument;
+
+/** Database wide RocksDB tuning, applied to every column family of a database. */
+public class RocksDbConfiguration {
+
+  public static final long DEFAULT_CACHE_CAPACITY = 256 * 1024 * 1024;
+  public static final int DEFAULT_MAX_BACKGROUND_JOBS = 4;
+  public static final long DEFAULT_WRITE_BUFFER_SIZE = 64 * 1024 * 1024;
+  public static final int DEFAULT_MAX_WRITE_BUFFER_NUMBER = 3;
+
+  private final long cacheCapacity;
+  private final int maxBackgroundJobs;
+  private final long writeBufferSize;
+  private final int maxWriteBufferNumber;
+  private final boolean writeBatchMode;
+  private final boolean walDisabled;
+
+  private RocksDbConfiguration(
+      final long cacheCapacity,
+      final int maxBackgroundJobs,
+      final long writeBufferSize,
+      final int maxWriteBufferNumber,
+      final boolean writeBatchMode,
+      final boolean walDisabled) {
+    this.cacheCapacity = cacheCapacity;
+    this.maxBackgroundJobs = maxBackgroundJobs;
+    this.writeBufferSize = writeBufferSize;
+    this.maxWriteBufferNumber = maxWriteBufferNumber;
+    this.writeBatchMode = writeBatchMode;
+    this.walDisabled = walDisabled;
+  }
+
+  public static Builder builder() {
+    return new Builder();
+  }
+
+  /**
+   * The capacity in bytes of the LRU block cache. The cache is shared by every column family that
+   * doesn't configure its own, and also holds index and filter blocks. Databases opened with a
+   * {@link RocksDbBlockCache} share that cache instead.
+   *
+   * @return the block cache capacity in bytes
+   */
+  public long getCacheCapacity() {
+    return cacheCapacity;
+  }
+
+  public int getMaxBackgroundJobs() {
+    return maxBackgroundJobs;
+  }
+
+  public long getWriteBufferSize() {
+    return writeBufferSize;
+  }
+
+  public int getMaxWriteBufferNumber() {
+    return maxWriteBufferNumber;
+  }
+
+  /**
+   * Whether the database is opened without transaction support, committing each transaction as a
+   * single write batch. Commits are still atomic, but skip the key locking of a {@code
+   * TransactionDB}, which only pays off if there are concurrent writers to the same keys.
+   *
+   * @return true if transactions are committed as plain write batches
+   */
+  public boolean isWriteBatchMode() {
+    return writeBatchMode;
+  }
+
+  /**
+   * Whether writes skip the write ahead log. This is only honoured in write batch mode and is meant
+   * for bulk imports that can simply be restarted: memtables are flushed when the database is
+   * closed, but writes since the last flush are lost if the process crashes.
+   *
+   * @return true if the write ahead log is disabled
+   */
+  public boolean isWalDisabled() {
+    return walDisabled;
+  }
+
+  public static class Builder {
+    private long cacheCapacity = DEFAULT_CACHE_CAPACITY;
+    private int maxBackgroundJobs = DEFAULT_MAX_BACKGROUND_JOBS;
+    private long writeBufferSize = DEFAULT_WRITE_BUFFER_SIZE;
+    private int maxWriteBufferNumber = DEFAULT_MAX_WRITE_BUFFER_NUMBER;
+    private boolean writeBatchMode = false;
+    private boolean walDisabled = false;
+
+    private Builder() {}
+
+    public Builder cacheCapacity(final long cacheCapacity) {
+      checkArgument(cacheCapacity > 0, "Cache capacity must be positive");
+      this.cacheCapacity = cacheCapacity;
+      return this;
+    }
+
+    public Builder maxBackgroundJobs(final int maxBackgroundJobs) {
+      checkArgument(maxBackgroundJobs > 0, "Max background jobs must be positive");
+      this.maxBackgroundJobs = maxBackgroundJobs;
+      return this;
+    }
+
+    public Builder writeBufferSize(final long writeBufferSize) {
+      checkArgument(writeBufferSize > 0, "Write buffer size must be positive");
+      this.writeBufferSize = writeBufferSize;
+      return this;
+    }
+
+    public Builder maxWriteBufferNumber(final int maxWriteBufferNumber) {
+      checkArgument(maxWriteBufferNumber > 1, "Max write buffer number must be at least 2");
+      this.maxWriteBufferNumber = maxWriteBufferNumber;
+      return this;
+    }
+
+    public Builder writeBatchMode(final boolean writeBatchMode) {
+      this.writeBatchMode = writeBatchMode;
+      return this;
+    }
+
+    public Builder walDisabled(final boolean walDisabled) {
+      this.walDisabled = walDisabled;
+      return this;
+    }
+
+    public RocksDbConfiguration build() {
+      checkArgument(!walDisabled || writeBatchMode, "WAL can only be disabled in write batch mode");
+      return new RocksDbConfiguration(
+          cacheCapacity,
+          maxBackgroundJobs,
+          writeBufferSize,
+          maxWriteBufferNumber,
+          writeBatchMode,
+          walDisabled);
+    }
+  }
+}
@@ -16,32 +16,70 @@ import tech.pegasys.pantheon.metrics.Counter;
 import tech.pegasys.pantheon.metrics.MetricCategory;
 import tech.pegasys.pantheon.metrics.MetricsSystem;
 import tech.pegasys.pantheon.metrics.OperationTimer;
+import tech.pegasys.pantheon.services.kvstore.RocksDbColumnFamilyConfiguration.CompactionStyle;
+import tech.pegasys.pantheon.services.kvstore.RocksDbColumnFamilyConfiguration.Compression;
 import tech.pegasys.pantheon.services.util.RocksDbUtil;
 import tech.pegasys.pantheon.util.bytes.BytesValue;
 
 import java.io.Closeable;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.Cache;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
+import org.rocksdb.DBOptions;
+import org.rocksdb.FlushOptions;
+import org.rocksdb.IndexType;
 import org.rocksdb.Options;
+import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.RocksObject;
 import org.rocksdb.TransactionDB;
 import org.rocksdb.TransactionDBOptions;
+import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 
+/**
+ * Key value storage backed by a RocksDB database. The storage itself operates on the default column
+ * family; any additional column families the database was opened with are available through {@link
+ * #getColumnFamily(String)}.
+ */
 public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
 
   private static final Logger LOG = LogManager.getLogger();
+  private static final String DEFAULT_COLUMN_FAMILY = "default";
 
-  private final Options options;
-  private final TransactionDBOptions txOptions;
-  private final TransactionDB db;
+  private final DBOptions options;
+  private final RocksDbBlockCache blockCache;
+  private final List<RocksObject> resources = new ArrayList<>();
+  private final List<ColumnFamilyHandle> columnFamilyHandles = new ArrayList<>();
+  private final RocksDB db;
+  // Empty if transactions are committed as plain write batches.
+  private final Optional<TransactionDB> transactionDb;
+  private final boolean walDisabled;
+  private final ColumnFamily defaultColumnFamily;
+  private final Map<String, ColumnFamily> columnFamilies = new HashMap<>();
   private final AtomicBoolean closed = new AtomicBoolean(false);
 
   private final OperationTimer readLatency;
+  private final OperationTimer multiGetLatency;
   private final OperationTimer removeLatency;
   private final OperationTimer writeLatency;
   private final OperationTimer commitLatency;
@@ -49,19 +87,139 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
 
   public static KeyValueStorage create(
       final Path storageDirectory, final MetricsSystem metricsSystem) throws StorageException {
-    return new RocksDbKeyValueStorage(storageDirectory, metricsSystem);
+    return create(
+        storageDirectory,
+        metricsSystem,
+        RocksDbConfiguration.builder().build(),
+        Collections.emptyList());
   }
 
-  private RocksDbKeyValueStorage(final Path storageDirectory, final MetricsSystem metricsSystem) {
+  /**
+   * Opens a database with the given column families in addition to the default one, creating any
+   * that don't exist yet.
+   *
+   * @param storageDirectory the directory containing the database
+   * @param metricsSystem the metrics system
+   * @param configuration the database wide configuration
+   * @param columnFamilies the configuration of each additional column family
+   * @return the storage for the default column family
+   */
+  public static RocksDbKeyValueStorage create(
+      final Path storageDirectory,
+      final MetricsSystem metricsSystem,
+      final RocksDbConfiguration configuration,
+      final List<RocksDbColumnFamilyConfiguration> columnFamilies)
+      throws StorageException {
+    try (final RocksDbBlockCache blockCache =
+        RocksDbBlockCache.create(configuration.getCacheCapacity())) {
+      return create(storageDirectory, metricsSystem, configuration, columnFamilies, blockCache);
+    }
+  }
+
+  /**
+   * Opens a database whose column families use the given block cache unless they configure their
+   * own. The cache capacity in the configuration is ignored.
+   *
+   * @param storageDirectory the directory containing the database
+   * @param metricsSystem the metrics system
+   * @param configuration the database wide configuration
+   * @param columnFamilies the configuration of each additional column family
+   * @param blockCache the block cache, which stays usable until this storage is closed
+   * @return the storage for the default column family
+   */
+  public static RocksDbKeyValueStorage create(
+      final Path storageDirectory,
+      final MetricsSystem metricsSystem,
+      final RocksDbConfiguration configuration,
+      final List<RocksDbColumnFamilyConfiguration> columnFamilies,
+      final RocksDbBlockCache blockCache)
+      throws StorageException {
+    return new RocksDbKeyValueStorage(
+        storageDirectory, metricsSystem, configuration, columnFamilies, blockCache);
+  }
+
+  /**
+   * Lists the names of the column families of an existing database.
+   *
+   * @param storageDirectory the directory containing the database
+   * @return the column family names, or an empty list if there is no database in the directory
+   */
+  public static List<String> listColumnFamilies(final Path storageDirectory)
+      throws StorageException {
+    if (!Files.exists(storageDirectory.resolve("CURRENT"))) {
+      return Collections.emptyList();
+    }
     RocksDbUtil.loadNativeLibrary();
+    try (final Options options = new Options()) {
+      final List<String> names = new ArrayList<>();
+      for (final byte[] name : RocksDB.listColumnFamilies(options, storageDirectory.toString())) {
+        names.add(new String(name, StandardCharsets.UTF_8));
+      }
+      return names;
+    } catch (final RocksDBException e) {
+      throw new StorageException(e);
+    }
+  }
+
+  private RocksDbKeyValueStorage(
+      final Path storageDirectory,
+      final MetricsSystem metricsSystem,
+      final RocksDbConfiguration configuration,
+      final List<RocksDbColumnFamilyConfiguration> columnFamilyConfigurations,
+      final RocksDbBlockCache blockCache) {
+    RocksDbUtil.loadNativeLibrary();
+    this.blockCache = blockCache;
+    final Cache cache = blockCache.retain();
     try {
-      options = new Options().setCreateIfMissing(true);
-      txOptions = new TransactionDBOptions();
-      db = TransactionDB.open(options, txOptions, storageDirectory.toString());
+      options =
+          new DBOptions()
+              .setCreateIfMissing(true)
+              .setCreateMissingColumnFamilies(true)
+              .setMaxBackgroundJobs(configuration.getMaxBackgroundJobs());
+      walDisabled = configuration.isWalDisabled();
+
+      final List<ColumnFamilyDescriptor> descriptors = new ArrayList<>();
+      descriptors.add(
+          new ColumnFamilyDescriptor(
+              RocksDB.DEFAULT_COLUMN_FAMILY,
+              columnFamilyOptions(
+                  configuration,
+                  RocksDbColumnFamilyConfiguration.builder(DEFAULT_COLUMN_FAMILY).build(),
+                  cache)));
+      for (final RocksDbColumnFamilyConfiguration columnFamily : columnFamilyConfigurations) {
+        descriptors.add(
+            new ColumnFamilyDescriptor(
+                columnFamily.getName().getBytes(StandardCharsets.UTF_8),
+                columnFamilyOptions(configuration, columnFamily, cache)));
+      }
+      if (configuration.isWriteBatchMode()) {
+        db = RocksDB.open(options, storageDirectory.toString(), descriptors, columnFamilyHandles);
+        transactionDb = Optional.empty();
+      } else {
+        final TransactionDBOptions txOptions = new TransactionDBOptions();
+        resources.add(txOptions);
+        final TransactionDB txDb =
+            TransactionDB.open(
+                options, txOptions, storageDirectory.toString(), descriptors, columnFamilyHandles);
+        db = txDb;
+        transactionDb = Optional.of(txDb);
+      }
+
+      defaultColumnFamily = new ColumnFamily(columnFamilyHandles.get(0));
+      for (int i = 0; i < columnFamilyConfigurations.size(); i++) {
+        columnFamilies.put(
+            columnFamilyConfigurations.get(i).getName(),
+            new ColumnFamily(columnFamilyHandles.get(i + 1)));
+      }
 
       readLatency =
           metricsSystem.createTimer(
               MetricCategory.ROCKSDB, "read_latency_seconds", "Latency for read from RocksDB.");
+      multiGetLatency =
+          metricsSystem.createTimer(
+              MetricCategory.ROCKSDB,
+              "multi_get_latency_seconds",
+              "Latency for multi-key reads from RocksDB.");
       removeLatency =
           metricsSystem.createTimer(
               MetricCategory.ROCKSDB,
@@ -74,18 +232,51 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
           metricsSystem.createTimer(
               MetricCategory.ROCKSDB, "commit_latency_seconds", "Latency for commits to RocksDB.");
 
-      metricsSystem.createLongGauge(
-          MetricCategory.ROCKSDB,
+      createPropertyGauge(
+          metricsSystem,
           "rocks_db_table_readers_memory_bytes",
           "Estimated memory used for RocksDB index and filter blocks in bytes",
-          () -> {
-            try {
-              return db.getLongProperty("rocksdb.estimate-table-readers-mem");
-            } catch (final RocksDBException e) {
-              LOG.debug("Failed to get RocksDB metric", e);
-              return 0L;
-            }
-          });
+          "rocksdb.estimate-table-readers-mem");
+      createPropertyGauge(
+          metricsSystem,
+          "rocks_db_memtables_memory_bytes",
+          "Memory used by RocksDB memtables in bytes",
+          "rocksdb.cur-size-all-mem-tables");
+      createPropertyGauge(
+          metricsSystem,
+          "rocks_db_pending_compaction_bytes",
+          "Estimated number of bytes RocksDB compaction needs to rewrite",
+          "rocksdb.estimate-pending-compaction-bytes");
+      createPropertyGauge(
+          metricsSystem,
+          "rocks_db_running_compactions",
+          "Number of RocksDB compactions currently running",
+          "rocksdb.num-running-compactions");
+      // The block cache and write stalls are shared by all column families, so read them once.
+      createPropertyGauge(
+          metricsSystem,
+          "rocks_db_block_cache_usage_bytes",
+          "Memory used by entries in the RocksDB block cache in bytes",
+          "rocksdb.block-cache-usage",
+          columnFamilyHandles.subList(0, 1));
+      createPropertyGauge(
+          metricsSystem,
+          "rocks_db_block_cache_pinned_usage_bytes",
+          "Memory used by pinned entries in the RocksDB block cache in bytes",
+          "rocksdb.block-cache-pinned-usage",
+          columnFamilyHandles.subList(0, 1));
+      createPropertyGauge(
+          metricsSystem,
+          "rocks_db_delayed_write_rate",
+          "Rate in bytes per second RocksDB writes are limited to while stalled, 0 if not stalled",
+          "rocksdb.actual-delayed-write-rate",
+          columnFamilyHandles.subList(0, 1));
+      createPropertyGauge(
+          metricsSystem,
+          "rocks_db_write_stopped",
+          "1 if RocksDB writes are stopped until compaction catches up, otherwise 0",
+          "rocksdb.is-write-stopped",
+          columnFamilyHandles.subList(0, 1));
 
       rollbackCount =
           metricsSystem.createCounter(
@@ -93,34 +284,161 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
               "rollback_count",
               "Number of RocksDB transactions rolled back.");
     } catch (final RocksDBException e) {
+      blockCache.release();
       throw new StorageException(e);
     }
   }
 
+  private void createPropertyGauge(
+      final MetricsSystem metricsSystem,
+      final String name,
+      final String help,
+      final String property) {
+    createPropertyGauge(metricsSystem, name, help, property, columnFamilyHandles);
+  }
+
+  private void createPropertyGauge(
+      final MetricsSystem metricsSystem,
+      final String name,
+      final String help,
+      final String property,
+      final List<ColumnFamilyHandle> handles) {
+    metricsSystem.createLongGauge(
+        MetricCategory.ROCKSDB,
+        name,
+        help,
+        () -> {
+          if (closed.get()) {
+            return 0L;
+          }
+          long total = 0;
+          for (final ColumnFamilyHandle handle : handles) {
+            try {
+              total += db.getLongProperty(handle, property);
+            } catch (final RocksDBException e) {
+              LOG.debug("Failed to get RocksDB metric", e);
+            }
+          }
+          return total;
+        });
+  }
+
+  private ColumnFamilyOptions columnFamilyOptions(
+      final RocksDbConfiguration configuration,
+      final RocksDbColumnFamilyConfiguration columnFamily,
+      final Cache blockCache) {
+    // A two level index only keeps its top level resident, and caching index and filter blocks
+    // bounds their memory by the block cache capacity instead of the size of the database.
+    final BlockBasedTableConfig tableConfig =
+        new BlockBasedTableConfig()
+            .setIndexType(IndexType.kTwoLevelIndexSearch)
+            .setCacheIndexAndFilterBlocks(true)
+            .setPinL0FilterAndIndexBlocksInCache(true);
+    if (columnFamily.getBlockCacheSize() > 0) {
+      tableConfig.setBlockCacheSize(columnFamily.getBlockCacheSize());
+    } else {
+      tableConfig.setBlockCache(blockCache);
+    }
+    if (columnFamily.getBloomFilterBitsPerKey() > 0) {
+      final BloomFilter bloomFilter =
+          new BloomFilter(columnFamily.getBloomFilterBitsPerKey(), false);
+      resources.add(bloomFilter);
+      tableConfig.setFilter(bloomFilter);
+    }
+    final ColumnFamilyOptions columnFamilyOptions =
+        new ColumnFamilyOptions()
+            .setTableFormatConfig(tableConfig)
+            .setWriteBufferSize(configuration.getWriteBufferSize())
+            .setMaxWriteBufferNumber(configuration.getMaxWriteBufferNumber())
+            .setCompressionType(compressionType(columnFamily.getCompression()))
+            .setCompactionStyle(compactionStyle(columnFamily.getCompactionStyle()));
+    resources.add(columnFamilyOptions);
+    return columnFamilyOptions;
+  }
+
+  private static CompressionType compressionType(final Compression compression) {
+    switch (compression) {
+      case NONE:
+        return CompressionType.NO_COMPRESSION;
+      case SNAPPY:
+        return CompressionType.SNAPPY_COMPRESSION;
+      case LZ4:
+        return CompressionType.LZ4_COMPRESSION;
+      case ZSTD:
+        return CompressionType.ZSTD_COMPRESSION;
+      default:
+        throw new IllegalArgumentException("Unsupported compression " + compression);
+    }
+  }
+
+  private static org.rocksdb.CompactionStyle compactionStyle(
+      final CompactionStyle compactionStyle) {
+    switch (compactionStyle) {
+      case LEVEL:
+        return org.rocksdb.CompactionStyle.LEVEL;
+      case UNIVERSAL:
+        return org.rocksdb.CompactionStyle.UNIVERSAL;
+      default:
+        throw new IllegalArgumentException("Unsupported compaction style " + compactionStyle);
+    }
+  }
+
+  /**
+   * Returns the storage for one of the column families the database was opened with. The returned
+   * storage is closed together with this storage.
+   *
+   * @param name the name of the column family
+   * @return the storage for the column family
+   */
+  public KeyValueStorage getColumnFamily(final String name) {
+    final ColumnFamily columnFamily = columnFamilies.get(name);
+    if (columnFamily == null) {
+      throw new IllegalArgumentException("Unknown column family " + name);
+    }
+    return columnFamily;
+  }
+
   @Override
   public Optional<BytesValue> get(final BytesValue key) throws StorageException {
-    throwIfClosed();
+    return defaultColumnFamily.get(key);
+  }
 
-    try (final OperationTimer.TimingContext ignored = readLatency.startTimer()) {
-      return Optional.ofNullable(db.get(key.getArrayUnsafe())).map(BytesValue::wrap);
-    } catch (final RocksDBException e) {
-      throw new StorageException(e);
-    }
+  @Override
+  public List<Optional<BytesValue>> getAll(final List<BytesValue> keys) throws StorageException {
+    return defaultColumnFamily.getAll(keys);
   }
 
   @Override
   public Transaction startTransaction() throws StorageException {
-    throwIfClosed();
-    final WriteOptions options = new WriteOptions();
-    return new RocksDbTransaction(db.beginTransaction(options), options);
+    return defaultColumnFamily.startTransaction();
+  }
+
+  @Override
+  public void forEachKey(final Consumer<BytesValue> action) throws StorageException {
+    defaultColumnFamily.forEachKey(action);
   }
 
   @Override
   public void close() {
     if (closed.compareAndSet(false, true)) {
-      txOptions.close();
-      options.close();
+      if (walDisabled) {
+        flushMemtables();
+      }
+      columnFamilyHandles.forEach(ColumnFamilyHandle::close);
       db.close();
+      resources.forEach(RocksObject::close);
+      options.close();
+      blockCache.release();
+    }
+  }
+
+  private void flushMemtables() {
+    try (final FlushOptions flushOptions = new FlushOptions().setWaitForFlush(true)) {
+      for (final ColumnFamilyHandle handle : columnFamilyHandles) {
+        db.flush(flushOptions, handle);
+      }
+    } catch (final RocksDBException e) {
+      LOG.error("Failed to flush RocksDB memtables, recent writes may be lost", e);
     }
   }
 
@@ -131,19 +449,145 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
     }
   }
 
+  private class ColumnFamily implements KeyValueStorage {
+    private final ColumnFamilyHandle handle;
+
+    private ColumnFamily(final ColumnFamilyHandle handle) {
+      this.handle = handle;
+    }
+
+    @Override
+    public Optional<BytesValue> get(final BytesValue key) throws StorageException {
+      throwIfClosed();
+
+      try (final OperationTimer.TimingContext ignored = readLatency.startTimer()) {
+        return Optional.ofNullable(db.get(handle, key.getArrayUnsafe())).map(BytesValue::wrap);
+      } catch (final RocksDBException e) {
+        throw new StorageException(e);
+      }
+    }
+
+    @Override
+    public List<Optional<BytesValue>> getAll(final List<BytesValue> keys) throws StorageException {
+      throwIfClosed();
+
+      // The returned map is keyed by the identity of the key arrays, so keep hold of them.
+      final List<byte[]> keyArrays = new ArrayList<>(keys.size());
+      for (final BytesValue key : keys) {
+        keyArrays.add(key.getArrayUnsafe());
+      }
+      try (final OperationTimer.TimingContext ignored = multiGetLatency.startTimer()) {
+        final Map<byte[], byte[]> values =
+            db.multiGet(Collections.nCopies(keyArrays.size(), handle), keyArrays);
+        final List<Optional<BytesValue>> result = new ArrayList<>(keyArrays.size());
+        for (final byte[] key : keyArrays) {
+          result.add(Optional.ofNullable(values.get(key)).map(BytesValue::wrap));
+        }
+        return result;
+      } catch (final RocksDBException e) {
+        throw new StorageException(e);
+      }
+    }
+
+    @Override
+    public Transaction startTransaction() throws StorageException {
+      throwIfClosed();
+      final WriteOptions options = new WriteOptions().setDisableWAL(walDisabled);
+      return transactionDb
+          .<Transaction>map(
+              txDb -> new RocksDbTransaction(txDb.beginTransaction(options), options, handle))
+          .orElseGet(() -> new RocksDbWriteBatchTransaction(options, handle));
+    }
+
+    @Override
+    public void forEachKey(final Consumer<BytesValue> action) throws StorageException {
+      throwIfClosed();
+
+      try (final RocksIterator iterator = db.newIterator(handle)) {
+        for (iterator.seekToFirst(); iterator.isValid(); iterator.next()) {
+          action.accept(BytesValue.wrap(iterator.key()));
+        }
+        iterator.status();
+      } catch (final RocksDBException e) {
+        throw new StorageException(e);
+      }
+    }
+
+    @Override
+    public void close() {
+      // Column families are closed together with the database.
+    }
+  }
+
+  private class RocksDbWriteBatchTransaction extends AbstractTransaction {
+    private final WriteBatch writeBatch = new WriteBatch();
+    private final WriteOptions options;
+    private final ColumnFamilyHandle handle;
+
+    RocksDbWriteBatchTransaction(final WriteOptions options, final ColumnFamilyHandle handle) {
+      this.options = options;
+      this.handle = handle;
+    }
+
+    @Override
+    protected void doPut(final BytesValue key, final BytesValue value) {
+      try (final OperationTimer.TimingContext ignored = writeLatency.startTimer()) {
+        writeBatch.put(handle, key.getArrayUnsafe(), value.getArrayUnsafe());
+      } catch (final RocksDBException e) {
+        throw new StorageException(e);
+      }
+    }
+
+    @Override
+    protected void doRemove(final BytesValue key) {
+      try (final OperationTimer.TimingContext ignored = removeLatency.startTimer()) {
+        writeBatch.delete(handle, key.getArrayUnsafe());
+      } catch (final RocksDBException e) {
+        throw new StorageException(e);
+      }
+    }
+
+    @Override
+    protected void doCommit() throws StorageException {
+      try (final OperationTimer.TimingContext ignored = commitLatency.startTimer()) {
+        db.write(options, writeBatch);
+      } catch (final RocksDBException e) {
+        throw new StorageException(e);
+      } finally {
+        close();
+      }
+    }
+
+    @Override
+    protected void doRollback() {
+      rollbackCount.inc();
+      close();
+    }
+
+    private void close() {
+      writeBatch.close();
+      options.close();
+    }
+  }
+
   private class RocksDbTransaction extends AbstractTransaction {
     private final org.rocksdb.Transaction innerTx;
     private final WriteOptions options;
+    private final ColumnFamilyHandle handle;
 
-    RocksDbTransaction(final org.rocksdb.Transaction innerTx, final WriteOptions options) {
+    RocksDbTransaction(
+        final org.rocksdb.Transaction innerTx,
+        final WriteOptions options,
+        final ColumnFamilyHandle handle) {
       this.innerTx = innerTx;
       this.options = options;
+      this.handle = handle;
     }
 
     @Override
     protected void doPut(final BytesValue key, final BytesValue value) {
       try (final OperationTimer.TimingContext ignored = writeLatency.startTimer()) {
-        innerTx.put(key.getArrayUnsafe(), value.getArrayUnsafe());
+        innerTx.put(handle, key.getArrayUnsafe(), value.getArrayUnsafe());
       } catch (final RocksDBException e) {
         throw new StorageException(e);
       }
@@ -152,7 +596,7 @@ public class RocksDbKeyValueStorage implements KeyValueStorage, Closeable {
     @Override
     protected void doRemove(final BytesValue key) {
       try (final OperationTimer.TimingContext ignored = removeLatency.startTimer()) {
-        innerTx.delete(key.getArrayUnsafe());
+        innerTx.delete(handle, key.getArrayUnsafe());
       } catch (final RocksDBException e) {
         throw new StorageException(e);
       }
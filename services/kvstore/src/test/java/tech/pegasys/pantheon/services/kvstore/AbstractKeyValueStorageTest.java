@@ -21,7 +21,9 @@ import tech.pegasys.pantheon.util.bytes.BytesValue;
 import tech.pegasys.pantheon.util.bytes.BytesValues;
 
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CountDownLatch;
 import java.util.function.Function;
 
@@ -62,6 +64,48 @@ public abstract class AbstractKeyValueStorageTest {
         Optional.of(BytesValue.fromHexString("0DEF")), store.get(BytesValue.fromHexString("0F")));
   }
 
+  @Test
+  public void forEachKeyVisitsEveryCommittedKey() throws Exception {
+    final KeyValueStorage store = createStore();
+    Transaction tx = store.startTransaction();
+    tx.put(BytesValue.fromHexString("0F"), BytesValue.fromHexString("0ABC"));
+    tx.put(BytesValue.fromHexString("10"), BytesValue.fromHexString("0DEF"));
+    tx.put(BytesValue.fromHexString("11"), BytesValue.fromHexString("0123"));
+    tx.commit();
+    tx = store.startTransaction();
+    tx.remove(BytesValue.fromHexString("10"));
+    tx.commit();
+
+    final Set<BytesValue> keys = new HashSet<>();
+    store.forEachKey(keys::add);
+    assertEquals(
+        new HashSet<>(
+            Arrays.asList(BytesValue.fromHexString("0F"), BytesValue.fromHexString("11"))),
+        keys);
+  }
+
+  @Test
+  public void getAllReturnsValuesInKeyOrder() throws Exception {
+    final KeyValueStorage store = createStore();
+    final Transaction tx = store.startTransaction();
+    tx.put(BytesValue.fromHexString("0F"), BytesValue.fromHexString("0ABC"));
+    tx.put(BytesValue.fromHexString("11"), BytesValue.fromHexString("0123"));
+    tx.commit();
+
+    assertEquals(
+        Arrays.asList(
+            Optional.of(BytesValue.fromHexString("0123")),
+            Optional.empty(),
+            Optional.of(BytesValue.fromHexString("0ABC")),
+            Optional.of(BytesValue.fromHexString("0123"))),
+        store.getAll(
+            Arrays.asList(
+                BytesValue.fromHexString("11"),
+                BytesValue.fromHexString("10"),
+                BytesValue.fromHexString("0F"),
+                BytesValue.fromHexString("11"))));
+  }
+
   @Test
   public void removeExisting() throws Exception {
     final KeyValueStorage store = createStore();
@@ -12,17 +12,115 @@
  */
 package tech.pegasys.pantheon.services.kvstore;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
 import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage.Transaction;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.junit.Rule;
+import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 public class RocksDbKeyValueStorageTest extends AbstractKeyValueStorageTest {
 
+  private static final BytesValue KEY = BytesValue.fromHexString("0001");
+  private static final BytesValue VALUE = BytesValue.fromHexString("0FFF");
+
   @Rule public final TemporaryFolder folder = new TemporaryFolder();
 
   @Override
   protected KeyValueStorage createStore() throws Exception {
     return RocksDbKeyValueStorage.create(folder.newFolder().toPath(), new NoOpMetricsSystem());
   }
+
+  @Test
+  public void columnFamiliesAreIndependent() throws Exception {
+    try (final RocksDbKeyValueStorage store =
+        createColumnarStore(folder.newFolder().toPath(), "a", "b")) {
+      final Transaction tx = store.getColumnFamily("a").startTransaction();
+      tx.put(KEY, VALUE);
+      tx.commit();
+
+      assertEquals(Optional.of(VALUE), store.getColumnFamily("a").get(KEY));
+      assertEquals(Optional.empty(), store.getColumnFamily("b").get(KEY));
+      assertEquals(Optional.empty(), store.get(KEY));
+      assertEquals(
+          singletonList(Optional.of(VALUE)), store.getColumnFamily("a").getAll(singletonList(KEY)));
+    }
+  }
+
+  @Test
+  public void columnFamiliesArePersisted() throws Exception {
+    final Path directory = folder.newFolder().toPath();
+    assertEquals(Collections.emptyList(), RocksDbKeyValueStorage.listColumnFamilies(directory));
+    try (final RocksDbKeyValueStorage store = createColumnarStore(directory, "a")) {
+      final Transaction tx = store.getColumnFamily("a").startTransaction();
+      tx.put(KEY, VALUE);
+      tx.commit();
+    }
+
+    assertEquals(asList("default", "a"), RocksDbKeyValueStorage.listColumnFamilies(directory));
+    try (final RocksDbKeyValueStorage store = createColumnarStore(directory, "a", "b")) {
+      assertEquals(Optional.of(VALUE), store.getColumnFamily("a").get(KEY));
+    }
+    assertEquals(asList("default", "a", "b"), RocksDbKeyValueStorage.listColumnFamilies(directory));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void unknownColumnFamilyIsRejected() throws Exception {
+    try (final RocksDbKeyValueStorage store =
+        createColumnarStore(folder.newFolder().toPath(), "a")) {
+      store.getColumnFamily("b");
+    }
+  }
+
+  @Test
+  public void sharedBlockCacheIsReleasedOnceAllDatabasesAreClosed() throws Exception {
+    final RocksDbBlockCache blockCache = RocksDbBlockCache.create(1024 * 1024);
+    final RocksDbKeyValueStorage first = createSharedCacheStore(blockCache);
+    final RocksDbKeyValueStorage second = createSharedCacheStore(blockCache);
+    blockCache.close();
+    blockCache.close();
+
+    first.close();
+    assertFalse(blockCache.isReleased());
+    final Transaction tx = second.startTransaction();
+    tx.put(KEY, VALUE);
+    tx.commit();
+    assertEquals(Optional.of(VALUE), second.get(KEY));
+
+    second.close();
+    assertTrue(blockCache.isReleased());
+  }
+
+  private RocksDbKeyValueStorage createSharedCacheStore(final RocksDbBlockCache blockCache)
+      throws Exception {
+    return RocksDbKeyValueStorage.create(
+        folder.newFolder().toPath(),
+        new NoOpMetricsSystem(),
+        RocksDbConfiguration.builder().build(),
+        Collections.emptyList(),
+        blockCache);
+  }
+
+  private RocksDbKeyValueStorage createColumnarStore(final Path directory, final String... names) {
+    final List<RocksDbColumnFamilyConfiguration> columnFamilies =
+        Arrays.stream(names)
+            .map(name -> RocksDbColumnFamilyConfiguration.builder(name).build())
+            .collect(Collectors.toList());
+    return RocksDbKeyValueStorage.create(
+        directory, new NoOpMetricsSystem(), RocksDbConfiguration.builder().build(), columnFamilies);
+  }
 }
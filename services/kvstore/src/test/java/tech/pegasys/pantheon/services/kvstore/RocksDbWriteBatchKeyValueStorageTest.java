@@ -0,0 +1,62 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.services.kvstore;
+
+import static org.junit.Assert.assertEquals;
+
+import tech.pegasys.pantheon.metrics.noop.NoOpMetricsSystem;
+import tech.pegasys.pantheon.services.kvstore.KeyValueStorage.Transaction;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class RocksDbWriteBatchKeyValueStorageTest extends AbstractKeyValueStorageTest {
+
+  @Rule public final TemporaryFolder folder = new TemporaryFolder();
+
+  @Override
+  protected KeyValueStorage createStore() throws Exception {
+    return create(
+        folder.newFolder().toPath(), RocksDbConfiguration.builder().writeBatchMode(true).build());
+  }
+
+  @Test
+  public void writesWithoutWalArePersistedOnClose() throws Exception {
+    final Path directory = folder.newFolder().toPath();
+    final BytesValue key = BytesValue.fromHexString("0001");
+    final BytesValue value = BytesValue.fromHexString("0FFF");
+    try (final KeyValueStorage store =
+        create(
+            directory,
+            RocksDbConfiguration.builder().writeBatchMode(true).walDisabled(true).build())) {
+      final Transaction tx = store.startTransaction();
+      tx.put(key, value);
+      tx.commit();
+    }
+
+    try (final KeyValueStorage store = create(directory, RocksDbConfiguration.builder().build())) {
+      assertEquals(Optional.of(value), store.get(key));
+    }
+  }
+
+  private KeyValueStorage create(final Path directory, final RocksDbConfiguration configuration) {
+    return RocksDbKeyValueStorage.create(
+        directory, new NoOpMetricsSystem(), configuration, Collections.emptyList());
+  }
+}
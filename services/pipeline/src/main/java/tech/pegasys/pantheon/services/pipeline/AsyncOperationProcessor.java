@@ -29,11 +29,15 @@ class AsyncOperationProcessor<I, O> implements Processor<I, O> {
   private final Function<I, CompletableFuture<O>> processor;
   private final Collection<CompletableFuture<O>> inProgress;
   private final int maxConcurrency;
+  private final boolean preserveOrder;
 
   public AsyncOperationProcessor(
-      final Function<I, CompletableFuture<O>> processor, final int maxConcurrency) {
+      final Function<I, CompletableFuture<O>> processor,
+      final int maxConcurrency,
+      final boolean preserveOrder) {
     this.processor = processor;
     this.maxConcurrency = maxConcurrency;
+    this.preserveOrder = preserveOrder;
     this.inProgress = new ArrayList<>(maxConcurrency);
   }
 
@@ -69,25 +73,46 @@ class AsyncOperationProcessor<I, O> implements Processor<I, O> {
     } catch (final InterruptedException e) {
       LOG.trace("Interrupted while waiting for processing to complete", e);
     } catch (final ExecutionException e) {
-      LOG.error("Processing failed and we don't handle exceptions properly yet", e);
+      // Rethrown from outputCompletedTasks so the stage fails and the pipeline aborts.
+      outputCompletedTasks(outputPipe);
     } catch (final TimeoutException e) {
-      // Ignore and go back around the loop.
+      // A later task may have failed while we were waiting for an earlier one.
+      failIfAnyTaskFailed();
     }
   }
 
   @SuppressWarnings("rawtypes")
   private void waitForAnyFutureToComplete()
       throws InterruptedException, ExecutionException, TimeoutException {
-    CompletableFuture.anyOf(inProgress.toArray(new CompletableFuture[0])).get(1, TimeUnit.SECONDS);
+    if (preserveOrder) {
+      // Nothing can be output until the oldest task completes.
+      inProgress.iterator().next().get(1, TimeUnit.SECONDS);
+    } else {
+      CompletableFuture.anyOf(inProgress.toArray(new CompletableFuture[0]))
+          .get(1, TimeUnit.SECONDS);
+    }
   }
 
   private void outputCompletedTasks(final WritePipe<O> outputPipe) {
+    failIfAnyTaskFailed();
     for (final Iterator<CompletableFuture<O>> i = inProgress.iterator(); i.hasNext(); ) {
       final CompletableFuture<O> process = i.next();
       final O result = process.getNow(null);
       if (result != null) {
         outputPipe.put(result);
         i.remove();
+      } else if (preserveOrder) {
+        // Later tasks have to wait until this one has been output.
+        return;
+      }
+    }
+  }
+
+  private void failIfAnyTaskFailed() {
+    for (final CompletableFuture<O> process : inProgress) {
+      if (process.isCompletedExceptionally()) {
+        // Throws a CompletionException with the original failure as the cause.
+        process.join();
       }
     }
   }
@@ -14,16 +14,22 @@ package tech.pegasys.pantheon.services.pipeline;
 
 import static java.util.concurrent.CompletableFuture.completedFuture;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Function;
 
+import org.junit.After;
 import org.junit.Test;
+import org.mockito.InOrder;
 
 public class AsyncOperationProcessorTest {
 
@@ -34,7 +40,13 @@ public class AsyncOperationProcessorTest {
   private final WritePipe<String> writePipe = mock(WritePipe.class);
 
   private final AsyncOperationProcessor<CompletableFuture<String>, String> processor =
-      new AsyncOperationProcessor<>(Function.identity(), 3);
+      new AsyncOperationProcessor<>(Function.identity(), 3, false);
+
+  @After
+  public void tearDown() {
+    // Completing futures interrupts the thread that started them, which is this test thread.
+    Thread.interrupted();
+  }
 
   @Test
   public void shouldImmediatelyOutputTasksThatAreAlreadyCompleteEvenIfOutputPipeIsFull() {
@@ -110,4 +122,42 @@ public class AsyncOperationProcessorTest {
 
     assertThat(Thread.currentThread().isInterrupted()).isTrue();
   }
+
+  @Test
+  public void shouldOutputTasksInOrderWhenPreservingOrder() {
+    final AsyncOperationProcessor<CompletableFuture<String>, String> orderedProcessor =
+        new AsyncOperationProcessor<>(Function.identity(), 2, true);
+    final CompletableFuture<String> task1 = new CompletableFuture<>();
+    final CompletableFuture<String> task2 = new CompletableFuture<>();
+    when(readPipe.get()).thenReturn(task1).thenReturn(task2);
+
+    orderedProcessor.processNextInput(readPipe, writePipe);
+    orderedProcessor.processNextInput(readPipe, writePipe);
+
+    // The second task can't be output until the first is done.
+    task2.complete("b");
+    orderedProcessor.processNextInput(readPipe, writePipe);
+    verify(writePipe, never()).put("b");
+
+    task1.complete("a");
+    orderedProcessor.finalize(writePipe);
+    final InOrder inOrder = inOrder(writePipe);
+    inOrder.verify(writePipe).put("a");
+    inOrder.verify(writePipe).put("b");
+  }
+
+  @Test
+  public void shouldThrowWhenTaskFails() {
+    final CompletableFuture<String> task1 = new CompletableFuture<>();
+    final RuntimeException error = new RuntimeException("Failed");
+    when(readPipe.get()).thenReturn(task1);
+
+    processor.processNextInput(readPipe, writePipe);
+    task1.completeExceptionally(error);
+
+    assertThatThrownBy(() -> processor.finalize(writePipe))
+        .isInstanceOf(CompletionException.class)
+        .hasCause(error);
+    verifyZeroInteractions(writePipe);
+  }
 }
@@ -143,6 +143,61 @@ public class PipelineBuilderTest {
             "1", "2", "3", "4", "5", "6", "7", "8", "9", "10", "11", "12", "13", "14", "15");
   }
 
+  @Test
+  public void shouldPreserveOrderWhenProcessingAsyncOrdered() throws Exception {
+    final List<String> output = new ArrayList<>();
+    final List<CompletableFuture<String>> futures = new CopyOnWriteArrayList<>();
+    final Pipeline<Integer> pipeline =
+        PipelineBuilder.createPipelineFrom(
+                "input", asList(1, 2, 3, 4, 5).iterator(), 10, NO_OP_LABELLED_COUNTER)
+            .thenProcessAsyncOrdered(
+                "createFuture",
+                value -> {
+                  final CompletableFuture<String> future = new CompletableFuture<>();
+                  futures.add(future);
+                  return future;
+                },
+                3)
+            .andFinishWith("end", output::add);
+    final CompletableFuture<?> result = pipeline.start(executorService);
+
+    waitForSize(futures, 3);
+
+    // Completing later tasks doesn't start more work until the first has been output.
+    futures.get(2).complete("3");
+    futures.get(1).complete("2");
+    futures.get(0).complete("1");
+    waitForSize(futures, 5);
+    futures.get(4).complete("5");
+    futures.get(3).complete("4");
+
+    result.get(10, SECONDS);
+    assertThat(output).containsExactly("1", "2", "3", "4", "5");
+  }
+
+  @Test
+  public void shouldAbortWhenAsyncProcessingFails() throws Exception {
+    final RuntimeException error = new RuntimeException("Failed");
+    final Pipeline<Integer> pipeline =
+        PipelineBuilder.createPipelineFrom("input", tasks, 10, NO_OP_LABELLED_COUNTER)
+            .thenProcessAsyncOrdered(
+                "fail",
+                value ->
+                    value == 3
+                        ? CompletableFuture.<Integer>supplyAsync(
+                            () -> {
+                              throw error;
+                            })
+                        : completedFuture(value),
+                3)
+            .andFinishWith("end", value -> {});
+    final CompletableFuture<?> result = pipeline.start(executorService);
+
+    assertThatThrownBy(() -> result.get(10, SECONDS))
+        .isInstanceOf(ExecutionException.class)
+        .hasRootCause(error);
+  }
+
   @Test
   public void shouldLimitInFlightProcessesWhenProcessingAsync() throws Exception {
     final List<String> output = new ArrayList<>();
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util.uint;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValue;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
+import tech.pegasys.pantheon.util.bytes.MutableBytes32;
+
+import java.math.BigInteger;
+import java.util.function.BinaryOperator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Compares the limb based {@link UInt256Bytes} arithmetic with the equivalent {@link BigInteger}
+ * round trip it replaced.
+ */
+@State(Scope.Thread)
+public class UInt256BytesBenchmark {
+
+  private static final BigInteger P256 = BigInteger.ONE.shiftLeft(256);
+
+  @Param({
+    // Typical of token amounts and prices.
+    "0x00000000000000000000000000000000000000000000021e19e0c9bab2400000",
+    // A full width value, such as a hash or a fixed point intermediate.
+    "0xd1b5a4f3c2e19f8e7d6c5b4a39281706f5e4d3c2b1a09f8e7d6c5b4a39281706"
+  })
+  public String dividend;
+
+  private final MutableBytes32 result = MutableBytes32.create();
+  private Bytes32 v1;
+  private Bytes32 v2;
+  private Bytes32 modulo;
+
+  @Setup
+  public void prepare() {
+    v1 = Bytes32.fromHexString(dividend);
+    v2 = Bytes32.fromHexStringLenient("0x0de0b6b3a7640000");
+    modulo =
+        Bytes32.fromHexStringLenient("0x30644e72e131a029b85045b68181585d2833e84879b9709143e1f593f");
+  }
+
+  @Benchmark
+  public Bytes32 multiply() {
+    UInt256Bytes.multiply(v1, v2, result);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 multiplyBigInteger() {
+    doOnBigInteger(v1, v2, result, BigInteger::multiply);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 divide() {
+    UInt256Bytes.divide(v1, v2, result);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 divideBigInteger() {
+    doOnBigInteger(v1, v2, result, BigInteger::divide);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 modulo() {
+    UInt256Bytes.modulo(v1, modulo, result);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 moduloBigInteger() {
+    doOnBigInteger(v1, modulo, result, BigInteger::mod);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 multiplyModulo() {
+    UInt256Bytes.multiplyModulo(v1, v1, modulo, result);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 multiplyModuloBigInteger() {
+    doOnBigInteger(
+        v1,
+        v1,
+        result,
+        (op1, op2) -> op1.multiply(op2).mod(BytesValues.asUnsignedBigInteger(modulo)));
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 exponent() {
+    UInt256Bytes.exponent(v2, v1, result);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 exponentBigInteger() {
+    doOnBigInteger(v2, v1, result, (val, pow) -> val.modPow(pow, P256));
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 signedDivide() {
+    Int256Bytes.divide(v1, v2, result);
+    return result;
+  }
+
+  @Benchmark
+  public Bytes32 signedDivideBigInteger() {
+    final BigInteger quotient =
+        BytesValues.asSignedBigInteger(v1).divide(BytesValues.asSignedBigInteger(v2));
+    copy(quotient.signum() < 0 ? quotient.add(P256) : quotient, result);
+    return result;
+  }
+
+  private static void doOnBigInteger(
+      final Bytes32 v1,
+      final Bytes32 v2,
+      final MutableBytes32 dest,
+      final BinaryOperator<BigInteger> operator) {
+    final BigInteger i1 = BytesValues.asUnsignedBigInteger(v1);
+    final BigInteger i2 = BytesValues.asUnsignedBigInteger(v2);
+    copy(operator.apply(i1, i2).mod(P256), dest);
+  }
+
+  private static void copy(final BigInteger value, final MutableBytes32 destination) {
+    final BytesValue bytes = BytesValue.wrap(value.toByteArray());
+    destination.clear();
+    final int size = Math.min(bytes.size(), Bytes32.SIZE);
+    bytes.slice(bytes.size() - size).copyTo(destination, Bytes32.SIZE - size);
+  }
+}
@@ -13,13 +13,8 @@
 package tech.pegasys.pantheon.util.uint;
 
 import tech.pegasys.pantheon.util.bytes.Bytes32;
-import tech.pegasys.pantheon.util.bytes.BytesValue;
-import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.bytes.MutableBytes32;
 
-import java.math.BigInteger;
-import java.util.function.BinaryOperator;
-
 /**
  * Static operations to work on bytes interpreted as 256 bytes signed integers.
  *
@@ -33,23 +28,34 @@ abstract class Int256Bytes {
 
   private Int256Bytes() {}
 
-  private static final byte ALL_ZERO_BYTE = (byte) 0x00;
-  private static final byte ALL_ONE_BYTE = (byte) 0xFF;
-
-  private static void copy(final BigInteger result, final MutableBytes32 destination) {
-    final byte padding = result.signum() < 0 ? ALL_ONE_BYTE : ALL_ZERO_BYTE;
-    UInt256Bytes.copyPadded(BytesValue.wrap(result.toByteArray()), destination, padding);
-  }
-
-  private static void doOnSignedBigInteger(
+  /**
+   * Divides the absolute value of {@code v1} by the absolute value of {@code v2} and writes the
+   * quotient, or the remainder if {@code remainder} is set, to {@code result}. The result is
+   * negated first if {@code negateResult} is set.
+   */
+  private static void doOnAbsoluteValues(
       final Bytes32 v1,
       final Bytes32 v2,
-      final MutableBytes32 dest,
-      final BinaryOperator<BigInteger> operator) {
-    final BigInteger i1 = BytesValues.asSignedBigInteger(v1);
-    final BigInteger i2 = BytesValues.asSignedBigInteger(v2);
-    final BigInteger result = operator.apply(i1, i2);
-    copy(result, dest);
+      final MutableBytes32 result,
+      final boolean remainder,
+      final boolean negateResult) {
+    final int[] a = UInt256Limbs.load(v1);
+    final int[] b = UInt256Limbs.load(v2);
+    if (isNegative(v1)) {
+      UInt256Limbs.negate(a);
+    }
+    if (isNegative(v2)) {
+      UInt256Limbs.negate(b);
+    }
+    final int[] limbs = UInt256Limbs.divide(a, b, remainder);
+    if (negateResult) {
+      UInt256Limbs.negate(limbs);
+    }
+    UInt256Limbs.store(limbs, result);
+  }
+
+  private static boolean isNegative(final Bytes32 v) {
+    return v.get(0) < 0;
   }
 
   // Tests if this value represents -2^255, that is the first byte is 1 followed by only 0. Used to
@@ -72,7 +78,7 @@ abstract class Int256Bytes {
       result.clear();
       result.set(0, (byte) 0x80);
     } else {
-      doOnSignedBigInteger(v1, v2, result, BigInteger::divide);
+      doOnAbsoluteValues(v1, v2, result, false, isNegative(v1) != isNegative(v2));
     }
   }
 
@@ -80,14 +86,8 @@ abstract class Int256Bytes {
     if (v2.isZero()) {
       result.clear();
     } else {
-      doOnSignedBigInteger(
-          v1,
-          v2,
-          result,
-          (val, mod) -> {
-            final BigInteger absModulo = val.abs().mod(mod.abs());
-            return val.signum() < 0 ? absModulo.negate() : absModulo;
-          });
+      // The result takes the sign of the dividend.
+      doOnAbsoluteValues(v1, v2, result, true, isNegative(v1));
     }
   }
 }
@@ -21,7 +21,6 @@ import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.bytes.MutableBytes32;
 
 import java.math.BigInteger;
-import java.util.function.BinaryOperator;
 
 import com.google.common.annotations.VisibleForTesting;
 
@@ -56,8 +55,6 @@ public abstract class UInt256Bytes {
 
   private static final int SIZE = Bytes32.SIZE;
 
-  private static final BigInteger P256 = BigInteger.valueOf(2).pow(8 * 32);
-
   /** The number of ints a word contains. */
   private static final int INT_SIZE = 32 / 4;
 
@@ -69,50 +66,9 @@ public abstract class UInt256Bytes {
   /** This mask is used to obtain the value of an int as if it were unsigned. */
   private static final long LONG_MASK = 0xffffffffL;
 
-  static void copyPadded(
-      final BytesValue toCopy, final MutableBytes32 destination, final byte padByte) {
-    final int copySize = toCopy.size();
-    if (copySize == SIZE) {
-      toCopy.copyTo(destination);
-    } else if (copySize > SIZE) {
-      toCopy.slice(copySize - SIZE, SIZE).copyTo(destination);
-    } else {
-      final int padding = SIZE - toCopy.size();
-      destination.mutableSlice(0, padding).fill(padByte);
-      toCopy.copyTo(destination, padding);
-    }
-  }
-
-  private static void copy(final BigInteger result, final MutableBytes32 destination) {
-    copyPadded(BytesValue.wrap(result.toByteArray()), destination, ALL_ZERO_BYTE);
-  }
-
-  private interface TriOperator<T> {
-    T apply(T op1, T op2, T op3);
-  }
-
-  private static void doOnBigInteger(
-      final Bytes32 v1,
-      final Bytes32 v2,
-      final MutableBytes32 dest,
-      final BinaryOperator<BigInteger> operator) {
-    final BigInteger i1 = BytesValues.asUnsignedBigInteger(v1);
-    final BigInteger i2 = BytesValues.asUnsignedBigInteger(v2);
-    final BigInteger result = operator.apply(i1, i2);
-    copy(result, dest);
-  }
-
-  private static void doOnBigInteger(
-      final Bytes32 v1,
-      final Bytes32 v2,
-      final Bytes32 v3,
-      final MutableBytes32 dest,
-      final TriOperator<BigInteger> operator) {
-    final BigInteger i1 = BytesValues.asUnsignedBigInteger(v1);
-    final BigInteger i2 = BytesValues.asUnsignedBigInteger(v2);
-    final BigInteger i3 = BytesValues.asUnsignedBigInteger(v3);
-    final BigInteger result = operator.apply(i1, i2, i3);
-    copy(result, dest);
+  private static int[] limbsOf(final long v) {
+    checkArgument(v >= 0, "Argument must be positive, got %s", v);
+    return UInt256Limbs.load(v);
   }
 
   public static void add(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
@@ -147,7 +103,8 @@ public abstract class UInt256Bytes {
     if (modulo.isZero()) {
       result.clear();
     } else {
-      doOnBigInteger(v1, v2, modulo, result, (op1, op2, mod) -> op1.add(op2).mod(mod));
+      final int[] sum = UInt256Limbs.addFull(UInt256Limbs.load(v1), UInt256Limbs.load(v2));
+      UInt256Limbs.store(UInt256Limbs.divide(sum, UInt256Limbs.load(modulo), true), result);
     }
   }
 
@@ -227,7 +184,7 @@ public abstract class UInt256Bytes {
   }
 
   public static void multiply(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
-    doOnBigInteger(v1, v2, result, BigInteger::multiply);
+    UInt256Limbs.store(UInt256Limbs.multiply(UInt256Limbs.load(v1), UInt256Limbs.load(v2)), result);
   }
 
   public static void multiply(final Bytes32 v1, final long v2, final MutableBytes32 result) {
@@ -237,12 +194,12 @@ public abstract class UInt256Bytes {
       final int shifts = log2(v2);
       // We have to be careful with overflowing operation.
       if (bitLength(v1) >= SIZE - 1 - shifts) {
-        doOnBigInteger(v1, of(v2), result, BigInteger::multiply);
+        UInt256Limbs.store(UInt256Limbs.multiply(UInt256Limbs.load(v1), limbsOf(v2)), result);
       } else {
         shiftLeft(v1, shifts, result);
       }
     } else {
-      doOnBigInteger(v1, of(v2), result, BigInteger::multiply);
+      UInt256Limbs.store(UInt256Limbs.multiply(UInt256Limbs.load(v1), limbsOf(v2)), result);
     }
   }
 
@@ -251,7 +208,8 @@ public abstract class UInt256Bytes {
     if (modulo.isZero()) {
       result.clear();
     } else {
-      doOnBigInteger(v1, v2, modulo, result, (op1, op2, mod) -> op1.multiply(op2).mod(mod));
+      final int[] product = UInt256Limbs.multiplyFull(UInt256Limbs.load(v1), UInt256Limbs.load(v2));
+      UInt256Limbs.store(UInt256Limbs.divide(product, UInt256Limbs.load(modulo), true), result);
     }
   }
 
@@ -259,7 +217,8 @@ public abstract class UInt256Bytes {
     if (v2.isZero()) {
       result.clear();
     } else {
-      doOnBigInteger(v1, v2, result, BigInteger::divide);
+      UInt256Limbs.store(
+          UInt256Limbs.divide(UInt256Limbs.load(v1), UInt256Limbs.load(v2), false), result);
     }
   }
 
@@ -308,19 +267,20 @@ public abstract class UInt256Bytes {
     } else if (v2 > 0 && isPowerOf2(v2)) {
       shiftRight(v1, log2(v2), result);
     } else {
-      doOnBigInteger(v1, of(v2), result, BigInteger::divide);
+      UInt256Limbs.store(UInt256Limbs.divide(UInt256Limbs.load(v1), limbsOf(v2), false), result);
     }
   }
 
   public static void exponent(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
-    doOnBigInteger(v1, v2, result, (val, pow) -> val.modPow(pow, P256));
+    UInt256Limbs.store(UInt256Limbs.exponent(UInt256Limbs.load(v1), UInt256Limbs.load(v2)), result);
   }
 
   public static void modulo(final Bytes32 v1, final Bytes32 v2, final MutableBytes32 result) {
     if (v2.isZero()) {
       result.clear();
     } else {
-      doOnBigInteger(v1, v2, result, BigInteger::mod);
+      UInt256Limbs.store(
+          UInt256Limbs.divide(UInt256Limbs.load(v1), UInt256Limbs.load(v2), true), result);
     }
   }
 
@@ -340,7 +300,7 @@ public abstract class UInt256Bytes {
         result.set(SIZE - 1 - i, (byte) 0);
       }
     } else {
-      doOnBigInteger(v1, of(v2), result, BigInteger::mod);
+      UInt256Limbs.store(UInt256Limbs.divide(UInt256Limbs.load(v1), limbsOf(v2), true), result);
     }
   }
 
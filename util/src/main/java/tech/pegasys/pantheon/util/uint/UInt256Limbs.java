@@ -0,0 +1,256 @@
+/*
+ * Copyright 2019 ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ */
+package tech.pegasys.pantheon.util.uint;
+
+import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.MutableBytes32;
+
+import java.util.Arrays;
+
+/**
+ * Unsigned 256-bit arithmetic on 32-bit limbs.
+ *
+ * <p>Values are held in {@code int} arrays with the least significant limb first, so a word uses 8
+ * limbs and a full product 16. Operands are read into limbs before anything is written, so results
+ * may be written to one of the operands. This replaces round trips through {@link
+ * java.math.BigInteger} for the arithmetic used by the EVM, which needed several allocations and
+ * copies per operation.
+ */
+abstract class UInt256Limbs {
+
+  private UInt256Limbs() {}
+
+  static final int WORD_LIMBS = 8;
+
+  private static final long LIMB_MASK = 0xffffffffL;
+  private static final long LIMB_BASE = 1L << 32;
+
+  static int[] load(final Bytes32 bytes) {
+    final int[] limbs = new int[WORD_LIMBS];
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      limbs[i] = bytes.getInt(Bytes32.SIZE - 4 * (i + 1));
+    }
+    return limbs;
+  }
+
+  static int[] load(final long value) {
+    final int[] limbs = new int[WORD_LIMBS];
+    limbs[0] = (int) value;
+    limbs[1] = (int) (value >>> 32);
+    return limbs;
+  }
+
+  /** Writes the low 256 bits of the given limbs to {@code result}. */
+  static void store(final int[] limbs, final MutableBytes32 result) {
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      result.setInt(Bytes32.SIZE - 4 * (i + 1), i < limbs.length ? limbs[i] : 0);
+    }
+  }
+
+  /** Returns the number of limbs up to and including the most significant non-zero one. */
+  static int length(final int[] limbs) {
+    int length = limbs.length;
+    while (length > 0 && limbs[length - 1] == 0) {
+      length--;
+    }
+    return length;
+  }
+
+  /** Returns {@code a * b} truncated to 256 bits. */
+  static int[] multiply(final int[] a, final int[] b) {
+    final int[] product = new int[WORD_LIMBS];
+    multiply(a, b, product);
+    return product;
+  }
+
+  /**
+   * Writes {@code a * b} truncated to 256 bits to {@code product}, which must be distinct from both
+   * operands.
+   */
+  private static void multiply(final int[] a, final int[] b, final int[] product) {
+    Arrays.fill(product, 0);
+    final int aLength = length(a);
+    final int bLength = length(b);
+    for (int i = 0; i < aLength; i++) {
+      final long ai = a[i] & LIMB_MASK;
+      long carry = 0;
+      for (int j = 0; j < bLength && i + j < WORD_LIMBS; j++) {
+        final long t = ai * (b[j] & LIMB_MASK) + (product[i + j] & LIMB_MASK) + carry;
+        product[i + j] = (int) t;
+        carry = t >>> 32;
+      }
+      if (i + bLength < WORD_LIMBS) {
+        product[i + bLength] = (int) carry;
+      }
+    }
+  }
+
+  /** Returns the full 512-bit product {@code a * b}. */
+  static int[] multiplyFull(final int[] a, final int[] b) {
+    final int[] product = new int[2 * WORD_LIMBS];
+    final int aLength = length(a);
+    final int bLength = length(b);
+    for (int i = 0; i < aLength; i++) {
+      final long ai = a[i] & LIMB_MASK;
+      long carry = 0;
+      for (int j = 0; j < bLength; j++) {
+        final long t = ai * (b[j] & LIMB_MASK) + (product[i + j] & LIMB_MASK) + carry;
+        product[i + j] = (int) t;
+        carry = t >>> 32;
+      }
+      product[i + bLength] = (int) carry;
+    }
+    return product;
+  }
+
+  /** Returns the full 257-bit sum {@code a + b}. */
+  static int[] addFull(final int[] a, final int[] b) {
+    final int[] sum = new int[WORD_LIMBS + 1];
+    long carry = 0;
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      final long t = (a[i] & LIMB_MASK) + (b[i] & LIMB_MASK) + carry;
+      sum[i] = (int) t;
+      carry = t >>> 32;
+    }
+    sum[WORD_LIMBS] = (int) carry;
+    return sum;
+  }
+
+  /** Replaces {@code a} by its two's complement negation modulo 2^256. */
+  static void negate(final int[] a) {
+    long carry = 1;
+    for (int i = 0; i < WORD_LIMBS; i++) {
+      final long t = (~a[i] & LIMB_MASK) + carry;
+      a[i] = (int) t;
+      carry = t >>> 32;
+    }
+  }
+
+  /** Returns {@code base ^ exponent} modulo 2^256. */
+  static int[] exponent(final int[] base, final int[] exponent) {
+    int[] result = new int[WORD_LIMBS];
+    int[] scratch = new int[WORD_LIMBS];
+    result[0] = 1;
+    for (int i = length(exponent) - 1; i >= 0; i--) {
+      final int limb = exponent[i];
+      for (int bit = 31; bit >= 0; bit--) {
+        multiply(result, result, scratch);
+        int[] swap = result;
+        result = scratch;
+        scratch = swap;
+        if ((limb >>> bit & 1) != 0) {
+          multiply(result, base, scratch);
+          swap = result;
+          result = scratch;
+          scratch = swap;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns {@code dividend / divisor}, or {@code dividend % divisor} if {@code remainder} is set.
+   * The divisor must not be zero.
+   */
+  static int[] divide(final int[] dividend, final int[] divisor, final boolean remainder) {
+    final int m = length(dividend);
+    final int n = length(divisor);
+    if (m < n) {
+      return remainder ? dividend : new int[WORD_LIMBS];
+    }
+    final int[] quotient = new int[Math.max(WORD_LIMBS, m - n + 1)];
+    if (n == 1) {
+      final long d = divisor[0] & LIMB_MASK;
+      long r = 0;
+      for (int j = m - 1; j >= 0; j--) {
+        final long t = (r << 32) | (dividend[j] & LIMB_MASK);
+        quotient[j] = (int) Long.divideUnsigned(t, d);
+        r = Long.remainderUnsigned(t, d);
+      }
+      if (remainder) {
+        final int[] result = new int[WORD_LIMBS];
+        result[0] = (int) r;
+        return result;
+      }
+      return quotient;
+    }
+
+    // Knuth's algorithm D, as presented in Hacker's Delight. Normalise so that the divisor's most
+    // significant limb has its high bit set, which bounds the error of each quotient estimate.
+    final int s = Integer.numberOfLeadingZeros(divisor[n - 1]);
+    final int[] vn = new int[n];
+    for (int i = n - 1; i > 0; i--) {
+      vn[i] = (divisor[i] << s) | (int) ((divisor[i - 1] & LIMB_MASK) >>> (32 - s));
+    }
+    vn[0] = divisor[0] << s;
+    final int[] un = new int[m + 1];
+    un[m] = (int) ((dividend[m - 1] & LIMB_MASK) >>> (32 - s));
+    for (int i = m - 1; i > 0; i--) {
+      un[i] = (dividend[i] << s) | (int) ((dividend[i - 1] & LIMB_MASK) >>> (32 - s));
+    }
+    un[0] = dividend[0] << s;
+
+    final long vTop = vn[n - 1] & LIMB_MASK;
+    final long vNext = vn[n - 2] & LIMB_MASK;
+    for (int j = m - n; j >= 0; j--) {
+      // Estimate the quotient limb from the top two limbs, then correct it using the next one.
+      final long num = ((un[j + n] & LIMB_MASK) << 32) | (un[j + n - 1] & LIMB_MASK);
+      long qhat = Long.divideUnsigned(num, vTop);
+      long rhat = Long.remainderUnsigned(num, vTop);
+      while (qhat >= LIMB_BASE
+          || Long.compareUnsigned(qhat * vNext, (rhat << 32) | (un[j + n - 2] & LIMB_MASK)) > 0) {
+        qhat--;
+        rhat += vTop;
+        if (rhat >= LIMB_BASE) {
+          break;
+        }
+      }
+
+      // Multiply and subtract.
+      long borrow = 0;
+      long t;
+      for (int i = 0; i < n; i++) {
+        final long p = qhat * (vn[i] & LIMB_MASK);
+        t = (un[i + j] & LIMB_MASK) - borrow - (p & LIMB_MASK);
+        un[i + j] = (int) t;
+        borrow = (p >>> 32) - (t >> 32);
+      }
+      t = (un[j + n] & LIMB_MASK) - borrow;
+      un[j + n] = (int) t;
+
+      quotient[j] = (int) qhat;
+      if (t < 0) {
+        // The estimate was one too large, add the divisor back.
+        quotient[j]--;
+        long carry = 0;
+        for (int i = 0; i < n; i++) {
+          t = (un[i + j] & LIMB_MASK) + (vn[i] & LIMB_MASK) + carry;
+          un[i + j] = (int) t;
+          carry = t >>> 32;
+        }
+        un[j + n] += (int) carry;
+      }
+    }
+
+    if (!remainder) {
+      return quotient;
+    }
+    final int[] result = new int[WORD_LIMBS];
+    for (int i = 0; i < n - 1; i++) {
+      result[i] = (un[i] >>> s) | (int) ((un[i + 1] & LIMB_MASK) << (32 - s));
+    }
+    result[n - 1] = un[n - 1] >>> s;
+    return result;
+  }
+}
@@ -15,17 +15,22 @@ package tech.pegasys.pantheon.util.uint;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import tech.pegasys.pantheon.util.bytes.Bytes32;
+import tech.pegasys.pantheon.util.bytes.BytesValues;
 import tech.pegasys.pantheon.util.bytes.MutableBytes32;
 import tech.pegasys.pantheon.util.uint.UInt256Bytes.BinaryLongOp;
 import tech.pegasys.pantheon.util.uint.UInt256Bytes.BinaryOp;
 
 import java.math.BigInteger;
+import java.util.Random;
 
+import com.google.common.base.Strings;
 import org.junit.Assert;
 import org.junit.Test;
 
 public class UInt256BytesTest {
 
+  private static final BigInteger P256 = BigInteger.ONE.shiftLeft(256);
+
   private static String h(final String n) {
     return UInt256.of(new BigInteger(n)).toShortHexString();
   }
@@ -178,6 +183,57 @@ public class UInt256BytesTest {
         h("69539042617438235654073171722120479225708093440527479355806409025672010641349"));
   }
 
+  @Test
+  public void arithmeticMatchesBigInteger() {
+    final Random random = new Random(1);
+    for (int i = 0; i < 2000; i++) {
+      final Bytes32 v1 = randomValue(random);
+      final Bytes32 v2 = randomValue(random);
+      final Bytes32 v3 = randomValue(random);
+      final BigInteger i1 = BytesValues.asUnsignedBigInteger(v1);
+      final BigInteger i2 = BytesValues.asUnsignedBigInteger(v2);
+      final BigInteger i3 = BytesValues.asUnsignedBigInteger(v3);
+
+      op(UInt256Bytes::multiply, v1, v2, unsigned(i1.multiply(i2)));
+      op(UInt256Bytes::exponent, v1, v2, unsigned(i1.modPow(i2, P256)));
+      if (i2.signum() != 0) {
+        op(UInt256Bytes::divide, v1, v2, unsigned(i1.divide(i2)));
+        op(UInt256Bytes::modulo, v1, v2, unsigned(i1.mod(i2)));
+      }
+      if (i3.signum() != 0) {
+        final MutableBytes32 result = MutableBytes32.create();
+        UInt256Bytes.addModulo(v1, v2, v3, result);
+        assertEquals(unsigned(i1.add(i2).mod(i3)), result, false);
+        UInt256Bytes.multiplyModulo(v1, v2, v3, result);
+        assertEquals(unsigned(i1.multiply(i2).mod(i3)), result, false);
+      }
+    }
+  }
+
+  @Test
+  public void signedArithmeticMatchesBigInteger() {
+    final Random random = new Random(2);
+    for (int i = 0; i < 2000; i++) {
+      final Bytes32 v1 = randomValue(random);
+      final Bytes32 v2 = randomValue(random);
+      final BigInteger i1 = BytesValues.asSignedBigInteger(v1);
+      final BigInteger i2 = BytesValues.asSignedBigInteger(v2);
+      if (i2.signum() == 0) {
+        continue;
+      }
+
+      final BigInteger remainder = i1.abs().mod(i2.abs());
+      op(Int256Bytes::divide, v1, v2, signed(i1.divide(i2)));
+      op(Int256Bytes::mod, v1, v2, signed(i1.signum() < 0 ? remainder.negate() : remainder));
+    }
+  }
+
+  @Test
+  public void signedDivisionOverflowWraps() {
+    final Bytes32 minValue = Bytes32.fromHexString("0x80" + Strings.repeat("00", 31));
+    op(Int256Bytes::divide, minValue, Int256.MINUS_ONE.getBytes(), minValue);
+  }
+
   @Test
   public void bitLength() {
     bitLength("0x", 0);
@@ -219,6 +275,24 @@ public class UInt256BytesTest {
         .isEqualTo("0x00000000000000000000000000000000000000000000000000000000facefeed");
   }
 
+  private static Bytes32 randomValue(final Random random) {
+    // Vary the length so that operands of every limb count are exercised.
+    final byte[] bytes = new byte[Bytes32.SIZE];
+    final int length = random.nextInt(Bytes32.SIZE + 1);
+    for (int i = Bytes32.SIZE - length; i < Bytes32.SIZE; i++) {
+      bytes[i] = (byte) random.nextInt();
+    }
+    return Bytes32.wrap(bytes);
+  }
+
+  private static Bytes32 unsigned(final BigInteger value) {
+    return UInt256Bytes.of(value.mod(P256));
+  }
+
+  private static Bytes32 signed(final BigInteger value) {
+    return unsigned(value.signum() < 0 ? value.add(P256) : value);
+  }
+
   private void bitLength(final String input, final int expectedLength) {
     Assert.assertEquals(
         expectedLength, UInt256Bytes.bitLength(Bytes32.fromHexStringLenient(input)));